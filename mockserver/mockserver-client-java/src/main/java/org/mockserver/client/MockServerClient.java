@@ -2,7 +2,6 @@ package org.mockserver.client;
 
 import com.google.common.collect.ImmutableList;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
 import org.mockserver.authentication.AuthenticationException;
@@ -10,6 +9,7 @@ import org.mockserver.client.MockServerEventBus.EventType;
 import org.mockserver.closurecallback.websocketregistry.LocalCallbackRegistry;
 import org.mockserver.configuration.ClientConfiguration;
 import org.mockserver.configuration.Configuration;
+import org.mockserver.configuration.ConfigurationProperties;
 import org.mockserver.httpclient.NettyHttpClient;
 import org.mockserver.httpclient.SocketConnectionException;
 import org.mockserver.log.model.LogEntry;
@@ -22,6 +22,7 @@ import org.mockserver.model.*;
 import org.mockserver.proxyconfiguration.ProxyConfiguration;
 import org.mockserver.scheduler.Scheduler;
 import org.mockserver.serialization.*;
+import org.mockserver.socket.NettyTransport;
 import org.mockserver.socket.tls.NettySslContextFactory;
 import org.mockserver.stop.Stoppable;
 import org.mockserver.verify.Verification;
@@ -230,8 +231,8 @@ public class MockServerClient implements Stoppable {
         this.eventLoopGroup = eventLoopGroup();
     }
 
-    private NioEventLoopGroup eventLoopGroup() {
-        return new NioEventLoopGroup(configuration.clientNioEventLoopThreadCount(), new Scheduler.SchedulerThreadFactory(this.getClass().getSimpleName() + "-eventLoop"));
+    private EventLoopGroup eventLoopGroup() {
+        return NettyTransport.resolve(ConfigurationProperties.nettyTransport()).eventLoopGroup(configuration.clientNioEventLoopThreadCount(), new Scheduler.SchedulerThreadFactory(this.getClass().getSimpleName() + "-eventLoop"));
     }
 
     /**
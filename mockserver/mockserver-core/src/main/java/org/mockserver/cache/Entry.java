@@ -4,7 +4,7 @@ public class Entry<T> {
 
     private final long ttlInMillis;
     private final T value;
-    private long expiryInMillis;
+    private volatile long expiryInMillis;
 
     public Entry(long ttlInMillis, long expiryInMillis, T value) {
         this.ttlInMillis = ttlInMillis;
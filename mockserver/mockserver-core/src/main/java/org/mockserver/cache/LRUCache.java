@@ -1,14 +1,31 @@
 package org.mockserver.cache;
 
 import com.google.common.annotations.VisibleForTesting;
+import org.mockserver.configuration.Configuration;
 import org.mockserver.logging.MockServerLogger;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
-
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.mockserver.configuration.Configuration.configuration;
+
+/**
+ * A bounded cache that evicts the least recently used entry, and entries that haven't been read within their time to
+ * live, with O(1) get, put and delete.
+ * <p>
+ * Entries are looked up in a {@link ConcurrentHashMap} and kept in access order in a linked list, the list is only
+ * reordered by a get when its lock is free so concurrent readers never wait for each other (making the order an
+ * approximation of least recently used under contention).
+ * <p>
+ * When metrics are enabled hits, misses and evictions are counted per cache and exposed, labelled with the cache's
+ * name, by {@link LRUCacheCollector}.
+ */
 @SuppressWarnings("unused")
 public class LRUCache<K, V> {
 
@@ -17,16 +34,33 @@ public class LRUCache<K, V> {
     private static final Set<LRUCache<?, ?>> allCaches = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
     private final long ttlInMillis;
     private final int maxSize;
-    private final ConcurrentHashMap<K, Entry<V>> map;
-    private final ConcurrentLinkedQueue<K> queue;
+    private final ConcurrentHashMap<K, Node<K, V>> map;
+    // sentinel of a circular list ordered from least (head.next) to most (head.previous) recently used
+    private final Node<K, V> head = new Node<>(null, 0, 0, null);
+    private final ReentrantLock lock = new ReentrantLock();
     private final MockServerLogger mockServerLogger;
-
+    private final String name;
+    private final boolean metricsEnabled;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * A cache named "default" that uses the global configuration to decide if metrics are recorded
+     */
     public LRUCache(final MockServerLogger mockServerLogger, final int maxSize, long ttlInMillis) {
+        this(configuration(), mockServerLogger, "default", maxSize, ttlInMillis);
+    }
+
+    public LRUCache(final Configuration configuration, final MockServerLogger mockServerLogger, final String name, final int maxSize, long ttlInMillis) {
         this.mockServerLogger = mockServerLogger;
+        this.name = name;
         this.maxSize = maxSize;
         this.map = new ConcurrentHashMap<>(maxSize);
-        this.queue = new ConcurrentLinkedQueue<>();
         this.ttlInMillis = ttlInMillis;
+        this.metricsEnabled = configuration.metricsEnabled();
+        this.head.previous = head;
+        this.head.next = head;
         LRUCache.allCaches.add(this);
     }
 
@@ -44,24 +78,54 @@ public class LRUCache<K, V> {
         });
     }
 
+    static List<LRUCache<?, ?>> allCaches() {
+        synchronized (allCaches) {
+            return new ArrayList<>(allCaches);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    long hits() {
+        return hits.sum();
+    }
+
+    long misses() {
+        return misses.sum();
+    }
+
+    long evictions() {
+        return evictions.sum();
+    }
+
     public void put(K key, final V value) {
         put(key, value, ttlInMillis);
     }
 
     public void put(K key, final V value, long ttl) {
         if (allCachesEnabled && key != null) {
-            if (map.containsKey(key)) {
-                // ensure the queue is in FIFO order
-                queue.remove(key);
-            }
-            while (queue.size() >= maxSize || maxSizeOverride > 0 && queue.size() >= maxSizeOverride) {
-                K oldestKey = queue.poll();
-                if (null != oldestKey) {
-                    map.remove(oldestKey);
+            Node<K, V> node = new Node<>(key, ttl, expiryInMillis(ttl), value);
+            lock.lock();
+            try {
+                Node<K, V> previous = map.put(key, node);
+                if (previous != null) {
+                    unlink(previous);
+                }
+                linkLast(node);
+                int limit = maxSizeOverride > 0 ? Math.min(maxSize, maxSizeOverride) : maxSize;
+                while (map.size() > limit && head.next != head) {
+                    Node<K, V> eldest = head.next;
+                    unlink(eldest);
+                    map.remove(eldest.key, eldest);
+                    if (metricsEnabled) {
+                        evictions.increment();
+                    }
                 }
+            } finally {
+                lock.unlock();
             }
-            queue.add(key);
-            map.put(key, new Entry<>(ttl, expiryInMillis(ttl), value));
         }
     }
 
@@ -71,40 +135,102 @@ public class LRUCache<K, V> {
 
     public V get(K key) {
         if (allCachesEnabled && key != null) {
-            if (map.containsKey(key)) {
-                // remove from the queue and add it again in FIFO queue
-                queue.remove(key);
-                queue.add(key);
-            }
-
-            Entry<V> entry = map.get(key);
-            if (entry != null) {
-                if (entry.getExpiryInMillis() > System.currentTimeMillis()) {
-                    return entry.updateExpiryInMillis(expiryInMillis(entry.getTtlInMillis())).getValue();
+            Node<K, V> node = map.get(key);
+            if (node != null) {
+                if (node.getExpiryInMillis() > System.currentTimeMillis()) {
+                    node.updateExpiryInMillis(expiryInMillis(node.getTtlInMillis()));
+                    if (lock.tryLock()) {
+                        try {
+                            // only move entries still in the list, i.e. not concurrently deleted or evicted
+                            if (node.previous != null) {
+                                unlink(node);
+                                linkLast(node);
+                            }
+                        } finally {
+                            lock.unlock();
+                        }
+                    }
+                    if (metricsEnabled) {
+                        hits.increment();
+                    }
+                    return node.getValue();
                 } else {
-                    delete(key);
+                    remove(key, node);
                 }
             }
+            if (metricsEnabled) {
+                misses.increment();
+            }
         }
         return null;
     }
 
+    public int size() {
+        return map.size();
+    }
+
     public void delete(K key) {
         if (allCachesEnabled && key != null) {
-            if (map.containsKey(key)) {
-                map.remove(key);
-                queue.remove(key);
+            Node<K, V> node = map.get(key);
+            if (node != null) {
+                remove(key, node);
+            }
+        }
+    }
+
+    private void remove(K key, Node<K, V> node) {
+        lock.lock();
+        try {
+            if (map.remove(key, node)) {
+                unlink(node);
             }
+        } finally {
+            lock.unlock();
         }
     }
 
     private void clear() {
-        map.clear();
-        queue.clear();
+        lock.lock();
+        try {
+            map.clear();
+            while (head.next != head) {
+                unlink(head.next);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void linkLast(Node<K, V> node) {
+        node.previous = head.previous;
+        node.next = head;
+        head.previous.next = node;
+        head.previous = node;
+    }
+
+    private void unlink(Node<K, V> node) {
+        if (node.previous != null) {
+            node.previous.next = node.next;
+            node.next.previous = node.previous;
+            node.previous = null;
+            node.next = null;
+        }
     }
 
     public static void setMaxSizeOverride(int maxSizeOverride) {
         LRUCache.maxSizeOverride = maxSizeOverride;
     }
 
+    private static class Node<K, V> extends Entry<V> {
+
+        private final K key;
+        private Node<K, V> previous;
+        private Node<K, V> next;
+
+        private Node(K key, long ttlInMillis, long expiryInMillis, V value) {
+            super(ttlInMillis, expiryInMillis, value);
+            this.key = key;
+        }
+    }
+
 }
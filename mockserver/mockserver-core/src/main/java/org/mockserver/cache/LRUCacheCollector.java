@@ -0,0 +1,62 @@
+package org.mockserver.cache;
+
+import io.prometheus.metrics.model.registry.MultiCollector;
+import io.prometheus.metrics.model.snapshots.GaugeSnapshot;
+import io.prometheus.metrics.model.snapshots.Labels;
+import io.prometheus.metrics.model.snapshots.MetricSnapshots;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.ToLongFunction;
+
+/**
+ * Exposes the size, hits, misses and evictions of every {@link LRUCache}, labelled with the cache's name, the counters
+ * are kept by each cache and only read when metrics are collected
+ *
+ * @author jamesdbloom
+ */
+public class LRUCacheCollector implements MultiCollector {
+
+    private static final String SIZE_METRIC_NAME = "lru_cache_size";
+    private static final String HITS_METRIC_NAME = "lru_cache_hits_count";
+    private static final String MISSES_METRIC_NAME = "lru_cache_misses_count";
+    private static final String EVICTIONS_METRIC_NAME = "lru_cache_evictions_count";
+
+    public MetricSnapshots collect() {
+        List<LRUCache<?, ?>> caches = LRUCache.allCaches();
+        return new MetricSnapshots(
+            snapshot(SIZE_METRIC_NAME, "Cache size", caches, LRUCache::size),
+            snapshot(HITS_METRIC_NAME, "Cache hit count", caches, LRUCache::hits),
+            snapshot(MISSES_METRIC_NAME, "Cache miss count", caches, LRUCache::misses),
+            snapshot(EVICTIONS_METRIC_NAME, "Cache eviction count", caches, LRUCache::evictions)
+        );
+    }
+
+    private GaugeSnapshot snapshot(String metricName, String help, List<LRUCache<?, ?>> caches, ToLongFunction<LRUCache<?, ?>> counter) {
+        // caches with the same name (i.e. one per server instance) are summed as each label set can only be reported once
+        Map<String, Long> countsByName = new TreeMap<>();
+        for (LRUCache<?, ?> cache : caches) {
+            if (cache != null) {
+                countsByName.merge(cache.getName(), counter.applyAsLong(cache), Long::sum);
+            }
+        }
+        GaugeSnapshot.Builder builder = GaugeSnapshot.builder()
+            .name(metricName)
+            .help(help);
+        countsByName.forEach((name, count) -> builder.dataPoint(
+            GaugeSnapshot.GaugeDataPointSnapshot.builder()
+                .value(count)
+                .labels(Labels.of("cache", name))
+                .build()
+        ));
+        return builder.build();
+    }
+
+    @Override
+    public List<String> getPrometheusNames() {
+        return Arrays.asList(SIZE_METRIC_NAME, HITS_METRIC_NAME, MISSES_METRIC_NAME, EVICTIONS_METRIC_NAME);
+    }
+
+}
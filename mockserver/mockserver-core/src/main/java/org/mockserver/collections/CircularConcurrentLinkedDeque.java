@@ -1,10 +1,25 @@
 package org.mockserver.collections;
 
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
 
 /**
+ * A bounded {@link ConcurrentLinkedDeque} that evicts the oldest (i.e. first) elements when the maximum size is reached.
+ * <p>
+ * The number of elements is tracked in a counter so {@link #size()}, and therefore every append, is O(1) instead of
+ * traversing the deque, iteration (in both directions) remains weakly consistent.
+ * <p>
+ * When a weigher is provided the total weight of the elements is also tracked, and if a maximum weight is set the
+ * oldest elements are evicted after each append until the deque is within the maximum weight, always keeping the last
+ * element added.  An element's weight must not change while it is in the deque.
+ *
  * @author jamesdbloom
  */
 public class CircularConcurrentLinkedDeque<E> extends ConcurrentLinkedDeque<E> {
@@ -12,10 +27,20 @@ public class CircularConcurrentLinkedDeque<E> extends ConcurrentLinkedDeque<E> {
     private static final long serialVersionUID = 1L;
 
     private int maxSize;
+    private final long maxWeight;
+    private final ToLongFunction<E> weigher;
     private final Consumer<E> onEvictCallback;
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong weight = new AtomicLong();
 
     public CircularConcurrentLinkedDeque(int maxSize, Consumer<E> onEvictCallback) {
+        this(maxSize, 0, null, onEvictCallback);
+    }
+
+    public CircularConcurrentLinkedDeque(int maxSize, long maxWeight, ToLongFunction<E> weigher, Consumer<E> onEvictCallback) {
         this.maxSize = maxSize;
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
         this.onEvictCallback = onEvictCallback;
     }
 
@@ -23,14 +48,21 @@ public class CircularConcurrentLinkedDeque<E> extends ConcurrentLinkedDeque<E> {
         this.maxSize = maxSize;
     }
 
+    @Override
+    public int size() {
+        return Math.max(size.get(), 0);
+    }
+
+    /**
+     * The total weight of the elements, or 0 if there is no weigher
+     */
+    public long weight() {
+        return Math.max(weight.get(), 0);
+    }
+
     @Override
     public boolean add(E element) {
-        if (maxSize > 0) {
-            evictExcessElements();
-            return super.add(element);
-        } else {
-            return false;
-        }
+        return offerLast(element);
     }
 
     @Override
@@ -50,32 +82,172 @@ public class CircularConcurrentLinkedDeque<E> extends ConcurrentLinkedDeque<E> {
 
     @Override
     public boolean offer(E element) {
+        return offerLast(element);
+    }
+
+    @Override
+    public void addLast(E element) {
+        offerLast(element);
+    }
+
+    @Override
+    public boolean offerLast(E element) {
         if (maxSize > 0) {
             evictExcessElements();
-            return super.offer(element);
+            super.addLast(element);
+            size.incrementAndGet();
+            addWeight(element);
+            return true;
         } else {
             return false;
         }
     }
 
+    @Override
+    public void addFirst(E element) {
+        offerFirst(element);
+    }
+
+    @Override
+    public boolean offerFirst(E element) {
+        if (maxSize > 0) {
+            evictExcessElements();
+            super.addFirst(element);
+            size.incrementAndGet();
+            addWeight(element);
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    public void push(E element) {
+        offerFirst(element);
+    }
+
     private void evictExcessElements() {
-        if (onEvictCallback == null) {
-            while (size() >= maxSize) {
-                super.poll();
+        while (size.get() >= maxSize) {
+            if (!evictFirst()) {
+                break;
             }
-        } else {
-            while (size() >= maxSize) {
-                onEvictCallback.accept(super.poll());
+        }
+    }
+
+    private void addWeight(E element) {
+        if (weigher != null) {
+            weight.addAndGet(weigher.applyAsLong(element));
+            if (maxWeight > 0) {
+                while (weight.get() > maxWeight && size.get() > 1) {
+                    if (!evictFirst()) {
+                        break;
+                    }
+                }
             }
         }
     }
 
+    @SuppressWarnings("unchecked")
+    private void removeWeight(Object element) {
+        if (weigher != null) {
+            weight.addAndGet(-weigher.applyAsLong((E) element));
+        }
+    }
+
+    private boolean evictFirst() {
+        E evicted = pollFirst();
+        if (evicted == null) {
+            return false;
+        } else if (onEvictCallback != null) {
+            onEvictCallback.accept(evicted);
+        }
+        return true;
+    }
+
+    // poll(), pop(), remove(), removeFirst() and clear() all remove via pollFirst()
+    @Override
+    public E pollFirst() {
+        E element = super.pollFirst();
+        if (element != null) {
+            size.decrementAndGet();
+            removeWeight(element);
+        }
+        return element;
+    }
+
+    // removeLast() removes via pollLast()
+    @Override
+    public E pollLast() {
+        E element = super.pollLast();
+        if (element != null) {
+            size.decrementAndGet();
+            removeWeight(element);
+        }
+        return element;
+    }
+
+    // remove(Object) removes via removeFirstOccurrence(Object)
+    @Override
+    public boolean removeFirstOccurrence(Object o) {
+        if (super.removeFirstOccurrence(o)) {
+            size.decrementAndGet();
+            removeWeight(o);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean removeLastOccurrence(Object o) {
+        if (super.removeLastOccurrence(o)) {
+            size.decrementAndGet();
+            removeWeight(o);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        Objects.requireNonNull(filter);
+        boolean removed = false;
+        for (E element : this) {
+            if (filter.test(element) && removeFirstOccurrence(element)) {
+                removed = true;
+            }
+        }
+        return removed;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> collection) {
+        Objects.requireNonNull(collection);
+        return removeIf(collection::contains);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> collection) {
+        Objects.requireNonNull(collection);
+        return removeIf(element -> !collection.contains(element));
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new CountingIterator(super.iterator(), true);
+    }
+
+    @Override
+    public Iterator<E> descendingIterator() {
+        return new CountingIterator(super.descendingIterator(), false);
+    }
+
     public void clear() {
         if (onEvictCallback == null) {
             super.clear();
         } else {
-            while (size() > 0) {
-                onEvictCallback.accept(super.poll());
+            E element;
+            while ((element = pollFirst()) != null) {
+                onEvictCallback.accept(element);
             }
         }
     }
@@ -89,9 +261,48 @@ public class CircularConcurrentLinkedDeque<E> extends ConcurrentLinkedDeque<E> {
     }
 
     public boolean removeItem(E e) {
+        // removed before the callback so the element's weight is unchanged
+        boolean removed = super.remove(e);
         if (onEvictCallback != null) {
             onEvictCallback.accept(e);
         }
-        return super.remove(e);
+        return removed;
+    }
+
+    private class CountingIterator implements Iterator<E> {
+
+        private final Iterator<E> iterator;
+        private final boolean ascending;
+        private E lastReturned;
+
+        private CountingIterator(Iterator<E> iterator, boolean ascending) {
+            this.iterator = iterator;
+            this.ascending = ascending;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return iterator.hasNext();
+        }
+
+        @Override
+        public E next() {
+            lastReturned = iterator.next();
+            return lastReturned;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException();
+            }
+            // remove through the deque so the size is updated
+            if (ascending) {
+                removeFirstOccurrence(lastReturned);
+            } else {
+                removeLastOccurrence(lastReturned);
+            }
+            lastReturned = null;
+        }
     }
 }
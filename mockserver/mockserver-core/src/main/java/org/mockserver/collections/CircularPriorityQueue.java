@@ -5,11 +5,15 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
+ * Reads are served from an immutable sorted snapshot that is lazily rebuilt, and swapped atomically, after each
+ * modification so iterating in priority order requires no copying and no per-element map lookups.
+ *
  * @author jamesdbloom
  */
 public class CircularPriorityQueue<K, V, SLK extends Keyed<K>> {
@@ -18,13 +22,30 @@ public class CircularPriorityQueue<K, V, SLK extends Keyed<K>> {
     private final Function<V, K> mapKeyFunction;
     private final ConcurrentSkipListSet<SLK> sortOrderSkipList;
     private final ConcurrentLinkedQueue<V> insertionOrderQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger insertionOrderQueueSize = new AtomicInteger();
     private final ConcurrentMap<K, V> byKey = new ConcurrentHashMap<>();
+    private final Comparator<? super SLK> skipListComparator;
+    private final Function<V, Collection<?>> indexKeysFunction;
+    private final ConcurrentMap<Object, ConcurrentSkipListSet<SLK>> byIndexKey = new ConcurrentHashMap<>();
+    private final ConcurrentMap<K, Map.Entry<SLK, Collection<?>>> indexKeysByKey = new ConcurrentHashMap<>();
+    private final AtomicLong modifications = new AtomicLong();
+    private volatile Snapshot<K, V> snapshot;
 
     public CircularPriorityQueue(int maxSize, Comparator<? super SLK> skipListComparator, Function<V, SLK> skipListKeyFunction, Function<V, K> mapKeyFunction) {
+        this(maxSize, skipListComparator, skipListKeyFunction, mapKeyFunction, null);
+    }
+
+    /**
+     * @param indexKeysFunction optional function returning the secondary index keys for an element, when provided
+     *                          {@link #toSortedList(Collection)} only returns elements indexed under the requested keys
+     */
+    public CircularPriorityQueue(int maxSize, Comparator<? super SLK> skipListComparator, Function<V, SLK> skipListKeyFunction, Function<V, K> mapKeyFunction, Function<V, Collection<?>> indexKeysFunction) {
         sortOrderSkipList = new ConcurrentSkipListSet<>(skipListComparator);
         this.maxSize = maxSize;
+        this.skipListComparator = skipListComparator;
         this.skipListKeyFunction = skipListKeyFunction;
         this.mapKeyFunction = mapKeyFunction;
+        this.indexKeysFunction = indexKeysFunction;
     }
 
     public void setMaxSize(int maxSize) {
@@ -33,41 +54,60 @@ public class CircularPriorityQueue<K, V, SLK extends Keyed<K>> {
 
     public void removePriorityKey(V element) {
         sortOrderSkipList.remove(skipListKeyFunction.apply(element));
+        removeIndexKeys(element);
+        modifications.incrementAndGet();
     }
 
     public void addPriorityKey(V element) {
-        sortOrderSkipList.add(skipListKeyFunction.apply(element));
+        SLK skipListKey = skipListKeyFunction.apply(element);
+        sortOrderSkipList.add(skipListKey);
+        addIndexKeys(element, skipListKey);
+        modifications.incrementAndGet();
     }
 
     public void add(V element) {
         if (maxSize > 0 && element != null) {
             insertionOrderQueue.offer(element);
-            sortOrderSkipList.add(skipListKeyFunction.apply(element));
+            insertionOrderQueueSize.incrementAndGet();
+            SLK skipListKey = skipListKeyFunction.apply(element);
+            sortOrderSkipList.add(skipListKey);
             byKey.put(mapKeyFunction.apply(element), element);
-            while (insertionOrderQueue.size() > maxSize) {
+            addIndexKeys(element, skipListKey);
+            while (insertionOrderQueueSize.get() > maxSize) {
                 V elementToRemove = insertionOrderQueue.poll();
+                if (elementToRemove == null) {
+                    break;
+                }
+                insertionOrderQueueSize.decrementAndGet();
                 sortOrderSkipList.remove(skipListKeyFunction.apply(elementToRemove));
                 byKey.remove(mapKeyFunction.apply(elementToRemove));
+                removeIndexKeys(elementToRemove);
             }
+            modifications.incrementAndGet();
         }
     }
 
     public boolean remove(V element) {
         if (element != null) {
-            insertionOrderQueue.remove(element);
+            if (insertionOrderQueue.remove(element)) {
+                insertionOrderQueueSize.decrementAndGet();
+            }
             byKey.remove(mapKeyFunction.apply(element));
-            return sortOrderSkipList.remove(skipListKeyFunction.apply(element));
+            removeIndexKeys(element);
+            boolean removed = sortOrderSkipList.remove(skipListKeyFunction.apply(element));
+            modifications.incrementAndGet();
+            return removed;
         } else {
             return false;
         }
     }
 
     public int size() {
-        return insertionOrderQueue.size();
+        return insertionOrderQueueSize.get();
     }
 
     public Stream<V> stream() {
-        return sortOrderSkipList.stream().map(item -> byKey.get(item.getKey())).filter(Objects::nonNull);
+        return snapshot().sorted.stream();
     }
 
     public Optional<V> getByKey(K key) {
@@ -78,15 +118,170 @@ public class CircularPriorityQueue<K, V, SLK extends Keyed<K>> {
         }
     }
 
+    /**
+     * Returns an immutable map of the elements by key, which is shared until the queue is next modified
+     */
     public Map<K, V> keyMap() {
-        return new HashMap<>(byKey);
+        return snapshot().keyMap(byKey);
     }
 
     public boolean isEmpty() {
-        return insertionOrderQueue.isEmpty();
+        return insertionOrderQueueSize.get() == 0;
     }
 
+    /**
+     * Returns an immutable list of the elements in priority order, which is shared until the queue is next modified
+     */
     public List<V> toSortedList() {
-        return stream().collect(Collectors.toList());
+        return snapshot().sorted;
+    }
+
+    /**
+     * Returns, in priority order, only the elements indexed under at least one of the specified index keys
+     */
+    public List<V> toSortedList(Collection<?> indexKeys) {
+        if (indexKeysFunction == null) {
+            return toSortedList();
+        }
+        return snapshot().sorted(indexKeys);
+    }
+
+    private Snapshot<K, V> snapshot() {
+        long version = modifications.get();
+        Snapshot<K, V> current = snapshot;
+        if (current == null || current.version != version) {
+            synchronized (this) {
+                version = modifications.get();
+                current = snapshot;
+                if (current == null || current.version != version) {
+                    current = buildSnapshot(version);
+                    snapshot = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private Snapshot<K, V> buildSnapshot(long version) {
+        List<V> sorted = new ArrayList<>(sortOrderSkipList.size());
+        Map<SLK, Integer> rankBySkipListKey = new HashMap<>();
+        for (SLK skipListKey : sortOrderSkipList) {
+            V element = byKey.get(skipListKey.getKey());
+            if (element != null) {
+                rankBySkipListKey.put(skipListKey, sorted.size());
+                sorted.add(element);
+            }
+        }
+        Map<Object, int[]> ranksByIndexKey = new HashMap<>();
+        for (Map.Entry<Object, ConcurrentSkipListSet<SLK>> entry : byIndexKey.entrySet()) {
+            int[] ranks = new int[entry.getValue().size()];
+            int count = 0;
+            for (SLK skipListKey : entry.getValue()) {
+                Integer rank = rankBySkipListKey.get(skipListKey);
+                if (rank != null && count < ranks.length) {
+                    ranks[count++] = rank;
+                }
+            }
+            if (count > 0) {
+                ranksByIndexKey.put(entry.getKey(), count == ranks.length ? ranks : Arrays.copyOf(ranks, count));
+            }
+        }
+        return new Snapshot<>(version, Collections.unmodifiableList(sorted), ranksByIndexKey);
+    }
+
+    private void addIndexKeys(V element, SLK skipListKey) {
+        if (indexKeysFunction != null) {
+            Collection<?> indexKeys = indexKeysFunction.apply(element);
+            Map.Entry<SLK, Collection<?>> previous = indexKeysByKey.put(mapKeyFunction.apply(element), new AbstractMap.SimpleImmutableEntry<>(skipListKey, indexKeys));
+            if (previous != null) {
+                for (Object indexKey : previous.getValue()) {
+                    removeFromIndex(indexKey, previous.getKey());
+                }
+            }
+            for (Object indexKey : indexKeys) {
+                byIndexKey.compute(indexKey, (key, indexed) -> {
+                    ConcurrentSkipListSet<SLK> result = indexed != null ? indexed : new ConcurrentSkipListSet<>(skipListComparator);
+                    result.add(skipListKey);
+                    return result;
+                });
+            }
+        }
+    }
+
+    private void removeIndexKeys(V element) {
+        if (indexKeysFunction != null) {
+            Map.Entry<SLK, Collection<?>> indexed = indexKeysByKey.remove(mapKeyFunction.apply(element));
+            if (indexed != null) {
+                for (Object indexKey : indexed.getValue()) {
+                    removeFromIndex(indexKey, indexed.getKey());
+                }
+            }
+        }
+    }
+
+    private void removeFromIndex(Object indexKey, SLK skipListKey) {
+        byIndexKey.computeIfPresent(indexKey, (key, indexed) -> {
+            indexed.remove(skipListKey);
+            return indexed.isEmpty() ? null : indexed;
+        });
+    }
+
+    private static class Snapshot<K, V> {
+        private final long version;
+        private final List<V> sorted;
+        private final Map<Object, int[]> ranksByIndexKey;
+        private final Map<Object, List<V>> sortedByIndexKey = new ConcurrentHashMap<>();
+        private final Map<Set<Object>, List<V>> sortedByIndexKeys = new ConcurrentHashMap<>();
+        private volatile Map<K, V> keyMap;
+
+        private Snapshot(long version, List<V> sorted, Map<Object, int[]> ranksByIndexKey) {
+            this.version = version;
+            this.sorted = sorted;
+            this.ranksByIndexKey = ranksByIndexKey;
+        }
+
+        private Map<K, V> keyMap(Map<K, V> byKey) {
+            if (keyMap == null) {
+                keyMap = Collections.unmodifiableMap(new HashMap<>(byKey));
+            }
+            return keyMap;
+        }
+
+        private List<V> sorted(Collection<?> indexKeys) {
+            Object onlyIndexKey = null;
+            Set<Object> existingIndexKeys = null;
+            for (Object indexKey : indexKeys) {
+                if (ranksByIndexKey.containsKey(indexKey)) {
+                    if (onlyIndexKey == null) {
+                        onlyIndexKey = indexKey;
+                    } else {
+                        if (existingIndexKeys == null) {
+                            existingIndexKeys = new HashSet<>();
+                            existingIndexKeys.add(onlyIndexKey);
+                        }
+                        existingIndexKeys.add(indexKey);
+                    }
+                }
+            }
+            if (onlyIndexKey == null) {
+                return Collections.emptyList();
+            } else if (existingIndexKeys == null) {
+                return sortedByIndexKey.computeIfAbsent(onlyIndexKey, indexKey -> resolve(ranksByIndexKey.get(indexKey)));
+            } else {
+                // only existing index keys are cached so the number of cached combinations is bounded
+                return sortedByIndexKeys.computeIfAbsent(existingIndexKeys, keys -> {
+                    int[] ranks = keys.stream().map(ranksByIndexKey::get).flatMapToInt(Arrays::stream).sorted().distinct().toArray();
+                    return resolve(ranks);
+                });
+            }
+        }
+
+        private List<V> resolve(int[] ranks) {
+            List<V> resolved = new ArrayList<>(ranks.length);
+            for (int rank : ranks) {
+                resolved.add(sorted.get(rank));
+            }
+            return Collections.unmodifiableList(resolved);
+        }
     }
 }
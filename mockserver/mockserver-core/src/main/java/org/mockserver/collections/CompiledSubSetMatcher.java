@@ -0,0 +1,130 @@
+package org.mockserver.collections;
+
+import org.mockserver.matchers.RegexStringMatcher;
+import org.mockserver.model.NottableSchemaString;
+import org.mockserver.model.NottableString;
+
+import java.util.BitSet;
+import java.util.List;
+
+import static org.mockserver.model.NottableString.string;
+
+/**
+ * The same subset match as {@link SubSetMatcher} with the matcher entries prepared once when the expectation is
+ * created, keys that can only match themselves (ignoring case) look up their candidate entries in
+ * {@link IndexedEntries} while notted, schema and regex keys are still tested against every entry.
+ * <p>
+ * Candidate entries are always tested with the same {@link RegexStringMatcher} calls as {@link SubSetMatcher} so both
+ * give the same result, however no match differences are recorded.
+ *
+ * @author jamesdbloom
+ */
+public class CompiledSubSetMatcher {
+
+    private final RegexStringMatcher regexStringMatcher;
+    private final CompiledEntry[] subset;
+    private final long subsetRequiredSize;
+
+    CompiledSubSetMatcher(RegexStringMatcher regexStringMatcher, List<ImmutableEntry> subset) {
+        this.regexStringMatcher = regexStringMatcher;
+        this.subset = new CompiledEntry[subset.size()];
+        for (int i = 0; i < subset.size(); i++) {
+            this.subset[i] = new CompiledEntry(subset.get(i));
+        }
+        this.subsetRequiredSize = subset.stream()
+            .filter(ImmutableEntry::isNotOptional)
+            .filter(ImmutableEntry::isNotNotted)
+            .count();
+    }
+
+    public boolean containsSubset(IndexedEntries superset) {
+        BitSet matchingIndexes = new BitSet(superset.size());
+        for (CompiledEntry subsetItem : subset) {
+            BitSet subsetItemMatchingIndexes = new BitSet(superset.size());
+            boolean keyPresent;
+            if (subsetItem.literalKey != null) {
+                keyPresent = matchesIndexes(subsetItem.entry, superset, superset.indexesForKey(subsetItem.literalKey), subsetItemMatchingIndexes);
+                keyPresent |= matchesIndexes(subsetItem.entry, superset, superset.alwaysCandidateIndexes(), subsetItemMatchingIndexes);
+            } else {
+                keyPresent = matchesAllIndexes(subsetItem.entry, superset, subsetItemMatchingIndexes);
+            }
+            boolean optionalAndNotPresent = subsetItem.entry.isOptional() && !keyPresent;
+            if ((!optionalAndNotPresent && subsetItemMatchingIndexes.isEmpty()) || nottedAndPresent(subsetItem, superset)) {
+                return false;
+            }
+            matchingIndexes.or(subsetItemMatchingIndexes);
+        }
+        // this prevents multiple items in the subset from being matched by a single item in the superset
+        return matchingIndexes.cardinality() >= subsetRequiredSize;
+    }
+
+    private boolean matchesIndexes(ImmutableEntry matcherItem, IndexedEntries matchedEntries, int[] indexes, BitSet matchingIndexes) {
+        boolean keyPresent = false;
+        for (int index : indexes) {
+            keyPresent |= matches(matcherItem, matchedEntries.get(index), index, matchingIndexes);
+        }
+        return keyPresent;
+    }
+
+    private boolean matchesAllIndexes(ImmutableEntry matcherItem, IndexedEntries matchedEntries, BitSet matchingIndexes) {
+        boolean keyPresent = false;
+        for (int index = 0; index < matchedEntries.size(); index++) {
+            keyPresent |= matches(matcherItem, matchedEntries.get(index), index, matchingIndexes);
+        }
+        return keyPresent;
+    }
+
+    private boolean matches(ImmutableEntry matcherItem, ImmutableEntry matchedItem, int index, BitSet matchingIndexes) {
+        if (regexStringMatcher.matches(matcherItem.getKey(), matchedItem.getKey())) {
+            if (regexStringMatcher.matches(matcherItem.getValue(), matchedItem.getValue())) {
+                matchingIndexes.set(index);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private boolean nottedAndPresent(CompiledEntry matcherItem, IndexedEntries matchedEntries) {
+        if (matcherItem.unNottedKey != null) {
+            for (int index = 0; index < matchedEntries.size(); index++) {
+                NottableString matchedKey = matchedEntries.get(index).getKey();
+                if (!matchedKey.isNot() && regexStringMatcher.matches(matcherItem.unNottedKey, matchedKey)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static class CompiledEntry {
+        private final ImmutableEntry entry;
+        private final String literalKey;
+        private final NottableString unNottedKey;
+
+        private CompiledEntry(ImmutableEntry entry) {
+            this.entry = entry;
+            NottableString key = entry.getKey().precompile();
+            entry.getValue().precompile();
+            this.literalKey = isLiteral(key) ? IndexedEntries.asciiLowerCase(key.getValue()) : null;
+            this.unNottedKey = key.isNot() ? string(key.getValue()) : null;
+        }
+
+        /**
+         * A key made only of ascii letters, digits, hyphens and underscores matches (as a string or as a case
+         * insensitive regex) exactly the keys equal to it ignoring case, plus non-ascii keys that fold onto it
+         */
+        private static boolean isLiteral(NottableString key) {
+            if (key.isNot() || key instanceof NottableSchemaString || key.getValue() == null || key.getValue().isEmpty()) {
+                return false;
+            }
+            String value = key.getValue();
+            for (int i = 0; i < value.length(); i++) {
+                char character = value.charAt(i);
+                if (!((character >= 'a' && character <= 'z') || (character >= 'A' && character <= 'Z') || (character >= '0' && character <= '9') || character == '-' || character == '_')) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
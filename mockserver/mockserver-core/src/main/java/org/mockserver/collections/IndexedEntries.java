@@ -0,0 +1,84 @@
+package org.mockserver.collections;
+
+import org.mockserver.model.NottableSchemaString;
+import org.mockserver.model.NottableString;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The entries of a request's headers, query parameters or cookies indexed by their ascii lower case key, so a
+ * {@link CompiledSubSetMatcher} only tests the entries whose key could match a literal key instead of every entry.
+ * <p>
+ * Entries whose key is not ascii (which case insensitive regex matching can fold onto an ascii key), is notted or is a
+ * schema are candidates for every key.
+ *
+ * @author jamesdbloom
+ */
+public class IndexedEntries {
+
+    private static final int[] NO_INDEXES = new int[0];
+
+    private final List<ImmutableEntry> entries;
+    private final Map<String, int[]> indexesByKey = new HashMap<>();
+    private final int[] alwaysCandidateIndexes;
+
+    IndexedEntries(List<ImmutableEntry> entries) {
+        this.entries = entries;
+        List<Integer> alwaysCandidates = new ArrayList<>();
+        for (int i = 0; i < entries.size(); i++) {
+            NottableString key = entries.get(i).getKey();
+            String lowerCaseKey = key.isNot() || key instanceof NottableSchemaString ? null : asciiLowerCase(key.getValue());
+            if (lowerCaseKey != null) {
+                int[] indexes = indexesByKey.getOrDefault(lowerCaseKey, NO_INDEXES);
+                int[] updatedIndexes = new int[indexes.length + 1];
+                System.arraycopy(indexes, 0, updatedIndexes, 0, indexes.length);
+                updatedIndexes[indexes.length] = i;
+                indexesByKey.put(lowerCaseKey, updatedIndexes);
+            } else {
+                alwaysCandidates.add(i);
+            }
+        }
+        this.alwaysCandidateIndexes = alwaysCandidates.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Returns the lower case form of an ascii string, or null if the string is null or contains non-ascii characters
+     */
+    static String asciiLowerCase(String value) {
+        if (value == null) {
+            return null;
+        }
+        char[] chars = null;
+        for (int i = 0; i < value.length(); i++) {
+            char character = value.charAt(i);
+            if (character > 127) {
+                return null;
+            } else if (character >= 'A' && character <= 'Z') {
+                if (chars == null) {
+                    chars = value.toCharArray();
+                }
+                chars[i] = (char) (character + ('a' - 'A'));
+            }
+        }
+        return chars != null ? new String(chars) : value;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    ImmutableEntry get(int index) {
+        return entries.get(index);
+    }
+
+    int[] indexesForKey(String lowerCaseKey) {
+        return indexesByKey.getOrDefault(lowerCaseKey, NO_INDEXES);
+    }
+
+    int[] alwaysCandidateIndexes() {
+        return alwaysCandidateIndexes;
+    }
+}
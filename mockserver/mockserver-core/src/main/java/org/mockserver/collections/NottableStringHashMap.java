@@ -42,6 +42,20 @@ public class NottableStringHashMap {
         return containsSubset(mockServerLogger, context, regexStringMatcher, subset.entryList(), entryList());
     }
 
+    /**
+     * Prepares these entries, when used as the expected subset, for repeated {@link CompiledSubSetMatcher#containsSubset(IndexedEntries)} calls
+     */
+    public CompiledSubSetMatcher compiledSubSetMatcher() {
+        return new CompiledSubSetMatcher(regexStringMatcher, entryList());
+    }
+
+    /**
+     * Indexes these entries, when used as the superset, for {@link CompiledSubSetMatcher#containsSubset(IndexedEntries)}
+     */
+    public IndexedEntries indexedEntries() {
+        return new IndexedEntries(entryList());
+    }
+
     public boolean allKeysNotted() {
         for (NottableString key : backingMap.keySet()) {
             if (!key.isNot()) {
@@ -91,6 +91,20 @@ public class NottableStringMultiMap extends ObjectWithReflectiveEqualsHashCodeTo
         return false;
     }
 
+    /**
+     * Prepares these entries, when used as the expected subset, for repeated {@link CompiledSubSetMatcher#containsSubset(IndexedEntries)} calls
+     */
+    public CompiledSubSetMatcher compiledSubSetMatcher() {
+        return new CompiledSubSetMatcher(regexStringMatcher, entryList());
+    }
+
+    /**
+     * Indexes these entries, when used as the superset, for {@link CompiledSubSetMatcher#containsSubset(IndexedEntries)}
+     */
+    public IndexedEntries indexedEntries() {
+        return new IndexedEntries(entryList());
+    }
+
     public boolean allKeysNotted() {
         if (!isEmpty()) {
             for (NottableString key : backingMap.keySet()) {
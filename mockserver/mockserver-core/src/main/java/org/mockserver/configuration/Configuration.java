@@ -6,6 +6,8 @@ import org.mockserver.log.model.LogEntry;
 import org.mockserver.model.BinaryProxyListener;
 import org.mockserver.model.Delay;
 import org.mockserver.model.ProxyPassMapping;
+import org.mockserver.scheduler.MatchingExecutorType;
+import org.mockserver.socket.NettyTransport;
 import org.mockserver.socket.tls.ForwardProxyTLSX509CertificatesTrustManager;
 import org.slf4j.event.Level;
 
@@ -47,17 +49,26 @@ public class Configuration {
     private Integer dnsPort;
     private Map<String, String> logLevelOverrides;
     private Boolean compactLogFormat;
+    private Boolean jsonLogFormat;
+    private Integer asyncLogQueueSize;
 
     // memory usage
     private Integer maxExpectations;
     private Integer maxLogEntries;
+    private Long maxLogEntriesBytes;
+    private Integer logBodyCompressionThreshold;
     private Integer maxWebSocketExpectations;
     private Boolean outputMemoryUsageCsv;
     private String memoryUsageCsvDirectory;
 
     // scalability
     private Integer nioEventLoopThreadCount;
+    private NettyTransport nettyTransport;
+    private Integer acceptThreadCount;
     private Integer actionHandlerThreadCount;
+    private MatchingExecutorType matchingExecutor;
+    private Integer matchingThreadCount;
+    private Integer matchingQueueSize;
     private Integer clientNioEventLoopThreadCount;
     private Integer webSocketClientEventLoopThreadCount;
     private Long maxFutureTimeoutInMillis;
@@ -69,6 +80,11 @@ public class Configuration {
     private Delay connectionDelay;
     private Boolean alwaysCloseSocketConnections;
     private String localBoundIP;
+    private Boolean forwardConnectionPoolEnabled;
+    private Integer forwardConnectionPoolMaxConnectionsPerHost;
+    private Long forwardConnectionPoolIdleTimeoutInMillis;
+    private Boolean forwardStreamingEnabled;
+    private Integer forwardStreamingMaxBufferedBodySize;
 
     // http request parsing
     private Integer maxInitialLineLength;
@@ -108,10 +124,14 @@ public class Configuration {
     // mock persistence
     private Boolean persistExpectations;
     private String persistedExpectationsPath;
+    private Boolean persistExpectationsJournal;
+    private Integer persistedExpectationsJournalCompactionThreshold;
 
     // recorded expectation persistence
     private Boolean persistRecordedExpectations;
     private String persistedRecordedExpectationsPath;
+    private Long persistedRecordedExpectationsFlushInterval;
+    private Integer persistedRecordedExpectationsFlushBatchSize;
 
     // verification
     private Integer maximumNumberOfRequestToReturnInVerificationFailure;
@@ -163,6 +183,8 @@ public class Configuration {
 
     // inbound - dynamic private key & x509
     private Boolean preventCertificateDynamicUpdate;
+    private Integer hostnameCertificateCacheSize;
+    private Boolean persistHostnameCertificates;
     private String sslCertificateDomainName;
     private Set<String> sslSubjectAlternativeNameDomains;
     private Set<String> sslSubjectAlternativeNameIps;
@@ -421,6 +443,49 @@ public class Configuration {
         return this;
     }
 
+    public Boolean jsonLogFormat() {
+        if (jsonLogFormat == null) {
+            return ConfigurationProperties.jsonLogFormat();
+        }
+        return jsonLogFormat;
+    }
+
+    /**
+     * When enabled, log messages written to stdout/SLF4J are written as one JSON object per line containing the
+     * timestamp, level, type, port, correlation id, a compact message and the serialised arguments, this takes
+     * precedence over compactLogFormat. The dashboard UI, verification, and log retrieval APIs are not affected.
+     *
+     * @param jsonLogFormat enable JSON lines log format
+     */
+    public Configuration jsonLogFormat(Boolean jsonLogFormat) {
+        this.jsonLogFormat = jsonLogFormat;
+        return this;
+    }
+
+    public Integer asyncLogQueueSize() {
+        if (asyncLogQueueSize == null) {
+            return ConfigurationProperties.asyncLogQueueSize();
+        }
+        return asyncLogQueueSize;
+    }
+
+    /**
+     * <p>
+     * Number of log messages that can be queued for formatting and writing to stdout/SLF4J by a dedicated background
+     * thread, so formatting and writing log messages doesn't block request processing.  When the queue is full log
+     * messages are dropped and counted.  A value of 0 formats and writes log messages on the thread that logged them.
+     * </p>
+     * <p>
+     * The default is 0
+     * </p>
+     *
+     * @param asyncLogQueueSize the maximum number of queued log messages
+     */
+    public Configuration asyncLogQueueSize(Integer asyncLogQueueSize) {
+        this.asyncLogQueueSize = asyncLogQueueSize;
+        return this;
+    }
+
     public Integer maxExpectations() {
         if (maxExpectations == null) {
             return ConfigurationProperties.maxExpectations();
@@ -465,6 +530,52 @@ public class Configuration {
         return this;
     }
 
+    public Long maxLogEntriesBytes() {
+        if (maxLogEntriesBytes == null) {
+            return ConfigurationProperties.maxLogEntriesBytes();
+        }
+        return maxLogEntriesBytes;
+    }
+
+    /**
+     * <p>
+     * Maximum estimated size in bytes of the log entries stored in memory, once this limit is reached the oldest log entries are evicted
+     * until the log fits, in addition to the maxLogEntries limit.  A value of 0 disables this limit so log entries are only bounded by count
+     * </p>
+     * <p>
+     * The default is 0
+     * </p>
+     *
+     * @param maxLogEntriesBytes maximum estimated size in bytes of the log entries to store
+     */
+    public Configuration maxLogEntriesBytes(Long maxLogEntriesBytes) {
+        this.maxLogEntriesBytes = maxLogEntriesBytes;
+        return this;
+    }
+
+    public Integer logBodyCompressionThreshold() {
+        if (logBodyCompressionThreshold == null) {
+            return ConfigurationProperties.logBodyCompressionThreshold();
+        }
+        return logBodyCompressionThreshold;
+    }
+
+    /**
+     * <p>
+     * Request and response bodies in the log larger than this number of bytes are stored gzip compressed and only decompressed when
+     * the log entry is retrieved, verified or displayed.  A value of 0 disables compression
+     * </p>
+     * <p>
+     * The default is 0
+     * </p>
+     *
+     * @param logBodyCompressionThreshold the body size in bytes above which log entry bodies are compressed
+     */
+    public Configuration logBodyCompressionThreshold(Integer logBodyCompressionThreshold) {
+        this.logBodyCompressionThreshold = logBodyCompressionThreshold;
+        return this;
+    }
+
     public Integer maxWebSocketExpectations() {
         if (maxWebSocketExpectations == null) {
             return ConfigurationProperties.maxWebSocketExpectations();
@@ -538,6 +649,43 @@ public class Configuration {
         return this;
     }
 
+    public NettyTransport nettyTransport() {
+        if (nettyTransport == null) {
+            return ConfigurationProperties.nettyTransport();
+        }
+        return nettyTransport;
+    }
+
+    /**
+     * <p>Netty transport used for server and client event loops and channels, allowed values: AUTO, EPOLL, NIO</p>
+     * <p>AUTO uses the native epoll transport when it is available (i.e. on Linux) otherwise NIO, EPOLL falls back to NIO if epoll is not available</p>
+     * <p>Default is AUTO</p>
+     *
+     * @param nettyTransport Netty transport for event loops and channels
+     */
+    public Configuration nettyTransport(NettyTransport nettyTransport) {
+        this.nettyTransport = nettyTransport;
+        return this;
+    }
+
+    public Integer acceptThreadCount() {
+        if (acceptThreadCount == null) {
+            return ConfigurationProperties.acceptThreadCount();
+        }
+        return acceptThreadCount;
+    }
+
+    /**
+     * <p>Number of threads accepting connections for each port, when greater than one and the epoll transport is in use each port is bound this many times using SO_REUSEPORT so the kernel distributes new connections across the accept threads</p>
+     * <p>Default is 1</p>
+     *
+     * @param acceptThreadCount number of threads accepting connections for each port
+     */
+    public Configuration acceptThreadCount(Integer acceptThreadCount) {
+        this.acceptThreadCount = acceptThreadCount;
+        return this;
+    }
+
     public Integer actionHandlerThreadCount() {
         if (actionHandlerThreadCount == null) {
             return ConfigurationProperties.actionHandlerThreadCount();
@@ -564,6 +712,62 @@ public class Configuration {
         return this;
     }
 
+    public MatchingExecutorType matchingExecutor() {
+        if (matchingExecutor == null) {
+            return ConfigurationProperties.matchingExecutor();
+        }
+        return matchingExecutor;
+    }
+
+    /**
+     * <p>Where requests are matched against expectations, allowed values: EVENT_LOOP, PLATFORM_THREADS, VIRTUAL_THREADS</p>
+     * <p>When PLATFORM_THREADS or VIRTUAL_THREADS is used requests are only matched off the Netty event loop if an active expectation with the same method and path uses an expensive matcher (i.e. json schema, xml schema, xpath or OpenAPI), so slow matching doesn't delay other connections on the same event loop</p>
+     * <p>VIRTUAL_THREADS requires Java 21 or later, otherwise PLATFORM_THREADS is used</p>
+     * <p>Default is PLATFORM_THREADS</p>
+     *
+     * @param matchingExecutor where requests are matched against expectations
+     */
+    public Configuration matchingExecutor(MatchingExecutorType matchingExecutor) {
+        this.matchingExecutor = matchingExecutor;
+        return this;
+    }
+
+    public Integer matchingThreadCount() {
+        if (matchingThreadCount == null) {
+            return ConfigurationProperties.matchingThreadCount();
+        }
+        return matchingThreadCount;
+    }
+
+    /**
+     * <p>Number of threads for the matching thread pool, only used when matchingExecutor is PLATFORM_THREADS</p>
+     * <p>Default is maximum of 5 or available processors count</p>
+     *
+     * @param matchingThreadCount matching thread pool size
+     */
+    public Configuration matchingThreadCount(Integer matchingThreadCount) {
+        this.matchingThreadCount = matchingThreadCount;
+        return this;
+    }
+
+    public Integer matchingQueueSize() {
+        if (matchingQueueSize == null) {
+            return ConfigurationProperties.matchingQueueSize();
+        }
+        return matchingQueueSize;
+    }
+
+    /**
+     * <p>Maximum number of requests waiting for a matching thread when matchingExecutor is PLATFORM_THREADS, or being matched on virtual threads when matchingExecutor is VIRTUAL_THREADS, when the queue is full requests are rejected with a 503 Service Unavailable response</p>
+     * <p>Default is 10000</p>
+     *
+     * @param matchingQueueSize maximum number of requests waiting to be matched
+     */
+    public Configuration matchingQueueSize(Integer matchingQueueSize) {
+        this.matchingQueueSize = matchingQueueSize;
+        return this;
+    }
+
     public Integer clientNioEventLoopThreadCount() {
         if (clientNioEventLoopThreadCount == null) {
             return ConfigurationProperties.clientNioEventLoopThreadCount();
@@ -724,6 +928,107 @@ public class Configuration {
         return this;
     }
 
+    public Boolean forwardConnectionPoolEnabled() {
+        if (forwardConnectionPoolEnabled == null) {
+            return ConfigurationProperties.forwardConnectionPoolEnabled();
+        }
+        return forwardConnectionPoolEnabled;
+    }
+
+    /**
+     * If true connections used to forward or proxy requests are kept alive and reused for subsequent requests to the same
+     * remote address, protocol and TLS setting, if false a new connection is opened (and closed) for every request
+     * <p>
+     * Default is false
+     *
+     * @param forwardConnectionPoolEnabled true connections used to forward or proxy requests are pooled and reused
+     */
+    public Configuration forwardConnectionPoolEnabled(Boolean forwardConnectionPoolEnabled) {
+        this.forwardConnectionPoolEnabled = forwardConnectionPoolEnabled;
+        return this;
+    }
+
+    public Integer forwardConnectionPoolMaxConnectionsPerHost() {
+        if (forwardConnectionPoolMaxConnectionsPerHost == null) {
+            return ConfigurationProperties.forwardConnectionPoolMaxConnectionsPerHost();
+        }
+        return forwardConnectionPoolMaxConnectionsPerHost;
+    }
+
+    /**
+     * Maximum number of pooled connections open to each remote address, protocol and TLS setting, when all connections are in
+     * use requests wait (up to the socket connection timeout) for a connection to be released
+     * <p>
+     * Default is 20
+     *
+     * @param forwardConnectionPoolMaxConnectionsPerHost maximum number of pooled connections per remote address
+     */
+    public Configuration forwardConnectionPoolMaxConnectionsPerHost(Integer forwardConnectionPoolMaxConnectionsPerHost) {
+        this.forwardConnectionPoolMaxConnectionsPerHost = forwardConnectionPoolMaxConnectionsPerHost;
+        return this;
+    }
+
+    public Long forwardConnectionPoolIdleTimeoutInMillis() {
+        if (forwardConnectionPoolIdleTimeoutInMillis == null) {
+            return ConfigurationProperties.forwardConnectionPoolIdleTimeout();
+        }
+        return forwardConnectionPoolIdleTimeoutInMillis;
+    }
+
+    /**
+     * Time in milliseconds a pooled connection can be idle before it is closed
+     * <p>
+     * Default is 30,000 ms
+     *
+     * @param forwardConnectionPoolIdleTimeoutInMillis maximum idle time in milliseconds
+     */
+    public Configuration forwardConnectionPoolIdleTimeoutInMillis(Long forwardConnectionPoolIdleTimeoutInMillis) {
+        this.forwardConnectionPoolIdleTimeoutInMillis = forwardConnectionPoolIdleTimeoutInMillis;
+        return this;
+    }
+
+    public Boolean forwardStreamingEnabled() {
+        if (forwardStreamingEnabled == null) {
+            return ConfigurationProperties.forwardStreamingEnabled();
+        }
+        return forwardStreamingEnabled;
+    }
+
+    /**
+     * If true the bodies of proxied HTTP/1.1 requests that can't match an expectation (based on their method and path), and
+     * their responses, are streamed to and from the remote server instead of being fully buffered in memory, only the first
+     * forwardStreamingMaxBufferedBodySize bytes of each body are buffered for logging, requests that could match an
+     * expectation are buffered in full as normal
+     * <p>
+     * Default is false
+     *
+     * @param forwardStreamingEnabled true proxied request and response bodies are streamed
+     */
+    public Configuration forwardStreamingEnabled(Boolean forwardStreamingEnabled) {
+        this.forwardStreamingEnabled = forwardStreamingEnabled;
+        return this;
+    }
+
+    public Integer forwardStreamingMaxBufferedBodySize() {
+        if (forwardStreamingMaxBufferedBodySize == null) {
+            return ConfigurationProperties.forwardStreamingMaxBufferedBodySize();
+        }
+        return forwardStreamingMaxBufferedBodySize;
+    }
+
+    /**
+     * Maximum number of bytes of a streamed request or response body that are buffered for logging, larger bodies are
+     * truncated to this size when logged (and aren't recorded as expectations) but are forwarded in full
+     * <p>
+     * Default is 1,048,576 bytes (1MB)
+     *
+     * @param forwardStreamingMaxBufferedBodySize maximum number of body bytes buffered for logging
+     */
+    public Configuration forwardStreamingMaxBufferedBodySize(Integer forwardStreamingMaxBufferedBodySize) {
+        this.forwardStreamingMaxBufferedBodySize = forwardStreamingMaxBufferedBodySize;
+        return this;
+    }
+
     public Integer maxInitialLineLength() {
         if (maxInitialLineLength == null) {
             return ConfigurationProperties.maxInitialLineLength();
@@ -1235,6 +1540,46 @@ public class Configuration {
         return this;
     }
 
+    public Boolean persistExpectationsJournal() {
+        if (persistExpectationsJournal == null) {
+            return ConfigurationProperties.persistExpectationsJournal();
+        }
+        return persistExpectationsJournal;
+    }
+
+    /**
+     * Persist expectation changes as an append-only journal (persistedExpectationsPath + ".journal") of add and remove records instead
+     * of rewriting the whole persisted expectations file on every change, the journal is periodically compacted back into the persisted
+     * expectations file and is replayed on startup
+     * <p>
+     * The default is false
+     *
+     * @param persistExpectationsJournal persisting expectation changes as an append-only journal
+     */
+    public Configuration persistExpectationsJournal(Boolean persistExpectationsJournal) {
+        this.persistExpectationsJournal = persistExpectationsJournal;
+        return this;
+    }
+
+    public Integer persistedExpectationsJournalCompactionThreshold() {
+        if (persistedExpectationsJournalCompactionThreshold == null) {
+            return ConfigurationProperties.persistedExpectationsJournalCompactionThreshold();
+        }
+        return persistedExpectationsJournalCompactionThreshold;
+    }
+
+    /**
+     * The number of journal records after which the expectation journal is compacted into the persisted expectations file
+     * <p>
+     * The default is 1000
+     *
+     * @param persistedExpectationsJournalCompactionThreshold number of journal records after which the journal is compacted
+     */
+    public Configuration persistedExpectationsJournalCompactionThreshold(Integer persistedExpectationsJournalCompactionThreshold) {
+        this.persistedExpectationsJournalCompactionThreshold = persistedExpectationsJournalCompactionThreshold;
+        return this;
+    }
+
     public Boolean persistRecordedExpectations() {
         if (persistRecordedExpectations == null) {
             return ConfigurationProperties.persistRecordedExpectations();
@@ -1273,6 +1618,44 @@ public class Configuration {
         return this;
     }
 
+    public Long persistedRecordedExpectationsFlushInterval() {
+        if (persistedRecordedExpectationsFlushInterval == null) {
+            return ConfigurationProperties.persistedRecordedExpectationsFlushInterval();
+        }
+        return persistedRecordedExpectationsFlushInterval;
+    }
+
+    /**
+     * The interval in milliseconds at which newly recorded expectations are appended to the persisted recorded expectations file
+     * <p>
+     * The default is 500
+     *
+     * @param persistedRecordedExpectationsFlushInterval interval in milliseconds between writes of newly recorded expectations
+     */
+    public Configuration persistedRecordedExpectationsFlushInterval(Long persistedRecordedExpectationsFlushInterval) {
+        this.persistedRecordedExpectationsFlushInterval = persistedRecordedExpectationsFlushInterval;
+        return this;
+    }
+
+    public Integer persistedRecordedExpectationsFlushBatchSize() {
+        if (persistedRecordedExpectationsFlushBatchSize == null) {
+            return ConfigurationProperties.persistedRecordedExpectationsFlushBatchSize();
+        }
+        return persistedRecordedExpectationsFlushBatchSize;
+    }
+
+    /**
+     * The number of newly recorded expectations that triggers a write to the persisted recorded expectations file before the flush interval has elapsed
+     * <p>
+     * The default is 100
+     *
+     * @param persistedRecordedExpectationsFlushBatchSize number of newly recorded expectations that triggers an early write
+     */
+    public Configuration persistedRecordedExpectationsFlushBatchSize(Integer persistedRecordedExpectationsFlushBatchSize) {
+        this.persistedRecordedExpectationsFlushBatchSize = persistedRecordedExpectationsFlushBatchSize;
+        return this;
+    }
+
     public Integer maximumNumberOfRequestToReturnInVerificationFailure() {
         if (maximumNumberOfRequestToReturnInVerificationFailure == null) {
             return ConfigurationProperties.maximumNumberOfRequestToReturnInVerificationFailure();
@@ -1929,6 +2312,43 @@ public class Configuration {
         return this;
     }
 
+    public Integer hostnameCertificateCacheSize() {
+        if (hostnameCertificateCacheSize == null) {
+            return ConfigurationProperties.hostnameCertificateCacheSize();
+        }
+        return hostnameCertificateCacheSize;
+    }
+
+    /**
+     * <p>Maximum number of per-hostname TLS contexts to cache, when greater than zero each SNI hostname is served a leaf certificate, signed by the Certificate Authority, for that hostname only and the least recently used contexts are evicted once this limit is reached</p>
+     * <p>Certificates are generated off the event loop, when set to zero every SNI hostname is instead added as a Subject Alternative Name to a single shared leaf certificate</p>
+     * <p>Per-hostname certificates are not used if privateKeyPath and x509CertificatePath are configured or preventCertificateDynamicUpdate is enabled</p>
+     * <p>The default is 250</p>
+     *
+     * @param hostnameCertificateCacheSize maximum number of per-hostname TLS contexts to cache, or zero to disable per-hostname certificates
+     */
+    public Configuration hostnameCertificateCacheSize(Integer hostnameCertificateCacheSize) {
+        this.hostnameCertificateCacheSize = hostnameCertificateCacheSize;
+        return this;
+    }
+
+    public Boolean persistHostnameCertificates() {
+        if (persistHostnameCertificates == null) {
+            return ConfigurationProperties.persistHostnameCertificates();
+        }
+        return persistHostnameCertificates;
+    }
+
+    /**
+     * Save per-hostname private keys and X.509 certificates in the directory specified with configuration property directoryToSaveDynamicSSLCertificate, so they are reused after a restart if they are still signed by the same Certificate Authority
+     *
+     * @param persistHostnameCertificates save and reuse per-hostname private keys and X.509 certificates
+     */
+    public Configuration persistHostnameCertificates(Boolean persistHostnameCertificates) {
+        this.persistHostnameCertificates = persistHostnameCertificates;
+        return this;
+    }
+
     public String sslCertificateDomainName() {
         if (sslCertificateDomainName == null) {
             return ConfigurationProperties.sslCertificateDomainName();
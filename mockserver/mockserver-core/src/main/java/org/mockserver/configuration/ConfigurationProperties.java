@@ -14,7 +14,9 @@ import org.mockserver.logging.MockServerLogger;
 import org.mockserver.memory.MemoryMonitoring;
 import org.mockserver.memory.Summary;
 import org.mockserver.model.ProxyPassMapping;
+import org.mockserver.scheduler.MatchingExecutorType;
 import org.mockserver.serialization.ObjectMapperFactory;
+import org.mockserver.socket.NettyTransport;
 import org.mockserver.socket.tls.ForwardProxyTLSX509CertificatesTrustManager;
 import org.mockserver.socket.tls.KeyAndCertificateFactory;
 import org.slf4j.event.Level;
@@ -55,17 +57,26 @@ public class ConfigurationProperties {
     private static final String MOCKSERVER_MCP_ENABLED = "mockserver.mcpEnabled";
     private static final String MOCKSERVER_LOG_LEVEL_OVERRIDES = "mockserver.logLevelOverrides";
     private static final String MOCKSERVER_COMPACT_LOG_FORMAT = "mockserver.compactLogFormat";
+    private static final String MOCKSERVER_JSON_LOG_FORMAT = "mockserver.jsonLogFormat";
+    private static final String MOCKSERVER_ASYNC_LOG_QUEUE_SIZE = "mockserver.asyncLogQueueSize";
 
     // memory usage
     private static final String MOCKSERVER_MAX_EXPECTATIONS = "mockserver.maxExpectations";
     private static final String MOCKSERVER_MAX_LOG_ENTRIES = "mockserver.maxLogEntries";
+    private static final String MOCKSERVER_MAX_LOG_ENTRIES_BYTES = "mockserver.maxLogEntriesBytes";
+    private static final String MOCKSERVER_LOG_BODY_COMPRESSION_THRESHOLD = "mockserver.logBodyCompressionThreshold";
     private static final String MOCKSERVER_MAX_WEB_SOCKET_EXPECTATIONS = "mockserver.maxWebSocketExpectations";
     private static final String MOCKSERVER_OUTPUT_MEMORY_USAGE_CSV = "mockserver.outputMemoryUsageCsv";
     private static final String MOCKSERVER_MEMORY_USAGE_CSV_DIRECTORY = "mockserver.memoryUsageCsvDirectory";
 
     // scalability
     private static final String MOCKSERVER_NIO_EVENT_LOOP_THREAD_COUNT = "mockserver.nioEventLoopThreadCount";
+    private static final String MOCKSERVER_NETTY_TRANSPORT = "mockserver.nettyTransport";
+    private static final String MOCKSERVER_ACCEPT_THREAD_COUNT = "mockserver.acceptThreadCount";
     private static final String MOCKSERVER_ACTION_HANDLER_THREAD_COUNT = "mockserver.actionHandlerThreadCount";
+    private static final String MOCKSERVER_MATCHING_EXECUTOR = "mockserver.matchingExecutor";
+    private static final String MOCKSERVER_MATCHING_THREAD_COUNT = "mockserver.matchingThreadCount";
+    private static final String MOCKSERVER_MATCHING_QUEUE_SIZE = "mockserver.matchingQueueSize";
     private static final String MOCKSERVER_CLIENT_NIO_EVENT_LOOP_THREAD_COUNT = "mockserver.clientNioEventLoopThreadCount";
     private static final String MOCKSERVER_WEB_SOCKET_CLIENT_EVENT_LOOP_THREAD_COUNT = "mockserver.webSocketClientEventLoopThreadCount";
     private static final String MOCKSERVER_MAX_FUTURE_TIMEOUT = "mockserver.maxFutureTimeout";
@@ -77,6 +88,11 @@ public class ConfigurationProperties {
     private static final String MOCKSERVER_CONNECTION_DELAY_MILLIS = "mockserver.connectionDelayMillis";
     private static final String MOCKSERVER_ALWAYS_CLOSE_SOCKET_CONNECTIONS = "mockserver.alwaysCloseSocketConnections";
     private static final String MOCKSERVER_LOCAL_BOUND_IP = "mockserver.localBoundIP";
+    private static final String MOCKSERVER_FORWARD_CONNECTION_POOL_ENABLED = "mockserver.forwardConnectionPoolEnabled";
+    private static final String MOCKSERVER_FORWARD_CONNECTION_POOL_MAX_CONNECTIONS_PER_HOST = "mockserver.forwardConnectionPoolMaxConnectionsPerHost";
+    private static final String MOCKSERVER_FORWARD_CONNECTION_POOL_IDLE_TIMEOUT = "mockserver.forwardConnectionPoolIdleTimeout";
+    private static final String MOCKSERVER_FORWARD_STREAMING_ENABLED = "mockserver.forwardStreamingEnabled";
+    private static final String MOCKSERVER_FORWARD_STREAMING_MAX_BUFFERED_BODY_SIZE = "mockserver.forwardStreamingMaxBufferedBodySize";
 
     // http request parsing
     private static final String MOCKSERVER_MAX_INITIAL_LINE_LENGTH = "mockserver.maxInitialLineLength";
@@ -123,10 +139,14 @@ public class ConfigurationProperties {
     // mock persistence
     private static final String MOCKSERVER_PERSIST_EXPECTATIONS = "mockserver.persistExpectations";
     private static final String MOCKSERVER_PERSISTED_EXPECTATIONS_PATH = "mockserver.persistedExpectationsPath";
+    private static final String MOCKSERVER_PERSIST_EXPECTATIONS_JOURNAL = "mockserver.persistExpectationsJournal";
+    private static final String MOCKSERVER_PERSISTED_EXPECTATIONS_JOURNAL_COMPACTION_THRESHOLD = "mockserver.persistedExpectationsJournalCompactionThreshold";
 
     // recorded expectation persistence
     private static final String MOCKSERVER_PERSIST_RECORDED_EXPECTATIONS = "mockserver.persistRecordedExpectations";
     private static final String MOCKSERVER_PERSISTED_RECORDED_EXPECTATIONS_PATH = "mockserver.persistedRecordedExpectationsPath";
+    private static final String MOCKSERVER_PERSISTED_RECORDED_EXPECTATIONS_FLUSH_INTERVAL = "mockserver.persistedRecordedExpectationsFlushInterval";
+    private static final String MOCKSERVER_PERSISTED_RECORDED_EXPECTATIONS_FLUSH_BATCH_SIZE = "mockserver.persistedRecordedExpectationsFlushBatchSize";
 
     // verification
     private static final String MOCKSERVER_MAXIMUM_NUMBER_OF_REQUESTS_TO_RETURN_IN_VERIFICATION_FAILURE = "mockserver.maximumNumberOfRequestToReturnInVerificationFailure";
@@ -174,6 +194,8 @@ public class ConfigurationProperties {
 
     // inbound - dynamic private key & x509
     private static final String MOCKSERVER_PREVENT_CERTIFICATE_DYNAMIC_UPDATE = "mockserver.preventCertificateDynamicUpdate";
+    private static final String MOCKSERVER_HOSTNAME_CERTIFICATE_CACHE_SIZE = "mockserver.hostnameCertificateCacheSize";
+    private static final String MOCKSERVER_PERSIST_HOSTNAME_CERTIFICATES = "mockserver.persistHostnameCertificates";
     private static final String MOCKSERVER_SSL_CERTIFICATE_DOMAIN_NAME = "mockserver.sslCertificateDomainName";
     private static final String MOCKSERVER_SSL_SUBJECT_ALTERNATIVE_NAME_DOMAINS = "mockserver.sslSubjectAlternativeNameDomains";
     private static final String MOCKSERVER_SSL_SUBJECT_ALTERNATIVE_NAME_IPS = "mockserver.sslSubjectAlternativeNameIps";
@@ -507,6 +529,42 @@ public class ConfigurationProperties {
         setProperty(MOCKSERVER_COMPACT_LOG_FORMAT, "" + enable);
     }
 
+    public static boolean jsonLogFormat() {
+        return Boolean.parseBoolean(readPropertyHierarchically(PROPERTIES, MOCKSERVER_JSON_LOG_FORMAT, "MOCKSERVER_JSON_LOG_FORMAT", "" + false));
+    }
+
+    /**
+     * When enabled, log messages written to stdout/SLF4J are written as one JSON object per line containing the
+     * timestamp, level, type, port, correlation id, a compact message and the serialised arguments, this takes
+     * precedence over compactLogFormat. The dashboard UI, verification, and log retrieval APIs are not affected.
+     *
+     * @param enable enable JSON lines log format
+     */
+    public static void jsonLogFormat(boolean enable) {
+        setProperty(MOCKSERVER_JSON_LOG_FORMAT, "" + enable);
+        configureLogger();
+    }
+
+    public static int asyncLogQueueSize() {
+        return readIntegerProperty(MOCKSERVER_ASYNC_LOG_QUEUE_SIZE, "MOCKSERVER_ASYNC_LOG_QUEUE_SIZE", 0);
+    }
+
+    /**
+     * <p>
+     * Number of log messages that can be queued for formatting and writing to stdout/SLF4J by a dedicated background
+     * thread, so formatting and writing log messages doesn't block request processing.  When the queue is full log
+     * messages are dropped and counted.  A value of 0 formats and writes log messages on the thread that logged them.
+     * </p>
+     * <p>
+     * The default is 0
+     * </p>
+     *
+     * @param asyncLogQueueSize the maximum number of queued log messages
+     */
+    public static void asyncLogQueueSize(int asyncLogQueueSize) {
+        setProperty(MOCKSERVER_ASYNC_LOG_QUEUE_SIZE, "" + asyncLogQueueSize);
+    }
+
     // memory usage
 
     public static long heapAvailableInKB() {
@@ -551,6 +609,44 @@ public class ConfigurationProperties {
         setProperty(MOCKSERVER_MAX_LOG_ENTRIES, "" + count);
     }
 
+    public static long maxLogEntriesBytes() {
+        return readLongProperty(MOCKSERVER_MAX_LOG_ENTRIES_BYTES, "MOCKSERVER_MAX_LOG_ENTRIES_BYTES", 0L);
+    }
+
+    /**
+     * <p>
+     * Maximum estimated size in bytes of the log entries stored in memory, once this limit is reached the oldest log entries are evicted
+     * until the log fits, in addition to the maxLogEntries limit.  A value of 0 disables this limit so log entries are only bounded by count.
+     * </p>
+     * <p>
+     * The default is 0
+     * </p>
+     *
+     * @param maxLogEntriesBytes maximum estimated size in bytes of the log entries to store
+     */
+    public static void maxLogEntriesBytes(long maxLogEntriesBytes) {
+        setProperty(MOCKSERVER_MAX_LOG_ENTRIES_BYTES, "" + maxLogEntriesBytes);
+    }
+
+    public static int logBodyCompressionThreshold() {
+        return readIntegerProperty(MOCKSERVER_LOG_BODY_COMPRESSION_THRESHOLD, "MOCKSERVER_LOG_BODY_COMPRESSION_THRESHOLD", 0);
+    }
+
+    /**
+     * <p>
+     * Request and response bodies in the log larger than this number of bytes are stored gzip compressed and only decompressed when
+     * the log entry is retrieved, verified or displayed.  A value of 0 disables compression.
+     * </p>
+     * <p>
+     * The default is 0
+     * </p>
+     *
+     * @param logBodyCompressionThreshold the body size in bytes above which log entry bodies are compressed
+     */
+    public static void logBodyCompressionThreshold(int logBodyCompressionThreshold) {
+        setProperty(MOCKSERVER_LOG_BODY_COMPRESSION_THRESHOLD, "" + logBodyCompressionThreshold);
+    }
+
     public static int maxWebSocketExpectations() {
         return readIntegerProperty(MOCKSERVER_MAX_WEB_SOCKET_EXPECTATIONS, "MOCKSERVER_MAX_WEB_SOCKET_EXPECTATIONS", 1500);
     }
@@ -611,6 +707,40 @@ public class ConfigurationProperties {
         setProperty(MOCKSERVER_NIO_EVENT_LOOP_THREAD_COUNT, "" + count);
     }
 
+    public static NettyTransport nettyTransport() {
+        String nettyTransport = readPropertyHierarchically(PROPERTIES, MOCKSERVER_NETTY_TRANSPORT, "MOCKSERVER_NETTY_TRANSPORT", "AUTO");
+        try {
+            return NettyTransport.valueOf(nettyTransport);
+        } catch (Throwable ignore) {
+            throw new IllegalArgumentException("Invalid value for NettyTransport \"" + nettyTransport + "\" the only supported values are: " + Arrays.stream(NettyTransport.values()).map(Enum::name).collect(Collectors.toList()));
+        }
+    }
+
+    /**
+     * <p>Netty transport used for server and client event loops and channels, allowed values: AUTO, EPOLL, NIO</p>
+     * <p>AUTO uses the native epoll transport when it is available (i.e. on Linux) otherwise NIO, EPOLL falls back to NIO if epoll is not available</p>
+     * <p>Default is AUTO</p>
+     *
+     * @param nettyTransport Netty transport for event loops and channels
+     */
+    public static void nettyTransport(NettyTransport nettyTransport) {
+        setProperty(MOCKSERVER_NETTY_TRANSPORT, nettyTransport.name());
+    }
+
+    public static int acceptThreadCount() {
+        return readIntegerProperty(MOCKSERVER_ACCEPT_THREAD_COUNT, "MOCKSERVER_ACCEPT_THREAD_COUNT", 1);
+    }
+
+    /**
+     * <p>Number of threads accepting connections for each port, when greater than one and the epoll transport is in use each port is bound this many times using SO_REUSEPORT so the kernel distributes new connections across the accept threads</p>
+     * <p>Default is 1</p>
+     *
+     * @param count number of threads accepting connections for each port
+     */
+    public static void acceptThreadCount(int count) {
+        setProperty(MOCKSERVER_ACCEPT_THREAD_COUNT, "" + count);
+    }
+
     public static int actionHandlerThreadCount() {
         return readIntegerProperty(MOCKSERVER_ACTION_HANDLER_THREAD_COUNT, "MOCKSERVER_ACTION_HANDLER_THREAD_COUNT", Math.max(5, Runtime.getRuntime().availableProcessors()));
     }
@@ -633,6 +763,55 @@ public class ConfigurationProperties {
         setProperty(MOCKSERVER_ACTION_HANDLER_THREAD_COUNT, "" + count);
     }
 
+    public static MatchingExecutorType matchingExecutor() {
+        String matchingExecutor = readPropertyHierarchically(PROPERTIES, MOCKSERVER_MATCHING_EXECUTOR, "MOCKSERVER_MATCHING_EXECUTOR", "PLATFORM_THREADS");
+        try {
+            return MatchingExecutorType.valueOf(matchingExecutor);
+        } catch (Throwable ignore) {
+            throw new IllegalArgumentException("Invalid value for MatchingExecutorType \"" + matchingExecutor + "\" the only supported values are: " + Arrays.stream(MatchingExecutorType.values()).map(Enum::name).collect(Collectors.toList()));
+        }
+    }
+
+    /**
+     * <p>Where requests are matched against expectations, allowed values: EVENT_LOOP, PLATFORM_THREADS, VIRTUAL_THREADS</p>
+     * <p>When PLATFORM_THREADS or VIRTUAL_THREADS is used requests are only matched off the Netty event loop if an active expectation with the same method and path uses an expensive matcher (i.e. json schema, xml schema, xpath or OpenAPI), so slow matching doesn't delay other connections on the same event loop</p>
+     * <p>VIRTUAL_THREADS requires Java 21 or later, otherwise PLATFORM_THREADS is used</p>
+     * <p>Default is PLATFORM_THREADS</p>
+     *
+     * @param matchingExecutor where requests are matched against expectations
+     */
+    public static void matchingExecutor(MatchingExecutorType matchingExecutor) {
+        setProperty(MOCKSERVER_MATCHING_EXECUTOR, matchingExecutor.name());
+    }
+
+    public static int matchingThreadCount() {
+        return readIntegerProperty(MOCKSERVER_MATCHING_THREAD_COUNT, "MOCKSERVER_MATCHING_THREAD_COUNT", Math.max(5, Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * <p>Number of threads for the matching thread pool, only used when matchingExecutor is PLATFORM_THREADS</p>
+     * <p>Default is maximum of 5 or available processors count</p>
+     *
+     * @param count matching thread pool size
+     */
+    public static void matchingThreadCount(int count) {
+        setProperty(MOCKSERVER_MATCHING_THREAD_COUNT, "" + count);
+    }
+
+    public static int matchingQueueSize() {
+        return readIntegerProperty(MOCKSERVER_MATCHING_QUEUE_SIZE, "MOCKSERVER_MATCHING_QUEUE_SIZE", 10000);
+    }
+
+    /**
+     * <p>Maximum number of requests waiting for a matching thread when matchingExecutor is PLATFORM_THREADS, or being matched on virtual threads when matchingExecutor is VIRTUAL_THREADS, when the queue is full requests are rejected with a 503 Service Unavailable response</p>
+     * <p>Default is 10000</p>
+     *
+     * @param size maximum number of requests waiting to be matched
+     */
+    public static void matchingQueueSize(int size) {
+        setProperty(MOCKSERVER_MATCHING_QUEUE_SIZE, "" + size);
+    }
+
     public static int clientNioEventLoopThreadCount() {
         return readIntegerProperty(MOCKSERVER_CLIENT_NIO_EVENT_LOOP_THREAD_COUNT, "MOCKSERVER_CLIENT_NIO_EVENT_LOOP_THREAD_COUNT", 5);
     }
@@ -764,6 +943,87 @@ public class ConfigurationProperties {
         }
     }
 
+    public static boolean forwardConnectionPoolEnabled() {
+        return Boolean.parseBoolean(readPropertyHierarchically(PROPERTIES, MOCKSERVER_FORWARD_CONNECTION_POOL_ENABLED, "MOCKSERVER_FORWARD_CONNECTION_POOL_ENABLED", "false"));
+    }
+
+    /**
+     * If true connections used to forward or proxy requests are kept alive and reused for subsequent requests to the same
+     * remote address, protocol and TLS setting, if false a new connection is opened (and closed) for every request
+     * <p>
+     * Default is false
+     *
+     * @param enable true connections used to forward or proxy requests are pooled and reused
+     */
+    public static void forwardConnectionPoolEnabled(boolean enable) {
+        setProperty(MOCKSERVER_FORWARD_CONNECTION_POOL_ENABLED, "" + enable);
+    }
+
+    public static int forwardConnectionPoolMaxConnectionsPerHost() {
+        return readIntegerProperty(MOCKSERVER_FORWARD_CONNECTION_POOL_MAX_CONNECTIONS_PER_HOST, "MOCKSERVER_FORWARD_CONNECTION_POOL_MAX_CONNECTIONS_PER_HOST", 20);
+    }
+
+    /**
+     * Maximum number of pooled connections open to each remote address, protocol and TLS setting, when all connections are in
+     * use requests wait (up to the socket connection timeout) for a connection to be released
+     * <p>
+     * Default is 20
+     *
+     * @param maxConnectionsPerHost maximum number of pooled connections per remote address
+     */
+    public static void forwardConnectionPoolMaxConnectionsPerHost(int maxConnectionsPerHost) {
+        setProperty(MOCKSERVER_FORWARD_CONNECTION_POOL_MAX_CONNECTIONS_PER_HOST, "" + maxConnectionsPerHost);
+    }
+
+    public static long forwardConnectionPoolIdleTimeout() {
+        return readLongProperty(MOCKSERVER_FORWARD_CONNECTION_POOL_IDLE_TIMEOUT, "MOCKSERVER_FORWARD_CONNECTION_POOL_IDLE_TIMEOUT", TimeUnit.SECONDS.toMillis(30));
+    }
+
+    /**
+     * Time in milliseconds a pooled connection can be idle before it is closed
+     * <p>
+     * Default is 30,000 ms
+     *
+     * @param milliseconds maximum idle time in milliseconds
+     */
+    public static void forwardConnectionPoolIdleTimeout(long milliseconds) {
+        setProperty(MOCKSERVER_FORWARD_CONNECTION_POOL_IDLE_TIMEOUT, "" + milliseconds);
+    }
+
+    public static boolean forwardStreamingEnabled() {
+        return Boolean.parseBoolean(readPropertyHierarchically(PROPERTIES, MOCKSERVER_FORWARD_STREAMING_ENABLED, "MOCKSERVER_FORWARD_STREAMING_ENABLED", "false"));
+    }
+
+    /**
+     * If true the bodies of proxied HTTP/1.1 requests that can't match an expectation (based on their method and path), and
+     * their responses, are streamed to and from the remote server instead of being fully buffered in memory, only the first
+     * forwardStreamingMaxBufferedBodySize bytes of each body are buffered for logging, requests that could match an
+     * expectation are buffered in full as normal
+     * <p>
+     * Default is false
+     *
+     * @param enable true proxied request and response bodies are streamed
+     */
+    public static void forwardStreamingEnabled(boolean enable) {
+        setProperty(MOCKSERVER_FORWARD_STREAMING_ENABLED, "" + enable);
+    }
+
+    public static int forwardStreamingMaxBufferedBodySize() {
+        return readIntegerProperty(MOCKSERVER_FORWARD_STREAMING_MAX_BUFFERED_BODY_SIZE, "MOCKSERVER_FORWARD_STREAMING_MAX_BUFFERED_BODY_SIZE", 1024 * 1024);
+    }
+
+    /**
+     * Maximum number of bytes of a streamed request or response body that are buffered for logging, larger bodies are
+     * truncated to this size when logged (and aren't recorded as expectations) but are forwarded in full
+     * <p>
+     * Default is 1,048,576 bytes (1MB)
+     *
+     * @param maxBufferedBodySize maximum number of body bytes buffered for logging
+     */
+    public static void forwardStreamingMaxBufferedBodySize(int maxBufferedBodySize) {
+        setProperty(MOCKSERVER_FORWARD_STREAMING_MAX_BUFFERED_BODY_SIZE, "" + maxBufferedBodySize);
+    }
+
     // http request parsing
 
     public static int maxInitialLineLength() {
@@ -1166,6 +1426,38 @@ public class ConfigurationProperties {
         setProperty(MOCKSERVER_PERSISTED_EXPECTATIONS_PATH, persistedExpectationsPath);
     }
 
+    public static boolean persistExpectationsJournal() {
+        return Boolean.parseBoolean(readPropertyHierarchically(PROPERTIES, MOCKSERVER_PERSIST_EXPECTATIONS_JOURNAL, "MOCKSERVER_PERSIST_EXPECTATIONS_JOURNAL", "" + false));
+    }
+
+    /**
+     * Persist expectation changes as an append-only journal (persistedExpectationsPath + ".journal") of add and remove records instead
+     * of rewriting the whole persisted expectations file on every change, the journal is periodically compacted back into the persisted
+     * expectations file and is replayed on startup
+     * <p>
+     * The default is false
+     *
+     * @param enable persisting expectation changes as an append-only journal
+     */
+    public static void persistExpectationsJournal(boolean enable) {
+        setProperty(MOCKSERVER_PERSIST_EXPECTATIONS_JOURNAL, "" + enable);
+    }
+
+    public static int persistedExpectationsJournalCompactionThreshold() {
+        return readIntegerProperty(MOCKSERVER_PERSISTED_EXPECTATIONS_JOURNAL_COMPACTION_THRESHOLD, "MOCKSERVER_PERSISTED_EXPECTATIONS_JOURNAL_COMPACTION_THRESHOLD", 1000);
+    }
+
+    /**
+     * The number of journal records after which the expectation journal is compacted into the persisted expectations file
+     * <p>
+     * The default is 1000
+     *
+     * @param compactionThreshold number of journal records after which the journal is compacted
+     */
+    public static void persistedExpectationsJournalCompactionThreshold(int compactionThreshold) {
+        setProperty(MOCKSERVER_PERSISTED_EXPECTATIONS_JOURNAL_COMPACTION_THRESHOLD, "" + compactionThreshold);
+    }
+
     // recorded expectation persistence
 
     public static boolean persistRecordedExpectations() {
@@ -1198,6 +1490,36 @@ public class ConfigurationProperties {
         setProperty(MOCKSERVER_PERSISTED_RECORDED_EXPECTATIONS_PATH, persistedRecordedExpectationsPath);
     }
 
+    public static long persistedRecordedExpectationsFlushInterval() {
+        return readLongProperty(MOCKSERVER_PERSISTED_RECORDED_EXPECTATIONS_FLUSH_INTERVAL, "MOCKSERVER_PERSISTED_RECORDED_EXPECTATIONS_FLUSH_INTERVAL", 500L);
+    }
+
+    /**
+     * The interval in milliseconds at which newly recorded expectations are appended to the persisted recorded expectations file
+     * <p>
+     * The default is 500
+     *
+     * @param flushInterval interval in milliseconds between writes of newly recorded expectations
+     */
+    public static void persistedRecordedExpectationsFlushInterval(long flushInterval) {
+        setProperty(MOCKSERVER_PERSISTED_RECORDED_EXPECTATIONS_FLUSH_INTERVAL, "" + flushInterval);
+    }
+
+    public static int persistedRecordedExpectationsFlushBatchSize() {
+        return readIntegerProperty(MOCKSERVER_PERSISTED_RECORDED_EXPECTATIONS_FLUSH_BATCH_SIZE, "MOCKSERVER_PERSISTED_RECORDED_EXPECTATIONS_FLUSH_BATCH_SIZE", 100);
+    }
+
+    /**
+     * The number of newly recorded expectations that triggers a write to the persisted recorded expectations file before the flush interval has elapsed
+     * <p>
+     * The default is 100
+     *
+     * @param flushBatchSize number of newly recorded expectations that triggers an early write
+     */
+    public static void persistedRecordedExpectationsFlushBatchSize(int flushBatchSize) {
+        setProperty(MOCKSERVER_PERSISTED_RECORDED_EXPECTATIONS_FLUSH_BATCH_SIZE, "" + flushBatchSize);
+    }
+
     // verification
 
     public static Integer maximumNumberOfRequestToReturnInVerificationFailure() {
@@ -1820,6 +2142,35 @@ public class ConfigurationProperties {
         return Boolean.parseBoolean(readPropertyHierarchically(PROPERTIES, MOCKSERVER_PREVENT_CERTIFICATE_DYNAMIC_UPDATE, "MOCKSERVER_PREVENT_CERTIFICATE_DYNAMIC_UPDATE", "false"));
     }
 
+    public static int hostnameCertificateCacheSize() {
+        return readIntegerProperty(MOCKSERVER_HOSTNAME_CERTIFICATE_CACHE_SIZE, "MOCKSERVER_HOSTNAME_CERTIFICATE_CACHE_SIZE", 250);
+    }
+
+    /**
+     * <p>Maximum number of per-hostname TLS contexts to cache, when greater than zero each SNI hostname is served a leaf certificate, signed by the Certificate Authority, for that hostname only and the least recently used contexts are evicted once this limit is reached</p>
+     * <p>Certificates are generated off the event loop, when set to zero every SNI hostname is instead added as a Subject Alternative Name to a single shared leaf certificate</p>
+     * <p>Per-hostname certificates are not used if privateKeyPath and x509CertificatePath are configured or preventCertificateDynamicUpdate is enabled</p>
+     * <p>The default is 250</p>
+     *
+     * @param hostnameCertificateCacheSize maximum number of per-hostname TLS contexts to cache, or zero to disable per-hostname certificates
+     */
+    public static void hostnameCertificateCacheSize(int hostnameCertificateCacheSize) {
+        setProperty(MOCKSERVER_HOSTNAME_CERTIFICATE_CACHE_SIZE, "" + hostnameCertificateCacheSize);
+    }
+
+    public static boolean persistHostnameCertificates() {
+        return Boolean.parseBoolean(readPropertyHierarchically(PROPERTIES, MOCKSERVER_PERSIST_HOSTNAME_CERTIFICATES, "MOCKSERVER_PERSIST_HOSTNAME_CERTIFICATES", "false"));
+    }
+
+    /**
+     * Save per-hostname private keys and X.509 certificates in the directory specified with configuration property directoryToSaveDynamicSSLCertificate, so they are reused after a restart if they are still signed by the same Certificate Authority
+     *
+     * @param persistHostnameCertificates save and reuse per-hostname private keys and X.509 certificates
+     */
+    public static void persistHostnameCertificates(boolean persistHostnameCertificates) {
+        setProperty(MOCKSERVER_PERSIST_HOSTNAME_CERTIFICATES, "" + persistHostnameCertificates);
+    }
+
     public static String sslCertificateDomainName() {
         return readPropertyHierarchically(PROPERTIES, MOCKSERVER_SSL_CERTIFICATE_DOMAIN_NAME, "MOCKSERVER_SSL_CERTIFICATE_DOMAIN_NAME", KeyAndCertificateFactory.CERTIFICATE_DOMAIN);
     }
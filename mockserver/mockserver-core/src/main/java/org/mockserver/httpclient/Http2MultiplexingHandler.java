@@ -0,0 +1,77 @@
+package org.mockserver.httpclient;
+
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.handler.codec.http.HttpMessage;
+import io.netty.handler.codec.http2.Http2Connection;
+import io.netty.handler.codec.http2.HttpConversionUtil;
+import org.mockserver.model.Message;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockserver.httpclient.NettyHttpClient.RESPONSE_FUTURE;
+
+/**
+ * Allows multiple requests to be in flight on a single HTTP/2 connection by sending each request on a new stream and
+ * making the response future of the stream a response is received on the current response future
+ * <p>
+ * Must be added between the HTTP/2 connection handler and the MockServer client codec, all state is only accessed from
+ * the channel's event loop
+ *
+ * @author jamesdbloom
+ */
+public class Http2MultiplexingHandler extends ChannelDuplexHandler {
+
+    private static final String STREAM_ID = HttpConversionUtil.ExtensionHeaderNames.STREAM_ID.text().toString();
+    private final Http2Connection connection;
+    private final Map<Integer, CompletableFuture<Message>> responseFutures = new HashMap<>();
+
+    public Http2MultiplexingHandler(Http2Connection connection) {
+        this.connection = connection;
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+        if (msg instanceof HttpMessage) {
+            // stream ids from the original request are ignored as they belong to a different connection
+            int streamId = connection.local().incrementAndGetNextStreamId();
+            ((HttpMessage) msg).headers().setInt(STREAM_ID, streamId);
+            CompletableFuture<Message> responseFuture = ctx.channel().attr(RESPONSE_FUTURE).get();
+            if (responseFuture != null) {
+                responseFutures.put(streamId, responseFuture);
+                responseFuture.whenComplete((message, throwable) -> {
+                    if (ctx.executor().inEventLoop()) {
+                        responseFutures.remove(streamId);
+                    } else {
+                        ctx.executor().execute(() -> responseFutures.remove(streamId));
+                    }
+                });
+            }
+        }
+        super.write(ctx, msg, promise);
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        if (msg instanceof HttpMessage) {
+            Integer streamId = ((HttpMessage) msg).headers().getInt(STREAM_ID);
+            CompletableFuture<Message> responseFuture = streamId != null ? responseFutures.remove(streamId) : null;
+            // responses for streams that are no longer awaited (i.e. timed out) must not complete another stream's future
+            ctx.channel().attr(RESPONSE_FUTURE).set(responseFuture != null ? responseFuture : new CompletableFuture<>());
+        }
+        super.channelRead(ctx, msg);
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        for (CompletableFuture<Message> responseFuture : new ArrayList<>(responseFutures.values())) {
+            responseFuture.completeExceptionally(new SocketConnectionException("Channel closed before valid response has been received"));
+        }
+        responseFutures.clear();
+        super.channelInactive(ctx);
+    }
+}
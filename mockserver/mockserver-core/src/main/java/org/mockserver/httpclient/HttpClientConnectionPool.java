@@ -0,0 +1,458 @@
+package org.mockserver.httpclient;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.*;
+import io.netty.channel.pool.ChannelHealthChecker;
+import io.netty.channel.pool.ChannelPoolHandler;
+import com.google.common.annotations.VisibleForTesting;
+import io.netty.channel.pool.FixedChannelPool;
+import io.netty.handler.timeout.IdleStateEvent;
+import io.netty.handler.timeout.IdleStateHandler;
+import io.netty.util.AttributeKey;
+import org.mockserver.configuration.Configuration;
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.metrics.Metrics;
+import org.mockserver.model.HttpRequest;
+import org.mockserver.model.HttpResponse;
+import org.mockserver.model.Message;
+import org.mockserver.model.Protocol;
+import org.mockserver.proxyconfiguration.ProxyConfiguration;
+import org.mockserver.socket.NettyTransport;
+import org.mockserver.socket.tls.NettySslContextFactory;
+import org.slf4j.event.Level;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.ClosedChannelException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockserver.httpclient.NettyHttpClient.*;
+import static org.mockserver.metrics.Metrics.Name.*;
+
+/**
+ * Keeps connections used to forward or proxy requests alive so they can be reused by subsequent requests to the same
+ * remote address, protocol and TLS setting.
+ * <p>
+ * HTTP/1.1 connections are leased to a single request at a time and returned to the pool when the response has been
+ * received (unless either side asked for the connection to be closed), HTTP/2 connections are shared by all requests
+ * with each request sent on its own stream.  Each pool is limited to a maximum number of connections, requests wait
+ * (up to the connection timeout) for a connection when the limit is reached, and connections are closed once they
+ * have been idle for longer than the idle timeout.  A pool is removed, and closed, once all of its connections have
+ * been closed so pools don't accumulate for every remote address ever forwarded to.
+ *
+ * @author jamesdbloom
+ */
+class HttpClientConnectionPool {
+
+    static final AttributeKey<PooledConnection> POOLED_CONNECTION = AttributeKey.valueOf("POOLED_CONNECTION");
+    private static final Set<String> IDEMPOTENT_METHODS = new HashSet<>(Arrays.asList("GET", "HEAD", "OPTIONS", "TRACE", "PUT", "DELETE"));
+    private final Configuration configuration;
+    private final MockServerLogger mockServerLogger;
+    private final EventLoopGroup eventLoopGroup;
+    private final Map<ProxyConfiguration.Type, ProxyConfiguration> proxyConfigurations;
+    private final boolean forwardProxyClient;
+    private final NettySslContextFactory nettySslContextFactory;
+    private final Metrics metrics;
+    private final ConcurrentMap<PoolKey, HostPool> pools = new ConcurrentHashMap<>();
+    private final ConcurrentMap<PoolKey, Channel> http2Connections = new ConcurrentHashMap<>();
+
+    HttpClientConnectionPool(Configuration configuration, MockServerLogger mockServerLogger, EventLoopGroup eventLoopGroup, Map<ProxyConfiguration.Type, ProxyConfiguration> proxyConfigurations, boolean forwardProxyClient, NettySslContextFactory nettySslContextFactory) {
+        this.configuration = configuration;
+        this.mockServerLogger = mockServerLogger;
+        this.eventLoopGroup = eventLoopGroup;
+        this.proxyConfigurations = proxyConfigurations;
+        this.forwardProxyClient = forwardProxyClient;
+        this.nettySslContextFactory = nettySslContextFactory;
+        this.metrics = new Metrics(configuration);
+    }
+
+    /**
+     * Returns a connection, that has completed any TLS handshake and protocol negotiation, for sending a single request
+     * which must be passed to {@link #release(Channel, boolean)} once the response has been received
+     */
+    CompletableFuture<Channel> acquire(InetSocketAddress remoteAddress, boolean secure, Protocol protocol, Long connectionTimeoutMillis) {
+        PoolKey poolKey = new PoolKey(remoteAddress, secure, protocol);
+        CompletableFuture<Channel> acquiredFuture = new CompletableFuture<>();
+        Channel http2Connection = http2Connections.get(poolKey);
+        if (http2Connection != null && http2Connection.isActive()) {
+            http2Connection.attr(POOLED_CONNECTION).get().inUse.incrementAndGet();
+            metrics.increment(FORWARD_CONNECTION_POOL_HITS_COUNT);
+            acquiredFuture.complete(http2Connection);
+            return acquiredFuture;
+        }
+        HostPool hostPool = retainHostPool(poolKey);
+        long acquireTimeoutMillis = connectionTimeoutMillis != null ? connectionTimeoutMillis : configuration.socketConnectionTimeoutInMillis();
+        // the connection timeout is per request but connections are shared, so the wait for a connection is limited here
+        ScheduledFuture<?> acquireTimeout = eventLoopGroup.schedule(() -> {
+            acquiredFuture.completeExceptionally(new SocketConnectionException("Timed out waiting for a pooled connection to " + remoteAddress + " after " + acquireTimeoutMillis + " milliseconds", new TimeoutException()));
+        }, acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+        acquiredFuture.whenComplete((channel, throwable) -> acquireTimeout.cancel(false));
+        hostPool.channelPool.acquire().addListener((io.netty.util.concurrent.Future<Channel> future) -> {
+            if (future.isSuccess()) {
+                Channel channel = future.getNow();
+                PooledConnection pooledConnection = channel.attr(POOLED_CONNECTION).get();
+                pooledConnection.inUse.incrementAndGet();
+                CompletableFuture<Protocol> connectedFuture = new CompletableFuture<>();
+                if (!pooledConnection.used) {
+                    // fail fast if the connection is closed (i.e. proxy or TLS failure) before the protocol is known
+                    pooledConnection.connectionFuture.whenComplete((message, throwable) -> {
+                        if (throwable != null) {
+                            connectedFuture.completeExceptionally(throwable);
+                        }
+                    });
+                }
+                pooledConnection.clientInitializer.whenComplete((negotiatedProtocol, throwable) -> {
+                    if (throwable != null) {
+                        connectedFuture.completeExceptionally(throwable);
+                    } else {
+                        connectedFuture.complete(negotiatedProtocol);
+                    }
+                });
+                connectedFuture.whenComplete((negotiatedProtocol, throwable) -> {
+                    if (throwable != null) {
+                        acquiredFuture.completeExceptionally(throwable);
+                        release(channel, false);
+                    } else {
+                        if (Protocol.HTTP_2.equals(negotiatedProtocol)) {
+                            share(poolKey, channel, hostPool.channelPool);
+                        }
+                        if (!acquiredFuture.complete(channel)) {
+                            // the request timed out waiting for this connection so it can be used by another request
+                            release(channel, true);
+                        }
+                    }
+                });
+            } else if (future.cause() instanceof TimeoutException) {
+                acquiredFuture.completeExceptionally(new SocketConnectionException("Timed out waiting for a pooled connection to " + remoteAddress + " after " + acquireTimeoutMillis + " milliseconds", future.cause()));
+            } else {
+                acquiredFuture.completeExceptionally(future.cause());
+            }
+            hostPool.unretain();
+        });
+        return acquiredFuture;
+    }
+
+    /**
+     * Closes all pooled connections, requests that are in progress fail when their connection is closed
+     */
+    void close() {
+        for (HostPool hostPool : pools.values()) {
+            hostPool.close();
+        }
+        for (Channel http2Connection : http2Connections.values()) {
+            http2Connection.close();
+        }
+    }
+
+    @VisibleForTesting
+    int poolCount() {
+        return pools.size();
+    }
+
+    private HostPool retainHostPool(PoolKey poolKey) {
+        while (true) {
+            HostPool hostPool = pools.computeIfAbsent(poolKey, HostPool::new);
+            if (hostPool.retain()) {
+                return hostPool;
+            }
+            // the pool was closed after its last connection closed, but not yet removed
+            pools.remove(poolKey, hostPool);
+        }
+    }
+
+    /**
+     * Sends a request on an acquired connection, the response future is completed when the response is received or
+     * exceptionally if the connection is closed, or the maximum socket timeout is exceeded, before a response is received
+     */
+    void send(Channel channel, HttpRequest httpRequest, CompletableFuture<Message> responseFuture) {
+        if (channel.eventLoop().inEventLoop()) {
+            write(channel, httpRequest, responseFuture);
+        } else {
+            channel.eventLoop().execute(() -> write(channel, httpRequest, responseFuture));
+        }
+    }
+
+    private void write(Channel channel, HttpRequest httpRequest, CompletableFuture<Message> responseFuture) {
+        Long maxSocketTimeoutInMillis = configuration.maxSocketTimeoutInMillis();
+        ScheduledFuture<?> responseTimeout = channel.eventLoop().schedule(() -> {
+            responseFuture.completeExceptionally(new SocketCommunicationException("Response was not received after " + maxSocketTimeoutInMillis + " milliseconds, to wait longer please use \"mockserver.maxSocketTimeout\" system property or ConfigurationProperties.maxSocketTimeout(long milliseconds)", null));
+        }, maxSocketTimeoutInMillis, TimeUnit.MILLISECONDS);
+        responseFuture.whenComplete((message, throwable) -> responseTimeout.cancel(false));
+        // the response future is read, by the handlers, on the event loop so must be set in the same task as the write
+        channel.attr(RESPONSE_FUTURE).set(responseFuture);
+        channel.writeAndFlush(httpRequest).addListener(future -> {
+            if (future.cause() instanceof ClosedChannelException) {
+                // pending writes are failed with a ClosedChannelException if the connection closed before they were flushed
+                responseFuture.completeExceptionally(new RequestNotSentException("Failed to send request to " + channel.attr(REMOTE_SOCKET).get() + " as connection was closed", future.cause()));
+            } else if (!future.isSuccess()) {
+                responseFuture.completeExceptionally(new SocketConnectionException("Failed to send request to " + channel.attr(REMOTE_SOCKET).get(), future.cause()));
+            }
+        });
+    }
+
+    /**
+     * Returns a connection to the pool, or closes it if it can't be reused, shared HTTP/2 connections stay open
+     */
+    void release(Channel channel, boolean reusable) {
+        PooledConnection pooledConnection = channel.attr(POOLED_CONNECTION).get();
+        pooledConnection.inUse.decrementAndGet();
+        pooledConnection.used = true;
+        if (!pooledConnection.shared) {
+            if (reusable && channel.isActive()) {
+                pooledConnection.pool.release(channel);
+            } else {
+                channel.close().addListener(future -> pooledConnection.pool.release(channel));
+            }
+        }
+    }
+
+    /**
+     * Returns true if a request that failed on a connection should be retried on a different connection, which is only
+     * the case if the connection had already been used (or is shared) and was closed before a response was received,
+     * and either the request wasn't sent or its method is idempotent (so the remote host may have already processed it)
+     */
+    boolean shouldRetry(Channel channel, HttpRequest httpRequest, Throwable throwable) {
+        PooledConnection pooledConnection = channel.attr(POOLED_CONNECTION).get();
+        return pooledConnection != null
+            && (pooledConnection.reused || pooledConnection.shared)
+            && (throwable instanceof RequestNotSentException || (throwable instanceof SocketConnectionException || throwable instanceof IOException) && isIdempotent(httpRequest));
+    }
+
+    static boolean isIdempotent(HttpRequest httpRequest) {
+        return IDEMPOTENT_METHODS.contains(httpRequest.getMethod("GET").toUpperCase());
+    }
+
+    /**
+     * Returns true if the connection used for a request and response can be used for another request
+     */
+    static boolean isReusable(HttpRequest httpRequest, Message response) {
+        return response instanceof HttpResponse
+            && !isConnectionClose(httpRequest.getFirstHeader("connection"))
+            && !isConnectionClose(((HttpResponse) response).getFirstHeader("connection"));
+    }
+
+    private static boolean isConnectionClose(String connectionHeader) {
+        return connectionHeader != null && connectionHeader.toLowerCase().contains("close");
+    }
+
+    private void share(PoolKey poolKey, Channel channel, FixedChannelPool pool) {
+        PooledConnection pooledConnection = channel.attr(POOLED_CONNECTION).get();
+        if (!pooledConnection.shared) {
+            Channel existing = http2Connections.get(poolKey);
+            boolean shared = existing == null ? http2Connections.putIfAbsent(poolKey, channel) == null : !existing.isActive() && http2Connections.replace(poolKey, existing, channel);
+            if (shared) {
+                pooledConnection.shared = true;
+                // shared connections stay leased, from the pool, until they are closed
+                channel.closeFuture().addListener(future -> {
+                    http2Connections.remove(poolKey, channel);
+                    if (!eventLoopGroup.isShuttingDown()) {
+                        pool.release(channel);
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * The connections to a single remote address, protocol and TLS setting, reference counted by its open connections
+     * and the requests waiting to acquire a connection so it can be removed once the last of these has finished
+     */
+    private class HostPool {
+
+        private final PoolKey poolKey;
+        private final FixedChannelPool channelPool;
+        // the count of open connections plus pending acquires, or -1 once the pool is closed
+        private final AtomicInteger references = new AtomicInteger();
+
+        private HostPool(PoolKey poolKey) {
+            this.poolKey = poolKey;
+            Bootstrap bootstrap = new Bootstrap()
+                .group(eventLoopGroup)
+                .channel(NettyTransport.forEventLoopGroup(eventLoopGroup).socketChannelClass())
+                .option(ChannelOption.AUTO_READ, true)
+                .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+                .option(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(8 * 1024, 32 * 1024))
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, configuration.socketConnectionTimeoutInMillis().intValue())
+                .attr(SECURE, poolKey.secure)
+                .attr(REMOTE_SOCKET, poolKey.remoteAddress)
+                .attr(ERROR_IF_CHANNEL_CLOSED_WITHOUT_RESPONSE, true)
+                .remoteAddress(poolKey.remoteAddress);
+            this.channelPool = new FixedChannelPool(
+                bootstrap,
+                new PooledConnectionHandler(this),
+                ChannelHealthChecker.ACTIVE,
+                FixedChannelPool.AcquireTimeoutAction.FAIL,
+                configuration.socketConnectionTimeoutInMillis(),
+                Math.max(configuration.forwardConnectionPoolMaxConnectionsPerHost(), 1),
+                Integer.MAX_VALUE
+            );
+        }
+
+        private boolean retain() {
+            int count;
+            do {
+                count = references.get();
+                if (count < 0) {
+                    return false;
+                }
+            } while (!references.compareAndSet(count, count + 1));
+            return true;
+        }
+
+        private void unretain() {
+            if (references.decrementAndGet() == 0 && references.compareAndSet(0, -1)) {
+                pools.remove(poolKey, this);
+                // called on the event loop, when a connection closes, so the pool must not block while closing
+                channelPool.closeAsync();
+            }
+        }
+
+        private void close() {
+            references.set(-1);
+            pools.remove(poolKey, this);
+            channelPool.closeAsync();
+        }
+    }
+
+    private class PooledConnectionHandler implements ChannelPoolHandler {
+
+        private final HostPool hostPool;
+        private final PoolKey poolKey;
+
+        private PooledConnectionHandler(HostPool hostPool) {
+            this.hostPool = hostPool;
+            this.poolKey = hostPool.poolKey;
+        }
+
+        @Override
+        public void channelCreated(Channel channel) {
+            // always succeeds because the acquire creating this connection holds a reference to the pool
+            hostPool.retain();
+            metrics.increment(FORWARD_CONNECTION_POOL_CONNECTIONS_COUNT);
+            channel.closeFuture().addListener(future -> {
+                metrics.decrement(FORWARD_CONNECTION_POOL_CONNECTIONS_COUNT);
+                hostPool.unretain();
+            });
+            HttpClientInitializer clientInitializer = new HttpClientInitializer(proxyConfigurations, mockServerLogger, forwardProxyClient, nettySslContextFactory, poolKey.protocol, true);
+            PooledConnection pooledConnection = new PooledConnection(hostPool.channelPool, clientInitializer);
+            channel.attr(POOLED_CONNECTION).set(pooledConnection);
+            channel.attr(RESPONSE_FUTURE).set(pooledConnection.connectionFuture);
+            channel.pipeline().addLast(new IdleStateHandler(0, 0, configuration.forwardConnectionPoolIdleTimeoutInMillis(), TimeUnit.MILLISECONDS));
+            channel.pipeline().addLast(new IdleConnectionHandler());
+            channel.pipeline().addLast(clientInitializer);
+            if (mockServerLogger.isEnabledForInstance(Level.TRACE)) {
+                mockServerLogger.logEvent(
+                    new LogEntry()
+                        .setLogLevel(Level.TRACE)
+                        .setMessageFormat("opening pooled connection to{}")
+                        .setArguments(poolKey.remoteAddress)
+                );
+            }
+        }
+
+        @Override
+        public void channelAcquired(Channel channel) {
+            PooledConnection pooledConnection = channel.attr(POOLED_CONNECTION).get();
+            pooledConnection.reused = pooledConnection.used;
+            metrics.increment(pooledConnection.reused ? FORWARD_CONNECTION_POOL_HITS_COUNT : FORWARD_CONNECTION_POOL_MISSES_COUNT);
+        }
+
+        @Override
+        public void channelReleased(Channel channel) {
+
+        }
+    }
+
+    /**
+     * Closes pooled connections that have not been used for longer than the idle timeout
+     */
+    private static class IdleConnectionHandler extends ChannelInboundHandlerAdapter {
+
+        @Override
+        public void userEventTriggered(ChannelHandlerContext ctx, Object event) throws Exception {
+            PooledConnection pooledConnection = ctx.channel().attr(POOLED_CONNECTION).get();
+            if (event instanceof IdleStateEvent && pooledConnection != null && pooledConnection.inUse.get() == 0) {
+                ctx.close();
+            } else {
+                super.userEventTriggered(ctx, event);
+            }
+        }
+    }
+
+    static class PooledConnection {
+        private final FixedChannelPool pool;
+        private final HttpClientInitializer clientInitializer;
+        private final CompletableFuture<Message> connectionFuture = new CompletableFuture<>();
+        private final AtomicInteger inUse = new AtomicInteger();
+        private volatile boolean used;
+        private volatile boolean reused;
+        private volatile boolean shared;
+
+        private PooledConnection(FixedChannelPool pool, HttpClientInitializer clientInitializer) {
+            this.pool = pool;
+            this.clientInitializer = clientInitializer;
+        }
+    }
+
+    /**
+     * Indicates a request failed before any of it was written to the connection
+     */
+    static class RequestNotSentException extends SocketConnectionException {
+
+        private static final long serialVersionUID = 1L;
+
+        RequestNotSentException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    private static class PoolKey {
+        private final InetSocketAddress remoteAddress;
+        // the resolved address only compares the ip address and port, but the host name is used for SNI and certificate validation
+        private final String hostString;
+        private final boolean secure;
+        private final Protocol protocol;
+        private final int hashCode;
+
+        private PoolKey(InetSocketAddress remoteAddress, boolean secure, Protocol protocol) {
+            this.remoteAddress = remoteAddress;
+            this.hostString = remoteAddress != null ? remoteAddress.getHostString() : null;
+            this.secure = secure;
+            this.protocol = protocol;
+            this.hashCode = Objects.hash(remoteAddress, hostString, secure, protocol);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof PoolKey)) {
+                return false;
+            }
+            PoolKey that = (PoolKey) o;
+            return secure == that.secure
+                && Objects.equals(remoteAddress, that.remoteAddress)
+                && Objects.equals(hostString, that.hostString)
+                && protocol == that.protocol;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -12,6 +12,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
+import static org.mockserver.httpclient.HttpClientConnectionPool.POOLED_CONNECTION;
 import static org.mockserver.httpclient.NettyHttpClient.RESPONSE_FUTURE;
 
 @ChannelHandler.Sharable
@@ -30,7 +31,9 @@ public class HttpClientHandler extends SimpleChannelInboundHandler<Message> {
     @Override
     public void channelRead0(ChannelHandlerContext ctx, Message response) {
         ctx.channel().attr(RESPONSE_FUTURE).get().complete(response);
-        ctx.close();
+        if (!ctx.channel().hasAttr(POOLED_CONNECTION)) {
+            ctx.close();
+        }
     }
 
     @Override
@@ -40,8 +40,13 @@ public class HttpClientInitializer extends ChannelInitializer<SocketChannel> {
     private final HttpClientHandler httpClientHandler;
     private final Map<ProxyConfiguration.Type, ProxyConfiguration> proxyConfigurations;
     private final NettySslContextFactory nettySslContextFactory;
+    private final boolean pooled;
 
     HttpClientInitializer(Map<ProxyConfiguration.Type, ProxyConfiguration> proxyConfigurations, MockServerLogger mockServerLogger, boolean forwardProxyClient, NettySslContextFactory nettySslContextFactory, Protocol httpProtocol) {
+        this(proxyConfigurations, mockServerLogger, forwardProxyClient, nettySslContextFactory, httpProtocol, false);
+    }
+
+    HttpClientInitializer(Map<ProxyConfiguration.Type, ProxyConfiguration> proxyConfigurations, MockServerLogger mockServerLogger, boolean forwardProxyClient, NettySslContextFactory nettySslContextFactory, Protocol httpProtocol, boolean pooled) {
         this.proxyConfigurations = proxyConfigurations;
         this.mockServerLogger = mockServerLogger;
         this.forwardProxyClient = forwardProxyClient;
@@ -50,6 +55,7 @@ public class HttpClientInitializer extends ChannelInitializer<SocketChannel> {
         this.httpClientHandler = new HttpClientHandler();
         this.httpClientConnectionHandler = new HttpClientConnectionErrorHandler();
         this.nettySslContextFactory = nettySslContextFactory;
+        this.pooled = pooled;
     }
 
     public void whenComplete(BiConsumer<? super Protocol, ? super Throwable> action) {
@@ -130,6 +136,10 @@ public class HttpClientInitializer extends ChannelInitializer<SocketChannel> {
         }
         pipeline.addLast(http2ConnectionHandlerBuilder.build());
         pipeline.addLast(new Http2SettingsHandler(protocolFuture));
+        if (pooled) {
+            // pooled connections are shared by concurrent requests
+            pipeline.addLast(new Http2MultiplexingHandler(connection));
+        }
         pipeline.addLast(new MockServerHttpClientCodec(mockServerLogger, proxyConfigurations));
         pipeline.addLast(httpClientHandler);
     }
@@ -9,7 +9,6 @@ import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.WriteBufferWaterMark;
-import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.util.AttributeKey;
 import org.apache.commons.lang3.StringUtils;
 import org.mockserver.configuration.Configuration;
@@ -19,6 +18,7 @@ import org.mockserver.logging.MockServerLogger;
 import org.mockserver.model.*;
 import org.mockserver.proxyconfiguration.NoProxyHostsUtils;
 import org.mockserver.proxyconfiguration.ProxyConfiguration;
+import org.mockserver.socket.NettyTransport;
 import org.mockserver.socket.tls.NettySslContextFactory;
 import org.slf4j.event.Level;
 
@@ -51,6 +51,7 @@ public class NettyHttpClient {
     private final Map<ProxyConfiguration.Type, ProxyConfiguration> proxyConfigurations;
     private final boolean forwardProxyClient;
     private final NettySslContextFactory nettySslContextFactory;
+    private final HttpClientConnectionPool connectionPool;
 
     public NettyHttpClient(Configuration configuration, MockServerLogger mockServerLogger, EventLoopGroup eventLoopGroup, List<ProxyConfiguration> proxyConfigurations, boolean forwardProxyClient) {
         this(configuration, mockServerLogger, eventLoopGroup, proxyConfigurations, forwardProxyClient, new NettySslContextFactory(configuration, mockServerLogger, false));
@@ -63,6 +64,7 @@ public class NettyHttpClient {
         this.proxyConfigurations = proxyConfigurations != null ? proxyConfigurations.stream().collect(Collectors.toMap(ProxyConfiguration::getType, proxyConfiguration -> proxyConfiguration)) : ImmutableMap.of();
         this.forwardProxyClient = forwardProxyClient;
         this.nettySslContextFactory = nettySslContextFactory;
+        this.connectionPool = forwardProxyClient && configuration.forwardConnectionPoolEnabled() ? new HttpClientConnectionPool(configuration, mockServerLogger, eventLoopGroup, this.proxyConfigurations, forwardProxyClient, nettySslContextFactory) : null;
     }
 
     public CompletableFuture<HttpResponse> sendRequest(final HttpRequest httpRequest) throws SocketConnectionException {
@@ -97,38 +99,14 @@ public class NettyHttpClient {
             final CompletableFuture<Message> responseFuture = new CompletableFuture<>();
             final Protocol httpProtocol = httpRequest.getProtocol() != null ? httpRequest.getProtocol() : Protocol.HTTP_1_1;
 
-            final HttpClientInitializer clientInitializer = new HttpClientInitializer(proxyConfigurations, mockServerLogger, forwardProxyClient, nettySslContextFactory, httpProtocol);
-
             final long requestStartedMillis = System.currentTimeMillis();
             final AtomicLong connectionEstablishedMillis = new AtomicLong();
 
-            new Bootstrap()
-                .group(eventLoopGroup)
-                .channel(NioSocketChannel.class)
-                .option(ChannelOption.AUTO_READ, true)
-                .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
-                .option(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(8 * 1024, 32 * 1024))
-                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectionTimeoutMillis != null ? connectionTimeoutMillis.intValue() : null)
-                .attr(SECURE, httpRequest.isSecure() != null && httpRequest.isSecure())
-                .attr(REMOTE_SOCKET, remoteAddress)
-                .attr(RESPONSE_FUTURE, responseFuture)
-                .attr(ERROR_IF_CHANNEL_CLOSED_WITHOUT_RESPONSE, true)
-                .handler(clientInitializer)
-                .connect(remoteAddress)
-                .addListener((ChannelFutureListener) future -> {
-                    if (future.isSuccess()) {
-                        connectionEstablishedMillis.set(System.currentTimeMillis());
-                        clientInitializer.whenComplete((protocol, throwable) -> {
-                            if (throwable != null) {
-                                httpResponseFuture.completeExceptionally(throwable);
-                            } else {
-                                future.channel().writeAndFlush(httpRequest);
-                            }
-                        });
-                    } else {
-                        httpResponseFuture.completeExceptionally(future.cause());
-                    }
-                });
+            if (connectionPool != null) {
+                sendPooledRequest(httpRequest, remoteAddress, connectionTimeoutMillis, httpProtocol, responseFuture, connectionEstablishedMillis, true);
+            } else {
+                sendUnpooledRequest(httpRequest, remoteAddress, connectionTimeoutMillis, httpProtocol, responseFuture, httpResponseFuture, connectionEstablishedMillis);
+            }
 
             responseFuture
                 .whenComplete((message, throwable) -> {
@@ -162,6 +140,64 @@ public class NettyHttpClient {
         }
     }
 
+    private void sendUnpooledRequest(HttpRequest httpRequest, InetSocketAddress remoteAddress, Long connectionTimeoutMillis, Protocol httpProtocol, CompletableFuture<Message> responseFuture, CompletableFuture<HttpResponse> httpResponseFuture, AtomicLong connectionEstablishedMillis) {
+        final HttpClientInitializer clientInitializer = new HttpClientInitializer(proxyConfigurations, mockServerLogger, forwardProxyClient, nettySslContextFactory, httpProtocol);
+
+        new Bootstrap()
+            .group(eventLoopGroup)
+            .channel(NettyTransport.forEventLoopGroup(eventLoopGroup).socketChannelClass())
+            .option(ChannelOption.AUTO_READ, true)
+            .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+            .option(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(8 * 1024, 32 * 1024))
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectionTimeoutMillis != null ? connectionTimeoutMillis.intValue() : null)
+            .attr(SECURE, httpRequest.isSecure() != null && httpRequest.isSecure())
+            .attr(REMOTE_SOCKET, remoteAddress)
+            .attr(RESPONSE_FUTURE, responseFuture)
+            .attr(ERROR_IF_CHANNEL_CLOSED_WITHOUT_RESPONSE, true)
+            .handler(clientInitializer)
+            .connect(remoteAddress)
+            .addListener((ChannelFutureListener) future -> {
+                if (future.isSuccess()) {
+                    connectionEstablishedMillis.set(System.currentTimeMillis());
+                    clientInitializer.whenComplete((protocol, throwable) -> {
+                        if (throwable != null) {
+                            httpResponseFuture.completeExceptionally(throwable);
+                        } else {
+                            future.channel().writeAndFlush(httpRequest);
+                        }
+                    });
+                } else {
+                    httpResponseFuture.completeExceptionally(future.cause());
+                }
+            });
+    }
+
+    private void sendPooledRequest(HttpRequest httpRequest, InetSocketAddress remoteAddress, Long connectionTimeoutMillis, Protocol httpProtocol, CompletableFuture<Message> responseFuture, AtomicLong connectionEstablishedMillis, boolean retryIfConnectionClosed) {
+        connectionPool
+            .acquire(remoteAddress, Boolean.TRUE.equals(httpRequest.isSecure()), httpProtocol, connectionTimeoutMillis)
+            .whenComplete((channel, acquireThrowable) -> {
+                if (acquireThrowable != null) {
+                    responseFuture.completeExceptionally(acquireThrowable);
+                } else {
+                    connectionEstablishedMillis.set(System.currentTimeMillis());
+                    final CompletableFuture<Message> pooledResponseFuture = new CompletableFuture<>();
+                    pooledResponseFuture
+                        .whenComplete((message, throwable) -> {
+                            connectionPool.release(channel, throwable == null && HttpClientConnectionPool.isReusable(httpRequest, message));
+                            if (throwable == null) {
+                                responseFuture.complete(message);
+                            } else if (retryIfConnectionClosed && connectionPool.shouldRetry(channel, httpRequest, throwable)) {
+                                // the remote host may have closed a pooled connection while it was idle, so retry if safe to do so
+                                sendPooledRequest(httpRequest, remoteAddress, connectionTimeoutMillis, httpProtocol, responseFuture, connectionEstablishedMillis, false);
+                            } else {
+                                responseFuture.completeExceptionally(throwable);
+                            }
+                        });
+                    connectionPool.send(channel, httpRequest, pooledResponseFuture);
+                }
+            });
+    }
+
     public CompletableFuture<BinaryMessage> sendRequest(final BinaryMessage binaryRequest, final boolean isSecure, InetSocketAddress remoteAddress, Long connectionTimeoutMillis) throws SocketConnectionException {
         if (!eventLoopGroup.isShuttingDown()) {
             if (proxyConfigurations != null && !isSecure && proxyConfigurations.containsKey(ProxyConfiguration.Type.HTTP)) {
@@ -175,7 +211,7 @@ public class NettyHttpClient {
 
             new Bootstrap()
                 .group(eventLoopGroup)
-                .channel(NioSocketChannel.class)
+                .channel(NettyTransport.forEventLoopGroup(eventLoopGroup).socketChannelClass())
                 .option(ChannelOption.AUTO_READ, true)
                 .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
                 .option(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(8 * 1024, 32 * 1024))
@@ -250,6 +286,15 @@ public class NettyHttpClient {
         return sendRequest(httpRequest, timeout, unit, false);
     }
 
+    /**
+     * Closes any pooled connections, the event loop group is not shut down as it is owned by the caller
+     */
+    public void close() {
+        if (connectionPool != null) {
+            connectionPool.close();
+        }
+    }
+
     private boolean isHostNotOnNoProxyHostList(InetSocketAddress remoteAddress) {
         if (remoteAddress == null
             || StringUtils.isBlank(configuration.noProxyHosts())) {
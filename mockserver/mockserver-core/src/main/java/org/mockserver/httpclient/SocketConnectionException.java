@@ -9,11 +9,11 @@ public class SocketConnectionException extends RuntimeException {
 
     private static final long serialVersionUID = 1L;
 
-    SocketConnectionException(String message, Throwable cause) {
+    public SocketConnectionException(String message, Throwable cause) {
         super(message, cause);
     }
 
-    SocketConnectionException(String message) {
+    public SocketConnectionException(String message) {
         super(message);
     }
 }
@@ -75,6 +75,15 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
     );
     private static final Predicate<LogEntry> recordedExpectationLogPredicate = input
         -> !input.isDeleted() && input.getType() == FORWARDED_REQUEST;
+    private static final Map<Predicate<LogEntry>, Set<LogEntry.LogMessageType>> logEntryPredicateTypes = new HashMap<>();
+
+    static {
+        logEntryPredicateTypes.put(requestLogPredicate, EnumSet.of(RECEIVED_REQUEST));
+        logEntryPredicateTypes.put(expectationLogPredicate, EnumSet.of(EXPECTATION_RESPONSE, FORWARDED_REQUEST));
+        logEntryPredicateTypes.put(requestResponseLogPredicate, EnumSet.of(EXPECTATION_RESPONSE, NO_MATCH_RESPONSE, FORWARDED_REQUEST));
+        logEntryPredicateTypes.put(recordedExpectationLogPredicate, EnumSet.of(FORWARDED_REQUEST));
+    }
+
     private static final Function<LogEntry, RequestDefinition[]> logEntryToRequest = LogEntry::getHttpRequests;
     private static final Function<LogEntry, Expectation> logEntryToExpectation = LogEntry::getExpectation;
     private static final Function<LogEntry, LogEventRequestAndResponse> logEntryToHttpRequestAndHttpResponse =
@@ -82,13 +91,15 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
             .withHttpRequest((HttpRequest) logEntry.getHttpRequest())
             .withHttpResponse(logEntry.getHttpResponse())
             .withTimestamp(logEntry.getTimestamp());
-    private static final String[] EXCLUDED_FIELDS = {"id", "disruptor"};
+    private static final String[] EXCLUDED_FIELDS = {"id", "disruptor", "eventLogIndex"};
     private final Configuration configuration;
     private MockServerLogger mockServerLogger;
     private CircularConcurrentLinkedDeque<LogEntry> eventLog;
+    private final MockServerEventLogIndex eventLogIndex = new MockServerEventLogIndex();
     private MatcherBuilder matcherBuilder;
     private RequestDefinitionSerializer requestDefinitionSerializer;
     private final boolean asynchronousEventProcessing;
+    private final int logBodyCompressionThreshold;
     private Disruptor<LogEntry> disruptor;
 
     public MockServerEventLog(Configuration configuration, MockServerLogger mockServerLogger, Scheduler scheduler, boolean asynchronousEventProcessing) {
@@ -98,7 +109,14 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
         this.matcherBuilder = new MatcherBuilder(configuration, mockServerLogger);
         this.requestDefinitionSerializer = new RequestDefinitionSerializer(mockServerLogger);
         this.asynchronousEventProcessing = asynchronousEventProcessing;
-        this.eventLog = new CircularConcurrentLinkedDeque<>(configuration.maxLogEntries(), LogEntry::clear);
+        this.logBodyCompressionThreshold = configuration.logBodyCompressionThreshold();
+        // sizes are only estimated when they are used to bound the log or are output by memory monitoring
+        boolean estimateSizes = configuration.maxLogEntriesBytes() > 0 || configuration.outputMemoryUsageCsv();
+        this.eventLog = new CircularConcurrentLinkedDeque<>(configuration.maxLogEntries(), configuration.maxLogEntriesBytes(), estimateSizes ? LogEntry::estimatedSizeInBytes : null, logEntry -> {
+            eventLogIndex.remove(logEntry);
+            logEntry.clear();
+            entryEvicted();
+        });
         startRingBuffer();
     }
 
@@ -112,7 +130,7 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
                 }
             }
         } else {
-            processLogEntry(logEntry);
+            processLogEntry(logEntry, true);
         }
     }
 
@@ -120,6 +138,13 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
         return eventLog.size();
     }
 
+    /**
+     * The estimated size in bytes of the log entries, or 0 if neither maxLogEntriesBytes nor outputMemoryUsageCsv are enabled
+     */
+    public long estimatedSizeInBytes() {
+        return eventLog.weight();
+    }
+
     private void startRingBuffer() {
         disruptor = new Disruptor<>(LogEntry::new, configuration.ringBufferSize(), new Scheduler.SchedulerThreadFactory("EventLog"));
 
@@ -143,20 +168,38 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
 
         disruptor.handleEventsWith((logEntry, sequence, endOfBatch) -> {
             if (logEntry.getType() != RUNNABLE) {
-                processLogEntry(logEntry);
+                processLogEntry(logEntry, endOfBatch);
             } else {
                 logEntry.getConsumer().run();
                 logEntry.clear();
+                if (endOfBatch) {
+                    // notify for any log entries processed earlier in the batch
+                    notifyListeners(this, false);
+                }
             }
         });
 
         disruptor.start();
     }
 
-    private void processLogEntry(LogEntry logEntry) {
+    private void processLogEntry(LogEntry logEntry, boolean endOfBatch) {
         logEntry = logEntry.cloneAndClear();
-        eventLog.add(logEntry);
-        notifyListeners(this, false);
+        // index before adding so a concurrent eviction always finds the entry in the index
+        eventLogIndex.add(logEntry);
+        if (logBodyCompressionThreshold > 0) {
+            // compressed after indexing so the index reads the uncompressed requests
+            logEntry.compressBodies(logBodyCompressionThreshold);
+        }
+        if (eventLog.add(logEntry)) {
+            entryAdded();
+        } else {
+            eventLogIndex.remove(logEntry);
+        }
+        notifyLogEntryListeners(logEntry);
+        if (endOfBatch) {
+            // listeners are notified once per batch of ring buffer events rather than once per log entry
+            notifyListeners(this, false);
+        }
         writeToSystemOut(logger, logEntry, configuration);
     }
 
@@ -435,8 +478,7 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
             .setType(RUNNABLE)
             .setConsumer(() -> {
                 HttpRequestMatcher httpRequestMatcher = matcherBuilder.transformsToMatcher(requestDefinition);
-                consumer.accept(this.eventLog
-                    .stream()
+                consumer.accept(candidateLogEntries(logEntryPredicate, requestDefinition != null ? httpRequestMatcher : null)
                     .filter(logItem -> logItem.matches(httpRequestMatcher))
                     .filter(logEntryPredicate)
                 );
@@ -450,8 +492,7 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
             .setConsumer(() -> {
                 RequestDefinition requestDefinitionMatcher = requestDefinition != null ? requestDefinition : request().withLogCorrelationId(UUIDService.getUUID());
                 HttpRequestMatcher httpRequestMatcher = matcherBuilder.transformsToMatcher(requestDefinitionMatcher);
-                consumer.accept(this.eventLog
-                    .stream()
+                consumer.accept(candidateLogEntries(logEntryPredicate, requestDefinition != null ? httpRequestMatcher : null)
                     .filter(logItem -> logItem.matches(httpRequestMatcher))
                     .filter(logEntryPredicate)
                     .map(logEntryMapper)
@@ -464,8 +505,7 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
     private <T> void retrieveLogEntries(List<String> expectationIds, Predicate<LogEntry> logEntryPredicate, Function<LogEntry, T> logEntryMapper, Consumer<Stream<T>> consumer) {
         disruptor.publishEvent(new LogEntry()
             .setType(RUNNABLE)
-            .setConsumer(() -> consumer.accept(this.eventLog
-                .stream()
+            .setConsumer(() -> consumer.accept((expectationIds != null ? eventLogIndex.candidatesByExpectationIds(expectationIds).stream() : candidateLogEntries(logEntryPredicate, null))
                 .filter(logEntryPredicate)
                 .filter(logItem -> expectationIds == null || logItem.matchesAnyExpectationId(expectationIds))
                 .map(logEntryMapper)
@@ -473,10 +513,19 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
         );
     }
 
+    private Stream<LogEntry> candidateLogEntries(Predicate<LogEntry> logEntryPredicate, HttpRequestMatcher httpRequestMatcher) {
+        return candidateLogEntries(logEntryPredicateTypes.get(logEntryPredicate), httpRequestMatcher);
+    }
+
+    private Stream<LogEntry> candidateLogEntries(Set<LogEntry.LogMessageType> types, HttpRequestMatcher httpRequestMatcher) {
+        List<LogEntry> candidates = eventLogIndex.candidates(types, httpRequestMatcher);
+        return candidates != null ? candidates.stream() : this.eventLog.stream();
+    }
+
     public void retrieveLogEntriesByCorrelationId(String correlationId, Consumer<List<LogEntry>> listConsumer) {
         disruptor.publishEvent(new LogEntry()
             .setType(RUNNABLE)
-            .setConsumer(() -> listConsumer.accept(this.eventLog
+            .setConsumer(() -> listConsumer.accept(eventLogIndex.candidatesByCorrelationId(correlationId)
                 .stream()
                 .filter(notDeletedPredicate)
                 .filter(logItem -> correlationId.equals(logItem.getCorrelationId()))
@@ -488,8 +537,7 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
     public void retrieveAlmostMatchedEntries(Consumer<List<LogEntry>> listConsumer) {
         disruptor.publishEvent(new LogEntry()
             .setType(RUNNABLE)
-            .setConsumer(() -> listConsumer.accept(this.eventLog
-                .stream()
+            .setConsumer(() -> listConsumer.accept(candidateLogEntries(EnumSet.of(EXPECTATION_NOT_MATCHED), null)
                 .filter(notDeletedPredicate)
                 .filter(logItem -> logItem.getType() == EXPECTATION_NOT_MATCHED)
                 .filter(logItem -> {
@@ -0,0 +1,215 @@
+package org.mockserver.log;
+
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.matchers.HttpRequestMatcher;
+import org.mockserver.mock.RequestMatchersIndex;
+import org.mockserver.model.RequestDefinition;
+
+import java.util.*;
+
+/**
+ * Secondary indexes over the entries in the {@link MockServerEventLog}, maintained as entries are added and evicted, so
+ * retrieval and verification only evaluate candidate entries instead of every entry in the log.
+ * <p>
+ * Entries are indexed by type, correlation id, expectation id and the method and path keys calculated by
+ * {@link RequestMatchersIndex}, each index bucket holds its entries in the order they were added.  Candidates are
+ * always a superset of the matching entries, so callers must still apply their predicate and request matcher.
+ *
+ * @author jamesdbloom
+ */
+final class MockServerEventLogIndex {
+
+    private static final Object UNINDEXED_REQUEST_KEY = new Object();
+    private static final Comparator<IndexedLogEntry> SEQUENCE_COMPARATOR = Comparator.comparingLong(indexedLogEntry -> indexedLogEntry.sequence);
+
+    private final Map<LogEntry, IndexedLogEntry> indexedLogEntries = new IdentityHashMap<>();
+    private final Map<LogEntry.LogMessageType, ArrayDeque<IndexedLogEntry>> typeIndex = new EnumMap<>(LogEntry.LogMessageType.class);
+    private final Map<String, ArrayDeque<IndexedLogEntry>> correlationIdIndex = new HashMap<>();
+    private final Map<String, ArrayDeque<IndexedLogEntry>> expectationIdIndex = new HashMap<>();
+    private final Map<Object, ArrayDeque<IndexedLogEntry>> requestIndex = new HashMap<>();
+    private long nextSequence;
+
+    synchronized void add(LogEntry logEntry) {
+        IndexedLogEntry indexedLogEntry = new IndexedLogEntry(nextSequence++, logEntry);
+        if (indexedLogEntries.putIfAbsent(logEntry, indexedLogEntry) != null) {
+            return;
+        }
+        if (indexedLogEntry.type != null) {
+            typeIndex.computeIfAbsent(indexedLogEntry.type, type -> new ArrayDeque<>()).add(indexedLogEntry);
+        }
+        if (indexedLogEntry.correlationId != null) {
+            correlationIdIndex.computeIfAbsent(indexedLogEntry.correlationId, correlationId -> new ArrayDeque<>()).add(indexedLogEntry);
+        }
+        if (indexedLogEntry.expectationId != null) {
+            expectationIdIndex.computeIfAbsent(indexedLogEntry.expectationId, expectationId -> new ArrayDeque<>()).add(indexedLogEntry);
+        }
+        for (Object requestKey : indexedLogEntry.requestKeys) {
+            requestIndex.computeIfAbsent(requestKey, key -> new ArrayDeque<>()).add(indexedLogEntry);
+        }
+    }
+
+    synchronized void remove(LogEntry logEntry) {
+        IndexedLogEntry indexedLogEntry = indexedLogEntries.remove(logEntry);
+        if (indexedLogEntry != null) {
+            removeFromBucket(typeIndex, indexedLogEntry.type, indexedLogEntry);
+            removeFromBucket(correlationIdIndex, indexedLogEntry.correlationId, indexedLogEntry);
+            removeFromBucket(expectationIdIndex, indexedLogEntry.expectationId, indexedLogEntry);
+            for (Object requestKey : indexedLogEntry.requestKeys) {
+                removeFromBucket(requestIndex, requestKey, indexedLogEntry);
+            }
+        }
+    }
+
+    synchronized void clear() {
+        indexedLogEntries.clear();
+        typeIndex.clear();
+        correlationIdIndex.clear();
+        expectationIdIndex.clear();
+        requestIndex.clear();
+    }
+
+    synchronized int size() {
+        return indexedLogEntries.size();
+    }
+
+    /**
+     * Returns the entries that could be of one of the types and match the request matcher, or null if every entry must be evaluated
+     *
+     * @param types          the types of entry to return or null for all types
+     * @param requestMatcher the request matcher entries will be evaluated against or null for all entries
+     */
+    synchronized List<LogEntry> candidates(Set<LogEntry.LogMessageType> types, HttpRequestMatcher requestMatcher) {
+        List<ArrayDeque<IndexedLogEntry>> typeBuckets = null;
+        if (types != null) {
+            typeBuckets = new ArrayList<>(types.size());
+            for (LogEntry.LogMessageType type : types) {
+                addIfPresent(typeBuckets, typeIndex.get(type));
+            }
+        }
+        List<ArrayDeque<IndexedLogEntry>> requestBuckets = null;
+        Collection<?> matcherKeys = requestMatcher != null ? RequestMatchersIndex.matcherKeys(requestMatcher) : null;
+        if (matcherKeys != null && !matcherKeys.contains(RequestMatchersIndex.WILDCARD_KEY)) {
+            requestBuckets = new ArrayList<>(matcherKeys.size() + 1);
+            for (Object matcherKey : matcherKeys) {
+                addIfPresent(requestBuckets, requestIndex.get(matcherKey));
+            }
+            addIfPresent(requestBuckets, requestIndex.get(UNINDEXED_REQUEST_KEY));
+        }
+        if (typeBuckets == null && requestBuckets == null) {
+            return null;
+        } else if (typeBuckets == null || (requestBuckets != null && size(requestBuckets) < size(typeBuckets))) {
+            return merge(requestBuckets);
+        } else {
+            return merge(typeBuckets);
+        }
+    }
+
+    synchronized List<LogEntry> candidatesByCorrelationId(String correlationId) {
+        return merge(Collections.singletonList(correlationIdIndex.getOrDefault(correlationId, new ArrayDeque<>())));
+    }
+
+    synchronized List<LogEntry> candidatesByExpectationIds(List<String> expectationIds) {
+        List<ArrayDeque<IndexedLogEntry>> buckets = new ArrayList<>(expectationIds.size());
+        for (String expectationId : new HashSet<>(expectationIds)) {
+            addIfPresent(buckets, expectationIdIndex.get(expectationId));
+        }
+        return merge(buckets);
+    }
+
+    private static <K> void removeFromBucket(Map<K, ArrayDeque<IndexedLogEntry>> index, K key, IndexedLogEntry indexedLogEntry) {
+        if (key != null) {
+            ArrayDeque<IndexedLogEntry> bucket = index.get(key);
+            if (bucket != null) {
+                // entries are almost always evicted oldest first
+                if (bucket.peekFirst() == indexedLogEntry) {
+                    bucket.pollFirst();
+                } else {
+                    bucket.removeIf(item -> item == indexedLogEntry);
+                }
+                if (bucket.isEmpty()) {
+                    index.remove(key);
+                }
+            }
+        }
+    }
+
+    private static void addIfPresent(List<ArrayDeque<IndexedLogEntry>> buckets, ArrayDeque<IndexedLogEntry> bucket) {
+        if (bucket != null) {
+            buckets.add(bucket);
+        }
+    }
+
+    private static int size(List<ArrayDeque<IndexedLogEntry>> buckets) {
+        int size = 0;
+        for (ArrayDeque<IndexedLogEntry> bucket : buckets) {
+            size += bucket.size();
+        }
+        return size;
+    }
+
+    private static List<LogEntry> merge(List<ArrayDeque<IndexedLogEntry>> buckets) {
+        if (buckets.size() == 1) {
+            List<LogEntry> logEntries = new ArrayList<>(buckets.get(0).size());
+            for (IndexedLogEntry indexedLogEntry : buckets.get(0)) {
+                logEntries.add(indexedLogEntry.logEntry);
+            }
+            return logEntries;
+        }
+        List<IndexedLogEntry> indexedLogEntries = new ArrayList<>(size(buckets));
+        for (ArrayDeque<IndexedLogEntry> bucket : buckets) {
+            indexedLogEntries.addAll(bucket);
+        }
+        indexedLogEntries.sort(SEQUENCE_COMPARATOR);
+        List<LogEntry> logEntries = new ArrayList<>(indexedLogEntries.size());
+        IndexedLogEntry previous = null;
+        for (IndexedLogEntry indexedLogEntry : indexedLogEntries) {
+            // an entry can be in more than one bucket
+            if (indexedLogEntry != previous) {
+                logEntries.add(indexedLogEntry.logEntry);
+            }
+            previous = indexedLogEntry;
+        }
+        return logEntries;
+    }
+
+    private static Collection<Object> requestKeys(LogEntry logEntry) {
+        RequestDefinition[] httpRequests = logEntry.getHttpRequests();
+        if (httpRequests.length == 0) {
+            // entries without a request match every request matcher
+            return Collections.singletonList(UNINDEXED_REQUEST_KEY);
+        }
+        Set<Object> keys = new HashSet<>();
+        for (RequestDefinition httpRequest : httpRequests) {
+            Collection<?> requestKeys = httpRequest != null ? RequestMatchersIndex.requestKeys(httpRequest) : null;
+            if (requestKeys == null) {
+                return Collections.singletonList(UNINDEXED_REQUEST_KEY);
+            }
+            for (Object requestKey : requestKeys) {
+                // every entry could match a wildcard matcher so wildcard matchers don't use this index
+                if (!RequestMatchersIndex.WILDCARD_KEY.equals(requestKey)) {
+                    keys.add(requestKey);
+                }
+            }
+        }
+        return keys;
+    }
+
+    private static class IndexedLogEntry {
+        private final long sequence;
+        private final LogEntry logEntry;
+        // keys are captured when added because evicted entries are cleared
+        private final LogEntry.LogMessageType type;
+        private final String correlationId;
+        private final String expectationId;
+        private final Collection<Object> requestKeys;
+
+        private IndexedLogEntry(long sequence, LogEntry logEntry) {
+            this.sequence = sequence;
+            this.logEntry = logEntry;
+            this.type = logEntry.getType();
+            this.correlationId = logEntry.getCorrelationId();
+            this.expectationId = logEntry.getExpectationId();
+            this.requestKeys = requestKeys(logEntry);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package org.mockserver.log.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.mockserver.codec.BodyDecoderEncoder;
+import org.mockserver.model.*;
+import org.mockserver.serialization.ObjectMapperFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A request or response body held in the event log as gzip compressed bytes, which is rebuilt each time it is read
+ * <p>
+ * Only bodies that can be rebuilt from their bytes are compressed, i.e. the string, json, xml and binary bodies
+ * created for received requests and responses, and the log entry bodies used to format log messages.
+ *
+ * @author jamesdbloom
+ */
+class CompressedBody {
+
+    private static final BodyDecoderEncoder BODY_DECODER_ENCODER = new BodyDecoderEncoder();
+    private static final ObjectMapper OBJECT_MAPPER = ObjectMapperFactory.createObjectMapper();
+
+    private enum Kind {
+        RAW_BYTES,
+        LOG_ENTRY_STRING,
+        LOG_ENTRY_JSON
+    }
+
+    private final Kind kind;
+    private final String contentType;
+    private final byte[] compressedBytes;
+
+    private CompressedBody(Kind kind, String contentType, byte[] compressedBytes) {
+        this.kind = kind;
+        this.contentType = contentType;
+        this.compressedBytes = compressedBytes;
+    }
+
+    /**
+     * Returns the compressed body, or null if the body isn't larger than the threshold, can't be rebuilt from its
+     * bytes or doesn't get smaller when compressed
+     */
+    static CompressedBody compress(Body<?> body, int thresholdInBytes) {
+        Kind kind;
+        byte[] bytes;
+        if (body instanceof LogEntryBody) {
+            Object value = body.getValue();
+            if (value instanceof String) {
+                kind = Kind.LOG_ENTRY_STRING;
+                bytes = ((String) value).getBytes(UTF_8);
+            } else if (value instanceof JsonNode) {
+                kind = Kind.LOG_ENTRY_JSON;
+                bytes = value.toString().getBytes(UTF_8);
+            } else {
+                return null;
+            }
+        } else if (body instanceof StringBody || body instanceof JsonBody || body instanceof XmlBody || body instanceof BinaryBody) {
+            kind = Kind.RAW_BYTES;
+            bytes = body.getRawBytes();
+        } else {
+            return null;
+        }
+        if (bytes == null || bytes.length <= thresholdInBytes) {
+            return null;
+        }
+        byte[] compressedBytes = gzip(bytes);
+        if (compressedBytes.length >= bytes.length) {
+            return null;
+        }
+        return new CompressedBody(kind, body.getContentType(), compressedBytes);
+    }
+
+    BodyWithContentType<?> decompress() {
+        byte[] bytes = gunzip(compressedBytes);
+        switch (kind) {
+            case LOG_ENTRY_STRING:
+                return new LogEntryBody(new String(bytes, UTF_8));
+            case LOG_ENTRY_JSON:
+                try {
+                    return new LogEntryBody(OBJECT_MAPPER.readTree(bytes));
+                } catch (IOException ioe) {
+                    throw new RuntimeException("Unable to parse compressed log entry body", ioe);
+                }
+            default:
+                return BODY_DECODER_ENCODER.bytesToBody(bytes, contentType);
+        }
+    }
+
+    int size() {
+        return compressedBytes.length;
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(bytes.length / 4);
+        try (OutputStream outputStream = new GZIPOutputStream(byteArrayOutputStream)) {
+            outputStream.write(bytes);
+        } catch (IOException ioe) {
+            throw new RuntimeException("Unable to compress log entry body", ioe);
+        }
+        return byteArrayOutputStream.toByteArray();
+    }
+
+    private static byte[] gunzip(byte[] compressedBytes) {
+        try (InputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(compressedBytes))) {
+            ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(compressedBytes.length * 4);
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                byteArrayOutputStream.write(buffer, 0, read);
+            }
+            return byteArrayOutputStream.toByteArray();
+        } catch (IOException ioe) {
+            throw new RuntimeException("Unable to decompress log entry body", ioe);
+        }
+    }
+}
@@ -49,6 +49,8 @@ public class LogEntry implements EventTranslator<LogEntry> {
     private HttpResponse httpUpdatedResponse;
     private HttpError httpError;
     private Expectation expectation;
+    // expectation recorded from this entry's request and response, so its bodies are compressed with the entry's
+    private boolean recordedExpectation;
     private String expectationId;
     private Throwable throwable;
     private Runnable consumer;
@@ -58,6 +60,9 @@ public class LogEntry implements EventTranslator<LogEntry> {
     private String message;
     private Object[] arguments;
     private String because;
+    // stripped requests and responses, by identity, to their compressed body
+    private Map<Object, CompressedBody> compressedBodies;
+    private long estimatedSizeInBytes;
 
     public LogEntry() {
 
@@ -89,6 +94,7 @@ public class LogEntry implements EventTranslator<LogEntry> {
         httpResponse = null;
         httpError = null;
         expectation = null;
+        recordedExpectation = false;
         expectationId = null;
         throwable = null;
         consumer = null;
@@ -97,6 +103,8 @@ public class LogEntry implements EventTranslator<LogEntry> {
         message = null;
         arguments = null;
         because = null;
+        compressedBodies = null;
+        estimatedSizeInBytes = 0;
     }
 
     public Level getLogLevel() {
@@ -169,7 +177,7 @@ public class LogEntry implements EventTranslator<LogEntry> {
         if (httpRequests == null) {
             return EMPTY_REQUEST_DEFINITIONS;
         } else {
-            return httpRequests;
+            return requests();
         }
     }
 
@@ -177,6 +185,12 @@ public class LogEntry implements EventTranslator<LogEntry> {
     public RequestDefinition[] getHttpUpdatedRequests() {
         if (httpRequests == null) {
             return EMPTY_REQUEST_DEFINITIONS;
+        } else if (compressedBodies != null) {
+            // not cached so decompressed bodies aren't retained
+            return Arrays
+                .stream(requests())
+                .map(this::updateBody)
+                .toArray(RequestDefinition[]::new);
         } else if (httpUpdatedRequests == null) {
             httpUpdatedRequests = Arrays
                 .stream(httpRequests)
@@ -196,7 +210,7 @@ public class LogEntry implements EventTranslator<LogEntry> {
         if (httpRequests == null || httpRequests.length == 0) {
             return true;
         }
-        for (RequestDefinition httpRequest : httpRequests) {
+        for (RequestDefinition httpRequest : requests()) {
             RequestDefinition request = httpRequest.cloneWithLogCorrelationId();
             if (matcher.matches(type == LogMessageType.RECEIVED_REQUEST ? new MatchDifference(false, request) : null, request)) {
                 return true;
@@ -213,7 +227,7 @@ public class LogEntry implements EventTranslator<LogEntry> {
 
     public RequestDefinition getHttpRequest() {
         if (httpRequests != null && httpRequests.length > 0) {
-            return httpRequests[0];
+            return decompressed(httpRequests[0]);
         } else {
             return null;
         }
@@ -233,12 +247,15 @@ public class LogEntry implements EventTranslator<LogEntry> {
     }
 
     public HttpResponse getHttpResponse() {
-        return httpResponse;
+        return decompressed(httpResponse);
     }
 
     public HttpResponse getHttpUpdatedResponse() {
         if (httpResponse == null) {
             return null;
+        } else if (compressedBodies != null) {
+            // not cached so decompressed bodies aren't retained
+            return updateBody(getHttpResponse());
         } else if (httpUpdatedResponse == null) {
             httpUpdatedResponse = updateBody(httpResponse);
             return httpUpdatedResponse;
@@ -264,21 +281,55 @@ public class LogEntry implements EventTranslator<LogEntry> {
     }
 
     public Expectation getExpectation() {
+        if (compressedBodies != null && recordedExpectation) {
+            RequestDefinition expectationRequest = expectation.getHttpRequest();
+            HttpResponse expectationResponse = expectation.getHttpResponse();
+            if (compressedBodies.containsKey(expectationRequest) || compressedBodies.containsKey(expectationResponse)) {
+                // not cached so decompressed bodies aren't retained
+                return recordedExpectation(decompressed(expectationRequest), decompressed(expectationResponse), expectation);
+            }
+        }
         return expectation;
     }
 
     @JsonIgnore
     public LogEntry setExpectation(Expectation expectation) {
         this.expectation = expectation;
+        this.recordedExpectation = false;
         return this;
     }
 
     @JsonIgnore
     public LogEntry setExpectation(RequestDefinition httpRequest, HttpResponse httpResponse) {
         this.expectation = new Expectation(httpRequest, Times.once(), TimeToLive.unlimited(), 0).thenRespond(httpResponse);
+        this.recordedExpectation = true;
+        return this;
+    }
+
+    private LogEntry setExpectationFrom(LogEntry logEntry) {
+        this.expectation = logEntry.getExpectation();
+        this.recordedExpectation = logEntry.recordedExpectation;
         return this;
     }
 
+    /**
+     * A recorded expectation with the same id and creation time as the original, so it is stable however often it is read
+     */
+    private static Expectation recordedExpectation(RequestDefinition httpRequest, HttpResponse httpResponse, Expectation original) {
+        return new Expectation(httpRequest, Times.once(), TimeToLive.unlimited(), 0)
+            .thenRespond(httpResponse)
+            .withId(original.getId())
+            .withCreated(original.getCreated());
+    }
+
+    private RequestDefinition expectationRequest() {
+        return recordedExpectation ? expectation.getHttpRequest() : null;
+    }
+
+    private HttpResponse expectationResponse() {
+        return recordedExpectation ? expectation.getHttpResponse() : null;
+    }
+
     public String getExpectationId() {
         return expectationId;
     }
@@ -340,8 +391,20 @@ public class LogEntry implements EventTranslator<LogEntry> {
         return this;
     }
 
+    /**
+     * Whether this entry has a message, decided without formatting the message
+     */
+    @JsonIgnore
+    public boolean hasMessage() {
+        return isNotBlank(messageFormat) || (messageFormat != null && arguments != null && arguments.length > 0);
+    }
+
     @JsonIgnore
     public String getMessage() {
+        if (compressedBodies != null) {
+            // not cached so decompressed bodies aren't retained
+            return arguments != null ? formatLogMessage(messageFormat, arguments()) : messageFormat;
+        }
         if (message == null) {
             if (arguments != null) {
                 message = formatLogMessage(messageFormat, arguments);
@@ -355,14 +418,14 @@ public class LogEntry implements EventTranslator<LogEntry> {
     @JsonIgnore
     public String getCompactMessage() {
         if (arguments != null) {
-            return formatCompactLogMessage(messageFormat, arguments);
+            return formatCompactLogMessage(messageFormat, arguments());
         } else {
             return messageFormat;
         }
     }
 
     public Object[] getArguments() {
-        return arguments;
+        return arguments();
     }
 
     public LogEntry setArguments(Object... arguments) {
@@ -465,6 +528,222 @@ public class LogEntry implements EventTranslator<LogEntry> {
         }
     }
 
+    /**
+     * Replaces request and response bodies larger than the threshold, in this entry's requests, response and
+     * arguments, with gzip compressed copies that are decompressed each time they are read
+     * <p>
+     * A body is only compressed if the request or response rebuilt from the compressed body is equal to the original.
+     *
+     * @param thresholdInBytes the body size in bytes above which bodies are compressed
+     */
+    public LogEntry compressBodies(int thresholdInBytes) {
+        if (thresholdInBytes > 0 && compressedBodies == null) {
+            Map<Object, CompressedBody> compressed = new IdentityHashMap<>();
+            RequestDefinition[] compressedRequests = httpRequests != null ? Arrays.stream(httpRequests).map(request -> compress(request, thresholdInBytes, compressed)).toArray(RequestDefinition[]::new) : null;
+            HttpResponse compressedResponse = compress(httpResponse, thresholdInBytes, compressed);
+            Object[] compressedArguments = arguments != null ? Arrays.stream(arguments).map(argument -> compress(argument, thresholdInBytes, compressed)).toArray() : null;
+            // the expectation's request and response are usually the same instances as this entry's request and response
+            RequestDefinition expectationRequest = expectationRequest();
+            HttpResponse expectationResponse = expectationResponse();
+            int expectationRequestIndex = indexOf(httpRequests, expectationRequest);
+            RequestDefinition compressedExpectationRequest = expectationRequestIndex >= 0 ? compressedRequests[expectationRequestIndex] : compress(expectationRequest, thresholdInBytes, compressed);
+            HttpResponse compressedExpectationResponse = expectationResponse == httpResponse ? compressedResponse : compress(expectationResponse, thresholdInBytes, compressed);
+            if (!compressed.isEmpty()) {
+                httpRequests = compressedRequests;
+                httpResponse = compressedResponse;
+                arguments = compressedArguments;
+                if (compressedExpectationRequest != expectationRequest || compressedExpectationResponse != expectationResponse) {
+                    expectation = recordedExpectation(compressedExpectationRequest, compressedExpectationResponse, expectation);
+                }
+                compressedBodies = compressed;
+                httpUpdatedRequests = null;
+                httpUpdatedResponse = null;
+                message = null;
+                estimatedSizeInBytes = 0;
+            }
+        }
+        return this;
+    }
+
+    private static int indexOf(RequestDefinition[] requests, RequestDefinition request) {
+        if (requests != null && request != null) {
+            for (int i = 0; i < requests.length; i++) {
+                if (requests[i] == request) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private <T> T compress(T requestOrResponse, int thresholdInBytes, Map<Object, CompressedBody> compressed) {
+        if (requestOrResponse instanceof HttpRequest || requestOrResponse instanceof HttpResponse) {
+            CompressedBody compressedBody = CompressedBody.compress(requestOrResponse instanceof HttpRequest ? ((HttpRequest) requestOrResponse).getBody() : ((HttpResponse) requestOrResponse).getBody(), thresholdInBytes);
+            if (compressedBody != null) {
+                T withoutBody = withBody(requestOrResponse, null);
+                if (requestOrResponse.equals(withBody(withoutBody, compressedBody.decompress()))) {
+                    compressed.put(withoutBody, compressedBody);
+                    return withoutBody;
+                }
+            }
+        }
+        return requestOrResponse;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T withBody(T requestOrResponse, BodyWithContentType<?> body) {
+        if (requestOrResponse instanceof HttpRequest) {
+            HttpRequest httpRequest = (HttpRequest) requestOrResponse;
+            HttpRequest clone = httpRequest.shallowClone().withBody(body);
+            clone.withLogCorrelationId(httpRequest.getLogCorrelationId());
+            return (T) clone;
+        } else {
+            return (T) ((HttpResponse) requestOrResponse).shallowClone().withBody(body);
+        }
+    }
+
+    private <T> T decompressed(T requestOrResponse) {
+        if (compressedBodies != null && requestOrResponse != null) {
+            CompressedBody compressedBody = compressedBodies.get(requestOrResponse);
+            if (compressedBody != null) {
+                return withBody(requestOrResponse, compressedBody.decompress());
+            }
+        }
+        return requestOrResponse;
+    }
+
+    private RequestDefinition[] requests() {
+        if (compressedBodies != null && httpRequests != null) {
+            return Arrays.stream(httpRequests).map(this::decompressed).toArray(RequestDefinition[]::new);
+        }
+        return httpRequests;
+    }
+
+    private Object[] arguments() {
+        if (compressedBodies != null && arguments != null) {
+            return Arrays.stream(arguments).map(this::decompressed).toArray();
+        }
+        return arguments;
+    }
+
+    /**
+     * An estimate of the heap retained by this entry's requests, response, arguments and formatted message, which is
+     * calculated once and used to bound the size of the event log
+     */
+    @JsonIgnore
+    public long estimatedSizeInBytes() {
+        if (estimatedSizeInBytes == 0) {
+            long argumentsSize = 0;
+            if (arguments != null) {
+                for (Object argument : arguments) {
+                    argumentsSize += estimateSize(argument);
+                }
+            }
+            long size = 256 + estimateSize(httpResponse) + estimateSize(httpError) + estimateSize(messageFormat) + estimateSize(because)
+                // formatted messages include their arguments
+                + 2 * argumentsSize;
+            if (httpRequests != null) {
+                for (RequestDefinition httpRequest : httpRequests) {
+                    size += estimateSize(httpRequest);
+                }
+            }
+            // only count the expectation's request and response when they aren't shared with this entry
+            RequestDefinition expectationRequest = expectationRequest();
+            HttpResponse expectationResponse = expectationResponse();
+            if (indexOf(httpRequests, expectationRequest) < 0) {
+                size += estimateSize(expectationRequest);
+            }
+            if (expectationResponse != httpResponse) {
+                size += estimateSize(expectationResponse);
+            }
+            estimatedSizeInBytes = size;
+        }
+        return estimatedSizeInBytes;
+    }
+
+    private long estimateSize(Object object) {
+        if (object == null) {
+            return 0;
+        } else if (object instanceof String) {
+            return 40 + ((String) object).length();
+        } else if (object instanceof NottableString) {
+            return 16 + estimateSize(((NottableString) object).getValue());
+        } else if (object instanceof HttpRequest) {
+            HttpRequest httpRequest = (HttpRequest) object;
+            return 128
+                + estimateSize(httpRequest.getMethod())
+                + estimateSize(httpRequest.getPath())
+                + estimateSize(httpRequest.getPathParameterList())
+                + estimateSize(httpRequest.getQueryStringParameterList())
+                + estimateSize(httpRequest.getHeaderList())
+                + estimateSize(httpRequest.getCookieList())
+                + estimateBodySize(httpRequest, httpRequest.getBody());
+        } else if (object instanceof HttpResponse) {
+            HttpResponse httpResponse = (HttpResponse) object;
+            return 128
+                + estimateSize(httpResponse.getReasonPhrase())
+                + estimateSize(httpResponse.getHeaderList())
+                + estimateSize(httpResponse.getCookieList())
+                + estimateBodySize(httpResponse, httpResponse.getBody());
+        } else if (object instanceof KeyToMultiValue) {
+            KeyToMultiValue keyToMultiValue = (KeyToMultiValue) object;
+            long size = 32 + estimateSize(keyToMultiValue.getName());
+            for (NottableString value : keyToMultiValue.getValues()) {
+                size += estimateSize(value);
+            }
+            return size;
+        } else if (object instanceof KeyAndValue) {
+            KeyAndValue keyAndValue = (KeyAndValue) object;
+            return 32 + estimateSize(keyAndValue.getName()) + estimateSize(keyAndValue.getValue());
+        } else if (object instanceof Collection) {
+            long size = 32;
+            for (Object item : (Collection<?>) object) {
+                size += estimateSize(item);
+            }
+            return size;
+        } else {
+            return 64;
+        }
+    }
+
+    private long estimateBodySize(Object requestOrResponse, Body<?> body) {
+        CompressedBody compressedBody = compressedBodies != null ? compressedBodies.get(requestOrResponse) : null;
+        if (compressedBody != null) {
+            return 64 + compressedBody.size();
+        } else if (body == null) {
+            return 0;
+        } else if (body instanceof LogEntryBody) {
+            Object value = body.getValue();
+            // parsed json is held as a tree of nodes which is several times larger than the json
+            return 64 + (value instanceof String ? estimateSize(value) : 4L * String.valueOf(value).length());
+        } else if (body instanceof StringBody || body instanceof JsonBody || body instanceof XmlBody) {
+            return 64 + body.getRawBytes().length + estimateSize(body.getValue());
+        } else {
+            return 64 + body.getRawBytes().length;
+        }
+    }
+
+    /**
+     * Copies only the fields used to write this entry to the logger, sharing the arguments and any compressed bodies, so
+     * the message can be formatted later on another thread even if this entry has since been cleared
+     */
+    public LogEntry messageCopy() {
+        LogEntry copy = new LogEntry();
+        copy.logLevel = logLevel;
+        copy.alwaysLog = alwaysLog;
+        copy.epochTime = epochTime;
+        copy.timestamp = timestamp;
+        copy.type = type;
+        copy.correlationId = correlationId;
+        copy.port = port;
+        copy.throwable = throwable;
+        copy.messageFormat = messageFormat;
+        copy.message = message;
+        copy.arguments = arguments;
+        copy.compressedBodies = compressedBodies;
+        return copy;
+    }
+
     public LogEntry cloneAndClear() {
         LogEntry clone = this.clone();
         clear();
@@ -484,7 +763,7 @@ public class LogEntry implements EventTranslator<LogEntry> {
             .setHttpRequests(getHttpRequests())
             .setHttpResponse(getHttpResponse())
             .setHttpError(getHttpError())
-            .setExpectation(getExpectation())
+            .setExpectationFrom(this)
             .setExpectationId(getExpectationId())
             .setMessageFormat(getMessageFormat())
             .setArguments(getArguments())
@@ -507,7 +786,7 @@ public class LogEntry implements EventTranslator<LogEntry> {
             .setHttpRequests(getHttpRequests())
             .setHttpResponse(getHttpResponse())
             .setHttpError(getHttpError())
-            .setExpectation(getExpectation())
+            .setExpectationFrom(this)
             .setExpectationId(getExpectationId())
             .setMessageFormat(getMessageFormat())
             .setArguments(getArguments())
@@ -536,21 +815,42 @@ public class LogEntry implements EventTranslator<LogEntry> {
             logLevel == logEntry.logLevel &&
             alwaysLog == logEntry.alwaysLog &&
             Objects.equals(messageFormat, logEntry.messageFormat) &&
-            Objects.equals(httpResponse, logEntry.httpResponse) &&
+            Objects.equals(decompressed(httpResponse), logEntry.decompressed(logEntry.httpResponse)) &&
             Objects.equals(httpError, logEntry.httpError) &&
-            Objects.equals(expectation, logEntry.expectation) &&
+            expectationEquals(logEntry) &&
             Objects.equals(expectationId, logEntry.expectationId) &&
             Objects.equals(consumer, logEntry.consumer) &&
-            Arrays.equals(arguments, logEntry.arguments) &&
-            Arrays.equals(httpRequests, logEntry.httpRequests);
+            Arrays.equals(arguments(), logEntry.arguments()) &&
+            Arrays.equals(requests(), logEntry.requests());
+    }
+
+    /**
+     * Compares recorded expectations by their decompressed request and response, as expectations are compared without
+     * their id, without building a decompressed expectation
+     */
+    private boolean expectationEquals(LogEntry logEntry) {
+        if (recordedExpectation && logEntry.recordedExpectation) {
+            return Objects.equals(decompressed(expectationRequest()), logEntry.decompressed(logEntry.expectationRequest())) &&
+                Objects.equals(decompressed(expectationResponse()), logEntry.decompressed(logEntry.expectationResponse()));
+        } else {
+            return recordedExpectation == logEntry.recordedExpectation && Objects.equals(expectation, logEntry.expectation);
+        }
+    }
+
+    private int expectationHashCode() {
+        if (recordedExpectation) {
+            return Objects.hash(decompressed(expectationRequest()), decompressed(expectationResponse()));
+        } else {
+            return Objects.hashCode(expectation);
+        }
     }
 
     @Override
     public int hashCode() {
         if (hashCode == 0) {
-            int result = Objects.hash(epochTime, deleted, type, logLevel, alwaysLog, messageFormat, httpResponse, httpError, expectation, expectationId, consumer);
-            result = 31 * result + Arrays.hashCode(arguments);
-            result = 31 * result + Arrays.hashCode(httpRequests);
+            int result = Objects.hash(epochTime, deleted, type, logLevel, alwaysLog, messageFormat, decompressed(httpResponse), httpError, expectationHashCode(), expectationId, consumer);
+            result = 31 * result + Arrays.hashCode(arguments());
+            result = 31 * result + Arrays.hashCode(requests());
             hashCode = result;
         }
         return hashCode;
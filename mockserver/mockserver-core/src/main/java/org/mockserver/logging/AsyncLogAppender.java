@@ -0,0 +1,127 @@
+package org.mockserver.logging;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.mockserver.configuration.Configuration;
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.metrics.Metrics;
+import org.mockserver.scheduler.Scheduler;
+import org.slf4j.Logger;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockserver.configuration.Configuration.configuration;
+import static org.mockserver.metrics.Metrics.Name.LOG_MESSAGES_DROPPED_COUNT;
+
+/**
+ * Formats and writes log messages to their logger on a dedicated background thread, used when asyncLogQueueSize is
+ * greater than 0, so neither formatting nor writing to stdout blocks the thread that logged the message, i.e. the event
+ * log thread.
+ * <p>
+ * Messages are held unformatted in a bounded queue, when the queue is full messages are dropped and counted, and the
+ * number of messages dropped is written as a warning before the next message that is written.  There is one appender
+ * per process which is created with the queue size and metrics configuration used when it is first used.
+ *
+ * @author jamesdbloom
+ */
+public class AsyncLogAppender {
+
+    private static volatile AsyncLogAppender instance;
+
+    private final BlockingQueue<QueuedMessage> queue;
+    private final Metrics metrics;
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong droppedSinceLastWarning = new AtomicLong();
+
+    /**
+     * @param configuration used to decide if dropped messages are counted, or null to use the system properties
+     */
+    public static AsyncLogAppender getInstance(int queueSize, Configuration configuration) {
+        if (instance == null) {
+            synchronized (AsyncLogAppender.class) {
+                if (instance == null) {
+                    AsyncLogAppender appender = new AsyncLogAppender(queueSize, new Metrics(configuration != null ? configuration : configuration()));
+                    new Scheduler.SchedulerThreadFactory("LogAppender").newThread(appender::run).start();
+                    Runtime.getRuntime().addShutdownHook(new Thread(appender::drain));
+                    instance = appender;
+                }
+            }
+        }
+        return instance;
+    }
+
+    @VisibleForTesting
+    AsyncLogAppender(int queueSize, Metrics metrics) {
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueSize));
+        this.metrics = metrics;
+    }
+
+    /**
+     * Queues the log entry to be formatted and written, the log entry must not be modified or cleared after it is queued
+     */
+    public void append(Logger logger, LogEntry logEntry, boolean json, boolean compact) {
+        if (!queue.offer(new QueuedMessage(logger, logEntry, json, compact))) {
+            droppedCount.incrementAndGet();
+            droppedSinceLastWarning.incrementAndGet();
+            metrics.increment(LOG_MESSAGES_DROPPED_COUNT);
+        }
+    }
+
+    /**
+     * The total number of messages dropped because the queue was full
+     */
+    public long droppedCount() {
+        return droppedCount.get();
+    }
+
+    public int queueSize() {
+        return queue.size();
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                write(queue.take());
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            } catch (Throwable throwable) {
+                // a failing logger must not stop the appender
+            }
+        }
+    }
+
+    /**
+     * Writes all queued messages on the calling thread
+     */
+    @VisibleForTesting
+    void drain() {
+        QueuedMessage queuedMessage;
+        while ((queuedMessage = queue.poll()) != null) {
+            write(queuedMessage);
+        }
+    }
+
+    private void write(QueuedMessage queuedMessage) {
+        long dropped = droppedSinceLastWarning.getAndSet(0);
+        if (dropped > 0) {
+            queuedMessage.logger.warn("dropped " + dropped + " log messages because the asynchronous log queue was full");
+        }
+        MockServerLogger.write(queuedMessage.logger, queuedMessage.logEntry, queuedMessage.json, queuedMessage.compact);
+    }
+
+    private static class QueuedMessage {
+
+        private final Logger logger;
+        private final LogEntry logEntry;
+        private final boolean json;
+        private final boolean compact;
+
+        private QueuedMessage(Logger logger, LogEntry logEntry, boolean json, boolean compact) {
+            this.logger = logger;
+            this.logEntry = logEntry;
+            this.json = json;
+            this.compact = compact;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package org.mockserver.logging;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.serialization.ObjectMapperFactory;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+/**
+ * Formats a log entry as a single line JSON object, used when jsonLogFormat is enabled.
+ * <p>
+ * The line is written in one pass, each argument is serialised once without pretty printing and the message is
+ * the compact message, so the multi-line message used for the default log format is never built.
+ *
+ * @author jamesdbloom
+ */
+public class JsonLogFormatter {
+
+    private static final ObjectMapper OBJECT_MAPPER = ObjectMapperFactory.createObjectMapper();
+
+    private JsonLogFormatter() {
+
+    }
+
+    public static String format(LogEntry logEntry) {
+        StringWriter stringWriter = new StringWriter();
+        try (JsonGenerator generator = OBJECT_MAPPER.getFactory().createGenerator(stringWriter)) {
+            generator.writeStartObject();
+            generator.writeStringField("timestamp", logEntry.getTimestamp());
+            generator.writeStringField("logLevel", logEntry.getLogLevel() != null ? logEntry.getLogLevel().name() : null);
+            generator.writeStringField("type", logEntry.getType() != null ? logEntry.getType().name() : null);
+            if (logEntry.getPort() != null) {
+                generator.writeNumberField("port", logEntry.getPort());
+            }
+            if (logEntry.getCorrelationId() != null) {
+                generator.writeStringField("correlationId", logEntry.getCorrelationId());
+            }
+            generator.writeStringField("message", logEntry.getCompactMessage());
+            Object[] arguments = logEntry.getArguments();
+            if (arguments != null && arguments.length > 0) {
+                generator.writeArrayFieldStart("arguments");
+                for (Object argument : arguments) {
+                    writeArgument(generator, argument);
+                }
+                generator.writeEndArray();
+            }
+            if (logEntry.getThrowable() != null) {
+                generator.writeStringField("throwable", ExceptionUtils.getStackTrace(logEntry.getThrowable()));
+            }
+            generator.writeEndObject();
+        } catch (IOException ioe) {
+            throw new RuntimeException("Exception formatting log entry as JSON", ioe);
+        }
+        return stringWriter.toString();
+    }
+
+    private static void writeArgument(JsonGenerator generator, Object argument) throws IOException {
+        if (argument == null) {
+            generator.writeNull();
+        } else if (argument instanceof String) {
+            generator.writeString((String) argument);
+        } else {
+            String json;
+            try {
+                json = OBJECT_MAPPER.writeValueAsString(argument);
+            } catch (Throwable throwable) {
+                // argument can't be serialised so is written as a string
+                generator.writeString(String.valueOf(argument));
+                return;
+            }
+            generator.writeRawValue(json);
+        }
+    }
+}
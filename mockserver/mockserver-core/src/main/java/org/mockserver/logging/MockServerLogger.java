@@ -17,6 +17,7 @@ import java.util.function.Consumer;
 import java.util.logging.LogManager;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.apache.commons.lang3.StringUtils.isBlank;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 import static org.mockserver.character.Character.NEW_LINE;
 import static org.mockserver.log.model.LogEntry.LogMessageType.*;
@@ -37,11 +38,13 @@ public class MockServerLogger {
     public static void configureLogger() {
         try {
             if (System.getProperty("java.util.logging.config.file") == null && System.getProperty("java.util.logging.config.class") == null) {
+                // json lines are written without a prefix so each line is a single json object
+                String format = ConfigurationProperties.jsonLogFormat() ? "%5$s%6$s%n" : "%1$tF %1$tT " + Version.getVersion() + " %4$s %5$s %6$s%n";
                 LogManager.getLogManager().readConfiguration(new ByteArrayInputStream(("" +
                     "handlers=org.mockserver.logging.StandardOutConsoleHandler" + NEW_LINE +
                     "org.mockserver.logging.StandardOutConsoleHandler.level=ALL" + NEW_LINE +
                     "org.mockserver.logging.StandardOutConsoleHandler.formatter=java.util.logging.SimpleFormatter" + NEW_LINE +
-                    "java.util.logging.SimpleFormatter.format=%1$tF %1$tT " + Version.getVersion() + " %4$s %5$s %6$s%n" + NEW_LINE +
+                    "java.util.logging.SimpleFormatter.format=" + format + NEW_LINE +
                     "org.mockserver.level=INFO" + NEW_LINE +
                     "io.netty.level=WARNING").getBytes(UTF_8)));
                 if (isNotBlank(ConfigurationProperties.javaLoggerLogLevel())) {
@@ -49,7 +52,7 @@ public class MockServerLogger {
                         (!ConfigurationProperties.disableSystemOut() ? "handlers=org.mockserver.logging.StandardOutConsoleHandler" + NEW_LINE +
                             "org.mockserver.logging.StandardOutConsoleHandler.level=ALL" + NEW_LINE +
                             "org.mockserver.logging.StandardOutConsoleHandler.formatter=java.util.logging.SimpleFormatter" + NEW_LINE : "") +
-                        "java.util.logging.SimpleFormatter.format=%1$tF %1$tT " + Version.getVersion() + " %4$s %5$s %6$s%n" + NEW_LINE +
+                        "java.util.logging.SimpleFormatter.format=" + format + NEW_LINE +
                         "org.mockserver.level=" + ConfigurationProperties.javaLoggerLogLevel() + NEW_LINE +
                         "io.netty.level=" + (Arrays.asList("TRACE", "FINEST").contains(ConfigurationProperties.javaLoggerLogLevel()) ? "FINE" : "WARNING");
                     LogManager.getLogManager().readConfiguration(new ByteArrayInputStream(loggingConfiguration.getBytes(UTF_8)));
@@ -159,9 +162,8 @@ public class MockServerLogger {
     public static void writeToSystemOut(Logger logger, LogEntry logEntry, Configuration configuration) {
         if (!configuration.disableLogging()) {
             Level effectiveLevel = resolveEffectiveLevel(logEntry.getType(), configuration.logLevelOverrides(), configuration.logLevel());
-            if ((logEntry.isAlwaysLog() || isEnabled(logEntry.getLogLevel(), effectiveLevel)) &&
-                isNotBlank(logEntry.getMessage())) {
-                writeLogEntry(logger, logEntry, configuration.compactLogFormat());
+            if ((logEntry.isAlwaysLog() || isEnabled(logEntry.getLogLevel(), effectiveLevel)) && logEntry.hasMessage()) {
+                writeLogEntry(logger, logEntry, configuration.jsonLogFormat(), configuration.compactLogFormat(), configuration.asyncLogQueueSize(), configuration);
             }
         }
     }
@@ -169,30 +171,56 @@ public class MockServerLogger {
     public static void writeToSystemOut(Logger logger, LogEntry logEntry) {
         if (!ConfigurationProperties.disableLogging()) {
             Level effectiveLevel = resolveEffectiveLevel(logEntry.getType(), ConfigurationProperties.logLevelOverrides(), ConfigurationProperties.logLevel());
-            if ((logEntry.isAlwaysLog() || isEnabled(logEntry.getLogLevel(), effectiveLevel)) &&
-                isNotBlank(logEntry.getMessage())) {
-                writeLogEntry(logger, logEntry, ConfigurationProperties.compactLogFormat());
+            if ((logEntry.isAlwaysLog() || isEnabled(logEntry.getLogLevel(), effectiveLevel)) && logEntry.hasMessage()) {
+                writeLogEntry(logger, logEntry, ConfigurationProperties.jsonLogFormat(), ConfigurationProperties.compactLogFormat(), ConfigurationProperties.asyncLogQueueSize(), null);
             }
         }
     }
 
-    private static void writeLogEntry(Logger logger, LogEntry logEntry, boolean compact) {
-        String message = compact ? logEntry.getCompactMessage() : logEntry.getMessage();
-        switch (logEntry.getLogLevel()) {
+    private static void writeLogEntry(Logger logger, LogEntry logEntry, boolean json, boolean compact, int asyncLogQueueSize, Configuration configuration) {
+        if (asyncLogQueueSize > 0) {
+            // formatted on the appender thread, from a copy because the entry is cleared if it is evicted from the event log
+            AsyncLogAppender.getInstance(asyncLogQueueSize, configuration).append(logger, logEntry.messageCopy(), json, compact);
+        } else {
+            write(logger, logEntry, json, compact);
+        }
+    }
+
+    static void write(Logger logger, LogEntry logEntry, boolean json, boolean compact) {
+        // the message is only formatted once, in the format being written
+        String message;
+        Throwable throwable;
+        if (json) {
+            message = JsonLogFormatter.format(logEntry);
+            // included in the json so each line is a single json object
+            throwable = null;
+        } else {
+            message = compact ? logEntry.getCompactMessage() : logEntry.getMessage();
+            if (isBlank(message)) {
+                return;
+            }
+            message = portInformation(logEntry) + message;
+            throwable = logEntry.getThrowable();
+        }
+        write(logger, logEntry.getLogLevel(), message, throwable);
+    }
+
+    private static void write(Logger logger, Level level, String message, Throwable throwable) {
+        switch (level) {
             case ERROR:
-                logger.error(portInformation(logEntry) + message, logEntry.getThrowable());
+                logger.error(message, throwable);
                 break;
             case WARN:
-                logger.warn(portInformation(logEntry) + message, logEntry.getThrowable());
+                logger.warn(message, throwable);
                 break;
             case INFO:
-                logger.info(portInformation(logEntry) + message, logEntry.getThrowable());
+                logger.info(message, throwable);
                 break;
             case DEBUG:
-                logger.debug(portInformation(logEntry) + message, logEntry.getThrowable());
+                logger.debug(message, throwable);
                 break;
             case TRACE:
-                logger.trace(portInformation(logEntry) + message, logEntry.getThrowable());
+                logger.trace(message, throwable);
                 break;
         }
     }
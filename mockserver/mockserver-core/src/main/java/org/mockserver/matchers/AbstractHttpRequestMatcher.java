@@ -3,6 +3,7 @@ package org.mockserver.matchers;
 import org.mockserver.configuration.Configuration;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.mock.Expectation;
+import org.mockserver.mock.action.http.PreEncodedHttpResponse;
 import org.mockserver.mock.listeners.MockServerMatcherNotifier;
 import org.mockserver.model.RequestDefinition;
 
@@ -57,6 +58,7 @@ public abstract class AbstractHttpRequestMatcher extends NotMatcher<RequestDefin
             this.hashCode = 0;
             this.isBlank = expectation.getHttpRequest() == null;
             apply(expectation.getHttpRequest());
+            expectation.withPreEncodedHttpResponse(PreEncodedHttpResponse.preEncode(expectation, mockServerLogger));
             return true;
         }
     }
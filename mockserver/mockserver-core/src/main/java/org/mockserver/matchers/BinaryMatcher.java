@@ -10,7 +10,8 @@ import java.util.Arrays;
  * @author jamesdbloom
  */
 public class BinaryMatcher extends BodyMatcher<byte[]> {
-    private static final String[] excludedFields = {"mockServerLogger"};
+    private static final String[] excludedFields = {"mockServerLogger", "hashCode"};
+    private int hashCode;
     private final MockServerLogger mockServerLogger;
     private final byte[] matcher;
 
@@ -42,4 +43,28 @@ public class BinaryMatcher extends BodyMatcher<byte[]> {
     public String[] fieldsExcludedFromEqualsAndHashCode() {
         return excludedFields;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        if (hashCode() != o.hashCode()) {
+            return false;
+        }
+        BinaryMatcher that = (BinaryMatcher) o;
+        return not == that.not &&
+            Arrays.equals(matcher, that.matcher);
+    }
+
+    @Override
+    public int hashCode() {
+        if (hashCode == 0) {
+            hashCode = Arrays.hashCode(matcher);
+        }
+        return notHashCode(hashCode);
+    }
 }
@@ -5,13 +5,16 @@ import org.apache.commons.lang3.StringUtils;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.model.NottableString;
 
+import java.util.Objects;
+
 import static org.mockserver.model.NottableString.string;
 
 /**
  * @author jamesdbloom
  */
 public class ExactStringMatcher extends BodyMatcher<NottableString> {
-    private static final String[] excludedFields = {"mockServerLogger"};
+    private static final String[] excludedFields = {"mockServerLogger", "hashCode"};
+    private int hashCode;
     private final MockServerLogger mockServerLogger;
     private final NottableString matcher;
 
@@ -72,4 +75,28 @@ public class ExactStringMatcher extends BodyMatcher<NottableString> {
     public String[] fieldsExcludedFromEqualsAndHashCode() {
         return excludedFields;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        if (hashCode() != o.hashCode()) {
+            return false;
+        }
+        ExactStringMatcher that = (ExactStringMatcher) o;
+        return not == that.not &&
+            Objects.equals(matcher, that.matcher);
+    }
+
+    @Override
+    public int hashCode() {
+        if (hashCode == 0) {
+            hashCode = Objects.hash(matcher);
+        }
+        return notHashCode(hashCode);
+    }
 }
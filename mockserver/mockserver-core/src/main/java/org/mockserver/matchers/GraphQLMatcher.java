@@ -7,13 +7,15 @@ import org.apache.commons.lang3.StringUtils;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.validator.jsonschema.JsonSchemaValidator;
 
+import java.util.Objects;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 
 public class GraphQLMatcher extends BodyMatcher<String> {
-    private static final String[] EXCLUDED_FIELDS = {"mockServerLogger", "objectMapper", "paramsValidator", "compiledOperationNamePattern"};
+    private static final String[] EXCLUDED_FIELDS = {"mockServerLogger", "objectMapper", "paramsValidator", "compiledOperationNamePattern", "hashCode"};
+    private int hashCode;
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
     private final MockServerLogger mockServerLogger;
     private final String query;
@@ -213,4 +215,30 @@ public class GraphQLMatcher extends BodyMatcher<String> {
     protected String[] fieldsExcludedFromEqualsAndHashCode() {
         return EXCLUDED_FIELDS;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        if (hashCode() != o.hashCode()) {
+            return false;
+        }
+        GraphQLMatcher that = (GraphQLMatcher) o;
+        return not == that.not &&
+            Objects.equals(query, that.query) &&
+            Objects.equals(operationName, that.operationName) &&
+            Objects.equals(variablesSchema, that.variablesSchema);
+    }
+
+    @Override
+    public int hashCode() {
+        if (hashCode == 0) {
+            hashCode = Objects.hash(query, operationName, variablesSchema);
+        }
+        return notHashCode(hashCode);
+    }
 }
@@ -1,19 +1,25 @@
 package org.mockserver.matchers;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.mockserver.collections.CompiledSubSetMatcher;
 import org.mockserver.collections.NottableStringHashMap;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.model.KeyAndValue;
 import org.mockserver.model.KeysAndValues;
 
+import java.util.Objects;
+
+import static org.slf4j.event.Level.DEBUG;
+
 /**
  * @author jamesdbloom
  */
 @SuppressWarnings("rawtypes")
 public class HashMapMatcher extends NotMatcher<KeysAndValues<? extends KeyAndValue, ? extends KeysAndValues>> {
-    private static final String[] EXCLUDED_FIELDS = {"mockServerLogger"};
+    private static final String[] EXCLUDED_FIELDS = {"mockServerLogger", "compiledSubSetMatcher"};
     private final MockServerLogger mockServerLogger;
     private final NottableStringHashMap matcher;
+    private final CompiledSubSetMatcher compiledSubSetMatcher;
     private final KeysAndValues keysAndValues;
     private final boolean controlPlaneMatcher;
     private Boolean allKeysNotted;
@@ -25,8 +31,10 @@ public class HashMapMatcher extends NotMatcher<KeysAndValues<? extends KeyAndVal
         this.controlPlaneMatcher = controlPlaneMatcher;
         if (keysAndValues != null) {
             this.matcher = new NottableStringHashMap(this.mockServerLogger, this.controlPlaneMatcher, keysAndValues.getEntries());
+            this.compiledSubSetMatcher = !controlPlaneMatcher ? matcher.compiledSubSetMatcher() : null;
         } else {
             this.matcher = null;
+            this.compiledSubSetMatcher = null;
         }
     }
 
@@ -43,6 +51,12 @@ public class HashMapMatcher extends NotMatcher<KeysAndValues<? extends KeyAndVal
                 allKeysOptional = matcher.allKeysOptional();
             }
             result = allKeysNotted || allKeysOptional;
+        } else if (compiledSubSetMatcher != null && (mockServerLogger == null || !mockServerLogger.isEnabledForInstance(DEBUG))) {
+            result = compiledSubSetMatcher.containsSubset(ParsedBodyCache.indexedEntries(matched, () -> new NottableStringHashMap(mockServerLogger, controlPlaneMatcher, matched.getEntries()).indexedEntries()));
+            if (!result && context != null) {
+                // match again to record the reason for each failed entry
+                result = new NottableStringHashMap(mockServerLogger, controlPlaneMatcher, matched.getEntries()).containsAll(mockServerLogger, context, matcher);
+            }
         } else {
             result = new NottableStringHashMap(mockServerLogger, controlPlaneMatcher, matched.getEntries()).containsAll(mockServerLogger, context, matcher);
         }
@@ -63,4 +77,23 @@ public class HashMapMatcher extends NotMatcher<KeysAndValues<? extends KeyAndVal
     protected String[] fieldsExcludedFromEqualsAndHashCode() {
         return EXCLUDED_FIELDS;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        HashMapMatcher that = (HashMapMatcher) o;
+        return not == that.not &&
+            controlPlaneMatcher == that.controlPlaneMatcher &&
+            Objects.equals(keysAndValues, that.keysAndValues);
+    }
+
+    @Override
+    public int hashCode() {
+        return notHashCode(Objects.hash(keysAndValues, controlPlaneMatcher));
+    }
 }
@@ -33,4 +33,11 @@ public interface HttpRequestMatcher extends Matcher<RequestDefinition> {
 
     boolean isActive();
 
+    /**
+     * Whether matching may be slow enough (i.e. json or xml schema, xpath or OpenAPI) that it should not run on the event loop
+     */
+    default boolean isExpensiveToMatch() {
+        return false;
+    }
+
 }
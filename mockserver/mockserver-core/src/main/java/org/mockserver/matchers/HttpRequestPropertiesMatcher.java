@@ -205,6 +205,13 @@ public class HttpRequestPropertiesMatcher extends AbstractHttpRequestMatcher {
         return bodyMatcher;
     }
 
+    @Override
+    public boolean isExpensiveToMatch() {
+        return bodyMatcher instanceof JsonSchemaMatcher ||
+            bodyMatcher instanceof XmlSchemaMatcher ||
+            bodyMatcher instanceof XPathMatcher;
+    }
+
     private void withHeaders(Headers headers) {
         this.headerMatcher = new MultiValueMapMatcher(mockServerLogger, headers, controlPlaneMatcher);
     }
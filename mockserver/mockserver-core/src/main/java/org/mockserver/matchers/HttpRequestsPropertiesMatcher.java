@@ -48,6 +48,7 @@ public class HttpRequestsPropertiesMatcher extends AbstractHttpRequestMatcher {
     private int hashCode;
     private OpenAPIDefinition openAPIDefinition;
     private List<HttpRequestPropertiesMatcher> httpRequestPropertiesMatchers;
+    private OpenAPIRoutingTrie routingTrie;
     private List<HttpRequest> httpRequests;
     private static final ObjectWriter OBJECT_WRITER = ObjectMapperFactory.createObjectMapper(new JsonNodeExampleSerializer()).writerWithDefaultPrettyPrinter();
 
@@ -116,6 +117,7 @@ public class HttpRequestsPropertiesMatcher extends AbstractHttpRequestMatcher {
                     String message = (StringUtils.isBlank(throwable.getMessage()) || !throwable.getMessage().contains(OPEN_API_LOAD_ERROR) ? OPEN_API_LOAD_ERROR + (isNotBlank(throwable.getMessage()) ? ", " : "") : "") + throwable.getMessage();
                     throw new IllegalArgumentException(message, throwable);
                 }
+                routingTrie = new OpenAPIRoutingTrie(httpRequestPropertiesMatchers.stream().map(HttpRequestPropertiesMatcher::getHttpRequest).collect(Collectors.toList()));
                 logEntries.forEach(mockServerLogger::logEvent);
             }
             this.hashCode = 0;
@@ -523,7 +525,13 @@ public class HttpRequestsPropertiesMatcher extends AbstractHttpRequestMatcher {
     public boolean matches(MatchDifference context, RequestDefinition requestDefinition) {
         boolean result = false;
         if (httpRequestPropertiesMatchers != null && !httpRequestPropertiesMatchers.isEmpty()) {
-            for (HttpRequestPropertiesMatcher httpRequestPropertiesMatcher : httpRequestPropertiesMatchers) {
+            BitSet candidates = routingTrie != null && !controlPlaneMatcher && requestDefinition instanceof HttpRequest ? routingTrie.candidates((HttpRequest) requestDefinition) : null;
+            Map<Integer, Map<MatchDifference.Field, List<String>>> candidateDifferences = new HashMap<>();
+            for (int index = 0; index < httpRequestPropertiesMatchers.size(); index++) {
+                if (candidates != null && !candidates.get(index)) {
+                    continue;
+                }
+                HttpRequestPropertiesMatcher httpRequestPropertiesMatcher = httpRequestPropertiesMatchers.get(index);
                 if (context == null) {
                     if (mockServerLogger.isEnabledForInstance(Level.TRACE) && requestDefinition instanceof HttpRequest) {
                         context = new MatchDifference(configuration.detailedMatchFailures(), requestDefinition);
@@ -532,18 +540,56 @@ public class HttpRequestsPropertiesMatcher extends AbstractHttpRequestMatcher {
                 } else {
                     MatchDifference singleMatchDifference = new MatchDifference(configuration.detailedMatchFailures(), context.getHttpRequest());
                     result = httpRequestPropertiesMatcher.matches(singleMatchDifference, requestDefinition);
-                    context.addDifferences(singleMatchDifference.getAllDifferences());
+                    if (candidates != null) {
+                        candidateDifferences.put(index, singleMatchDifference.getAllDifferences());
+                    } else {
+                        context.addDifferences(singleMatchDifference.getAllDifferences());
+                    }
                 }
                 if (result) {
                     break;
                 }
             }
+            if (candidates != null && context != null) {
+                addDifferences(context, requestDefinition, candidates, candidateDifferences, result);
+            }
         } else if (httpRequestPropertiesMatchers == null) {
             result = true;
         }
         return result;
     }
 
+    /**
+     * Adds the differences in operation order, the operations skipped by the routing trie can't match so evaluating them
+     * to record why they didn't match is only done when debugging, otherwise a single difference is recorded for them
+     */
+    private void addDifferences(MatchDifference context, RequestDefinition requestDefinition, BitSet candidates, Map<Integer, Map<MatchDifference.Field, List<String>>> candidateDifferences, boolean matched) {
+        boolean includeSkippedOperations = !matched && context.isDetailedMatchFailures() && mockServerLogger.isEnabledForInstance(Level.DEBUG);
+        boolean skippedOperations = false;
+        for (int index = 0; index < httpRequestPropertiesMatchers.size(); index++) {
+            if (candidates.get(index)) {
+                if (candidateDifferences.containsKey(index)) {
+                    context.addDifferences(candidateDifferences.get(index));
+                }
+            } else if (includeSkippedOperations) {
+                MatchDifference singleMatchDifference = new MatchDifference(configuration.detailedMatchFailures(), context.getHttpRequest());
+                httpRequestPropertiesMatchers.get(index).matches(singleMatchDifference, requestDefinition);
+                context.addDifferences(singleMatchDifference.getAllDifferences());
+            } else {
+                skippedOperations = true;
+            }
+        }
+        if (!matched && skippedOperations) {
+            HttpRequest httpRequest = (HttpRequest) requestDefinition;
+            context.addDifference(MatchDifference.Field.OPERATION, "no operation matched method:{}and path:{}", httpRequest.getMethod(), httpRequest.getPath());
+        }
+    }
+
+    @Override
+    public boolean isExpensiveToMatch() {
+        return true;
+    }
+
     @Override
     public String toString() {
         try {
@@ -7,6 +7,7 @@ import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
 
 import java.util.Collection;
+import java.util.Objects;
 
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 import static org.slf4j.event.Level.DEBUG;
@@ -17,7 +18,8 @@ import static org.slf4j.event.Level.DEBUG;
  * @author jamesdbloom
  */
 public class JsonPathMatcher extends BodyMatcher<String> {
-    private static final String[] EXCLUDED_FIELDS = {"mockServerLogger", "jsonPath"};
+    private static final String[] EXCLUDED_FIELDS = {"mockServerLogger", "jsonPath", "hashCode"};
+    private int hashCode;
     private final MockServerLogger mockServerLogger;
     private final String matcher;
     private JsonPath jsonPath;
@@ -54,7 +56,7 @@ public class JsonPathMatcher extends BodyMatcher<String> {
             result = true;
         } else if (matched != null) {
             try {
-                Object jsonPathResult = jsonPath.read(matched);
+                Object jsonPathResult = jsonPath.read(ParsedBodyCache.jsonPathDocument(matched));
                 if (jsonPathResult instanceof Collection) {
                     result = !((Collection<?>) jsonPathResult).isEmpty();
                 } else {
@@ -85,4 +87,27 @@ public class JsonPathMatcher extends BodyMatcher<String> {
         return EXCLUDED_FIELDS;
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        if (hashCode() != o.hashCode()) {
+            return false;
+        }
+        JsonPathMatcher that = (JsonPathMatcher) o;
+        return not == that.not &&
+            Objects.equals(matcher, that.matcher);
+    }
+
+    @Override
+    public int hashCode() {
+        if (hashCode == 0) {
+            hashCode = Objects.hash(matcher);
+        }
+        return notHashCode(hashCode);
+    }
 }
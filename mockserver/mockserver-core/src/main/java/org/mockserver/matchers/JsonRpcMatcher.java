@@ -7,13 +7,15 @@ import org.apache.commons.lang3.StringUtils;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.validator.jsonschema.JsonSchemaValidator;
 
+import java.util.Objects;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 
 public class JsonRpcMatcher extends BodyMatcher<String> {
-    private static final String[] EXCLUDED_FIELDS = {"mockServerLogger", "objectMapper", "paramsValidator", "compiledMethodPattern"};
+    private static final String[] EXCLUDED_FIELDS = {"mockServerLogger", "objectMapper", "paramsValidator", "compiledMethodPattern", "hashCode"};
+    private int hashCode;
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
     private final MockServerLogger mockServerLogger;
     private final String method;
@@ -141,4 +143,29 @@ public class JsonRpcMatcher extends BodyMatcher<String> {
     protected String[] fieldsExcludedFromEqualsAndHashCode() {
         return EXCLUDED_FIELDS;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        if (hashCode() != o.hashCode()) {
+            return false;
+        }
+        JsonRpcMatcher that = (JsonRpcMatcher) o;
+        return not == that.not &&
+            Objects.equals(method, that.method) &&
+            Objects.equals(paramsSchema, that.paramsSchema);
+    }
+
+    @Override
+    public int hashCode() {
+        if (hashCode == 0) {
+            hashCode = Objects.hash(method, paramsSchema);
+        }
+        return notHashCode(hashCode);
+    }
 }
@@ -7,6 +7,7 @@ import org.mockserver.model.ParameterStyle;
 import org.mockserver.validator.jsonschema.JsonSchemaValidator;
 
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * See http://json-schema.org/
@@ -15,7 +16,8 @@ import java.util.Map;
  */
 @SuppressWarnings("FieldMayBeFinal")
 public class JsonSchemaMatcher extends BodyMatcher<String> {
-    private static final String[] EXCLUDED_FIELDS = {"mockServerLogger", "jsonSchemaValidator"};
+    private static final String[] EXCLUDED_FIELDS = {"mockServerLogger", "jsonSchemaValidator", "hashCode"};
+    private int hashCode;
     private final MockServerLogger mockServerLogger;
     private String matcher;
     private JsonSchemaValidator jsonSchemaValidator;
@@ -33,6 +35,7 @@ public class JsonSchemaMatcher extends BodyMatcher<String> {
 
     public JsonSchemaMatcher withParameterStyle(Map<String, ParameterStyle> parameterStyle) {
         this.parameterStyle = parameterStyle;
+        this.hashCode = 0;
         return this;
     }
 
@@ -69,4 +72,29 @@ public class JsonSchemaMatcher extends BodyMatcher<String> {
     protected String[] fieldsExcludedFromEqualsAndHashCode() {
         return EXCLUDED_FIELDS;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        if (hashCode() != o.hashCode()) {
+            return false;
+        }
+        JsonSchemaMatcher that = (JsonSchemaMatcher) o;
+        return not == that.not &&
+            Objects.equals(matcher, that.matcher) &&
+            Objects.equals(parameterStyle, that.parameterStyle);
+    }
+
+    @Override
+    public int hashCode() {
+        if (hashCode == 0) {
+            hashCode = Objects.hash(matcher, parameterStyle);
+        }
+        return notHashCode(hashCode);
+    }
 }
@@ -17,6 +17,7 @@ import org.mockserver.serialization.ObjectMapperFactory;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 import static net.javacrumbs.jsonunit.core.Option.*;
 import static org.mockserver.character.Character.NEW_LINE;
@@ -25,7 +26,8 @@ import static org.mockserver.character.Character.NEW_LINE;
  * @author jamesdbloom
  */
 public class JsonStringMatcher extends BodyMatcher<String> {
-    private static final String[] EXCLUDED_FIELDS = {"mockServerLogger"};
+    private static final String[] EXCLUDED_FIELDS = {"mockServerLogger", "hashCode"};
+    private int hashCode;
     private static final ObjectWriter PRETTY_PRINTER = ObjectMapperFactory.createObjectMapper(true, false);
     private final MockServerLogger mockServerLogger;
     private final String matcher;
@@ -71,12 +73,12 @@ public class JsonStringMatcher extends BodyMatcher<String> {
 
                 try {
                     if (matcherJsonNode == null) {
-                        matcherJsonNode = ObjectMapperFactory.createObjectMapper().readTree(matcher);
+                        matcherJsonNode = ParsedBodyCache.jsonNode(matcher);
                     }
                     result = Diff
                         .create(
                             matcherJsonNode,
-                            ObjectMapperFactory.createObjectMapper().readTree(matched),
+                            ParsedBodyCache.jsonNode(matched),
                             "",
                             "",
                             diffConfig
@@ -144,4 +146,30 @@ public class JsonStringMatcher extends BodyMatcher<String> {
     protected String[] fieldsExcludedFromEqualsAndHashCode() {
         return EXCLUDED_FIELDS;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        if (hashCode() != o.hashCode()) {
+            return false;
+        }
+        JsonStringMatcher that = (JsonStringMatcher) o;
+        return not == that.not &&
+            matchNumbersAsStrings == that.matchNumbersAsStrings &&
+            Objects.equals(matcher, that.matcher) &&
+            matchType == that.matchType;
+    }
+
+    @Override
+    public int hashCode() {
+        if (hashCode == 0) {
+            hashCode = Objects.hash(matcher, matchType, matchNumbersAsStrings);
+        }
+        return notHashCode(hashCode);
+    }
 }
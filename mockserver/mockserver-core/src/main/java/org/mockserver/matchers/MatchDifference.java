@@ -91,6 +91,10 @@ public class MatchDifference {
         return addDifference(fieldName, messageFormat, arguments);
     }
 
+    public boolean isDetailedMatchFailures() {
+        return detailedMatchFailures;
+    }
+
     public RequestDefinition getHttpRequest() {
         return httpRequest;
     }
@@ -1,22 +1,26 @@
 package org.mockserver.matchers;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.mockserver.collections.CompiledSubSetMatcher;
 import org.mockserver.collections.NottableStringMultiMap;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.model.KeyMatchStyle;
 import org.mockserver.model.KeyToMultiValue;
 import org.mockserver.model.KeysToMultiValues;
 
-import static org.mockserver.model.NottableString.string;
+import java.util.Objects;
+
+import static org.slf4j.event.Level.DEBUG;
 
 /**
  * @author jamesdbloom
  */
 @SuppressWarnings("rawtypes")
 public class MultiValueMapMatcher extends NotMatcher<KeysToMultiValues<? extends KeyToMultiValue, ? extends KeysToMultiValues>> {
-    private static final String[] EXCLUDED_FIELDS = {"mockServerLogger"};
+    private static final String[] EXCLUDED_FIELDS = {"mockServerLogger", "compiledSubSetMatcher"};
     private final MockServerLogger mockServerLogger;
     private final NottableStringMultiMap matcher;
+    private final CompiledSubSetMatcher compiledSubSetMatcher;
     private final KeysToMultiValues keysToMultiValues;
     private final boolean controlPlaneMatcher;
     private Boolean allKeysNotted;
@@ -28,8 +32,10 @@ public class MultiValueMapMatcher extends NotMatcher<KeysToMultiValues<? extends
         this.controlPlaneMatcher = controlPlaneMatcher;
         if (keysToMultiValues != null) {
             this.matcher = new NottableStringMultiMap(this.mockServerLogger, this.controlPlaneMatcher, keysToMultiValues.getKeyMatchStyle(), keysToMultiValues.getEntries());
+            this.compiledSubSetMatcher = !controlPlaneMatcher && matcher.getKeyMatchStyle() == KeyMatchStyle.SUB_SET ? matcher.compiledSubSetMatcher() : null;
         } else {
             this.matcher = null;
+            this.compiledSubSetMatcher = null;
         }
     }
 
@@ -46,6 +52,12 @@ public class MultiValueMapMatcher extends NotMatcher<KeysToMultiValues<? extends
                 allKeysOptional = matcher.allKeysOptional();
             }
             result = allKeysNotted || allKeysOptional;
+        } else if (compiledSubSetMatcher != null && (mockServerLogger == null || !mockServerLogger.isEnabledForInstance(DEBUG))) {
+            result = compiledSubSetMatcher.containsSubset(ParsedBodyCache.indexedEntries(matched, () -> new NottableStringMultiMap(mockServerLogger, controlPlaneMatcher, matched.getKeyMatchStyle(), matched.getEntries()).indexedEntries()));
+            if (!result && context != null) {
+                // match again to record the reason for each failed entry
+                result = new NottableStringMultiMap(mockServerLogger, controlPlaneMatcher, matched.getKeyMatchStyle(), matched.getEntries()).containsAll(mockServerLogger, context, matcher);
+            }
         } else {
             result = new NottableStringMultiMap(mockServerLogger, controlPlaneMatcher, matched.getKeyMatchStyle(), matched.getEntries()).containsAll(mockServerLogger, context, matcher);
         }
@@ -66,4 +78,24 @@ public class MultiValueMapMatcher extends NotMatcher<KeysToMultiValues<? extends
     protected String[] fieldsExcludedFromEqualsAndHashCode() {
         return EXCLUDED_FIELDS;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        MultiValueMapMatcher that = (MultiValueMapMatcher) o;
+        return not == that.not &&
+            controlPlaneMatcher == that.controlPlaneMatcher &&
+            Objects.equals(keysToMultiValues, that.keysToMultiValues) &&
+            (keysToMultiValues == null || keysToMultiValues.getKeyMatchStyle() == that.keysToMultiValues.getKeyMatchStyle());
+    }
+
+    @Override
+    public int hashCode() {
+        return notHashCode(Objects.hash(keysToMultiValues, keysToMultiValues != null ? keysToMultiValues.getKeyMatchStyle() : null, controlPlaneMatcher));
+    }
 }
@@ -14,4 +14,12 @@ public abstract class NotMatcher<MatchedType> extends ObjectWithReflectiveEquals
         return matcher;
     }
 
+    /**
+     * Combines the (cached) hash of a matcher's other fields with not, which is applied outside the cache because
+     * notMatcher sets it after the matcher is constructed
+     */
+    int notHashCode(int hashCode) {
+        return 31 * hashCode + Boolean.hashCode(not);
+    }
+
 }
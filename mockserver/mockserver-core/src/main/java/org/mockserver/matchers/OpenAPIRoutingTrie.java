@@ -0,0 +1,136 @@
+package org.mockserver.matchers;
+
+import org.mockserver.model.HttpRequest;
+import org.mockserver.model.NottableString;
+
+import java.util.*;
+
+/**
+ * Routes a request to the operations of an open api spec that could match its method and path, so only those
+ * operations' parameter, header and body matchers are evaluated.
+ * <p>
+ * Each operation's path template is split into its literal leading segments, up to the first segment that is a
+ * {param} or contains regex characters, which form a trie. An operation is a candidate for a request if its path is
+ * entirely literal and equals the request path, or if the request path starts with the operation's literal leading
+ * segments followed by a slash. Both comparisons ignore case, the same as the path regex. Operations whose path can't
+ * be routed this way (i.e. notted, blank, non-ascii or containing an alternation) are candidates for every request, as
+ * are all operations for notted requests or requests with a blank or non-ascii path.
+ * <p>
+ * Candidates are a superset of the operations that match so routing never changes the result of matching.
+ *
+ * @author jamesdbloom
+ */
+class OpenAPIRoutingTrie {
+
+    private static final String REGEX_META_CHARACTERS = "\\^$.|?*+()[]{}";
+
+    private final int size;
+    private final Node root = new Node();
+    private final BitSet alwaysCandidates = new BitSet();
+    private final String[] methods;
+
+    OpenAPIRoutingTrie(List<HttpRequest> httpRequests) {
+        this.size = httpRequests.size();
+        this.methods = new String[size];
+        for (int index = 0; index < size; index++) {
+            HttpRequest httpRequest = httpRequests.get(index);
+            methods[index] = httpRequest != null ? literalMethod(httpRequest.getMethod()) : null;
+            NottableString path = httpRequest != null && !httpRequest.isNot() ? httpRequest.getPath() : null;
+            if (path == null || path.isNot() || path.isBlank() || !isAscii(path.getValue()) || path.getValue().indexOf('|') >= 0) {
+                alwaysCandidates.set(index);
+            } else {
+                add(index, split(path.getValue().toLowerCase(Locale.ROOT)));
+            }
+        }
+    }
+
+    private void add(int index, List<String> segments) {
+        Node node = root;
+        for (String segment : segments) {
+            if (!isLiteral(segment)) {
+                // the path regex starts with the literal segments so far followed by a slash
+                node.prefixCandidates.set(index);
+                return;
+            }
+            node = node.children.computeIfAbsent(segment, key -> new Node());
+        }
+        node.exactCandidates.set(index);
+    }
+
+    /**
+     * Returns the indexes, in order, of the operations that could match the request's method and path
+     */
+    BitSet candidates(HttpRequest request) {
+        BitSet candidates = new BitSet(size);
+        NottableString path = request.getPath();
+        if (request.isNot() || path == null || path.isNot() || path.isBlank() || !isAscii(path.getValue())) {
+            candidates.set(0, size);
+        } else {
+            candidates.or(alwaysCandidates);
+            List<String> segments = split(path.getValue().toLowerCase(Locale.ROOT));
+            Node node = root;
+            for (int i = 0; i < segments.size() && node != null; i++) {
+                candidates.or(node.prefixCandidates);
+                node = node.children.get(segments.get(i));
+            }
+            if (node != null) {
+                candidates.or(node.exactCandidates);
+            }
+        }
+        String method = literalMethod(request.getMethod());
+        if (method != null) {
+            for (int index = candidates.nextSetBit(0); index >= 0; index = candidates.nextSetBit(index + 1)) {
+                if (methods[index] != null && !methods[index].equals(method)) {
+                    candidates.clear(index);
+                }
+            }
+        }
+        return candidates;
+    }
+
+    private static String literalMethod(NottableString method) {
+        if (method == null || method.isNot() || method.isBlank() || !isAscii(method.getValue()) || !isLiteral(method.getValue())) {
+            return null;
+        }
+        return method.getValue().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Splits on every slash keeping empty segments, so "/a/" is ["", "a", ""]
+     */
+    private static List<String> split(String path) {
+        List<String> segments = new ArrayList<>();
+        int start = 0;
+        int slash;
+        while ((slash = path.indexOf('/', start)) >= 0) {
+            segments.add(path.substring(start, slash));
+            start = slash + 1;
+        }
+        segments.add(path.substring(start));
+        return segments;
+    }
+
+    private static boolean isLiteral(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (REGEX_META_CHARACTERS.indexOf(value.charAt(i)) >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAscii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 127) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private final BitSet exactCandidates = new BitSet();
+        private final BitSet prefixCandidates = new BitSet();
+    }
+}
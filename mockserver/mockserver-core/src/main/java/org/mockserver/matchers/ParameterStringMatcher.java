@@ -6,6 +6,8 @@ import org.mockserver.configuration.Configuration;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.model.Parameters;
 
+import java.util.Objects;
+
 /**
  * @author jamesdbloom
  */
@@ -44,4 +46,22 @@ public class ParameterStringMatcher extends BodyMatcher<String> {
     protected String[] fieldsExcludedFromEqualsAndHashCode() {
         return EXCLUDED_FIELDS;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ParameterStringMatcher that = (ParameterStringMatcher) o;
+        return not == that.not &&
+            Objects.equals(matcherParameters, that.matcherParameters);
+    }
+
+    @Override
+    public int hashCode() {
+        return notHashCode(Objects.hash(matcherParameters));
+    }
 }
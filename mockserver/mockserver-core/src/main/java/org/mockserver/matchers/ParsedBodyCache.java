@@ -0,0 +1,157 @@
+package org.mockserver.matchers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.jayway.jsonpath.Configuration;
+import org.mockserver.collections.IndexedEntries;
+import org.mockserver.serialization.ObjectMapperFactory;
+import org.mockserver.xml.StringToXmlDocumentParser;
+import org.w3c.dom.Document;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Caches the parsed form of request bodies while a single request is matched against every expectation, so a body is
+ * parsed once per request instead of once per json or xml body matcher it is tested against. The indexed form of the
+ * request's headers, query parameters and cookies is cached in the same way.
+ * <p>
+ * The cache is confined to the thread performing the match, parsed bodies are only shared between matchers invoked
+ * between {@link #open()} and {@link #close()} on the same thread, outside of that scope every call parses the body.
+ * Parse failures are cached too, so a body that is not json (or xml) is not re-parsed by every json (or xml) matcher.
+ *
+ * @author jamesdbloom
+ */
+public class ParsedBodyCache {
+
+    private static final ObjectReader JSON_READER = ObjectMapperFactory.createObjectMapper().reader();
+    private static final StringToXmlDocumentParser STRING_TO_XML_DOCUMENT_PARSER = new StringToXmlDocumentParser();
+    private static final ThreadLocal<ParsedBodyCache> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Object> jsonNodes = new HashMap<>();
+    private final Map<String, Object> jsonPathDocuments = new HashMap<>();
+    private final Map<String, XmlDocument> xmlDocuments = new HashMap<>();
+    private final Map<String, XmlDocument> namespaceAwareXmlDocuments = new HashMap<>();
+    private final Map<Object, IndexedEntries> indexedEntries = new IdentityHashMap<>();
+    private int depth;
+
+    /**
+     * Starts (or joins) the cache scope for the current thread, every call must be followed by a call to {@link #close()}
+     */
+    public static void open() {
+        ParsedBodyCache parsedBodyCache = CURRENT.get();
+        if (parsedBodyCache == null) {
+            parsedBodyCache = new ParsedBodyCache();
+            CURRENT.set(parsedBodyCache);
+        }
+        parsedBodyCache.depth++;
+    }
+
+    public static void close() {
+        ParsedBodyCache parsedBodyCache = CURRENT.get();
+        if (parsedBodyCache != null && --parsedBodyCache.depth <= 0) {
+            CURRENT.remove();
+        }
+    }
+
+    public static JsonNode jsonNode(String json) throws Exception {
+        ParsedBodyCache parsedBodyCache = CURRENT.get();
+        if (parsedBodyCache == null || json == null) {
+            return JSON_READER.readTree(json);
+        }
+        Object parsed = parsedBodyCache.jsonNodes.get(json);
+        if (parsed == null) {
+            try {
+                parsed = JSON_READER.readTree(json);
+            } catch (Exception exception) {
+                parsed = exception;
+            }
+            parsedBodyCache.jsonNodes.put(json, parsed);
+        }
+        if (parsed instanceof Exception) {
+            throw (Exception) parsed;
+        }
+        return (JsonNode) parsed;
+    }
+
+    /**
+     * Returns the body parsed with the default json path provider, i.e. the same document JsonPath.read(String) would use
+     */
+    public static Object jsonPathDocument(String json) {
+        ParsedBodyCache parsedBodyCache = CURRENT.get();
+        if (parsedBodyCache == null || json == null) {
+            return Configuration.defaultConfiguration().jsonProvider().parse(json);
+        }
+        Object parsed = parsedBodyCache.jsonPathDocuments.get(json);
+        if (parsed == null) {
+            try {
+                parsed = Configuration.defaultConfiguration().jsonProvider().parse(json);
+            } catch (RuntimeException runtimeException) {
+                parsed = runtimeException;
+            }
+            parsedBodyCache.jsonPathDocuments.put(json, parsed);
+        }
+        if (parsed instanceof RuntimeException) {
+            throw (RuntimeException) parsed;
+        }
+        return parsed;
+    }
+
+    /**
+     * Returns the body parsed as xml, errors reported while parsing are replayed to the error logger of every caller
+     */
+    public static Document xmlDocument(String xml, StringToXmlDocumentParser.ErrorLogger errorLogger, boolean namespaceAware) throws Exception {
+        ParsedBodyCache parsedBodyCache = CURRENT.get();
+        if (parsedBodyCache == null || xml == null) {
+            return STRING_TO_XML_DOCUMENT_PARSER.buildDocument(xml, errorLogger, namespaceAware);
+        }
+        Map<String, XmlDocument> documents = namespaceAware ? parsedBodyCache.namespaceAwareXmlDocuments : parsedBodyCache.xmlDocuments;
+        XmlDocument xmlDocument = documents.get(xml);
+        if (xmlDocument == null) {
+            xmlDocument = new XmlDocument();
+            try {
+                xmlDocument.document = STRING_TO_XML_DOCUMENT_PARSER.buildDocument(xml, xmlDocument::addError, namespaceAware);
+            } catch (Exception exception) {
+                xmlDocument.exception = exception;
+            }
+            documents.put(xml, xmlDocument);
+        }
+        return xmlDocument.replay(xml, errorLogger);
+    }
+
+    /**
+     * Returns the indexed entries of a request's headers, query parameters or cookies, keyed by the identity of the
+     * (unmodified) request field so every expectation uses the same index
+     */
+    public static IndexedEntries indexedEntries(Object requestField, Supplier<IndexedEntries> indexer) {
+        ParsedBodyCache parsedBodyCache = CURRENT.get();
+        if (parsedBodyCache == null || requestField == null) {
+            return indexer.get();
+        }
+        return parsedBodyCache.indexedEntries.computeIfAbsent(requestField, key -> indexer.get());
+    }
+
+    private static class XmlDocument {
+        private final List<Exception> errors = new ArrayList<>();
+        private final List<StringToXmlDocumentParser.ErrorLevel> errorLevels = new ArrayList<>();
+        private Document document;
+        private Exception exception;
+
+        private void addError(String xml, Exception exception, StringToXmlDocumentParser.ErrorLevel level) {
+            errors.add(exception);
+            errorLevels.add(level);
+        }
+
+        private Document replay(String xml, StringToXmlDocumentParser.ErrorLogger errorLogger) throws Exception {
+            if (errorLogger != null) {
+                for (int i = 0; i < errors.size(); i++) {
+                    errorLogger.logError(xml, errors.get(i), errorLevels.get(i));
+                }
+            }
+            if (exception != null) {
+                throw exception;
+            }
+            return document;
+        }
+    }
+}
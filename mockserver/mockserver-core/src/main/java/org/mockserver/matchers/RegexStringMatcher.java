@@ -7,6 +7,7 @@ import org.mockserver.logging.MockServerLogger;
 import org.mockserver.model.NottableSchemaString;
 import org.mockserver.model.NottableString;
 
+import java.util.Objects;
 import java.util.regex.PatternSyntaxException;
 
 import static org.mockserver.model.NottableString.string;
@@ -17,7 +18,8 @@ import static org.slf4j.event.Level.DEBUG;
  */
 public class RegexStringMatcher extends BodyMatcher<NottableString> {
 
-    private static final String[] EXCLUDED_FIELDS = {"mockServerLogger"};
+    private static final String[] EXCLUDED_FIELDS = {"mockServerLogger", "hashCode"};
+    private int hashCode;
     private final MockServerLogger mockServerLogger;
     private final NottableString matcher;
     private final boolean controlPlaneMatcher;
@@ -31,7 +33,7 @@ public class RegexStringMatcher extends BodyMatcher<NottableString> {
     RegexStringMatcher(MockServerLogger mockServerLogger, NottableString matcher, boolean controlPlaneMatcher) {
         this.mockServerLogger = mockServerLogger;
         this.controlPlaneMatcher = controlPlaneMatcher;
-        this.matcher = matcher;
+        this.matcher = matcher != null ? matcher.precompile() : null;
     }
 
     public boolean matches(String matched) {
@@ -147,4 +149,29 @@ public class RegexStringMatcher extends BodyMatcher<NottableString> {
     protected String[] fieldsExcludedFromEqualsAndHashCode() {
         return EXCLUDED_FIELDS;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        if (hashCode() != o.hashCode()) {
+            return false;
+        }
+        RegexStringMatcher that = (RegexStringMatcher) o;
+        return not == that.not &&
+            controlPlaneMatcher == that.controlPlaneMatcher &&
+            Objects.equals(matcher, that.matcher);
+    }
+
+    @Override
+    public int hashCode() {
+        if (hashCode == 0) {
+            hashCode = Objects.hash(matcher, controlPlaneMatcher);
+        }
+        return notHashCode(hashCode);
+    }
 }
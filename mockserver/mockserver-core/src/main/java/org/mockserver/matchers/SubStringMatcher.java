@@ -5,6 +5,8 @@ import org.apache.commons.lang3.Strings;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.model.NottableString;
 
+import java.util.Objects;
+
 import static org.apache.commons.lang3.StringUtils.isEmpty;
 import static org.mockserver.model.NottableString.string;
 
@@ -12,7 +14,8 @@ import static org.mockserver.model.NottableString.string;
  * @author jamesdbloom
  */
 public class SubStringMatcher extends BodyMatcher<NottableString> {
-    private static final String[] excludedFields = {"mockserverLogger"};
+    private static final String[] excludedFields = {"mockServerLogger", "hashCode"};
+    private int hashCode;
     private final MockServerLogger mockServerLogger;
     private final NottableString matcher;
 
@@ -71,4 +74,28 @@ public class SubStringMatcher extends BodyMatcher<NottableString> {
     public String[] fieldsExcludedFromEqualsAndHashCode() {
         return excludedFields;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        if (hashCode() != o.hashCode()) {
+            return false;
+        }
+        SubStringMatcher that = (SubStringMatcher) o;
+        return not == that.not &&
+            Objects.equals(matcher, that.matcher);
+    }
+
+    @Override
+    public int hashCode() {
+        if (hashCode == 0) {
+            hashCode = Objects.hash(matcher);
+        }
+        return notHashCode(hashCode);
+    }
 }
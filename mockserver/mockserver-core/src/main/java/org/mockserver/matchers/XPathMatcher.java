@@ -11,6 +11,7 @@ import org.xml.sax.SAXException;
 import java.io.IOException;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Objects;
 import javax.xml.XMLConstants;
 import javax.xml.namespace.NamespaceContext;
 import javax.xml.namespace.QName;
@@ -29,7 +30,8 @@ import static org.slf4j.event.Level.DEBUG;
  * @author jamesdbloom
  */
 public class XPathMatcher extends BodyMatcher<String> {
-    private static final String[] EXCLUDED_FIELDS = {"mockServerLogger", "xPathEvaluator"};
+    private static final String[] EXCLUDED_FIELDS = {"mockServerLogger", "xPathEvaluator", "hashCode"};
+    private int hashCode;
     private final MockServerLogger mockServerLogger;
     private final String matcher;
     private XPathEvaluator xPathEvaluator = null;
@@ -70,11 +72,11 @@ public class XPathMatcher extends BodyMatcher<String> {
             result = true;
         } else if (matched != null) {
             try {
-                result = (Boolean) xPathEvaluator.evaluateXPathExpression(matched, (matchedInException, throwable, level) -> {
+                result = (Boolean) xPathEvaluator.evaluateXPathExpression(ParsedBodyCache.xmlDocument(matched, (matchedInException, throwable, level) -> {
                     if (context != null) {
                         context.addDifference(mockServerLogger, throwable, "xpath match failed expected:{}found:{}failed because " + prettyPrint(level) + ":{}", matcher, matched, throwable.getMessage());
                     }
-                }, XPathConstants.BOOLEAN);
+                }, xPathEvaluator.isNamespaceAware()), XPathConstants.BOOLEAN);
             } catch (Throwable throwable) {
                 if (context != null) {
                     context.addDifference(mockServerLogger, throwable, "xpath match failed expected:{}found:{}failed because:{}", matcher, matched, throwable.getMessage());
@@ -99,4 +101,28 @@ public class XPathMatcher extends BodyMatcher<String> {
     protected String[] fieldsExcludedFromEqualsAndHashCode() {
         return EXCLUDED_FIELDS;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        if (hashCode() != o.hashCode()) {
+            return false;
+        }
+        XPathMatcher that = (XPathMatcher) o;
+        return not == that.not &&
+            Objects.equals(matcher, that.matcher);
+    }
+
+    @Override
+    public int hashCode() {
+        if (hashCode == 0) {
+            hashCode = Objects.hash(matcher);
+        }
+        return notHashCode(hashCode);
+    }
 }
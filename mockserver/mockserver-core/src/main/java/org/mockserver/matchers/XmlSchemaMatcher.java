@@ -4,6 +4,8 @@ import org.apache.commons.lang3.StringUtils;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.validator.xmlschema.XmlSchemaValidator;
 
+import java.util.Objects;
+
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 
 /**
@@ -12,7 +14,8 @@ import static org.apache.commons.lang3.StringUtils.isNotBlank;
  * @author jamesdbloom
  */
 public class XmlSchemaMatcher extends BodyMatcher<String> {
-    private static final String[] EXCLUDED_FIELDS = {"mockServerLogger", "xmlSchemaValidator"};
+    private static final String[] EXCLUDED_FIELDS = {"mockServerLogger", "xmlSchemaValidator", "hashCode"};
+    private int hashCode;
     private final MockServerLogger mockServerLogger;
     private String matcher;
     private XmlSchemaValidator xmlSchemaValidator;
@@ -61,4 +64,27 @@ public class XmlSchemaMatcher extends BodyMatcher<String> {
         return StringUtils.isBlank(matcher);
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        if (hashCode() != o.hashCode()) {
+            return false;
+        }
+        XmlSchemaMatcher that = (XmlSchemaMatcher) o;
+        return not == that.not &&
+            Objects.equals(matcher, that.matcher);
+    }
+
+    @Override
+    public int hashCode() {
+        if (hashCode == 0) {
+            hashCode = Objects.hash(matcher);
+        }
+        return notHashCode(hashCode);
+    }
 }
@@ -6,6 +6,7 @@ import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.model.NottableString;
 import org.slf4j.event.Level;
+import org.w3c.dom.Document;
 import org.xmlunit.builder.DiffBuilder;
 import org.xmlunit.builder.Input;
 import org.xmlunit.diff.DefaultNodeMatcher;
@@ -14,13 +15,16 @@ import org.xmlunit.diff.DifferenceEvaluators;
 import org.xmlunit.diff.ElementSelectors;
 import org.xmlunit.placeholder.PlaceholderDifferenceEvaluator;
 
+import java.util.Objects;
+
 import static org.mockserver.model.NottableString.string;
 
 /**
  * @author jamesdbloom
  */
 public class XmlStringMatcher extends BodyMatcher<String> {
-    private static final String[] EXCLUDED_FIELDS = {"mockServerLogger"};
+    private static final String[] EXCLUDED_FIELDS = {"mockServerLogger", "hashCode"};
+    private int hashCode;
     private final MockServerLogger mockServerLogger;
     private NottableString matcher = string("THIS SHOULD NEVER MATCH");
     private boolean validMatcher;
@@ -55,6 +59,20 @@ public class XmlStringMatcher extends BodyMatcher<String> {
             .withDifferenceEvaluator(DifferenceEvaluators.chain(new PlaceholderDifferenceEvaluator(), DifferenceEvaluators.Default));
     }
 
+    private Object testInput(String matched) {
+        // use the body parsed once for this request when it is well-formed, otherwise let xmlunit parse (and report on) the raw string
+        try {
+            Document document = ParsedBodyCache.xmlDocument(matched, (xml, exception, level) -> {
+            }, true);
+            if (document != null) {
+                return Input.fromDocument(document);
+            }
+        } catch (Exception ignore) {
+            // fall through
+        }
+        return Input.fromString(matched);
+    }
+
     public boolean matches(String matched) {
         return matches(null, matched);
     }
@@ -64,7 +82,7 @@ public class XmlStringMatcher extends BodyMatcher<String> {
 
         if (validMatcher) {
             try {
-                Diff diff = createDiffBuilder().withTest(Input.fromString(matched)).build();
+                Diff diff = createDiffBuilder().withTest(testInput(matched)).build();
                 result = !diff.hasDifferences();
 
                 if (!result && context != null) {
@@ -90,4 +108,29 @@ public class XmlStringMatcher extends BodyMatcher<String> {
     protected String[] fieldsExcludedFromEqualsAndHashCode() {
         return EXCLUDED_FIELDS;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        if (hashCode() != o.hashCode()) {
+            return false;
+        }
+        XmlStringMatcher that = (XmlStringMatcher) o;
+        return not == that.not &&
+            validMatcher == that.validMatcher &&
+            Objects.equals(matcher, that.matcher);
+    }
+
+    @Override
+    public int hashCode() {
+        if (hashCode == 0) {
+            hashCode = Objects.hash(matcher, validMatcher);
+        }
+        return notHashCode(hashCode);
+    }
 }
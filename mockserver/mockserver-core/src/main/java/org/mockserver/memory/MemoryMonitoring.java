@@ -21,6 +21,7 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import static org.mockserver.character.Character.NEW_LINE;
@@ -31,6 +32,7 @@ public class MemoryMonitoring implements MockServerLogListener, MockServerMatche
 
     private static final AtomicInteger memoryUpdateFrequency = new AtomicInteger(0);
     private static final AtomicInteger currentLogEntriesCount = new AtomicInteger(0);
+    private static final AtomicLong currentLogEntriesBytes = new AtomicLong(0);
     private static final AtomicInteger currentExpectationsCount = new AtomicInteger(0);
     private static final List<MemoryPoolMXBean> memoryPoolMXBeans = ManagementFactory.getMemoryPoolMXBeans();
     private final Configuration configuration;
@@ -84,6 +86,8 @@ public class MemoryMonitoring implements MockServerLogListener, MockServerMatche
         memoryStatistics.add(ImmutablePair.of("mockServerPort", getPort()));
         memoryStatistics.add(ImmutablePair.of("eventLogSize", currentLogEntriesCount.get()));
         memoryStatistics.add(ImmutablePair.of("maxLogEntries", configuration.maxLogEntries()));
+        memoryStatistics.add(ImmutablePair.of("eventLogEstimatedBytes", currentLogEntriesBytes.get()));
+        memoryStatistics.add(ImmutablePair.of("maxLogEntriesBytes", configuration.maxLogEntriesBytes()));
         memoryStatistics.add(ImmutablePair.of("expectationsSize", currentExpectationsCount.get()));
         memoryStatistics.add(ImmutablePair.of("maxExpectations", configuration.maxExpectations()));
         memoryStatistics.add(ImmutablePair.of("heapInitialAllocation", heap.getNet().getInit()));
@@ -99,8 +103,15 @@ public class MemoryMonitoring implements MockServerLogListener, MockServerMatche
 
     @Override
     public void updated(MockServerEventLog mockServerLog) {
+        updated(mockServerLog, 1, 0);
+    }
+
+    @Override
+    public void updated(MockServerEventLog mockServerLog, int addedCount, int evictedCount) {
         currentLogEntriesCount.set(mockServerLog.size());
-        if (shouldLogMetrics()) {
+        currentLogEntriesBytes.set(mockServerLog.estimatedSizeInBytes());
+        // notifications are batched so count each added entry to keep the same output frequency
+        if (shouldLogMetrics(Math.max(addedCount, 1))) {
             logMemoryMetrics();
         }
     }
@@ -108,13 +119,14 @@ public class MemoryMonitoring implements MockServerLogListener, MockServerMatche
     @Override
     public void updated(RequestMatchers requestMatchers, MockServerMatcherNotifier.Cause cause) {
         currentExpectationsCount.set(requestMatchers.size());
-        if (shouldLogMetrics()) {
+        if (shouldLogMetrics(1)) {
             logMemoryMetrics();
         }
     }
 
-    private boolean shouldLogMetrics() {
-        return memoryUpdateFrequency.incrementAndGet() % 50 == 0;
+    private boolean shouldLogMetrics(int updates) {
+        int updateCount = memoryUpdateFrequency.addAndGet(updates);
+        return updateCount / 50 != (updateCount - updates) / 50;
     }
 
 }
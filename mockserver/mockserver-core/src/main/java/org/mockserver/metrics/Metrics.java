@@ -2,6 +2,7 @@ package org.mockserver.metrics;
 
 import io.prometheus.metrics.core.metrics.Gauge;
 import io.prometheus.metrics.model.registry.PrometheusRegistry;
+import org.mockserver.cache.LRUCacheCollector;
 import org.mockserver.configuration.Configuration;
 import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
@@ -29,6 +30,7 @@ public class Metrics {
         metricsEnabled = configuration.metricsEnabled();
         if (metricsEnabled && additionalMetricsRegistered.compareAndSet(false, true)) {
             PrometheusRegistry.defaultRegistry.register(new BuildInfoCollector());
+            PrometheusRegistry.defaultRegistry.register(new LRUCacheCollector());
             Arrays.stream(Name.values()).forEach(Metrics::getOrCreate);
         }
     }
@@ -151,7 +153,18 @@ public class Metrics {
         ERROR_ACTIONS_COUNT("Action error count"),
         WEBSOCKET_CALLBACK_CLIENTS_COUNT("Websocket callback client count"),
         WEBSOCKET_CALLBACK_RESPONSE_HANDLERS_COUNT("Websocket callback response handler count"),
-        WEBSOCKET_CALLBACK_FORWARD_HANDLERS_COUNT("Websocket callback forward handler count");
+        WEBSOCKET_CALLBACK_FORWARD_HANDLERS_COUNT("Websocket callback forward handler count"),
+        FORWARD_CONNECTION_POOL_HITS_COUNT("Forward connection pool hit count"),
+        FORWARD_CONNECTION_POOL_MISSES_COUNT("Forward connection pool miss count"),
+        FORWARD_CONNECTION_POOL_CONNECTIONS_COUNT("Forward connection pool open connection count"),
+        EPOLL_TRANSPORT_ENABLED("Native epoll transport used for event loops, 1 for epoll and 0 for NIO"),
+        MATCHING_OFFLOADED_COUNT("Requests matched off the event loop count"),
+        MATCHING_QUEUE_DEPTH("Requests waiting to be matched off the event loop count"),
+        MATCHING_REJECTED_COUNT("Requests rejected because the matching queue was full count"),
+        MATCHING_WAIT_TIME_MICROSECONDS("Time the most recent request waited to be matched off the event loop in microseconds"),
+        JAVASCRIPT_TEMPLATE_COMPILE_TIME_MICROSECONDS("Time the most recent JavaScript template compilation took in microseconds"),
+        JAVASCRIPT_TEMPLATE_EXECUTION_TIME_MICROSECONDS("Time the most recent JavaScript template execution took in microseconds"),
+        LOG_MESSAGES_DROPPED_COUNT("Log messages dropped because the asynchronous log queue was full count");
 
         public final String description;
 
@@ -3,6 +3,7 @@ package org.mockserver.mock;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.mockserver.matchers.TimeToLive;
 import org.mockserver.matchers.Times;
+import org.mockserver.mock.action.http.PreEncodedHttpResponse;
 import org.mockserver.model.*;
 import org.mockserver.uuid.UUIDService;
 
@@ -61,6 +62,8 @@ public class Expectation extends ObjectWithJsonToString {
     private final AtomicInteger matchCount = new AtomicInteger(0);
     @JsonIgnore
     private final ThreadLocal<Integer> lastConsumedCount = new ThreadLocal<>();
+    @JsonIgnore
+    private volatile PreEncodedHttpResponse preEncodedHttpResponse;
 
     /**
      * Specify the OpenAPI and operationId to match against by URL or payload and string as follows:
@@ -441,6 +444,19 @@ public class Expectation extends ObjectWithJsonToString {
         return afterActions != null ? Collections.unmodifiableList(afterActions) : null;
     }
 
+    /**
+     * The response encoded when the expectation was added or updated, null if the response isn't static
+     */
+    @JsonIgnore
+    public PreEncodedHttpResponse getPreEncodedHttpResponse() {
+        return preEncodedHttpResponse;
+    }
+
+    public Expectation withPreEncodedHttpResponse(PreEncodedHttpResponse preEncodedHttpResponse) {
+        this.preEncodedHttpResponse = preEncodedHttpResponse;
+        return this;
+    }
+
     public List<HttpResponse> getHttpResponses() {
         return httpResponses != null ? Collections.unmodifiableList(httpResponses) : null;
     }
@@ -39,7 +39,9 @@ import org.slf4j.event.Level;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
@@ -70,6 +72,12 @@ public class HttpState {
 
     public static final String LOG_SEPARATOR = NEW_LINE + "------------------------------------" + NEW_LINE;
     public static final String PATH_PREFIX = "/mockserver";
+    // PUT paths (with or without PATH_PREFIX) handled by the control plane, here or in the HttpRequestHandler
+    private static final Set<String> CONTROL_PLANE_PATHS = new HashSet<>(Arrays.asList(
+        "/expectation", "/openapi", "/clear", "/reset", "/debugMismatch", "/retrieve", "/verify", "/verifySequence", "/crud",
+        "/grpc/descriptors", "/grpc/services", "/grpc/clear", "/files/store", "/files/retrieve", "/files/list", "/files/delete",
+        "/status", "/bind", "/stop", "/configuration"
+    ));
     private static final ThreadLocal<Integer> LOCAL_PORT = new ThreadLocal<>();
     private final String uniqueLoopPreventionHeaderValue = "MockServer_" + UUIDService.getUUID();
     private final MockServerEventLog mockServerLog;
@@ -327,6 +335,30 @@ public class HttpState {
         }
     }
 
+    public boolean requiresExpensiveMatching(RequestDefinition request) {
+        return requestMatchers.requiresExpensiveMatching(request);
+    }
+
+    /**
+     * Whether, based only on its method and path, the request could be handled by an expectation, a CRUD handler or a proxy pass
+     * mapping, all of which need the complete request body (i.e. the request can't be handled with a truncated body and streamed)
+     */
+    public boolean requiresCompleteBody(HttpRequest request) {
+        if (crudDispatcher.size() > 0 || !requestMatchers.isEmpty() && requestMatchers.mayMatch(request)) {
+            return true;
+        }
+        List<ProxyPassMapping> proxyPassMappings = configuration.proxyPassMappings();
+        return proxyPassMappings != null && proxyPassMappings.stream().anyMatch(mapping -> mapping.matches(request.getPath() != null ? request.getPath().getValue() : null));
+    }
+
+    public static boolean isControlPlaneRequest(HttpRequest request) {
+        if (request.matches("PUT") && request.getPath() != null && request.getPath().getValue() != null) {
+            String path = request.getPath().getValue();
+            return CONTROL_PLANE_PATHS.contains(path.startsWith(PATH_PREFIX + "/") ? path.substring(PATH_PREFIX.length()) : path);
+        }
+        return false;
+    }
+
     @VisibleForTesting
     public List<Expectation> allMatchingExpectation(HttpRequest request) {
         if (requestMatchers.isEmpty()) {
@@ -849,7 +881,7 @@ public class HttpState {
             );
         }
 
-        if (request.matches("PUT")) {
+        if (isControlPlaneRequest(request)) {
 
             CompletableFuture<Boolean> canHandle = new CompletableFuture<>();
 
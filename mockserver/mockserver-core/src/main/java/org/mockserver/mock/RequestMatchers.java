@@ -9,6 +9,7 @@ import org.mockserver.logging.MockServerLogger;
 import org.mockserver.matchers.HttpRequestMatcher;
 import org.mockserver.matchers.MatchDifference;
 import org.mockserver.matchers.MatcherBuilder;
+import org.mockserver.matchers.ParsedBodyCache;
 import org.mockserver.metrics.Metrics;
 import org.mockserver.mock.listeners.MockServerMatcherNotifier;
 import org.mockserver.model.*;
@@ -58,7 +59,8 @@ public class RequestMatchers extends MockServerMatcherNotifier {
             configuration.maxExpectations(),
             EXPECTATION_SORTABLE_PRIORITY_COMPARATOR,
             httpRequestMatcher -> httpRequestMatcher.getExpectation() != null ? httpRequestMatcher.getExpectation().getSortableId() : NULL,
-            httpRequestMatcher -> httpRequestMatcher.getExpectation() != null ? httpRequestMatcher.getExpectation().getId() : ""
+            httpRequestMatcher -> httpRequestMatcher.getExpectation() != null ? httpRequestMatcher.getExpectation().getId() : "",
+            RequestMatchersIndex::matcherKeys
         );
         expectationRequestDefinitions = new CircularHashMap<>(configuration.maxExpectations());
         if (mockServerLogger != null && mockServerLogger.isEnabledForInstance(TRACE)) {
@@ -221,12 +223,24 @@ public class RequestMatchers extends MockServerMatcherNotifier {
     }
 
     public Expectation firstMatchingExpectation(RequestDefinition requestDefinition) {
+        // the request body is parsed at most once while it is matched against every expectation
+        ParsedBodyCache.open();
+        try {
+            return matchFirstExpectation(requestDefinition);
+        } finally {
+            ParsedBodyCache.close();
+        }
+    }
+
+    private Expectation matchFirstExpectation(RequestDefinition requestDefinition) {
         Expectation matchedExpectation = null;
         Expectation closestMatchExpectation = null;
         int closestMatchFailures = Integer.MAX_VALUE;
         int totalFields = MatchDifference.Field.values().length;
 
-        for (HttpRequestMatcher httpRequestMatcher : httpRequestMatchers.toSortedList()) {
+        Collection<?> indexKeys = RequestMatchersIndex.requestKeys(requestDefinition);
+        List<HttpRequestMatcher> candidates = indexKeys != null ? httpRequestMatchers.toSortedList(indexKeys) : httpRequestMatchers.toSortedList();
+        for (HttpRequestMatcher httpRequestMatcher : candidates) {
             MatchDifference matchDifference = new MatchDifference(configuration.detailedMatchFailures(), requestDefinition);
             if (httpRequestMatcher.matches(matchDifference, requestDefinition)) {
                 Expectation expectation = httpRequestMatcher.getExpectation();
@@ -264,6 +278,26 @@ public class RequestMatchers extends MockServerMatcherNotifier {
             }
         }
 
+        if (matchedExpectation == null && indexKeys != null && mockServerLogger.isEnabledForInstance(Level.DEBUG)) {
+            // expectations skipped by the index can't match, so evaluating them to log why they didn't match costs a scan
+            // of every expectation for the same protocol and is only done when debugging, otherwise the closest match is
+            // chosen from the index candidates
+            Set<HttpRequestMatcher> evaluated = Collections.newSetFromMap(new IdentityHashMap<>());
+            evaluated.addAll(candidates);
+            Collection<?> partitionKeys = RequestMatchersIndex.partitionKeys(requestDefinition);
+            for (HttpRequestMatcher httpRequestMatcher : partitionKeys != null ? httpRequestMatchers.toSortedList(partitionKeys) : httpRequestMatchers.toSortedList()) {
+                if (!evaluated.contains(httpRequestMatcher)) {
+                    MatchDifference matchDifference = new MatchDifference(configuration.detailedMatchFailures(), requestDefinition);
+                    httpRequestMatcher.matches(matchDifference, requestDefinition);
+                    int failures = matchDifference.getAllDifferences().size();
+                    if (failures < closestMatchFailures && httpRequestMatcher.getExpectation() != null) {
+                        closestMatchFailures = failures;
+                        closestMatchExpectation = httpRequestMatcher.getExpectation();
+                    }
+                }
+            }
+        }
+
         if (matchedExpectation == null && closestMatchExpectation != null && mockServerLogger.isEnabledForInstance(Level.INFO)) {
             int matchedFields = totalFields - closestMatchFailures;
             mockServerLogger.logEvent(
@@ -477,7 +511,8 @@ public class RequestMatchers extends MockServerMatcherNotifier {
         int closestMatchFailures = Integer.MAX_VALUE;
         Map<MatchDifference.Field, List<String>> closestDifferences = null;
 
-        for (HttpRequestMatcher httpRequestMatcher : httpRequestMatchers.toSortedList()) {
+        Collection<?> partitionKeys = RequestMatchersIndex.partitionKeys(httpRequest);
+        for (HttpRequestMatcher httpRequestMatcher : partitionKeys != null ? httpRequestMatchers.toSortedList(partitionKeys) : httpRequestMatchers.toSortedList()) {
             MatchDifference matchDifference = new MatchDifference(true, httpRequest);
             if (!httpRequestMatcher.matches(matchDifference, httpRequest)) {
                 Map<MatchDifference.Field, List<String>> differences = matchDifference.getAllDifferences();
@@ -491,6 +526,27 @@ public class RequestMatchers extends MockServerMatcherNotifier {
         return closestDifferences;
     }
 
+    /**
+     * Whether any active expectation could match the request, based only on the fields used to index expectations (i.e.
+     * method and path) so the result doesn't depend on the request body, false positives are possible but false negatives aren't
+     */
+    public boolean mayMatch(RequestDefinition requestDefinition) {
+        Collection<?> indexKeys = RequestMatchersIndex.requestKeys(requestDefinition);
+        List<HttpRequestMatcher> candidates = indexKeys != null ? httpRequestMatchers.toSortedList(indexKeys) : httpRequestMatchers.toSortedList();
+        return candidates.stream().anyMatch(httpRequestMatcher -> httpRequestMatcher.isResponseInProgress() || httpRequestMatcher.isActive());
+    }
+
+    /**
+     * Whether any expectation the request could match, based on the fields used to index expectations (i.e. method and
+     * path), uses a matcher that is slow enough (i.e. json or xml schema, xpath or OpenAPI) to justify matching off the
+     * event loop
+     */
+    public boolean requiresExpensiveMatching(RequestDefinition requestDefinition) {
+        Collection<?> indexKeys = RequestMatchersIndex.requestKeys(requestDefinition);
+        List<HttpRequestMatcher> candidates = indexKeys != null ? httpRequestMatchers.toSortedList(indexKeys) : httpRequestMatchers.toSortedList();
+        return candidates.stream().anyMatch(HttpRequestMatcher::isExpensiveToMatch);
+    }
+
     public boolean isEmpty() {
         return httpRequestMatchers.isEmpty();
     }
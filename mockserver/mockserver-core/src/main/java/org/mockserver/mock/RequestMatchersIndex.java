@@ -0,0 +1,201 @@
+package org.mockserver.mock;
+
+import org.mockserver.codec.PathParametersDecoder;
+import org.mockserver.matchers.*;
+import org.mockserver.model.*;
+
+import java.util.*;
+
+import static org.apache.commons.lang3.StringUtils.isBlank;
+
+/**
+ * Calculates the index keys used by {@link RequestMatchers} to prune the expectations evaluated for a request and
+ * by {@link org.mockserver.log.MockServerEventLog} to prune the log entries evaluated for a request matcher.
+ * <p>
+ * Each expectation is indexed by its literal method and the first segment of its literal path (or path template)
+ * prefix, any method or path that is blank, notted, a schema or a regex that doesn't fix the first path segment is
+ * indexed under a wildcard.  Keys are case folded in the same way as {@link String#equalsIgnoreCase(String)} and
+ * case-insensitive regex matching, so a request only ever skips expectations that could not match its method or path.
+ * <p>
+ * Expectations are also partitioned by the type of request they match, so http (including open api), binary and dns
+ * requests each only evaluate the expectations for their protocol.  Every http expectation is indexed under
+ * {@link #HTTP_KEY}, which is used for http requests whose method or path can't be indexed, binary and dns
+ * expectations are only indexed under {@link #BINARY_KEY} and {@link #DNS_KEY}, and as all partitions are views of
+ * the same priority order the relative order of expectations is unchanged.
+ *
+ * @author jamesdbloom
+ */
+public final class RequestMatchersIndex {
+
+    public static final String WILDCARD = "*";
+    private static final String SEPARATOR = " ";
+    private static final String REGEX_META_CHARACTERS = "\\^$.|?*+()[]{}";
+    private static final String QUANTIFIERS = "?*+{";
+    private static final PathParametersDecoder pathParametersParser = new PathParametersDecoder();
+    public static final Object WILDCARD_KEY = key(WILDCARD, WILDCARD);
+    // partition keys never contain the separator so can't clash with method and path keys
+    public static final Object HTTP_KEY = "http";
+    public static final Object BINARY_KEY = "binary";
+    public static final Object DNS_KEY = "dns";
+    private static final Collection<?> HTTP_WILDCARD_KEYS = Arrays.asList(WILDCARD_KEY, HTTP_KEY);
+    private static final Collection<?> HTTP_KEYS = Collections.singletonList(HTTP_KEY);
+    private static final Collection<?> BINARY_KEYS = Collections.singletonList(BINARY_KEY);
+    private static final Collection<?> DNS_KEYS = Collections.singletonList(DNS_KEY);
+    private static final Collection<?> ALL_KEYS = Arrays.asList(WILDCARD_KEY, HTTP_KEY, BINARY_KEY, DNS_KEY);
+
+    private RequestMatchersIndex() {
+
+    }
+
+    /**
+     * Returns the keys an expectation's request matcher is indexed under
+     */
+    public static Collection<?> matcherKeys(HttpRequestMatcher httpRequestMatcher) {
+        if (httpRequestMatcher instanceof BinaryRequestPropertiesMatcher) {
+            return BINARY_KEYS;
+        } else if (httpRequestMatcher instanceof DnsRequestPropertiesMatcher) {
+            return DNS_KEYS;
+        } else if (!(httpRequestMatcher instanceof HttpRequestPropertiesMatcher || httpRequestMatcher instanceof HttpRequestsPropertiesMatcher)) {
+            return ALL_KEYS;
+        }
+        List<HttpRequest> httpRequests = httpRequestMatcher.getHttpRequests();
+        if (httpRequests == null || httpRequests.isEmpty()) {
+            return HTTP_WILDCARD_KEYS;
+        }
+        Set<Object> keys = new HashSet<>();
+        keys.add(HTTP_KEY);
+        for (HttpRequest httpRequest : httpRequests) {
+            if (httpRequest == null || httpRequest.isNot()) {
+                return HTTP_WILDCARD_KEYS;
+            }
+            keys.add(key(methodKey(httpRequest.getMethod()), matcherPathKey(httpRequest)));
+        }
+        return keys;
+    }
+
+    /**
+     * Returns the keys of all expectations that could match a request or null if every expectation must be evaluated
+     */
+    public static Collection<?> requestKeys(RequestDefinition requestDefinition) {
+        if (requestDefinition == null || requestDefinition.isNot() || !(requestDefinition instanceof HttpRequest)) {
+            return partitionKeys(requestDefinition);
+        }
+        HttpRequest httpRequest = (HttpRequest) requestDefinition;
+        NottableString method = httpRequest.getMethod();
+        NottableString path = httpRequest.getPath();
+        if (isNottedOrBlank(method) || isNottedOrBlank(path) || !isLiteral(method.getValue())) {
+            return HTTP_KEYS;
+        }
+        String methodKey = foldCase(method.getValue());
+        String pathKey;
+        // request values are also used as regexes when matching against open api operations
+        String literalPrefix = literalPrefix(path.getValue());
+        if (literalPrefix.length() == path.getValue().length()) {
+            pathKey = firstPathSegment(literalPrefix, true);
+        } else {
+            pathKey = firstPathSegment(literalPrefix, false);
+            if (pathKey == null) {
+                return HTTP_KEYS;
+            }
+        }
+        List<String> keys = new ArrayList<>(4);
+        keys.add(key(WILDCARD, WILDCARD));
+        keys.add(key(methodKey, WILDCARD));
+        if (pathKey != null) {
+            keys.add(key(WILDCARD, pathKey));
+            keys.add(key(methodKey, pathKey));
+        }
+        return keys;
+    }
+
+    /**
+     * Returns the key of the partition holding every expectation of the same type as a request, or null if every
+     * expectation must be evaluated
+     */
+    public static Collection<?> partitionKeys(RequestDefinition requestDefinition) {
+        if (requestDefinition == null || requestDefinition.isNot()) {
+            return null;
+        } else if (requestDefinition instanceof HttpRequest) {
+            return HTTP_KEYS;
+        } else if (requestDefinition instanceof BinaryRequestDefinition) {
+            return BINARY_KEYS;
+        } else if (requestDefinition instanceof DnsRequestDefinition) {
+            return DNS_KEYS;
+        } else {
+            return null;
+        }
+    }
+
+    private static String methodKey(NottableString method) {
+        if (isNottedOrBlank(method) || method instanceof NottableSchemaString || !isLiteral(method.getValue())) {
+            return WILDCARD;
+        } else {
+            return foldCase(method.getValue());
+        }
+    }
+
+    private static String matcherPathKey(HttpRequest httpRequest) {
+        NottableString path = pathParametersParser.normalisePathWithParametersForMatching(httpRequest);
+        if (isNottedOrBlank(path) || path instanceof NottableSchemaString) {
+            return WILDCARD;
+        }
+        String literalPrefix = literalPrefix(path.getValue());
+        String firstPathSegment = firstPathSegment(literalPrefix, literalPrefix.length() == path.getValue().length());
+        return firstPathSegment != null ? firstPathSegment : WILDCARD;
+    }
+
+    /**
+     * Returns the case folded first segment of a path, or null if the path doesn't start with a slash or
+     * (for a path prefix) the prefix doesn't contain the whole of the first segment
+     */
+    private static String firstPathSegment(String path, boolean complete) {
+        if (!path.startsWith("/")) {
+            return null;
+        }
+        int end = path.indexOf('/', 1);
+        if (end == -1) {
+            if (complete) {
+                end = path.length();
+            } else {
+                return null;
+            }
+        }
+        return foldCase(path.substring(1, end));
+    }
+
+    private static boolean isNottedOrBlank(NottableString nottableString) {
+        return nottableString == null || nottableString.isNot() || isBlank(nottableString.getValue());
+    }
+
+    private static boolean isLiteral(String value) {
+        return literalPrefix(value).length() == value.length();
+    }
+
+    /**
+     * Returns the part of a value that any regex match must start with, alternation anywhere in the
+     * regex means no prefix is guaranteed and a quantifier also applies to the character before it
+     */
+    private static String literalPrefix(String value) {
+        if (value.indexOf('|') != -1) {
+            return "";
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (REGEX_META_CHARACTERS.indexOf(value.charAt(i)) != -1) {
+                return value.substring(0, QUANTIFIERS.indexOf(value.charAt(i)) != -1 ? Math.max(i - 1, 0) : i);
+            }
+        }
+        return value;
+    }
+
+    private static String foldCase(String value) {
+        char[] chars = value.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+        }
+        return new String(chars);
+    }
+
+    private static String key(String methodKey, String pathKey) {
+        return methodKey + SEPARATOR + pathKey;
+    }
+}
@@ -16,12 +16,12 @@ import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.mock.Expectation;
 import org.mockserver.mock.HttpState;
-import org.mockserver.mock.crud.CrudDispatcher;
 import org.mockserver.model.*;
 import org.mockserver.openapi.OpenAPIResponseValidator;
 import org.mockserver.proxyconfiguration.NoProxyHostsUtils;
 import org.mockserver.proxyconfiguration.ProxyConfiguration;
 import org.mockserver.responsewriter.ResponseWriter;
+import org.mockserver.scheduler.MatchingExecutor;
 import org.mockserver.scheduler.Scheduler;
 import org.mockserver.serialization.curl.HttpRequestToCurlSerializer;
 import org.mockserver.socket.tls.NettySslContextFactory;
@@ -37,6 +37,8 @@ import java.util.function.BiConsumer;
 import static io.netty.handler.codec.http.HttpHeaderNames.*;
 import static io.netty.handler.codec.http.HttpResponseStatus.OK;
 import static io.netty.handler.codec.http.HttpResponseStatus.PROXY_AUTHENTICATION_REQUIRED;
+import static io.netty.handler.codec.http.HttpResponseStatus.REQUEST_ENTITY_TOO_LARGE;
+import static io.netty.handler.codec.http.HttpResponseStatus.SERVICE_UNAVAILABLE;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.apache.commons.lang3.StringUtils.isEmpty;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
@@ -80,6 +82,7 @@ public class HttpActionHandler {
     private NettyHttpClient httpClient;
     private HopByHopHeaderFilter hopByHopHeaderFilter = new HopByHopHeaderFilter();
     private HttpRequestToCurlSerializer httpRequestToCurlSerializer;
+    private final boolean hasProxyConfigurations;
 
     public HttpActionHandler(Configuration configuration, EventLoopGroup eventLoopGroup, HttpState httpStateHandler, List<ProxyConfiguration> proxyConfigurations, NettySslContextFactory nettySslContextFactory) {
         this.configuration = configuration;
@@ -88,6 +91,7 @@ public class HttpActionHandler {
         this.mockServerLogger = httpStateHandler.getMockServerLogger();
         this.httpRequestToCurlSerializer = new HttpRequestToCurlSerializer(mockServerLogger);
         this.httpClient = new NettyHttpClient(configuration, mockServerLogger, eventLoopGroup, proxyConfigurations, true, nettySslContextFactory);
+        this.hasProxyConfigurations = proxyConfigurations != null && !proxyConfigurations.isEmpty();
     }
 
     public void processAction(final HttpRequest request, final ResponseWriter responseWriter, final ChannelHandlerContext ctx, Set<String> localAddresses, boolean proxyingRequest, final boolean synchronous) {
@@ -103,24 +107,77 @@ public class HttpActionHandler {
             );
         }
 
-        CrudDispatcher crudDispatcher = httpStateHandler.getCrudDispatcher();
-        HttpResponse crudResponse = crudDispatcher.dispatch(request);
-        if (crudResponse != null) {
-            mockServerLogger.logEvent(
-                new LogEntry()
-                    .setType(EXPECTATION_RESPONSE)
-                    .setLogLevel(Level.INFO)
-                    .setCorrelationId(request.getLogCorrelationId())
-                    .setHttpRequest(request)
-                    .setHttpResponse(crudResponse)
-                    .setMessageFormat("returning CRUD response:{}for request:{}")
-                    .setArguments(crudResponse, request)
-            );
-            responseWriter.writeResponse(request, crudResponse, false);
+        if (isRequestBodyTruncated(ctx) && httpStateHandler.requiresCompleteBody(request)) {
+            // i.e. an expectation, CRUD handler or proxy pass mapping was added after the request started streaming
+            returnRequestEntityTooLarge(responseWriter, request);
             return;
         }
 
-        final Expectation expectation = httpStateHandler.firstMatchingExpectation(request);
+        MatchingExecutor matchingExecutor = scheduler.getMatchingExecutor();
+        boolean offloadable = ctx != null && !synchronous && matchingExecutor != null && matchingExecutor.isEnabled();
+        // once a request on a channel is matched off the event loop every later request on the channel must follow it so responses to pipelined requests are not reordered
+        boolean behindPendingMatch = offloadable && matchingExecutor.hasPendingTasks(ctx);
+        if (!behindPendingMatch) {
+            HttpResponse crudResponse = httpStateHandler.getCrudDispatcher().dispatch(request);
+            if (crudResponse != null) {
+                returnCrudResponse(request, crudResponse, responseWriter);
+                return;
+            }
+        }
+
+        if (offloadable && (behindPendingMatch || httpStateHandler.requiresExpensiveMatching(request))) {
+            // match off the event loop then return to the channel's event loop to perform the action
+            matchingExecutor.submit(ctx, () -> {
+                try {
+                    final HttpResponse crudResponse = behindPendingMatch ? httpStateHandler.getCrudDispatcher().dispatch(request) : null;
+                    final Expectation expectation = crudResponse == null ? httpStateHandler.firstMatchingExpectation(request) : null;
+                    return () -> {
+                        try {
+                            if (crudResponse != null) {
+                                returnCrudResponse(request, crudResponse, responseWriter);
+                            } else {
+                                processExpectation(expectation, request, responseWriter, ctx, localAddresses, proxyingRequest, false);
+                            }
+                        } catch (Throwable throwable) {
+                            logProcessingException(request, throwable);
+                        }
+                    };
+                } catch (Throwable throwable) {
+                    logProcessingException(request, throwable);
+                    return null;
+                }
+            }, () -> returnServiceUnavailable(responseWriter, request));
+        } else {
+            processExpectation(httpStateHandler.firstMatchingExpectation(request), request, responseWriter, ctx, localAddresses, proxyingRequest, synchronous);
+        }
+    }
+
+    private void returnCrudResponse(HttpRequest request, HttpResponse crudResponse, ResponseWriter responseWriter) {
+        mockServerLogger.logEvent(
+            new LogEntry()
+                .setType(EXPECTATION_RESPONSE)
+                .setLogLevel(Level.INFO)
+                .setCorrelationId(request.getLogCorrelationId())
+                .setHttpRequest(request)
+                .setHttpResponse(crudResponse)
+                .setMessageFormat("returning CRUD response:{}for request:{}")
+                .setArguments(crudResponse, request)
+        );
+        responseWriter.writeResponse(request, crudResponse, false);
+    }
+
+    private void logProcessingException(HttpRequest request, Throwable throwable) {
+        mockServerLogger.logEvent(
+            new LogEntry()
+                .setLogLevel(Level.ERROR)
+                .setHttpRequest(request)
+                .setMessageFormat("exception processing request:{}error:{}")
+                .setArguments(request, throwable.getMessage())
+                .setThrowable(throwable)
+        );
+    }
+
+    private void processExpectation(final Expectation expectation, final HttpRequest request, final ResponseWriter responseWriter, final ChannelHandlerContext ctx, Set<String> localAddresses, boolean proxyingRequest, final boolean synchronous) {
         final AtomicBoolean postProcessed = new AtomicBoolean(false);
         Runnable expectationPostProcessor = () -> {
             if (postProcessed.compareAndSet(false, true)) {
@@ -135,15 +192,26 @@ public class HttpActionHandler {
         final boolean hasConfiguredRemoteProxy = isNotBlank(configuration.proxyRemoteHost()) && configuration.proxyRemotePort() != null;
         final boolean potentiallyHttpProxy = !proxyingRequest && (hasConfiguredRemoteProxy || (configuration.attemptToProxyIfNoMatchingExpectation() && !isEmpty(request.getFirstHeader(HOST.toString())) && !localAddresses.contains(request.getFirstHeader(HOST.toString())) && !NoProxyHostsUtils.isHostOnNoProxyList(request.getFirstHeader(HOST.toString()), configuration.noProxyHosts())));
 
-        if (expectation != null && expectation.getAction() != null) {
+        if (expectation != null && isRequestBodyTruncated(ctx)) {
+
+            returnRequestEntityTooLarge(responseWriter, request);
+
+        } else if (expectation != null && expectation.getAction() != null) {
 
             final Action action = expectation.getAction();
             switch (action.getType()) {
                 case RESPONSE: {
-                    scheduler.schedule(() -> handleAnyException(request, responseWriter, synchronous, action, () -> {
-                        final HttpResponse response = getHttpResponseActionHandler().handle((HttpResponse) action);
-                        writeResponseActionResponse(response, responseWriter, request, action, synchronous, expectation.getHttpRequest(), expectationPostProcessor);
-                    }, expectationPostProcessor), synchronous);
+                    final PreEncodedHttpResponse preEncodedHttpResponse = expectation.getPreEncodedHttpResponse();
+                    if (preEncodedHttpResponse != null && preEncodedHttpResponse.getHttpResponse() == action && canWritePreEncodedResponse(expectation.getHttpRequest())) {
+                        // static response so write the encoded form directly without cloning or scheduling
+                        handleAnyException(request, responseWriter, synchronous, action, () ->
+                            writePreEncodedResponseActionResponse(preEncodedHttpResponse, responseWriter, request, action, expectationPostProcessor), expectationPostProcessor);
+                    } else {
+                        scheduler.schedule(() -> handleAnyException(request, responseWriter, synchronous, action, () -> {
+                            final HttpResponse response = getHttpResponseActionHandler().handle((HttpResponse) action);
+                            writeResponseActionResponse(response, responseWriter, request, action, synchronous, expectation.getHttpRequest(), expectationPostProcessor);
+                        }, expectationPostProcessor), synchronous);
+                    }
                     break;
                 }
                 case RESPONSE_TEMPLATE: {
@@ -415,6 +483,11 @@ public class HttpActionHandler {
                     final InetSocketAddress remoteAddress = getRemoteAddressWithFallback(ctx);
                     final HttpRequest clonedRequest = hopByHopHeaderFilter.onRequest(request).withHeader(httpStateHandler.getUniqueLoopPreventionHeaderName(), httpStateHandler.getUniqueLoopPreventionHeaderValue());
                     adjustHostHeaderForUnmatchedRequest(clonedRequest, remoteAddress);
+                    final HttpStreamingForwarder streamingForwarder = getStreamingForwarder(ctx);
+                    if (streamingForwarder != null) {
+                        streamForward(streamingForwarder, request, clonedRequest, remoteAddress != null ? remoteAddress : clonedRequest.socketAddressFromHostHeader(), potentiallyHttpProxy ? 1000 : configuration.socketConnectionTimeoutInMillis());
+                        return;
+                    }
                     final HttpForwardActionResult responseFuture = new HttpForwardActionResult(clonedRequest, httpClient.sendRequest(clonedRequest, remoteAddress, potentiallyHttpProxy ? 1000 : configuration.socketConnectionTimeoutInMillis()), null, remoteAddress);
                     scheduler.submit(responseFuture, () -> {
                             try {
@@ -506,6 +579,43 @@ public class HttpActionHandler {
         }
     }
 
+    private void streamForward(final HttpStreamingForwarder streamingForwarder, final HttpRequest request, final HttpRequest clonedRequest, final InetSocketAddress remoteAddress, final long connectionTimeoutMillis) {
+        final boolean requestBodyTruncated = streamingForwarder.isRequestBodyTruncated();
+        streamingForwarder
+            .forward(clonedRequest, remoteAddress, connectionTimeoutMillis)
+            .whenComplete((response, throwable) -> {
+                if (throwable == null) {
+                    LogEntry logEntry = new LogEntry()
+                        .setType(FORWARDED_REQUEST)
+                        .setLogLevel(Level.INFO)
+                        .setCorrelationId(request.getLogCorrelationId())
+                        .setHttpRequest(request)
+                        .setHttpResponse(response);
+                    if (requestBodyTruncated) {
+                        // a truncated body would make an incorrect recorded expectation
+                        logEntry.setMessageFormat("returning streamed response:{}for forwarded request with truncated body" + NEW_LINE + NEW_LINE + " in json:{}");
+                        logEntry.setArguments(response, request);
+                    } else {
+                        logEntry.setExpectation(request, response);
+                        logEntry.setMessageFormat("returning streamed response:{}for forwarded request" + NEW_LINE + NEW_LINE + " in json:{}" + NEW_LINE + NEW_LINE + " in curl:{}");
+                        logEntry.setArguments(response, request, httpRequestToCurlSerializer.toCurl(request, remoteAddress));
+                    }
+                    mockServerLogger.logEvent(logEntry);
+                } else if (!connectionClosedException(throwable)) {
+                    mockServerLogger.logEvent(
+                        new LogEntry()
+                            .setType(EXCEPTION)
+                            .setLogLevel(Level.ERROR)
+                            .setCorrelationId(request.getLogCorrelationId())
+                            .setHttpRequest(request)
+                            .setMessageFormat("exception streaming request:{}to remote address:{}")
+                            .setArguments(request, remoteAddress)
+                            .setThrowable(throwable)
+                    );
+                }
+            });
+    }
+
     private boolean handleProxyPass(final HttpRequest request, final ResponseWriter responseWriter, final boolean synchronous) {
         List<ProxyPassMapping> mappings = configuration.proxyPassMappings();
         if (mappings == null || mappings.isEmpty() || request.getPath() == null) {
@@ -516,7 +626,7 @@ public class HttpActionHandler {
             return false;
         }
         for (ProxyPassMapping mapping : mappings) {
-            if (requestPath.startsWith(mapping.getPathPrefix())) {
+            if (mapping.matches(requestPath)) {
                 String remainder = requestPath.substring(mapping.getPathPrefix().length());
                 String targetPath = mapping.getTargetPath();
                 String newPath;
@@ -771,6 +881,33 @@ public class HttpActionHandler {
         }, synchronous, combineWithGlobalDelay(response.getDelay()));
     }
 
+    private boolean canWritePreEncodedResponse(final RequestDefinition requestDefinition) {
+        Long globalDelayMillis = configuration.globalResponseDelayMillis();
+        return (globalDelayMillis == null || globalDelayMillis <= 0) && !(configuration.openAPIResponseValidation() && requestDefinition instanceof OpenAPIDefinition);
+    }
+
+    private void writePreEncodedResponseActionResponse(final PreEncodedHttpResponse preEncodedHttpResponse, final ResponseWriter responseWriter, final HttpRequest request, final Action action, final Runnable postProcessor) {
+        try {
+            final HttpResponse response = preEncodedHttpResponse.getLoggedHttpResponse();
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setType(EXPECTATION_RESPONSE)
+                    .setLogLevel(Level.INFO)
+                    .setCorrelationId(request.getLogCorrelationId())
+                    .setHttpRequest(request)
+                    .setHttpResponse(response)
+                    .setExpectationId(action.getExpectationId())
+                    .setMessageFormat("returning response:{}for request:{}for action:{}from expectation:{}")
+                    .setArguments(response, request, response, action.getExpectationId())
+            );
+            responseWriter.writeResponse(request, preEncodedHttpResponse);
+        } finally {
+            if (postProcessor != null) {
+                postProcessor.run();
+            }
+        }
+    }
+
     private Delay[] combineWithGlobalDelay(Delay actionDelay) {
         Long globalDelayMillis = configuration.globalResponseDelayMillis();
         if (globalDelayMillis != null && globalDelayMillis > 0) {
@@ -914,6 +1051,40 @@ public class HttpActionHandler {
         }
     }
 
+    private void returnRequestEntityTooLarge(ResponseWriter responseWriter, HttpRequest request) {
+        HttpResponse response = response().withStatusCode(REQUEST_ENTITY_TOO_LARGE.code()).withReasonPhrase(REQUEST_ENTITY_TOO_LARGE.reasonPhrase());
+        if (mockServerLogger.isEnabledForInstance(Level.INFO)) {
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setType(NO_MATCH_RESPONSE)
+                    .setLogLevel(Level.INFO)
+                    .setCorrelationId(request.getLogCorrelationId())
+                    .setHttpRequest(request)
+                    .setHttpResponse(response)
+                    .setMessageFormat("returning response:{}for streamed request:{}as its body was truncated and can only be forwarded not matched")
+                    .setArguments(response, request)
+            );
+        }
+        responseWriter.writeResponse(request, response, false);
+    }
+
+    private void returnServiceUnavailable(ResponseWriter responseWriter, HttpRequest request) {
+        HttpResponse response = response().withStatusCode(SERVICE_UNAVAILABLE.code()).withReasonPhrase(SERVICE_UNAVAILABLE.reasonPhrase());
+        if (mockServerLogger.isEnabledForInstance(Level.WARN)) {
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setType(NO_MATCH_RESPONSE)
+                    .setLogLevel(Level.WARN)
+                    .setCorrelationId(request.getLogCorrelationId())
+                    .setHttpRequest(request)
+                    .setHttpResponse(response)
+                    .setMessageFormat("returning response:{}for request:{}as the queue of requests waiting to be matched is full")
+                    .setArguments(response, request)
+            );
+        }
+        responseWriter.writeResponse(request, response, false);
+    }
+
     private void returnBadGateway(ResponseWriter responseWriter, HttpRequest request, String error) {
         HttpResponse response = badGatewayResponse();
         if (isNotBlank(error)) {
@@ -1155,6 +1326,30 @@ public class HttpActionHandler {
     }
 
 
+    private static boolean isRequestBodyTruncated(final ChannelHandlerContext ctx) {
+        if (ctx != null && ctx.channel() != null && ctx.channel().hasAttr(HttpStreamingForwarder.STREAMING_FORWARDER)) {
+            HttpStreamingForwarder streamingForwarder = ctx.channel().attr(HttpStreamingForwarder.STREAMING_FORWARDER).get();
+            return streamingForwarder != null && streamingForwarder.isRequestBodyTruncated();
+        } else {
+            return false;
+        }
+    }
+
+    private static HttpStreamingForwarder getStreamingForwarder(final ChannelHandlerContext ctx) {
+        if (ctx != null && ctx.channel() != null && ctx.channel().hasAttr(HttpStreamingForwarder.STREAMING_FORWARDER)) {
+            return ctx.channel().attr(HttpStreamingForwarder.STREAMING_FORWARDER).getAndSet(null);
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Streaming forwards connect directly to the remote address so they can't be used when requests must be forwarded via another proxy
+     */
+    public boolean isStreamingForwardEnabled() {
+        return configuration.forwardStreamingEnabled() && !hasProxyConfigurations;
+    }
+
     public static void setRemoteAddress(final ChannelHandlerContext ctx, final InetSocketAddress inetSocketAddress) {
         if (ctx != null && ctx.channel() != null) {
             ctx.channel().attr(REMOTE_SOCKET).set(inetSocketAddress);
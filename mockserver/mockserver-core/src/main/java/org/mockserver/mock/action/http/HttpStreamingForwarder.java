@@ -0,0 +1,39 @@
+package org.mockserver.mock.action.http;
+
+import io.netty.util.AttributeKey;
+import org.mockserver.model.HttpRequest;
+import org.mockserver.model.HttpResponse;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Forwards a request whose body is still being received, and streams the response back, without buffering either body in full
+ * <p>
+ * Set on the channel (see {@link #STREAMING_FORWARDER}) by the handler receiving the request, the request passed to
+ * {@link HttpActionHandler} only contains the first part of the body when the body is larger than the configured buffer size
+ *
+ * @author jamesdbloom
+ */
+public interface HttpStreamingForwarder {
+
+    AttributeKey<HttpStreamingForwarder> STREAMING_FORWARDER = AttributeKey.valueOf("STREAMING_FORWARDER");
+
+    /**
+     * Forwards the request (using the headers, method and path of the request provided and the full body received on the
+     * channel) and writes the response to the channel as it is received
+     *
+     * @param request                 the request to forward (any body is ignored)
+     * @param remoteAddress           the address to forward the request to
+     * @param connectionTimeoutMillis the connection timeout
+     * @return a future completed with the response, with any body truncated to the configured buffer size, once the response has been written
+     */
+    CompletableFuture<HttpResponse> forward(HttpRequest request, InetSocketAddress remoteAddress, long connectionTimeoutMillis);
+
+    /**
+     * @return true if the body of the request passed to {@link HttpActionHandler} was truncated, in which case the request
+     * can only be streamed to the remote server and must not be matched, acted on or recorded as an expectation
+     */
+    boolean isRequestBodyTruncated();
+
+}
@@ -0,0 +1,110 @@
+package org.mockserver.mock.action.http;
+
+import io.netty.handler.codec.http.DefaultHttpObject;
+import io.netty.handler.codec.http.FullHttpResponse;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.mappers.MockServerHttpResponseToFullHttpResponse;
+import org.mockserver.mock.Expectation;
+import org.mockserver.model.HttpResponse;
+
+import java.util.List;
+
+import static io.netty.handler.codec.http.HttpHeaderNames.CONNECTION;
+import static io.netty.handler.codec.http.HttpHeaderNames.CONTENT_LENGTH;
+import static io.netty.handler.codec.http.HttpHeaderValues.CLOSE;
+import static io.netty.handler.codec.http.HttpHeaderValues.KEEP_ALIVE;
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
+import static org.mockserver.model.Header.header;
+
+/**
+ * A static response (i.e. no delay, connection options, template or callback) encoded once when the expectation is
+ * created or updated, so each match writes a retained duplicate of the same netty response instead of cloning and
+ * re-encoding the status line, headers, cookies and body.
+ * <p>
+ * The encoded responses use unpooled heap buffers so they are reclaimed by the garbage collector once the expectation
+ * is removed or replaced.
+ *
+ * @author jamesdbloom
+ */
+public class PreEncodedHttpResponse {
+
+    private final HttpResponse httpResponse;
+    private final HttpResponse loggedHttpResponse;
+    private final FullHttpResponse keepAliveResponse;
+    private final FullHttpResponse closeResponse;
+
+    private PreEncodedHttpResponse(HttpResponse httpResponse, FullHttpResponse keepAliveResponse, FullHttpResponse closeResponse) {
+        this.httpResponse = httpResponse;
+        this.loggedHttpResponse = httpResponse.clone();
+        this.keepAliveResponse = keepAliveResponse;
+        this.closeResponse = closeResponse;
+    }
+
+    /**
+     * Returns the pre-encoded form of the expectation's response, or null if the expectation has no response or the
+     * response is not static, callers must check the matched action is {@link #getHttpResponse()} before using it
+     */
+    public static PreEncodedHttpResponse preEncode(Expectation expectation, MockServerLogger mockServerLogger) {
+        if (expectation == null || expectation.getHttpResponse() == null || (expectation.getHttpResponses() != null && !expectation.getHttpResponses().isEmpty())) {
+            return null;
+        }
+        HttpResponse httpResponse = expectation.getHttpResponse();
+        if (!isStatic(httpResponse)) {
+            return null;
+        }
+        MockServerHttpResponseToFullHttpResponse mapper = new MockServerHttpResponseToFullHttpResponse(mockServerLogger);
+        FullHttpResponse keepAliveResponse = encode(mapper, httpResponse.clone().replaceHeader(header(CONNECTION.toString(), KEEP_ALIVE.toString())));
+        FullHttpResponse closeResponse = encode(mapper, httpResponse.clone().replaceHeader(header(CONNECTION.toString(), CLOSE.toString())));
+        if (keepAliveResponse == null || closeResponse == null) {
+            return null;
+        }
+        return new PreEncodedHttpResponse(httpResponse, keepAliveResponse, closeResponse);
+    }
+
+    private static boolean isStatic(HttpResponse httpResponse) {
+        if (httpResponse.getDelay() != null || httpResponse.getConnectionOptions() != null || httpResponse.getStreamId() != null) {
+            return false;
+        }
+        String contentLengthHeader = httpResponse.getFirstHeader(CONTENT_LENGTH.toString());
+        if (isNotBlank(contentLengthHeader)) {
+            // a content-length smaller than the body is logged for every response by the general path
+            try {
+                return httpResponse.getBodyAsRawBytes().length <= Integer.parseInt(contentLengthHeader);
+            } catch (NumberFormatException nfe) {
+                return true;
+            }
+        }
+        return true;
+    }
+
+    private static FullHttpResponse encode(MockServerHttpResponseToFullHttpResponse mapper, HttpResponse httpResponse) {
+        List<DefaultHttpObject> httpObjects = mapper.mapMockServerResponseToNettyResponse(httpResponse);
+        if (httpObjects.size() == 1 && httpObjects.get(0) instanceof FullHttpResponse) {
+            return (FullHttpResponse) httpObjects.get(0);
+        }
+        return null;
+    }
+
+    /**
+     * The response the encoded form was created from, must not be modified
+     */
+    public HttpResponse getHttpResponse() {
+        return httpResponse;
+    }
+
+    /**
+     * A copy of the response, taken when it was encoded, to log for each match so the expectation's response is never
+     * shared with the event log
+     */
+    public HttpResponse getLoggedHttpResponse() {
+        return loggedHttpResponse;
+    }
+
+    /**
+     * Returns a duplicate, sharing the encoded body and with its own copy of the headers, that must be written (or
+     * released) by the caller
+     */
+    public FullHttpResponse retainedDuplicate(boolean keepAlive) {
+        return keepAlive ? keepAliveResponse.retainedDuplicate() : closeResponse.retainedDuplicate();
+    }
+}
@@ -1,12 +1,17 @@
 package org.mockserver.mock.listeners;
 
 import org.mockserver.log.MockServerEventLog;
+import org.mockserver.log.model.LogEntry;
 import org.mockserver.model.ObjectWithReflectiveEqualsHashCodeToString;
 import org.mockserver.scheduler.Scheduler;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 /**
  * @author jamesdbloom
@@ -15,22 +20,69 @@ public class MockServerEventLogNotifier extends ObjectWithReflectiveEqualsHashCo
 
     private boolean listenerAdded = false;
     private final List<MockServerLogListener> listeners = Collections.synchronizedList(new ArrayList<>());
+    private final List<Consumer<LogEntry>> logEntryListeners = new CopyOnWriteArrayList<>();
     private final Scheduler scheduler;
+    private final AtomicInteger addedSinceLastNotification = new AtomicInteger();
+    private final AtomicInteger evictedSinceLastNotification = new AtomicInteger();
+    private final AtomicBoolean notificationPending = new AtomicBoolean();
 
     public MockServerEventLogNotifier(Scheduler scheduler) {
         this.scheduler = scheduler;
     }
 
+    protected void entryAdded() {
+        addedSinceLastNotification.incrementAndGet();
+    }
+
+    protected void entryEvicted() {
+        evictedSinceLastNotification.incrementAndGet();
+    }
+
+    /**
+     * notifies listeners of the entries added and evicted since the last notification, asynchronous notifications
+     * are coalesced so at most one is queued and it reports every change made before it runs
+     */
     protected void notifyListeners(final MockServerEventLog notifier, boolean synchronous) {
         if (listenerAdded && !listeners.isEmpty()) {
-            scheduler.submit(() -> {
-                for (MockServerLogListener listener : listeners.toArray(new MockServerLogListener[0])) {
-                    listener.updated(notifier);
-                }
-            }, synchronous);
+            if (synchronous) {
+                scheduler.submit(() -> updateListeners(notifier), true);
+            } else if (notificationPending.compareAndSet(false, true)) {
+                scheduler.submit(() -> {
+                    notificationPending.set(false);
+                    updateListeners(notifier);
+                }, false);
+            }
+        } else {
+            addedSinceLastNotification.set(0);
+            evictedSinceLastNotification.set(0);
+        }
+    }
+
+    private void updateListeners(final MockServerEventLog notifier) {
+        int addedCount = addedSinceLastNotification.getAndSet(0);
+        int evictedCount = evictedSinceLastNotification.getAndSet(0);
+        for (MockServerLogListener listener : listeners.toArray(new MockServerLogListener[0])) {
+            listener.updated(notifier, addedCount, evictedCount);
         }
     }
 
+    /**
+     * called on the event log thread for each log entry as it is added, so log entry listeners must not block
+     */
+    protected void notifyLogEntryListeners(LogEntry logEntry) {
+        for (Consumer<LogEntry> logEntryListener : logEntryListeners) {
+            logEntryListener.accept(logEntry);
+        }
+    }
+
+    public void registerLogEntryListener(Consumer<LogEntry> logEntryListener) {
+        logEntryListeners.add(logEntryListener);
+    }
+
+    public void unregisterLogEntryListener(Consumer<LogEntry> logEntryListener) {
+        logEntryListeners.remove(logEntryListener);
+    }
+
     public void registerListener(MockServerLogListener listener) {
         listeners.add(listener);
         listenerAdded = true;
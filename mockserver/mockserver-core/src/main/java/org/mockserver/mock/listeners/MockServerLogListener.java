@@ -9,4 +9,12 @@ public interface MockServerLogListener {
 
     void updated(MockServerEventLog mockServerLog);
 
+    /**
+     * called once per batch of log entries with the number of entries added and evicted (or removed) since the
+     * previous notification, both counts are zero when entries have only been changed, such as being marked as deleted
+     */
+    default void updated(MockServerEventLog mockServerLog, int addedCount, int evictedCount) {
+        updated(mockServerLog);
+    }
+
 }
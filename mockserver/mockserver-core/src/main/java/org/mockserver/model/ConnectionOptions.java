@@ -1,10 +1,13 @@
 package org.mockserver.model;
 
+import java.util.Objects;
+
 /**
  * @author jamesdbloom
  */
 public class ConnectionOptions extends ObjectWithJsonToString {
 
+    private int hashCode;
     private Boolean suppressContentLengthHeader = null;
     private Integer contentLengthHeaderOverride = null;
     private Boolean suppressConnectionHeader = null;
@@ -25,6 +28,7 @@ public class ConnectionOptions extends ObjectWithJsonToString {
      */
     public ConnectionOptions withSuppressContentLengthHeader(Boolean suppressContentLengthHeader) {
         this.suppressContentLengthHeader = suppressContentLengthHeader;
+        this.hashCode = 0;
         return this;
     }
 
@@ -40,6 +44,7 @@ public class ConnectionOptions extends ObjectWithJsonToString {
      */
     public ConnectionOptions withContentLengthHeaderOverride(Integer contentLengthHeaderOverride) {
         this.contentLengthHeaderOverride = contentLengthHeaderOverride;
+        this.hashCode = 0;
         return this;
     }
 
@@ -54,6 +59,7 @@ public class ConnectionOptions extends ObjectWithJsonToString {
      */
     public ConnectionOptions withSuppressConnectionHeader(Boolean suppressConnectionHeader) {
         this.suppressConnectionHeader = suppressConnectionHeader;
+        this.hashCode = 0;
         return this;
     }
 
@@ -71,6 +77,7 @@ public class ConnectionOptions extends ObjectWithJsonToString {
      */
     public ConnectionOptions withChunkSize(Integer chunkSize) {
         this.chunkSize = chunkSize;
+        this.hashCode = 0;
         return this;
     }
 
@@ -87,6 +94,7 @@ public class ConnectionOptions extends ObjectWithJsonToString {
      */
     public ConnectionOptions withChunkDelay(Delay chunkDelay) {
         this.chunkDelay = chunkDelay;
+        this.hashCode = 0;
         return this;
     }
 
@@ -104,6 +112,7 @@ public class ConnectionOptions extends ObjectWithJsonToString {
      */
     public ConnectionOptions withKeepAliveOverride(Boolean keepAliveOverride) {
         this.keepAliveOverride = keepAliveOverride;
+        this.hashCode = 0;
         return this;
     }
 
@@ -121,6 +130,7 @@ public class ConnectionOptions extends ObjectWithJsonToString {
      */
     public ConnectionOptions withCloseSocket(Boolean closeSocket) {
         this.closeSocket = closeSocket;
+        this.hashCode = 0;
         return this;
     }
 
@@ -135,10 +145,41 @@ public class ConnectionOptions extends ObjectWithJsonToString {
      */
     public ConnectionOptions withCloseSocketDelay(Delay closeSocketDelay) {
         this.closeSocketDelay = closeSocketDelay;
+        this.hashCode = 0;
         return this;
     }
 
     public Delay getCloseSocketDelay() {
         return closeSocketDelay;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        if (hashCode() != o.hashCode()) {
+            return false;
+        }
+        ConnectionOptions that = (ConnectionOptions) o;
+        return Objects.equals(suppressContentLengthHeader, that.suppressContentLengthHeader) &&
+            Objects.equals(contentLengthHeaderOverride, that.contentLengthHeaderOverride) &&
+            Objects.equals(suppressConnectionHeader, that.suppressConnectionHeader) &&
+            Objects.equals(chunkSize, that.chunkSize) &&
+            Objects.equals(chunkDelay, that.chunkDelay) &&
+            Objects.equals(keepAliveOverride, that.keepAliveOverride) &&
+            Objects.equals(closeSocket, that.closeSocket) &&
+            Objects.equals(closeSocketDelay, that.closeSocketDelay);
+    }
+
+    @Override
+    public int hashCode() {
+        if (hashCode == 0) {
+            hashCode = Objects.hash(suppressContentLengthHeader, contentLengthHeaderOverride, suppressConnectionHeader, chunkSize, chunkDelay, keepAliveOverride, closeSocket, closeSocketDelay);
+        }
+        return hashCode;
+    }
 }
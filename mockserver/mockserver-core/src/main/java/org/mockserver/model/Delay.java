@@ -1,5 +1,6 @@
 package org.mockserver.model;
 
+import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -88,4 +89,24 @@ public class Delay extends ObjectWithReflectiveEqualsHashCodeToString {
             }
         }
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        Delay that = (Delay) o;
+        return value == that.value &&
+            timeUnit == that.timeUnit &&
+            Objects.equals(distribution, that.distribution);
+    }
+
+    @Override
+    public int hashCode() {
+        // not cached as the distribution is mutable
+        return Objects.hash(timeUnit, value, distribution);
+    }
 }
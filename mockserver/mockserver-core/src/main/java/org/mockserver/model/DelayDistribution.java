@@ -1,5 +1,6 @@
 package org.mockserver.model;
 
+import java.util.Objects;
 import java.util.concurrent.ThreadLocalRandom;
 
 public class DelayDistribution extends ObjectWithReflectiveEqualsHashCodeToString {
@@ -182,4 +183,27 @@ public class DelayDistribution extends ObjectWithReflectiveEqualsHashCodeToStrin
         this.stdDev = stdDev;
         return this;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        DelayDistribution that = (DelayDistribution) o;
+        return type == that.type &&
+            Objects.equals(min, that.min) &&
+            Objects.equals(max, that.max) &&
+            Objects.equals(median, that.median) &&
+            Objects.equals(p99, that.p99) &&
+            Objects.equals(mean, that.mean) &&
+            Objects.equals(stdDev, that.stdDev);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, min, max, median, p99, mean, stdDev);
+    }
 }
@@ -64,6 +64,7 @@ public class KeyToMultiValue extends ObjectWithJsonToString {
         if (this.values != values) {
             this.values.clear();
             this.values.addAll(values);
+            this.hashCode = null;
         }
     }
 
@@ -86,6 +87,7 @@ public class KeyToMultiValue extends ObjectWithJsonToString {
         if (this.values != null) {
             this.values.addAll(values);
         }
+        this.hashCode = null;
     }
 
     public void addValues(final String... values) {
@@ -12,6 +12,7 @@ import static org.mockserver.model.NottableString.string;
 public abstract class KeysAndValues<T extends KeyAndValue, K extends KeysAndValues> extends ObjectWithJsonToString {
 
     private final Map<NottableString, NottableString> map;
+    private int hashCode;
 
     protected KeysAndValues() {
         map = new LinkedHashMap<>();
@@ -24,6 +25,7 @@ public abstract class KeysAndValues<T extends KeyAndValue, K extends KeysAndValu
     public abstract T build(NottableString name, NottableString value);
 
     public K withEntries(List<T> entries) {
+        this.hashCode = 0;
         map.clear();
         if (entries != null) {
             for (T cookie : entries) {
@@ -42,17 +44,20 @@ public abstract class KeysAndValues<T extends KeyAndValue, K extends KeysAndValu
 
     public K withEntry(T entry) {
         if (entry != null) {
+            this.hashCode = 0;
             map.put(entry.getName(), entry.getValue());
         }
         return (K) this;
     }
 
     public K withEntry(String name, String value) {
+        this.hashCode = 0;
         map.put(string(name), string(value));
         return (K) this;
     }
 
     public K withEntry(NottableString name, NottableString value) {
+        this.hashCode = 0;
         map.put(name, value);
         return (K) this;
     }
@@ -60,6 +65,7 @@ public abstract class KeysAndValues<T extends KeyAndValue, K extends KeysAndValu
     public K replaceEntryIfExists(final T entry) {
         if (entry != null) {
             if (remove(entry.getName())) {
+                this.hashCode = 0;
                 map.put(entry.getName(), entry.getValue());
             }
         }
@@ -92,10 +98,34 @@ public abstract class KeysAndValues<T extends KeyAndValue, K extends KeysAndValu
 
     public boolean remove(String name) {
         if (isNotBlank(name)) {
+            this.hashCode = 0;
             return map.remove(string(name)) != null;
         }
         return false;
     }
 
     public abstract K clone();
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        if (hashCode() != o.hashCode()) {
+            return false;
+        }
+        KeysAndValues<?, ?> that = (KeysAndValues<?, ?>) o;
+        return Objects.equals(map, that.map);
+    }
+
+    @Override
+    public int hashCode() {
+        if (hashCode == 0) {
+            hashCode = Objects.hash(map);
+        }
+        return hashCode;
+    }
 }
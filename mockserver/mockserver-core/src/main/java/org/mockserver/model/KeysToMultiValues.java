@@ -2,6 +2,7 @@ package org.mockserver.model;
 
 import com.google.common.collect.LinkedListMultimap;
 import com.google.common.collect.Multimap;
+import com.google.common.collect.Multimaps;
 import org.apache.commons.lang3.ArrayUtils;
 
 import java.util.*;
@@ -17,20 +18,30 @@ public abstract class KeysToMultiValues<T extends KeyToMultiValue, K extends Key
     private KeyMatchStyle keyMatchStyle = KeyMatchStyle.SUB_SET;
 
     private final Multimap<NottableString, NottableString> multimap;
+    // returned instead of the backing multimap so it can only be changed by methods that reset the cached hash code
+    private final Multimap<NottableString, NottableString> unmodifiableMultimap;
     private final K k = (K) this;
+    private int hashCode;
 
     protected KeysToMultiValues() {
         multimap = LinkedListMultimap.create();
+        unmodifiableMultimap = Multimaps.unmodifiableMultimap(multimap);
     }
 
     protected KeysToMultiValues(Multimap<NottableString, NottableString> multimap) {
         this.multimap = LinkedListMultimap.create(multimap);
+        this.unmodifiableMultimap = Multimaps.unmodifiableMultimap(this.multimap);
     }
 
     public abstract T build(final NottableString name, final Collection<NottableString> values);
 
     protected abstract void isModified();
 
+    private void modified() {
+        this.hashCode = 0;
+        isModified();
+    }
+
     public KeyMatchStyle getKeyMatchStyle() {
         return keyMatchStyle;
     }
@@ -42,7 +53,7 @@ public abstract class KeysToMultiValues<T extends KeyToMultiValue, K extends Key
     }
 
     public K withEntries(final Map<String, List<String>> entries) {
-        isModified();
+        modified();
         multimap.clear();
         for (String name : entries.keySet()) {
             for (String value : entries.get(name)) {
@@ -53,7 +64,7 @@ public abstract class KeysToMultiValues<T extends KeyToMultiValue, K extends Key
     }
 
     public K withEntries(final List<T> entries) {
-        isModified();
+        modified();
         multimap.clear();
         if (entries != null) {
             for (T entry : entries) {
@@ -73,7 +84,7 @@ public abstract class KeysToMultiValues<T extends KeyToMultiValue, K extends Key
 
     public K withEntry(final T entry) {
         if (entry != null) {
-            isModified();
+            modified();
             if (entry.getValues().isEmpty()) {
                 multimap.put(entry.getName(), null);
             } else {
@@ -84,7 +95,7 @@ public abstract class KeysToMultiValues<T extends KeyToMultiValue, K extends Key
     }
 
     public K withEntry(final String name, final String... values) {
-        isModified();
+        modified();
         if (values == null || values.length == 0) {
             multimap.put(string(name), string(""));
         } else {
@@ -94,7 +105,7 @@ public abstract class KeysToMultiValues<T extends KeyToMultiValue, K extends Key
     }
 
     public K withEntry(final String name, final List<String> values) {
-        isModified();
+        modified();
         if (values == null || values.size() == 0) {
             multimap.put(string(name), null);
         } else {
@@ -105,7 +116,7 @@ public abstract class KeysToMultiValues<T extends KeyToMultiValue, K extends Key
 
     public K withEntry(final NottableString name, final List<NottableString> values) {
         if (values != null) {
-            isModified();
+            modified();
             multimap.putAll(name, values);
         }
         return k;
@@ -121,7 +132,7 @@ public abstract class KeysToMultiValues<T extends KeyToMultiValue, K extends Key
     public boolean remove(final String name) {
         boolean exists = false;
         if (name != null) {
-            isModified();
+            modified();
             for (NottableString key : multimap.keySet().toArray(new NottableString[0])) {
                 if (key.equalsIgnoreCase(name)) {
                     multimap.removeAll(key);
@@ -135,7 +146,7 @@ public abstract class KeysToMultiValues<T extends KeyToMultiValue, K extends Key
     public boolean remove(final NottableString name) {
         boolean exists = false;
         if (name != null) {
-            isModified();
+            modified();
             for (NottableString key : multimap.keySet().toArray(new NottableString[0])) {
                 if (key.equalsIgnoreCase(name)) {
                     multimap.removeAll(key);
@@ -149,7 +160,7 @@ public abstract class KeysToMultiValues<T extends KeyToMultiValue, K extends Key
     @SuppressWarnings("UnusedReturnValue")
     public K replaceEntry(final T entry) {
         if (entry != null) {
-            isModified();
+            modified();
             remove(entry.getName());
             multimap.putAll(entry.getName(), entry.getValues());
         }
@@ -159,7 +170,7 @@ public abstract class KeysToMultiValues<T extends KeyToMultiValue, K extends Key
     @SuppressWarnings("UnusedReturnValue")
     public K replaceEntryIfExists(final T entry) {
         if (entry != null) {
-            isModified();
+            modified();
             if (remove(entry.getName())) {
                 multimap.putAll(entry.getName(), entry.getValues());
             }
@@ -170,7 +181,7 @@ public abstract class KeysToMultiValues<T extends KeyToMultiValue, K extends Key
     @SuppressWarnings("UnusedReturnValue")
     public K replaceEntry(final String name, final String... values) {
         if (ArrayUtils.isNotEmpty(values)) {
-            isModified();
+            modified();
             remove(name);
             multimap.putAll(string(name), deserializeNottableStrings(values));
         }
@@ -190,15 +201,15 @@ public abstract class KeysToMultiValues<T extends KeyToMultiValue, K extends Key
     }
 
     public Set<NottableString> keySet() {
-        return multimap.keySet();
+        return unmodifiableMultimap.keySet();
     }
 
     public Collection<NottableString> getValues(NottableString key) {
-        return multimap.get(key);
+        return unmodifiableMultimap.get(key);
     }
 
     public Multimap<NottableString, NottableString> getMultimap() {
-        return multimap;
+        return unmodifiableMultimap;
     }
 
     public List<String> getValues(final String name) {
@@ -279,12 +290,18 @@ public abstract class KeysToMultiValues<T extends KeyToMultiValue, K extends Key
         if (!(o instanceof KeysToMultiValues)) {
             return false;
         }
+        if (hashCode() != o.hashCode()) {
+            return false;
+        }
         KeysToMultiValues<?, ?> that = (KeysToMultiValues<?, ?>) o;
         return Objects.equals(multimap, that.multimap);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(multimap);
+        if (hashCode == 0) {
+            hashCode = Objects.hash(multimap);
+        }
+        return hashCode;
     }
 }
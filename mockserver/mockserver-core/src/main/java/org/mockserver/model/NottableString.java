@@ -5,8 +5,6 @@ import com.google.common.base.Joiner;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.*;
-import java.util.regex.Pattern;
-import java.util.regex.PatternSyntaxException;
 
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 import static org.mockserver.model.NottableOptionalString.OPTIONAL_CHAR;
@@ -24,7 +22,7 @@ public class NottableString extends ObjectWithJsonToString implements Comparable
     private final Boolean not;
     private final int hashCode;
     private final String json;
-    private Pattern pattern;
+    private StringPattern stringPattern;
     private ParameterStyle parameterStyle;
     private String schemaType;
 
@@ -216,21 +214,26 @@ public class NottableString extends ObjectWithJsonToString implements Comparable
         return isBlank;
     }
 
-    private static final int MAX_REGEX_LENGTH = 8192;
-
     public boolean matches(String input) {
-        if (pattern == null) {
-            String regex = getValue();
-            if (regex != null && regex.length() > MAX_REGEX_LENGTH) {
-                return false;
-            }
-            try {
-                pattern = Pattern.compile(regex, Pattern.DOTALL | Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
-            } catch (PatternSyntaxException e) {
-                return false;
-            }
+        return stringPattern().matches(input);
+    }
+
+    /**
+     * Classifies (and if required compiles) this value as a regex now instead of on its first match, used when
+     * expectations are added so the first matching request doesn't pay for it
+     */
+    public NottableString precompile() {
+        if (!(this instanceof NottableSchemaString) && value != null) {
+            stringPattern();
+        }
+        return this;
+    }
+
+    private StringPattern stringPattern() {
+        if (stringPattern == null) {
+            stringPattern = StringPattern.compile(getValue());
         }
-        return pattern.matcher(input).matches();
+        return stringPattern;
     }
 
     @Override
@@ -26,6 +26,10 @@ public class ProxyPassMapping {
         return this;
     }
 
+    public boolean matches(String path) {
+        return path != null && pathPrefix != null && path.startsWith(pathPrefix);
+    }
+
     public String getTargetUri() {
         return targetUri;
     }
@@ -1,6 +1,9 @@
 package org.mockserver.model;
 
+import java.util.Objects;
+
 public class SocketAddress extends ObjectWithJsonToString {
+    private int hashCode;
     private String host;
     private Integer port = 80;
     private Scheme scheme = Scheme.HTTP;
@@ -23,6 +26,7 @@ public class SocketAddress extends ObjectWithJsonToString {
      */
     public SocketAddress withHost(String host) {
         this.host = host;
+        this.hashCode = 0;
         return this;
     }
 
@@ -37,6 +41,7 @@ public class SocketAddress extends ObjectWithJsonToString {
      */
     public SocketAddress withPort(Integer port) {
         this.port = port;
+        this.hashCode = 0;
         return this;
     }
 
@@ -51,9 +56,35 @@ public class SocketAddress extends ObjectWithJsonToString {
      */
     public SocketAddress withScheme(Scheme scheme) {
         this.scheme = scheme;
+        this.hashCode = 0;
         return this;
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        if (hashCode() != o.hashCode()) {
+            return false;
+        }
+        SocketAddress that = (SocketAddress) o;
+        return Objects.equals(host, that.host) &&
+            Objects.equals(port, that.port) &&
+            scheme == that.scheme;
+    }
+
+    @Override
+    public int hashCode() {
+        if (hashCode == 0) {
+            hashCode = Objects.hash(host, port, scheme);
+        }
+        return hashCode;
+    }
+
     public enum Scheme {
         HTTP,
         HTTPS
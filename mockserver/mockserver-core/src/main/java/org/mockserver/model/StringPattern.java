@@ -0,0 +1,229 @@
+package org.mockserver.model;
+
+import org.mockserver.cache.LRUCache;
+import org.mockserver.logging.MockServerLogger;
+
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import static java.util.concurrent.TimeUnit.HOURS;
+import static org.mockserver.configuration.Configuration.configuration;
+
+/**
+ * A value used as a case insensitive, dot all, regex classified once so the common forms are matched without a
+ * regex engine:
+ * <ul>
+ * <li>{@link Type#LITERAL} ascii without letters or regex meta characters, matched with equals</li>
+ * <li>{@link Type#CASE_INSENSITIVE_LITERAL} ascii with letters but without regex meta characters, matched with equalsIgnoreCase</li>
+ * <li>{@link Type#PREFIX} a literal followed by .*, matched with a case insensitive startsWith</li>
+ * <li>{@link Type#REGEX} any other valid regex, matched with a compiled {@link Pattern}</li>
+ * <li>{@link Type#INVALID} a value that isn't a valid regex (or is too long), which never matches</li>
+ * </ul>
+ * Input containing non-ascii characters, which unicode case folding can match against ascii letters, is always
+ * matched by the compiled {@link Pattern} so every type gives exactly the same result as the regex.
+ * <p>
+ * Classified values are interned in a shared cache so equal values (i.e. in different expectations or in repeated
+ * control plane requests) are classified and compiled once.
+ *
+ * @author jamesdbloom
+ */
+public abstract class StringPattern {
+
+    public enum Type {
+        LITERAL,
+        CASE_INSENSITIVE_LITERAL,
+        PREFIX,
+        REGEX,
+        INVALID
+    }
+
+    private static final int MAX_REGEX_LENGTH = 8192;
+    private static final String REGEX_META_CHARACTERS = "\\^$.|?*+()[]{}";
+    private static final String MATCH_ANYTHING = ".*";
+    private static final LRUCache<String, StringPattern> STRING_PATTERN_CACHE = new LRUCache<>(configuration(), new MockServerLogger(StringPattern.class), "string_pattern", 2500, HOURS.toMillis(1));
+
+    final String regex;
+    private Pattern pattern;
+
+    private StringPattern(String regex) {
+        this.regex = regex;
+    }
+
+    public static StringPattern compile(String regex) {
+        StringPattern stringPattern = STRING_PATTERN_CACHE.get(regex);
+        if (stringPattern == null) {
+            stringPattern = classify(regex);
+            STRING_PATTERN_CACHE.put(regex, stringPattern);
+        }
+        return stringPattern;
+    }
+
+    private static StringPattern classify(String regex) {
+        if (regex.length() > MAX_REGEX_LENGTH) {
+            return new Invalid(regex);
+        } else if (isLiteral(regex)) {
+            return hasLetters(regex) ? new CaseInsensitiveLiteral(regex) : new Literal(regex);
+        } else if (regex.endsWith(MATCH_ANYTHING) && isLiteral(regex.substring(0, regex.length() - MATCH_ANYTHING.length()))) {
+            return new Prefix(regex, regex.substring(0, regex.length() - MATCH_ANYTHING.length()));
+        } else {
+            try {
+                return new Regex(regex, compilePattern(regex));
+            } catch (PatternSyntaxException pse) {
+                return new Invalid(regex);
+            }
+        }
+    }
+
+    private static boolean isLiteral(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char character = value.charAt(i);
+            if (character > 127 || REGEX_META_CHARACTERS.indexOf(character) >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasLetters(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char character = value.charAt(i);
+            if ((character >= 'a' && character <= 'z') || (character >= 'A' && character <= 'Z')) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isAscii(String value, int length) {
+        for (int i = 0; i < length; i++) {
+            if (value.charAt(i) > 127) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Pattern compilePattern(String regex) {
+        return Pattern.compile(regex, Pattern.DOTALL | Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+    }
+
+    boolean matchesPattern(String input) {
+        if (pattern == null) {
+            pattern = compilePattern(regex);
+        }
+        return pattern.matcher(input).matches();
+    }
+
+    public abstract Type getType();
+
+    public abstract boolean matches(String input);
+
+    @Override
+    public String toString() {
+        return getType() + " " + regex;
+    }
+
+    private static class Literal extends StringPattern {
+
+        private Literal(String regex) {
+            super(regex);
+        }
+
+        @Override
+        public Type getType() {
+            return Type.LITERAL;
+        }
+
+        @Override
+        public boolean matches(String input) {
+            return regex.equals(input);
+        }
+    }
+
+    private static class CaseInsensitiveLiteral extends StringPattern {
+
+        private CaseInsensitiveLiteral(String regex) {
+            super(regex);
+        }
+
+        @Override
+        public Type getType() {
+            return Type.CASE_INSENSITIVE_LITERAL;
+        }
+
+        @Override
+        public boolean matches(String input) {
+            // each ascii character only ever matches a single (non-surrogate) character
+            if (input == null || input.length() != regex.length()) {
+                return false;
+            } else if (isAscii(input, input.length())) {
+                return regex.equalsIgnoreCase(input);
+            } else {
+                return matchesPattern(input);
+            }
+        }
+    }
+
+    private static class Prefix extends StringPattern {
+
+        private final String prefix;
+
+        private Prefix(String regex, String prefix) {
+            super(regex);
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Type getType() {
+            return Type.PREFIX;
+        }
+
+        @Override
+        public boolean matches(String input) {
+            if (input == null || input.length() < prefix.length()) {
+                return false;
+            } else if (isAscii(input, prefix.length())) {
+                return input.regionMatches(true, 0, prefix, 0, prefix.length());
+            } else {
+                return matchesPattern(input);
+            }
+        }
+    }
+
+    private static class Regex extends StringPattern {
+
+        private final Pattern pattern;
+
+        private Regex(String regex, Pattern pattern) {
+            super(regex);
+            this.pattern = pattern;
+        }
+
+        @Override
+        public Type getType() {
+            return Type.REGEX;
+        }
+
+        @Override
+        public boolean matches(String input) {
+            return pattern.matcher(input).matches();
+        }
+    }
+
+    private static class Invalid extends StringPattern {
+
+        private Invalid(String regex) {
+            super(regex);
+        }
+
+        @Override
+        public Type getType() {
+            return Type.INVALID;
+        }
+
+        @Override
+        public boolean matches(String input) {
+            return false;
+        }
+    }
+}
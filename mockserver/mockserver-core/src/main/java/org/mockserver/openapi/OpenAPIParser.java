@@ -1,6 +1,7 @@
 package org.mockserver.openapi;
 
 import com.google.common.base.Joiner;
+import com.google.common.hash.Hashing;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.Operation;
 import io.swagger.v3.oas.models.PathItem;
@@ -20,18 +21,30 @@ import java.util.Objects;
 import java.util.stream.Collectors;
 
 import static io.swagger.v3.parser.OpenAPIV3Parser.getExtensions;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.concurrent.TimeUnit.MINUTES;
 import static org.apache.commons.lang3.StringUtils.isBlank;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
+import static org.mockserver.configuration.Configuration.configuration;
 
 public class OpenAPIParser {
 
-    private final static LRUCache<String, OpenAPI> openAPILRUCache = new LRUCache<>(new MockServerLogger(), 250, MINUTES.toMillis(30));
+    private final static LRUCache<String, OpenAPI> openAPILRUCache = new LRUCache<>(configuration(), new MockServerLogger(), "openapi", 250, MINUTES.toMillis(30));
 
     public static final String OPEN_API_LOAD_ERROR = "Unable to load API spec";
 
     public static void clearCache(String specUrlOrPayload) {
-        openAPILRUCache.delete(specUrlOrPayload);
+        openAPILRUCache.delete(cacheKey(specUrlOrPayload));
+    }
+
+    /**
+     * Spec urls are cached by value while payloads, which can be megabytes, are cached by a digest of their content
+     */
+    private static String cacheKey(String specUrlOrPayload) {
+        if (specUrlOrPayload == null || isSpecUrl(specUrlOrPayload)) {
+            return specUrlOrPayload;
+        }
+        return "sha256:" + Hashing.sha256().hashString(specUrlOrPayload, UTF_8);
     }
 
     /**
@@ -46,7 +59,8 @@ public class OpenAPIParser {
     }
 
     public static OpenAPI buildOpenAPI(String specUrlOrPayload, MockServerLogger mockServerLogger) {
-        OpenAPI openAPI = openAPILRUCache.get(specUrlOrPayload);
+        String cacheKey = cacheKey(specUrlOrPayload);
+        OpenAPI openAPI = openAPILRUCache.get(cacheKey);
         if (openAPI == null) {
             SwaggerParseResult swaggerParseResult = null;
             List<AuthorizationValue> auths = null;
@@ -91,7 +105,7 @@ public class OpenAPIParser {
                 }
             }
             addMissingOperationIds(openAPI);
-            openAPILRUCache.put(specUrlOrPayload, openAPI);
+            openAPILRUCache.put(cacheKey, openAPI);
         }
         return openAPI;
     }
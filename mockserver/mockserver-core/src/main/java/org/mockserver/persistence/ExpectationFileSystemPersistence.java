@@ -1,6 +1,9 @@
 package org.mockserver.persistence;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import org.mockserver.configuration.Configuration;
 import org.mockserver.file.FilePath;
 import org.mockserver.log.model.LogEntry;
@@ -9,6 +12,7 @@ import org.mockserver.mock.Expectation;
 import org.mockserver.mock.RequestMatchers;
 import org.mockserver.mock.listeners.MockServerMatcherListener;
 import org.mockserver.mock.listeners.MockServerMatcherNotifier;
+import org.mockserver.scheduler.Scheduler;
 import org.mockserver.serialization.model.ExpectationDTO;
 import org.mockserver.serialization.serializers.response.TimeToLiveDTOPersistenceSerializer;
 import org.slf4j.event.Level;
@@ -17,12 +21,13 @@ import java.io.FileOutputStream;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.channels.FileLock;
-import java.nio.file.FileAlreadyExistsException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.util.Arrays;
-import java.util.List;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.ReentrantLock;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -31,6 +36,9 @@ import static org.slf4j.event.Level.*;
 
 public class ExpectationFileSystemPersistence implements MockServerMatcherListener {
 
+    private static final long JOURNAL_FLUSH_DELAY_MILLIS = 50;
+    private static final String JOURNAL_ADD = "ADD";
+    private static final String JOURNAL_REMOVE = "REMOVE";
     private final Configuration configuration;
     private final MockServerLogger mockServerLogger;
     private final RequestMatchers requestMatchers;
@@ -38,6 +46,16 @@ public class ExpectationFileSystemPersistence implements MockServerMatcherListen
     private final Path filePath;
     private final boolean initializationPathMatchesPersistencePath;
     private final ReentrantLock fileWriteLock = new ReentrantLock();
+    private final boolean journalEnabled;
+    private final Path journalPath;
+    private final ObjectWriter journalObjectWriter;
+    private final ScheduledExecutorService journalExecutor;
+    private final AtomicBoolean journalFlushScheduled = new AtomicBoolean(false);
+    // expectations as last written to the snapshot or journal, an id mapped to null is in the snapshot but was not written by this instance
+    private Map<String, JournalledExpectation> journalledExpectations = new LinkedHashMap<>();
+    private int journalRecords;
+    // a failed append may have left a partial record which would hide any later records when the journal is replayed
+    private boolean journalAppendFailed;
 
     public ExpectationFileSystemPersistence(Configuration configuration, MockServerLogger mockServerLogger, RequestMatchers requestMatchers) {
         this.configuration = configuration;
@@ -58,6 +76,21 @@ public class ExpectationFileSystemPersistence implements MockServerMatcherListen
                 );
             }
             this.initializationPathMatchesPersistencePath = FilePath.expandFilePathGlobs(configuration.initializationJsonPath()).contains(configuration.persistedExpectationsPath());
+            this.journalEnabled = configuration.persistExpectationsJournal();
+            if (journalEnabled) {
+                this.journalPath = Paths.get(configuration.persistedExpectationsPath() + ".journal");
+                this.journalObjectWriter = createObjectMapper(false, false, new TimeToLiveDTOPersistenceSerializer());
+                this.journalExecutor = new ScheduledThreadPoolExecutor(
+                    1,
+                    new Scheduler.SchedulerThreadFactory("ExpectationJournal"),
+                    new ThreadPoolExecutor.CallerRunsPolicy()
+                );
+                recoverJournal();
+            } else {
+                this.journalPath = null;
+                this.journalObjectWriter = null;
+                this.journalExecutor = null;
+            }
             requestMatchers.registerListener(this);
             if (mockServerLogger != null && mockServerLogger.isEnabledForInstance(INFO)) {
                 mockServerLogger.logEvent(
@@ -73,6 +106,10 @@ public class ExpectationFileSystemPersistence implements MockServerMatcherListen
             this.objectWriter = null;
             this.filePath = null;
             this.initializationPathMatchesPersistencePath = true;
+            this.journalEnabled = false;
+            this.journalPath = null;
+            this.journalObjectWriter = null;
+            this.journalExecutor = null;
         }
     }
 
@@ -80,6 +117,13 @@ public class ExpectationFileSystemPersistence implements MockServerMatcherListen
     public void updated(RequestMatchers requestMatchers, MockServerMatcherNotifier.Cause cause) {
         // ignore non-API changes from the same file
         if (cause == MockServerMatcherNotifier.Cause.API || cause.getType() == MockServerMatcherNotifier.Cause.Type.CLASS_INITIALISER || !initializationPathMatchesPersistencePath) {
+            if (journalEnabled) {
+                // coalesce bursts of changes into a single journal write
+                if (journalFlushScheduled.compareAndSet(false, true)) {
+                    journalExecutor.schedule(this::flushJournal, JOURNAL_FLUSH_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+                }
+                return;
+            }
             fileWriteLock.lock();
             try {
                 try {
@@ -128,6 +172,195 @@ public class ExpectationFileSystemPersistence implements MockServerMatcherListen
         }
     }
 
+    private void recoverJournal() {
+        fileWriteLock.lock();
+        try {
+            ObjectMapper objectMapper = createObjectMapper();
+            Map<String, JsonNode> expectations = new LinkedHashMap<>();
+            byte[] snapshot = Files.readAllBytes(filePath);
+            if (snapshot.length > 0) {
+                JsonNode snapshotNode = objectMapper.readTree(snapshot);
+                if (snapshotNode != null && snapshotNode.isArray()) {
+                    for (JsonNode expectation : snapshotNode) {
+                        expectations.put(expectation.hasNonNull("id") ? expectation.get("id").asText() : UUID.randomUUID().toString(), expectation);
+                    }
+                }
+            }
+            int replayedRecords = 0;
+            if (Files.exists(journalPath)) {
+                for (String line : Files.readAllLines(journalPath, UTF_8)) {
+                    if (line.trim().isEmpty()) {
+                        continue;
+                    }
+                    JsonNode record;
+                    try {
+                        record = objectMapper.readTree(line);
+                    } catch (Throwable throwable) {
+                        // a partially written trailing record from an interrupted flush
+                        mockServerLogger.logEvent(
+                            new LogEntry()
+                                .setLogLevel(WARN)
+                                .setMessageFormat("ignoring incomplete record in expectation journal{}")
+                                .setArguments(journalPath.toString())
+                                .setThrowable(throwable)
+                        );
+                        break;
+                    }
+                    if (JOURNAL_ADD.equals(record.path("type").asText())) {
+                        expectations.put(record.path("id").asText(), record.get("expectation"));
+                    } else if (JOURNAL_REMOVE.equals(record.path("type").asText())) {
+                        expectations.remove(record.path("id").asText());
+                    }
+                    replayedRecords++;
+                }
+            }
+            if (replayedRecords > 0) {
+                ArrayNode arrayNode = objectMapper.createArrayNode();
+                expectations.values().forEach(arrayNode::add);
+                writeSnapshot(arrayNode.size() > 0 ? objectWriter.writeValueAsString(arrayNode) : "[]");
+                if (mockServerLogger.isEnabledForInstance(INFO)) {
+                    mockServerLogger.logEvent(
+                        new LogEntry()
+                            .setLogLevel(INFO)
+                            .setMessageFormat("replayed{}records from expectation journal{}into{}")
+                            .setArguments(replayedRecords, journalPath.toString(), configuration.persistedExpectationsPath())
+                    );
+                }
+            }
+            Files.write(journalPath, new byte[0], StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            for (String id : expectations.keySet()) {
+                journalledExpectations.put(id, null);
+            }
+        } catch (Throwable throwable) {
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setLogLevel(Level.ERROR)
+                    .setMessageFormat("exception while recovering expectation journal " + journalPath)
+                    .setThrowable(throwable)
+            );
+        } finally {
+            fileWriteLock.unlock();
+        }
+    }
+
+    private void flushJournal() {
+        journalFlushScheduled.set(false);
+        fileWriteLock.lock();
+        try {
+            List<Expectation> expectations = requestMatchers.retrieveActiveExpectations(null);
+            Map<String, JournalledExpectation> current = new LinkedHashMap<>();
+            StringBuilder records = new StringBuilder();
+            int recordCount = 0;
+            for (Expectation expectation : expectations) {
+                JournalledExpectation journalledExpectation = new JournalledExpectation(expectation);
+                current.put(expectation.getId(), journalledExpectation);
+                // only serialise expectations that were added, replaced or had their remaining times decremented
+                if (!journalledExpectation.equals(journalledExpectations.get(expectation.getId()))) {
+                    records
+                        .append("{\"type\":\"" + JOURNAL_ADD + "\",\"id\":")
+                        .append(journalObjectWriter.writeValueAsString(expectation.getId()))
+                        .append(",\"expectation\":")
+                        .append(journalObjectWriter.writeValueAsString(new ExpectationDTO(expectation)))
+                        .append("}\n");
+                    recordCount++;
+                }
+            }
+            for (String id : journalledExpectations.keySet()) {
+                if (!current.containsKey(id)) {
+                    records
+                        .append("{\"type\":\"" + JOURNAL_REMOVE + "\",\"id\":")
+                        .append(journalObjectWriter.writeValueAsString(id))
+                        .append("}\n");
+                    recordCount++;
+                }
+            }
+            if (journalAppendFailed) {
+                // replace the snapshot and journal instead of appending after a record that may be incomplete
+                compactJournal(expectations);
+                journalledExpectations = current;
+                journalAppendFailed = false;
+            } else if (recordCount > 0) {
+                if (mockServerLogger.isEnabledForInstance(DEBUG)) {
+                    mockServerLogger.logEvent(
+                        new LogEntry()
+                            .setLogLevel(DEBUG)
+                            .setMessageFormat("appending{}records to expectation journal{}")
+                            .setArguments(recordCount, journalPath.toString())
+                    );
+                }
+                journalAppendFailed = true;
+                try (
+                    FileChannel fileChannel = FileChannel.open(journalPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                    FileLock fileLock = fileChannel.lock()
+                ) {
+                    if (fileLock == null) {
+                        // nothing was written so the same changes are found by the next flush
+                        journalAppendFailed = false;
+                        return;
+                    }
+                    ByteBuffer buffer = ByteBuffer.wrap(records.toString().getBytes(UTF_8));
+                    while (buffer.hasRemaining()) {
+                        fileChannel.write(buffer);
+                    }
+                    fileChannel.force(false);
+                }
+                journalAppendFailed = false;
+                journalledExpectations = current;
+                journalRecords += recordCount;
+                if (journalRecords >= configuration.persistedExpectationsJournalCompactionThreshold()) {
+                    compactJournal(expectations);
+                }
+            }
+        } catch (Throwable throwable) {
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setLogLevel(Level.ERROR)
+                    .setMessageFormat("exception while appending to expectation journal " + journalPath)
+                    .setThrowable(throwable)
+            );
+        } finally {
+            fileWriteLock.unlock();
+        }
+    }
+
+    private void compactJournal(List<Expectation> expectations) throws Exception {
+        if (mockServerLogger.isEnabledForInstance(DEBUG)) {
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setLogLevel(DEBUG)
+                    .setMessageFormat("compacting{}records from expectation journal{}into{}")
+                    .setArguments(journalRecords, journalPath.toString(), configuration.persistedExpectationsPath())
+            );
+        }
+        // replaying the journal over the new snapshot is idempotent so a failure between these two steps is recoverable
+        writeSnapshot(serialize(expectations));
+        try (FileChannel fileChannel = FileChannel.open(journalPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            fileChannel.force(false);
+        }
+        journalRecords = 0;
+    }
+
+    private void writeSnapshot(String json) throws Exception {
+        Path parent = filePath.toAbsolutePath().getParent();
+        Path temporaryFile = Files.createTempFile(parent, filePath.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel fileChannel = FileChannel.open(temporaryFile, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.wrap(json.getBytes(UTF_8));
+                while (buffer.hasRemaining()) {
+                    fileChannel.write(buffer);
+                }
+                fileChannel.force(false);
+            }
+            try {
+                Files.move(temporaryFile, filePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException amnse) {
+                Files.move(temporaryFile, filePath, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
     public String serialize(List<Expectation> expectations) {
         return serialize(expectations.toArray(new Expectation[0]));
     }
@@ -158,5 +391,61 @@ public class ExpectationFileSystemPersistence implements MockServerMatcherListen
         if (requestMatchers != null) {
             requestMatchers.unregisterListener(this);
         }
+        if (journalExecutor != null) {
+            journalExecutor.shutdown();
+            try {
+                journalExecutor.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ignore) {
+                Thread.currentThread().interrupt();
+            }
+            // write any pending changes and leave the file in the standard json format
+            fileWriteLock.lock();
+            try {
+                flushJournal();
+                if (journalRecords > 0) {
+                    compactJournal(requestMatchers.retrieveActiveExpectations(null));
+                }
+            } catch (Throwable throwable) {
+                mockServerLogger.logEvent(
+                    new LogEntry()
+                        .setLogLevel(Level.ERROR)
+                        .setMessageFormat("exception while compacting expectation journal " + journalPath)
+                        .setThrowable(throwable)
+                );
+            } finally {
+                fileWriteLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * An expectation, as last written to the journal, updates replace the expectation so the only change made in place
+     * is the remaining times being decremented when the expectation is matched
+     */
+    private static class JournalledExpectation {
+        private final Expectation expectation;
+        private final int remainingTimes;
+
+        private JournalledExpectation(Expectation expectation) {
+            this.expectation = expectation;
+            this.remainingTimes = expectation.getTimes() != null ? expectation.getTimes().getRemainingTimes() : 0;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof JournalledExpectation)) {
+                return false;
+            }
+            JournalledExpectation that = (JournalledExpectation) o;
+            return expectation == that.expectation && remainingTimes == that.remainingTimes;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(expectation), remainingTimes);
+        }
     }
 }
@@ -6,12 +6,11 @@ import org.mockserver.log.MockServerEventLog;
 import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.mock.Expectation;
-import org.mockserver.mock.listeners.MockServerLogListener;
+import org.mockserver.scheduler.Scheduler;
 import org.mockserver.serialization.model.ExpectationDTO;
 import org.mockserver.serialization.serializers.response.TimeToLiveDTOPersistenceSerializer;
 import org.slf4j.event.Level;
 
-import java.io.FileOutputStream;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.channels.FileLock;
@@ -19,24 +18,38 @@ import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.TimeUnit;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.mockserver.log.model.LogEntry.LogMessageType.FORWARDED_REQUEST;
 import static org.mockserver.serialization.ObjectMapperFactory.createObjectMapper;
 import static org.slf4j.event.Level.*;
 
-public class RecordedExpectationFileSystemPersistence implements MockServerLogListener {
+public class RecordedExpectationFileSystemPersistence {
 
+    private static final String ARRAY_END = " ]";
     private final Configuration configuration;
     private final MockServerLogger mockServerLogger;
     private final MockServerEventLog mockServerEventLog;
     private final ObjectWriter objectWriter;
     private final Path filePath;
     private final ReentrantLock fileWriteLock = new ReentrantLock();
+    private final Queue<Expectation> pendingExpectations = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicBoolean batchFlushScheduled = new AtomicBoolean(false);
+    private final Consumer<LogEntry> logEntryListener = this::logEntryAdded;
+    private final ScheduledExecutorService flushExecutor;
+    private final int flushBatchSize;
+    private int persistedCount;
 
     public RecordedExpectationFileSystemPersistence(Configuration configuration, MockServerLogger mockServerLogger, MockServerEventLog mockServerEventLog) {
         this.configuration = configuration;
@@ -45,6 +58,7 @@ public class RecordedExpectationFileSystemPersistence implements MockServerLogLi
             this.mockServerEventLog = mockServerEventLog;
             this.objectWriter = createObjectMapper(true, false, new TimeToLiveDTOPersistenceSerializer());
             this.filePath = Paths.get(configuration.persistedRecordedExpectationsPath());
+            this.flushBatchSize = Math.max(1, configuration.persistedRecordedExpectationsFlushBatchSize());
             try {
                 Files.createFile(filePath);
             } catch (FileAlreadyExistsException ignore) {
@@ -56,7 +70,14 @@ public class RecordedExpectationFileSystemPersistence implements MockServerLogLi
                         .setThrowable(throwable)
                 );
             }
-            mockServerEventLog.registerListener(this);
+            long flushInterval = Math.max(1, configuration.persistedRecordedExpectationsFlushInterval());
+            this.flushExecutor = new ScheduledThreadPoolExecutor(
+                1,
+                new Scheduler.SchedulerThreadFactory("RecordedExpectationPersistence"),
+                new ThreadPoolExecutor.CallerRunsPolicy()
+            );
+            this.flushExecutor.scheduleWithFixedDelay(this::flush, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+            mockServerEventLog.registerLogEntryListener(logEntryListener);
             if (mockServerLogger != null && mockServerLogger.isEnabledForInstance(INFO)) {
                 mockServerLogger.logEvent(
                     new LogEntry()
@@ -70,76 +91,113 @@ public class RecordedExpectationFileSystemPersistence implements MockServerLogLi
             this.mockServerEventLog = null;
             this.objectWriter = null;
             this.filePath = null;
+            this.flushBatchSize = 0;
+            this.flushExecutor = null;
         }
     }
 
-    @Override
-    public void updated(MockServerEventLog mockServerLog) {
-        if (mockServerEventLog == null) {
-            return;
+    private void logEntryAdded(LogEntry logEntry) {
+        // called on the event log thread so only queue the expectation, serialisation and file writes happen on the flush thread
+        if (logEntry.getType() == FORWARDED_REQUEST && logEntry.getExpectation() != null) {
+            pendingExpectations.offer(logEntry.getExpectation());
+            if (pendingCount.incrementAndGet() >= flushBatchSize && batchFlushScheduled.compareAndSet(false, true)) {
+                flushExecutor.execute(() -> {
+                    batchFlushScheduled.set(false);
+                    flush();
+                });
+            }
         }
-        CompletableFuture<List<Expectation>> future = new CompletableFuture<>();
-        mockServerLog.retrieveRecordedExpectations(null, future::complete);
+    }
+
+    private void flush() {
+        fileWriteLock.lock();
         try {
-            List<Expectation> expectations = future.get(30, TimeUnit.SECONDS);
-            writeToFile(expectations);
-        } catch (Exception e) {
+            List<Expectation> expectations = new ArrayList<>();
+            Expectation expectation;
+            while ((expectation = pendingExpectations.poll()) != null) {
+                expectations.add(expectation);
+            }
+            pendingCount.addAndGet(-expectations.size());
+            if (!expectations.isEmpty()) {
+                appendToFile(expectations);
+            }
+        } catch (Throwable throwable) {
             if (mockServerLogger != null) {
                 mockServerLogger.logEvent(
                     new LogEntry()
                         .setLogLevel(Level.ERROR)
-                        .setMessageFormat("exception while retrieving recorded expectations for persistence")
-                        .setThrowable(e)
+                        .setMessageFormat("exception while persisting recorded expectations to " + filePath.toString())
+                        .setThrowable(throwable)
                 );
             }
+        } finally {
+            fileWriteLock.unlock();
         }
     }
 
-    private void writeToFile(List<Expectation> expectations) {
-        fileWriteLock.lock();
-        try {
-            try (
-                FileOutputStream fileOutputStream = new FileOutputStream(filePath.toFile());
-                FileChannel fileChannel = fileOutputStream.getChannel();
-                FileLock fileLock = fileChannel.lock()
-            ) {
-                if (fileLock != null) {
-                    if (mockServerLogger != null && mockServerLogger.isEnabledForInstance(TRACE)) {
-                        mockServerLogger.logEvent(
-                            new LogEntry()
-                                .setLogLevel(TRACE)
-                                .setMessageFormat("persisting recorded expectations{}to{}")
-                                .setArguments(expectations, configuration.persistedRecordedExpectationsPath())
-                        );
-                    } else if (mockServerLogger != null && mockServerLogger.isEnabledForInstance(DEBUG)) {
+    private void appendToFile(List<Expectation> expectations) throws Exception {
+        if (mockServerLogger != null && mockServerLogger.isEnabledForInstance(TRACE)) {
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setLogLevel(TRACE)
+                    .setMessageFormat("persisting recorded expectations{}to{}")
+                    .setArguments(expectations, configuration.persistedRecordedExpectationsPath())
+            );
+        } else if (mockServerLogger != null && mockServerLogger.isEnabledForInstance(DEBUG)) {
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setLogLevel(DEBUG)
+                    .setMessageFormat("persisting{}recorded expectations to{}")
+                    .setArguments(expectations.size(), configuration.persistedRecordedExpectationsPath())
+            );
+        }
+        String json = serialize(expectations);
+        try (
+            FileChannel fileChannel = FileChannel.open(filePath, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            FileLock fileLock = fileChannel.lock()
+        ) {
+            if (fileLock != null) {
+                if (persistedCount > 0 && endsWithArrayEnd(fileChannel)) {
+                    // splice the new elements into the existing array by overwriting its closing bracket
+                    long arrayEnd = fileChannel.size() - ARRAY_END.length();
+                    fileChannel.truncate(arrayEnd);
+                    fileChannel.position(arrayEnd);
+                    json = ", " + json.substring(2);
+                } else {
+                    if (persistedCount > 0 && mockServerLogger != null) {
                         mockServerLogger.logEvent(
                             new LogEntry()
-                                .setLogLevel(DEBUG)
-                                .setMessageFormat("persisting recorded expectations to{}")
+                                .setLogLevel(WARN)
+                                .setMessageFormat("rewriting persisted recorded expectations{}as it was deleted or modified since it was last written")
                                 .setArguments(configuration.persistedRecordedExpectationsPath())
                         );
                     }
-                    byte[] data = serialize(expectations).getBytes(UTF_8);
-                    ByteBuffer buffer = ByteBuffer.wrap(data);
-                    buffer.put(data);
-                    buffer.rewind();
-                    while (buffer.hasRemaining()) {
-                        fileChannel.write(buffer);
-                    }
+                    // the first write replaces any file left by a previous run
+                    fileChannel.truncate(0);
+                    fileChannel.position(0);
+                }
+                ByteBuffer buffer = ByteBuffer.wrap(json.getBytes(UTF_8));
+                while (buffer.hasRemaining()) {
+                    fileChannel.write(buffer);
                 }
             }
-        } catch (Throwable throwable) {
-            if (mockServerLogger != null) {
-                mockServerLogger.logEvent(
-                    new LogEntry()
-                        .setLogLevel(Level.ERROR)
-                        .setMessageFormat("exception while persisting recorded expectations to " + filePath.toString())
-                        .setThrowable(throwable)
-                );
+        }
+        persistedCount += expectations.size();
+    }
+
+    private static boolean endsWithArrayEnd(FileChannel fileChannel) throws Exception {
+        byte[] arrayEnd = ARRAY_END.getBytes(UTF_8);
+        long position = fileChannel.size() - arrayEnd.length;
+        if (position < 0) {
+            return false;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(arrayEnd.length);
+        while (buffer.hasRemaining()) {
+            if (fileChannel.read(buffer, position + buffer.position()) < 0) {
+                return false;
             }
-        } finally {
-            fileWriteLock.unlock();
         }
+        return Arrays.equals(buffer.array(), arrayEnd);
     }
 
     public String serialize(List<Expectation> expectations) {
@@ -172,7 +230,16 @@ public class RecordedExpectationFileSystemPersistence implements MockServerLogLi
 
     public void stop() {
         if (mockServerEventLog != null) {
-            mockServerEventLog.unregisterListener(this);
+            mockServerEventLog.unregisterLogEntryListener(logEntryListener);
+        }
+        if (flushExecutor != null) {
+            flushExecutor.shutdown();
+            try {
+                flushExecutor.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ignore) {
+                Thread.currentThread().interrupt();
+            }
+            flush();
         }
     }
 }
@@ -5,6 +5,7 @@ import org.mockserver.configuration.Configuration;
 import org.mockserver.cors.CORSHeaders;
 import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
+import org.mockserver.mock.action.http.PreEncodedHttpResponse;
 import org.mockserver.model.ConnectionOptions;
 import org.mockserver.model.HttpRequest;
 import org.mockserver.model.HttpResponse;
@@ -96,6 +97,14 @@ public abstract class ResponseWriter {
         sendResponse(request, addConnectionHeader(request, response));
     }
 
+    /**
+     * Writes a static response encoded when its expectation was added, by default the original response is written
+     * through the general path for writers that can't send the encoded form
+     */
+    public void writeResponse(final HttpRequest request, final PreEncodedHttpResponse response) {
+        writeResponse(request, response.getHttpResponse().clone(), false);
+    }
+
     public abstract void sendResponse(HttpRequest request, HttpResponse response);
 
     protected HttpResponse addConnectionHeader(final HttpRequest request, final HttpResponse response) {
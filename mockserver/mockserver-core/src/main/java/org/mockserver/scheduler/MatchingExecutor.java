@@ -0,0 +1,227 @@
+package org.mockserver.scheduler;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.util.Attribute;
+import io.netty.util.AttributeKey;
+import org.mockserver.configuration.Configuration;
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.metrics.Metrics;
+import org.slf4j.event.Level;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mockserver.log.model.LogEntry.LogMessageType.SERVER_CONFIGURATION;
+import static org.mockserver.metrics.Metrics.Name.*;
+import static org.mockserver.mock.HttpState.getPort;
+import static org.mockserver.mock.HttpState.setPort;
+
+/**
+ * Matches requests off the Netty event loop so expensive matchers (i.e. json or xml schema, xpath or OpenAPI) don't delay
+ * reading and writing for the other connections on the same event loop.
+ * <p>
+ * Tasks submitted for the same channel run one at a time in the order they were submitted so responses to pipelined
+ * requests are not reordered.  When the queue is full a task is rejected, instead of being run on the event loop, and
+ * its rejection handler is run in its place so the request can be failed quickly in the same order.  Virtual threads
+ * are created per task, so have no queue, instead the number of tasks waiting or running is limited to the queue size.
+ *
+ * @author jamesdbloom
+ */
+public class MatchingExecutor {
+
+    private static final AttributeKey<CompletableFuture<Void>> PREVIOUS_MATCH = AttributeKey.valueOf("PREVIOUS_MATCH");
+    // only read and written on the channel's event loop
+    private static final AttributeKey<Integer> PENDING_TASKS = AttributeKey.valueOf("PENDING_TASKS");
+    private final MockServerLogger mockServerLogger;
+    private final Metrics metrics;
+    private final ExecutorService executor;
+    // the executor tasks are submitted to, which limits the number of tasks if the executor doesn't have a bounded queue
+    private final Executor boundedExecutor;
+    private final AtomicInteger queueDepth = new AtomicInteger();
+
+    public MatchingExecutor(Configuration configuration, MockServerLogger mockServerLogger) {
+        this.mockServerLogger = mockServerLogger;
+        this.metrics = new Metrics(configuration);
+        this.executor = createExecutor(configuration);
+        this.boundedExecutor = executor == null || executor instanceof ThreadPoolExecutor ? executor : new BoundedExecutor(executor, Math.max(1, configuration.matchingQueueSize()));
+    }
+
+    private ExecutorService createExecutor(Configuration configuration) {
+        switch (configuration.matchingExecutor()) {
+            case EVENT_LOOP:
+                return null;
+            case VIRTUAL_THREADS:
+                ExecutorService virtualThreadExecutor = createVirtualThreadExecutor();
+                return virtualThreadExecutor != null ? virtualThreadExecutor : createPlatformThreadExecutor(configuration);
+            default:
+                return createPlatformThreadExecutor(configuration);
+        }
+    }
+
+    private ExecutorService createVirtualThreadExecutor() {
+        try {
+            // loaded reflectively as virtual threads require Java 21
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (Throwable throwable) {
+            if (mockServerLogger.isEnabledForInstance(Level.WARN)) {
+                mockServerLogger.logEvent(
+                    new LogEntry()
+                        .setType(SERVER_CONFIGURATION)
+                        .setLogLevel(Level.WARN)
+                        .setMessageFormat("virtual threads are not available in java version{}using platform threads for matching instead")
+                        .setArguments(System.getProperty("java.version"))
+                );
+            }
+            return null;
+        }
+    }
+
+    private ExecutorService createPlatformThreadExecutor(Configuration configuration) {
+        ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(
+            configuration.matchingThreadCount(),
+            configuration.matchingThreadCount(),
+            60, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(Math.max(1, configuration.matchingQueueSize())),
+            new Scheduler.SchedulerThreadFactory("Matching")
+        );
+        threadPoolExecutor.allowCoreThreadTimeOut(true);
+        return threadPoolExecutor;
+    }
+
+    public boolean isEnabled() {
+        return executor != null && !executor.isShutdown();
+    }
+
+    /**
+     * Runs the task on the matching executor after any task previously submitted for the same channel has completed,
+     * or if the matching queue is full runs the rejected task instead on the thread that tried to submit it, so the
+     * rejected task must be quick, must be called on the channel's event loop
+     */
+    public void execute(ChannelHandlerContext ctx, Runnable task, Runnable rejected) {
+        Integer port = getPort();
+        long submittedNanos = System.nanoTime();
+        metrics.set(MATCHING_QUEUE_DEPTH, queueDepth.incrementAndGet());
+        AtomicBoolean wasRejected = new AtomicBoolean(false);
+        Runnable timedTask = () -> {
+            metrics.set(MATCHING_QUEUE_DEPTH, queueDepth.decrementAndGet());
+            setPort(port);
+            if (wasRejected.get()) {
+                metrics.increment(MATCHING_REJECTED_COUNT);
+                rejected.run();
+            } else {
+                metrics.increment(MATCHING_OFFLOADED_COUNT);
+                metrics.set(MATCHING_WAIT_TIME_MICROSECONDS, (int) Math.min(Integer.MAX_VALUE, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - submittedNanos)));
+                task.run();
+            }
+        };
+        Executor executeOrReject = runnable -> {
+            try {
+                boundedExecutor.execute(runnable);
+            } catch (RejectedExecutionException ree) {
+                wasRejected.set(true);
+                runnable.run();
+            }
+        };
+        Attribute<CompletableFuture<Void>> previousMatch = ctx.channel().attr(PREVIOUS_MATCH);
+        CompletableFuture<Void> previous = previousMatch.get();
+        CompletableFuture<Void> next;
+        if (previous == null || previous.isDone()) {
+            next = CompletableFuture.runAsync(timedTask, executeOrReject);
+        } else {
+            next = previous.handle((result, throwable) -> null).thenRunAsync(timedTask, executeOrReject);
+        }
+        previousMatch.set(next);
+    }
+
+    /**
+     * Runs the task on the matching executor, in the same order as {@link #execute(ChannelHandlerContext, Runnable, Runnable)},
+     * then runs the action returned by the task on the channel's event loop, or if the matching queue is full runs the
+     * rejected action on the channel's event loop instead, must be called on the channel's event loop
+     * <p>
+     * Until the action has run {@link #hasPendingTasks(ChannelHandlerContext)} is true for the channel so any later
+     * request on the channel can also be submitted, instead of being handled on the event loop ahead of this one.
+     */
+    public void submit(ChannelHandlerContext ctx, Supplier<Runnable> task, Runnable rejected) {
+        Attribute<Integer> pendingTasks = ctx.channel().attr(PENDING_TASKS);
+        pendingTasks.set(pendingTasks.get() != null ? pendingTasks.get() + 1 : 1);
+        execute(ctx, () -> {
+            Runnable action = null;
+            try {
+                action = task.get();
+            } finally {
+                runOnEventLoop(ctx, action, pendingTasks);
+            }
+        }, () -> runOnEventLoop(ctx, rejected, pendingTasks));
+    }
+
+    private void runOnEventLoop(ChannelHandlerContext ctx, Runnable action, Attribute<Integer> pendingTasks) {
+        Integer port = getPort();
+        ctx.executor().execute(() -> {
+            try {
+                if (action != null) {
+                    setPort(port);
+                    action.run();
+                }
+            } finally {
+                pendingTasks.set(pendingTasks.get() - 1);
+            }
+        });
+    }
+
+    /**
+     * Whether a task submitted for the channel, or its action, hasn't completed, must be called on the channel's event loop
+     */
+    public boolean hasPendingTasks(ChannelHandlerContext ctx) {
+        Integer pendingTasks = ctx.channel().attr(PENDING_TASKS).get();
+        return pendingTasks != null && pendingTasks > 0;
+    }
+
+    /**
+     * Rejects tasks once the number of tasks waiting or running reaches the limit
+     */
+    static class BoundedExecutor implements Executor {
+
+        private final Executor executor;
+        private final Semaphore permits;
+
+        BoundedExecutor(Executor executor, int limit) {
+            this.executor = executor;
+            this.permits = new Semaphore(limit);
+        }
+
+        @Override
+        public void execute(Runnable runnable) {
+            if (!permits.tryAcquire()) {
+                throw new RejectedExecutionException("matching queue is full");
+            }
+            try {
+                executor.execute(() -> {
+                    try {
+                        runnable.run();
+                    } finally {
+                        permits.release();
+                    }
+                });
+            } catch (RejectedExecutionException ree) {
+                permits.release();
+                throw ree;
+            }
+        }
+    }
+
+    public void shutdown() {
+        if (executor != null && !executor.isShutdown()) {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(500, MILLISECONDS);
+            } catch (InterruptedException ignore) {
+                // ignore interrupted exception
+            }
+        }
+    }
+
+}
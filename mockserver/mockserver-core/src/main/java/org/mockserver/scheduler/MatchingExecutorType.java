@@ -0,0 +1,23 @@
+package org.mockserver.scheduler;
+
+/**
+ * Where requests are matched against expectations
+ *
+ * @author jamesdbloom
+ */
+public enum MatchingExecutorType {
+
+    /**
+     * match on the Netty event loop thread that read the request
+     */
+    EVENT_LOOP,
+    /**
+     * match on a bounded pool of platform threads
+     */
+    PLATFORM_THREADS,
+    /**
+     * match on a virtual thread per request, requires Java 21 or later otherwise platform threads are used
+     */
+    VIRTUAL_THREADS
+
+}
@@ -27,6 +27,7 @@ public class Scheduler {
 
     private final Configuration configuration;
     private final ScheduledExecutorService scheduler;
+    private final MatchingExecutor matchingExecutor;
 
     private final boolean synchronous;
 
@@ -72,12 +73,24 @@ public class Scheduler {
                 new SchedulerThreadFactory("Scheduler"),
                 new ThreadPoolExecutor.CallerRunsPolicy()
             );
+            this.matchingExecutor = new MatchingExecutor(configuration, mockServerLogger);
         } else {
             this.scheduler = null;
+            this.matchingExecutor = null;
         }
     }
 
+    /**
+     * Returns the executor used to match requests off the event loop, or null when matching must happen synchronously
+     */
+    public MatchingExecutor getMatchingExecutor() {
+        return matchingExecutor;
+    }
+
     public synchronized void shutdown() {
+        if (matchingExecutor != null) {
+            matchingExecutor.shutdown();
+        }
         if (!scheduler.isShutdown()) {
             scheduler.shutdown();
             try {
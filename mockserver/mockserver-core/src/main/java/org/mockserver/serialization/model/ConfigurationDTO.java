@@ -4,6 +4,8 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import org.mockserver.configuration.Configuration;
+import org.mockserver.scheduler.MatchingExecutorType;
+import org.mockserver.socket.NettyTransport;
 import org.mockserver.socket.tls.ForwardProxyTLSX509CertificatesTrustManager;
 import org.slf4j.event.Level;
 
@@ -23,15 +25,24 @@ public class ConfigurationDTO implements DTO<Configuration> {
     private Boolean mcpEnabled;
     private Map<String, String> logLevelOverrides;
     private Boolean compactLogFormat;
+    private Boolean jsonLogFormat;
+    private Integer asyncLogQueueSize;
 
     private Integer maxExpectations;
     private Integer maxLogEntries;
+    private Long maxLogEntriesBytes;
+    private Integer logBodyCompressionThreshold;
     private Integer maxWebSocketExpectations;
     private Boolean outputMemoryUsageCsv;
     private String memoryUsageCsvDirectory;
 
     private Integer nioEventLoopThreadCount;
+    private String nettyTransport;
+    private Integer acceptThreadCount;
     private Integer actionHandlerThreadCount;
+    private String matchingExecutor;
+    private Integer matchingThreadCount;
+    private Integer matchingQueueSize;
     private Integer clientNioEventLoopThreadCount;
     private Integer webSocketClientEventLoopThreadCount;
     private Long maxFutureTimeoutInMillis;
@@ -42,6 +53,11 @@ public class ConfigurationDTO implements DTO<Configuration> {
     private DelayDTO connectionDelay;
     private Boolean alwaysCloseSocketConnections;
     private String localBoundIP;
+    private Boolean forwardConnectionPoolEnabled;
+    private Integer forwardConnectionPoolMaxConnectionsPerHost;
+    private Long forwardConnectionPoolIdleTimeoutInMillis;
+    private Boolean forwardStreamingEnabled;
+    private Integer forwardStreamingMaxBufferedBodySize;
 
     private Integer maxInitialLineLength;
     private Integer maxHeaderSize;
@@ -74,6 +90,8 @@ public class ConfigurationDTO implements DTO<Configuration> {
 
     private Boolean persistExpectations;
     private String persistedExpectationsPath;
+    private Boolean persistExpectationsJournal;
+    private Integer persistedExpectationsJournalCompactionThreshold;
 
     private Boolean persistRecordedExpectations;
     private String persistedRecordedExpectationsPath;
@@ -108,6 +126,8 @@ public class ConfigurationDTO implements DTO<Configuration> {
     private Boolean dynamicallyCreateCertificateAuthorityCertificate;
     private String directoryToSaveDynamicSSLCertificate;
     private Boolean preventCertificateDynamicUpdate;
+    private Integer hostnameCertificateCacheSize;
+    private Boolean persistHostnameCertificates;
     private String sslCertificateDomainName;
     private Set<String> sslSubjectAlternativeNameDomains;
     private Set<String> sslSubjectAlternativeNameIps;
@@ -141,15 +161,30 @@ public class ConfigurationDTO implements DTO<Configuration> {
             Map<String, String> overrides = configuration.logLevelOverrides();
             this.logLevelOverrides = overrides != null && !overrides.isEmpty() ? overrides : null;
             this.compactLogFormat = configuration.compactLogFormat();
+            this.jsonLogFormat = configuration.jsonLogFormat();
+            this.asyncLogQueueSize = configuration.asyncLogQueueSize();
 
             this.maxExpectations = configuration.maxExpectations();
             this.maxLogEntries = configuration.maxLogEntries();
+            this.maxLogEntriesBytes = configuration.maxLogEntriesBytes();
+            this.logBodyCompressionThreshold = configuration.logBodyCompressionThreshold();
             this.maxWebSocketExpectations = configuration.maxWebSocketExpectations();
             this.outputMemoryUsageCsv = configuration.outputMemoryUsageCsv();
             this.memoryUsageCsvDirectory = configuration.memoryUsageCsvDirectory();
 
             this.nioEventLoopThreadCount = configuration.nioEventLoopThreadCount();
+            NettyTransport nettyTransport = configuration.nettyTransport();
+            if (nettyTransport != null) {
+                this.nettyTransport = nettyTransport.name();
+            }
+            this.acceptThreadCount = configuration.acceptThreadCount();
             this.actionHandlerThreadCount = configuration.actionHandlerThreadCount();
+            MatchingExecutorType matchingExecutor = configuration.matchingExecutor();
+            if (matchingExecutor != null) {
+                this.matchingExecutor = matchingExecutor.name();
+            }
+            this.matchingThreadCount = configuration.matchingThreadCount();
+            this.matchingQueueSize = configuration.matchingQueueSize();
             this.clientNioEventLoopThreadCount = configuration.clientNioEventLoopThreadCount();
             this.webSocketClientEventLoopThreadCount = configuration.webSocketClientEventLoopThreadCount();
             this.maxFutureTimeoutInMillis = configuration.maxFutureTimeoutInMillis();
@@ -162,6 +197,11 @@ public class ConfigurationDTO implements DTO<Configuration> {
             }
             this.alwaysCloseSocketConnections = configuration.alwaysCloseSocketConnections();
             this.localBoundIP = configuration.localBoundIP();
+            this.forwardConnectionPoolEnabled = configuration.forwardConnectionPoolEnabled();
+            this.forwardConnectionPoolMaxConnectionsPerHost = configuration.forwardConnectionPoolMaxConnectionsPerHost();
+            this.forwardConnectionPoolIdleTimeoutInMillis = configuration.forwardConnectionPoolIdleTimeoutInMillis();
+            this.forwardStreamingEnabled = configuration.forwardStreamingEnabled();
+            this.forwardStreamingMaxBufferedBodySize = configuration.forwardStreamingMaxBufferedBodySize();
 
             this.maxInitialLineLength = configuration.maxInitialLineLength();
             this.maxHeaderSize = configuration.maxHeaderSize();
@@ -194,6 +234,8 @@ public class ConfigurationDTO implements DTO<Configuration> {
 
             this.persistExpectations = configuration.persistExpectations();
             this.persistedExpectationsPath = configuration.persistedExpectationsPath();
+            this.persistExpectationsJournal = configuration.persistExpectationsJournal();
+            this.persistedExpectationsJournalCompactionThreshold = configuration.persistedExpectationsJournalCompactionThreshold();
 
             this.persistRecordedExpectations = configuration.persistRecordedExpectations();
             this.persistedRecordedExpectationsPath = configuration.persistedRecordedExpectationsPath();
@@ -237,6 +279,8 @@ public class ConfigurationDTO implements DTO<Configuration> {
             this.dynamicallyCreateCertificateAuthorityCertificate = configuration.dynamicallyCreateCertificateAuthorityCertificate();
             this.directoryToSaveDynamicSSLCertificate = configuration.directoryToSaveDynamicSSLCertificate();
             this.preventCertificateDynamicUpdate = configuration.preventCertificateDynamicUpdate();
+            this.hostnameCertificateCacheSize = configuration.hostnameCertificateCacheSize();
+            this.persistHostnameCertificates = configuration.persistHostnameCertificates();
             this.sslCertificateDomainName = configuration.sslCertificateDomainName();
             this.sslSubjectAlternativeNameDomains = configuration.sslSubjectAlternativeNameDomains();
             this.sslSubjectAlternativeNameIps = configuration.sslSubjectAlternativeNameIps();
@@ -271,9 +315,32 @@ public class ConfigurationDTO implements DTO<Configuration> {
         if (maxLogEntries != null && (maxLogEntries < 0 || maxLogEntries > 1000000)) {
             throw new IllegalArgumentException("maxLogEntries must be between 0 and 1000000, got: " + maxLogEntries);
         }
+        if (maxLogEntriesBytes != null && maxLogEntriesBytes < 0) {
+            throw new IllegalArgumentException("maxLogEntriesBytes must be 0 or greater, got: " + maxLogEntriesBytes);
+        }
+        if (asyncLogQueueSize != null && asyncLogQueueSize < 0) {
+            throw new IllegalArgumentException("asyncLogQueueSize must be 0 or greater, got: " + asyncLogQueueSize);
+        }
+        if (logBodyCompressionThreshold != null && logBodyCompressionThreshold < 0) {
+            throw new IllegalArgumentException("logBodyCompressionThreshold must be 0 or greater, got: " + logBodyCompressionThreshold);
+        }
         if (maxWebSocketExpectations != null && (maxWebSocketExpectations < 0 || maxWebSocketExpectations > 100000)) {
             throw new IllegalArgumentException("maxWebSocketExpectations must be between 0 and 100000, got: " + maxWebSocketExpectations);
         }
+        if (nettyTransport != null) {
+            try {
+                NettyTransport.valueOf(nettyTransport);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid nettyTransport: \"" + nettyTransport + "\", valid values are AUTO, EPOLL, NIO");
+            }
+        }
+        if (matchingExecutor != null) {
+            try {
+                MatchingExecutorType.valueOf(matchingExecutor);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid matchingExecutor: \"" + matchingExecutor + "\", valid values are EVENT_LOOP, PLATFORM_THREADS, VIRTUAL_THREADS");
+            }
+        }
         if (forwardProxyTLSX509CertificatesTrustManagerType != null) {
             try {
                 ForwardProxyTLSX509CertificatesTrustManager.valueOf(forwardProxyTLSX509CertificatesTrustManagerType);
@@ -307,15 +374,28 @@ public class ConfigurationDTO implements DTO<Configuration> {
         configuration.mcpEnabled(mcpEnabled);
         configuration.logLevelOverrides(logLevelOverrides);
         configuration.compactLogFormat(compactLogFormat);
+        configuration.jsonLogFormat(jsonLogFormat);
+        configuration.asyncLogQueueSize(asyncLogQueueSize);
 
         configuration.maxExpectations(maxExpectations);
         configuration.maxLogEntries(maxLogEntries);
+        configuration.maxLogEntriesBytes(maxLogEntriesBytes);
+        configuration.logBodyCompressionThreshold(logBodyCompressionThreshold);
         configuration.maxWebSocketExpectations(maxWebSocketExpectations);
         configuration.outputMemoryUsageCsv(outputMemoryUsageCsv);
         configuration.memoryUsageCsvDirectory(memoryUsageCsvDirectory);
 
         configuration.nioEventLoopThreadCount(nioEventLoopThreadCount);
+        if (nettyTransport != null) {
+            configuration.nettyTransport(NettyTransport.valueOf(nettyTransport));
+        }
+        configuration.acceptThreadCount(acceptThreadCount);
         configuration.actionHandlerThreadCount(actionHandlerThreadCount);
+        if (matchingExecutor != null) {
+            configuration.matchingExecutor(MatchingExecutorType.valueOf(matchingExecutor));
+        }
+        configuration.matchingThreadCount(matchingThreadCount);
+        configuration.matchingQueueSize(matchingQueueSize);
         configuration.clientNioEventLoopThreadCount(clientNioEventLoopThreadCount);
         configuration.webSocketClientEventLoopThreadCount(webSocketClientEventLoopThreadCount);
         configuration.maxFutureTimeoutInMillis(maxFutureTimeoutInMillis);
@@ -328,6 +408,11 @@ public class ConfigurationDTO implements DTO<Configuration> {
         }
         configuration.alwaysCloseSocketConnections(alwaysCloseSocketConnections);
         configuration.localBoundIP(localBoundIP);
+        configuration.forwardConnectionPoolEnabled(forwardConnectionPoolEnabled);
+        configuration.forwardConnectionPoolMaxConnectionsPerHost(forwardConnectionPoolMaxConnectionsPerHost);
+        configuration.forwardConnectionPoolIdleTimeoutInMillis(forwardConnectionPoolIdleTimeoutInMillis);
+        configuration.forwardStreamingEnabled(forwardStreamingEnabled);
+        configuration.forwardStreamingMaxBufferedBodySize(forwardStreamingMaxBufferedBodySize);
 
         configuration.maxInitialLineLength(maxInitialLineLength);
         configuration.maxHeaderSize(maxHeaderSize);
@@ -360,6 +445,8 @@ public class ConfigurationDTO implements DTO<Configuration> {
 
         configuration.persistExpectations(persistExpectations);
         configuration.persistedExpectationsPath(persistedExpectationsPath);
+        configuration.persistExpectationsJournal(persistExpectationsJournal);
+        configuration.persistedExpectationsJournalCompactionThreshold(persistedExpectationsJournalCompactionThreshold);
 
         configuration.persistRecordedExpectations(persistRecordedExpectations);
         configuration.persistedRecordedExpectationsPath(persistedRecordedExpectationsPath);
@@ -400,6 +487,8 @@ public class ConfigurationDTO implements DTO<Configuration> {
         configuration.dynamicallyCreateCertificateAuthorityCertificate(dynamicallyCreateCertificateAuthorityCertificate);
         configuration.directoryToSaveDynamicSSLCertificate(directoryToSaveDynamicSSLCertificate);
         configuration.preventCertificateDynamicUpdate(preventCertificateDynamicUpdate);
+        configuration.hostnameCertificateCacheSize(hostnameCertificateCacheSize);
+        configuration.persistHostnameCertificates(persistHostnameCertificates);
         configuration.sslCertificateDomainName(sslCertificateDomainName);
         if (sslSubjectAlternativeNameDomains != null) {
             configuration.sslSubjectAlternativeNameDomains(sslSubjectAlternativeNameDomains);
@@ -453,12 +542,24 @@ public class ConfigurationDTO implements DTO<Configuration> {
         if (compactLogFormat != null) {
             target.compactLogFormat(compactLogFormat);
         }
+        if (jsonLogFormat != null) {
+            target.jsonLogFormat(jsonLogFormat);
+        }
+        if (asyncLogQueueSize != null) {
+            target.asyncLogQueueSize(asyncLogQueueSize);
+        }
         if (maxExpectations != null) {
             target.maxExpectations(maxExpectations);
         }
         if (maxLogEntries != null) {
             target.maxLogEntries(maxLogEntries);
         }
+        if (maxLogEntriesBytes != null) {
+            target.maxLogEntriesBytes(maxLogEntriesBytes);
+        }
+        if (logBodyCompressionThreshold != null) {
+            target.logBodyCompressionThreshold(logBodyCompressionThreshold);
+        }
         if (maxWebSocketExpectations != null) {
             target.maxWebSocketExpectations(maxWebSocketExpectations);
         }
@@ -471,9 +572,24 @@ public class ConfigurationDTO implements DTO<Configuration> {
         if (nioEventLoopThreadCount != null) {
             target.nioEventLoopThreadCount(nioEventLoopThreadCount);
         }
+        if (nettyTransport != null) {
+            target.nettyTransport(NettyTransport.valueOf(nettyTransport));
+        }
+        if (acceptThreadCount != null) {
+            target.acceptThreadCount(acceptThreadCount);
+        }
         if (actionHandlerThreadCount != null) {
             target.actionHandlerThreadCount(actionHandlerThreadCount);
         }
+        if (matchingExecutor != null) {
+            target.matchingExecutor(MatchingExecutorType.valueOf(matchingExecutor));
+        }
+        if (matchingThreadCount != null) {
+            target.matchingThreadCount(matchingThreadCount);
+        }
+        if (matchingQueueSize != null) {
+            target.matchingQueueSize(matchingQueueSize);
+        }
         if (clientNioEventLoopThreadCount != null) {
             target.clientNioEventLoopThreadCount(clientNioEventLoopThreadCount);
         }
@@ -501,6 +617,21 @@ public class ConfigurationDTO implements DTO<Configuration> {
         if (localBoundIP != null) {
             target.localBoundIP(localBoundIP);
         }
+        if (forwardConnectionPoolEnabled != null) {
+            target.forwardConnectionPoolEnabled(forwardConnectionPoolEnabled);
+        }
+        if (forwardConnectionPoolMaxConnectionsPerHost != null) {
+            target.forwardConnectionPoolMaxConnectionsPerHost(forwardConnectionPoolMaxConnectionsPerHost);
+        }
+        if (forwardConnectionPoolIdleTimeoutInMillis != null) {
+            target.forwardConnectionPoolIdleTimeoutInMillis(forwardConnectionPoolIdleTimeoutInMillis);
+        }
+        if (forwardStreamingEnabled != null) {
+            target.forwardStreamingEnabled(forwardStreamingEnabled);
+        }
+        if (forwardStreamingMaxBufferedBodySize != null) {
+            target.forwardStreamingMaxBufferedBodySize(forwardStreamingMaxBufferedBodySize);
+        }
         if (maxInitialLineLength != null) {
             target.maxInitialLineLength(maxInitialLineLength);
         }
@@ -579,6 +710,12 @@ public class ConfigurationDTO implements DTO<Configuration> {
         if (persistedExpectationsPath != null) {
             target.persistedExpectationsPath(persistedExpectationsPath);
         }
+        if (persistExpectationsJournal != null) {
+            target.persistExpectationsJournal(persistExpectationsJournal);
+        }
+        if (persistedExpectationsJournalCompactionThreshold != null) {
+            target.persistedExpectationsJournalCompactionThreshold(persistedExpectationsJournalCompactionThreshold);
+        }
         if (persistRecordedExpectations != null) {
             target.persistRecordedExpectations(persistRecordedExpectations);
         }
@@ -663,6 +800,12 @@ public class ConfigurationDTO implements DTO<Configuration> {
         if (preventCertificateDynamicUpdate != null) {
             target.preventCertificateDynamicUpdate(preventCertificateDynamicUpdate);
         }
+        if (hostnameCertificateCacheSize != null) {
+            target.hostnameCertificateCacheSize(hostnameCertificateCacheSize);
+        }
+        if (persistHostnameCertificates != null) {
+            target.persistHostnameCertificates(persistHostnameCertificates);
+        }
         if (sslCertificateDomainName != null) {
             target.sslCertificateDomainName(sslCertificateDomainName);
         }
@@ -799,6 +942,24 @@ public class ConfigurationDTO implements DTO<Configuration> {
         return this;
     }
 
+    public Boolean getJsonLogFormat() {
+        return jsonLogFormat;
+    }
+
+    public ConfigurationDTO setJsonLogFormat(Boolean jsonLogFormat) {
+        this.jsonLogFormat = jsonLogFormat;
+        return this;
+    }
+
+    public Integer getAsyncLogQueueSize() {
+        return asyncLogQueueSize;
+    }
+
+    public ConfigurationDTO setAsyncLogQueueSize(Integer asyncLogQueueSize) {
+        this.asyncLogQueueSize = asyncLogQueueSize;
+        return this;
+    }
+
     public Integer getMaxExpectations() {
         return maxExpectations;
     }
@@ -817,6 +978,24 @@ public class ConfigurationDTO implements DTO<Configuration> {
         return this;
     }
 
+    public Long getMaxLogEntriesBytes() {
+        return maxLogEntriesBytes;
+    }
+
+    public ConfigurationDTO setMaxLogEntriesBytes(Long maxLogEntriesBytes) {
+        this.maxLogEntriesBytes = maxLogEntriesBytes;
+        return this;
+    }
+
+    public Integer getLogBodyCompressionThreshold() {
+        return logBodyCompressionThreshold;
+    }
+
+    public ConfigurationDTO setLogBodyCompressionThreshold(Integer logBodyCompressionThreshold) {
+        this.logBodyCompressionThreshold = logBodyCompressionThreshold;
+        return this;
+    }
+
     public Integer getMaxWebSocketExpectations() {
         return maxWebSocketExpectations;
     }
@@ -853,6 +1032,24 @@ public class ConfigurationDTO implements DTO<Configuration> {
         return this;
     }
 
+    public String getNettyTransport() {
+        return nettyTransport;
+    }
+
+    public ConfigurationDTO setNettyTransport(String nettyTransport) {
+        this.nettyTransport = nettyTransport;
+        return this;
+    }
+
+    public Integer getAcceptThreadCount() {
+        return acceptThreadCount;
+    }
+
+    public ConfigurationDTO setAcceptThreadCount(Integer acceptThreadCount) {
+        this.acceptThreadCount = acceptThreadCount;
+        return this;
+    }
+
     public Integer getActionHandlerThreadCount() {
         return actionHandlerThreadCount;
     }
@@ -862,6 +1059,33 @@ public class ConfigurationDTO implements DTO<Configuration> {
         return this;
     }
 
+    public String getMatchingExecutor() {
+        return matchingExecutor;
+    }
+
+    public ConfigurationDTO setMatchingExecutor(String matchingExecutor) {
+        this.matchingExecutor = matchingExecutor;
+        return this;
+    }
+
+    public Integer getMatchingThreadCount() {
+        return matchingThreadCount;
+    }
+
+    public ConfigurationDTO setMatchingThreadCount(Integer matchingThreadCount) {
+        this.matchingThreadCount = matchingThreadCount;
+        return this;
+    }
+
+    public Integer getMatchingQueueSize() {
+        return matchingQueueSize;
+    }
+
+    public ConfigurationDTO setMatchingQueueSize(Integer matchingQueueSize) {
+        this.matchingQueueSize = matchingQueueSize;
+        return this;
+    }
+
     public Integer getClientNioEventLoopThreadCount() {
         return clientNioEventLoopThreadCount;
     }
@@ -943,6 +1167,51 @@ public class ConfigurationDTO implements DTO<Configuration> {
         return this;
     }
 
+    public Boolean getForwardConnectionPoolEnabled() {
+        return forwardConnectionPoolEnabled;
+    }
+
+    public ConfigurationDTO setForwardConnectionPoolEnabled(Boolean forwardConnectionPoolEnabled) {
+        this.forwardConnectionPoolEnabled = forwardConnectionPoolEnabled;
+        return this;
+    }
+
+    public Integer getForwardConnectionPoolMaxConnectionsPerHost() {
+        return forwardConnectionPoolMaxConnectionsPerHost;
+    }
+
+    public ConfigurationDTO setForwardConnectionPoolMaxConnectionsPerHost(Integer forwardConnectionPoolMaxConnectionsPerHost) {
+        this.forwardConnectionPoolMaxConnectionsPerHost = forwardConnectionPoolMaxConnectionsPerHost;
+        return this;
+    }
+
+    public Long getForwardConnectionPoolIdleTimeoutInMillis() {
+        return forwardConnectionPoolIdleTimeoutInMillis;
+    }
+
+    public ConfigurationDTO setForwardConnectionPoolIdleTimeoutInMillis(Long forwardConnectionPoolIdleTimeoutInMillis) {
+        this.forwardConnectionPoolIdleTimeoutInMillis = forwardConnectionPoolIdleTimeoutInMillis;
+        return this;
+    }
+
+    public Boolean getForwardStreamingEnabled() {
+        return forwardStreamingEnabled;
+    }
+
+    public ConfigurationDTO setForwardStreamingEnabled(Boolean forwardStreamingEnabled) {
+        this.forwardStreamingEnabled = forwardStreamingEnabled;
+        return this;
+    }
+
+    public Integer getForwardStreamingMaxBufferedBodySize() {
+        return forwardStreamingMaxBufferedBodySize;
+    }
+
+    public ConfigurationDTO setForwardStreamingMaxBufferedBodySize(Integer forwardStreamingMaxBufferedBodySize) {
+        this.forwardStreamingMaxBufferedBodySize = forwardStreamingMaxBufferedBodySize;
+        return this;
+    }
+
     public Integer getMaxInitialLineLength() {
         return maxInitialLineLength;
     }
@@ -1177,6 +1446,24 @@ public class ConfigurationDTO implements DTO<Configuration> {
         return this;
     }
 
+    public Boolean getPersistExpectationsJournal() {
+        return persistExpectationsJournal;
+    }
+
+    public ConfigurationDTO setPersistExpectationsJournal(Boolean persistExpectationsJournal) {
+        this.persistExpectationsJournal = persistExpectationsJournal;
+        return this;
+    }
+
+    public Integer getPersistedExpectationsJournalCompactionThreshold() {
+        return persistedExpectationsJournalCompactionThreshold;
+    }
+
+    public ConfigurationDTO setPersistedExpectationsJournalCompactionThreshold(Integer persistedExpectationsJournalCompactionThreshold) {
+        this.persistedExpectationsJournalCompactionThreshold = persistedExpectationsJournalCompactionThreshold;
+        return this;
+    }
+
     public Boolean getPersistRecordedExpectations() {
         return persistRecordedExpectations;
     }
@@ -1433,6 +1720,24 @@ public class ConfigurationDTO implements DTO<Configuration> {
         return this;
     }
 
+    public Integer getHostnameCertificateCacheSize() {
+        return hostnameCertificateCacheSize;
+    }
+
+    public ConfigurationDTO setHostnameCertificateCacheSize(Integer hostnameCertificateCacheSize) {
+        this.hostnameCertificateCacheSize = hostnameCertificateCacheSize;
+        return this;
+    }
+
+    public Boolean getPersistHostnameCertificates() {
+        return persistHostnameCertificates;
+    }
+
+    public ConfigurationDTO setPersistHostnameCertificates(Boolean persistHostnameCertificates) {
+        this.persistHostnameCertificates = persistHostnameCertificates;
+        return this;
+    }
+
     public String getSslCertificateDomainName() {
         return sslCertificateDomainName;
     }
@@ -23,6 +23,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
+import static org.mockserver.configuration.Configuration.configuration;
 import static org.mockserver.log.model.LogEntry.LogMessageType.SERVER_CONFIGURATION;
 import static org.slf4j.event.Level.*;
 
@@ -31,8 +32,8 @@ import static org.slf4j.event.Level.*;
  */
 public class ExpectationInitializerLoader {
 
-    private static final LRUCache<String, List<String>> EXPANDED_INITIALIZATION_JSON_PATHS = new LRUCache<>(new MockServerLogger(LRUCache.class), 10, TimeUnit.HOURS.toMillis(1));
-    private static final LRUCache<String, List<String>> EXPANDED_INITIALIZATION_OPENAPI_PATHS = new LRUCache<>(new MockServerLogger(LRUCache.class), 10, TimeUnit.HOURS.toMillis(1));
+    private static final LRUCache<String, List<String>> EXPANDED_INITIALIZATION_JSON_PATHS = new LRUCache<>(configuration(), new MockServerLogger(LRUCache.class), "initialization_json_paths", 10, TimeUnit.HOURS.toMillis(1));
+    private static final LRUCache<String, List<String>> EXPANDED_INITIALIZATION_OPENAPI_PATHS = new LRUCache<>(configuration(), new MockServerLogger(LRUCache.class), "initialization_openapi_paths", 10, TimeUnit.HOURS.toMillis(1));
     private final Configuration configuration;
     private final ExpectationSerializer expectationSerializer;
     private final OpenAPIConverter openAPIConverter;
@@ -0,0 +1,106 @@
+package org.mockserver.socket;
+
+import io.netty.bootstrap.AbstractBootstrap;
+import io.netty.channel.*;
+import io.netty.channel.epoll.*;
+import io.netty.channel.nio.NioIoHandler;
+import io.netty.channel.socket.DatagramChannel;
+import io.netty.channel.socket.ServerSocketChannel;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import org.mockserver.configuration.Configuration;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * The Netty transport used for event loops and channels, the native epoll transport is used when it is available
+ * (i.e. on Linux) otherwise NIO is used.
+ * <p>
+ * Channels must be created with the transport of the event loop they are registered with, so client bootstraps that are
+ * given an event loop group created elsewhere should use {@link #forEventLoopGroup(EventLoopGroup)}.
+ *
+ * @author jamesdbloom
+ */
+public enum NettyTransport {
+
+    AUTO,
+    EPOLL,
+    NIO;
+
+    /**
+     * Resolves AUTO, or an unavailable transport, to the transport that will be used
+     */
+    public static NettyTransport resolve(Configuration configuration) {
+        return resolve(configuration.nettyTransport());
+    }
+
+    /**
+     * Resolves AUTO, or an unavailable transport, to the transport that will be used
+     */
+    public static NettyTransport resolve(NettyTransport nettyTransport) {
+        if (nettyTransport == NIO) {
+            return NIO;
+        } else {
+            return epollAvailable() ? EPOLL : NIO;
+        }
+    }
+
+    /**
+     * Returns the transport an event loop group (or event loop) was created with
+     */
+    public static NettyTransport forEventLoopGroup(EventLoopGroup eventLoopGroup) {
+        if (eventLoopGroup instanceof IoEventLoopGroup && epollAvailable() && ((IoEventLoopGroup) eventLoopGroup).isIoType(EpollIoHandler.class)) {
+            return EPOLL;
+        } else {
+            return NIO;
+        }
+    }
+
+    public static boolean epollAvailable() {
+        try {
+            return Epoll.isAvailable();
+        } catch (Throwable throwable) {
+            return false;
+        }
+    }
+
+    public static Throwable epollUnavailabilityCause() {
+        try {
+            return Epoll.unavailabilityCause();
+        } catch (Throwable throwable) {
+            return throwable;
+        }
+    }
+
+    public EventLoopGroup eventLoopGroup(int threadCount, ThreadFactory threadFactory) {
+        return new MultiThreadIoEventLoopGroup(threadCount, threadFactory, this == EPOLL ? EpollIoHandler.newFactory() : NioIoHandler.newFactory());
+    }
+
+    public Class<? extends ServerSocketChannel> serverSocketChannelClass() {
+        return this == EPOLL ? EpollServerSocketChannel.class : NioServerSocketChannel.class;
+    }
+
+    public Class<? extends SocketChannel> socketChannelClass() {
+        return this == EPOLL ? EpollSocketChannel.class : NioSocketChannel.class;
+    }
+
+    public Class<? extends DatagramChannel> datagramChannelClass() {
+        return this == EPOLL ? EpollDatagramChannel.class : NioDatagramChannel.class;
+    }
+
+    /**
+     * SO_REUSEPORT allows more than one server channel to bind the same port, so connections are accepted on several threads
+     */
+    public boolean supportsReusePort() {
+        return this == EPOLL;
+    }
+
+    public <T extends AbstractBootstrap<T, ?>> T reusePort(T bootstrap) {
+        if (supportsReusePort()) {
+            bootstrap.option(EpollChannelOption.SO_REUSEPORT, true);
+        }
+        return bootstrap;
+    }
+}
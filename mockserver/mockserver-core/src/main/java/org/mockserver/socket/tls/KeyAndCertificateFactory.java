@@ -1,5 +1,6 @@
 package org.mockserver.socket.tls;
 
+import org.apache.commons.lang3.tuple.Pair;
 import org.mockserver.keys.AsymmetricKeyPairAlgorithm;
 
 import java.security.PrivateKey;
@@ -60,6 +61,16 @@ public interface KeyAndCertificateFactory {
 
     boolean certificateNotYetCreated();
 
+    /**
+     * build or generate a private key and leaf certificate, signed by the certificate authority, for a single hostname
+     *
+     * @param hostname the hostname the certificate is for
+     * @return the private key and certificate chain, or null if this factory does not generate per-hostname certificates
+     */
+    default Pair<PrivateKey, List<X509Certificate>> buildPrivateKeyAndX509CertificateForHostname(String hostname) {
+        return null;
+    }
+
     PrivateKey privateKey();
 
     X509Certificate x509Certificate();
@@ -3,9 +3,11 @@ package org.mockserver.socket.tls;
 import io.netty.handler.codec.http2.Http2SecurityUtil;
 import io.netty.handler.ssl.*;
 import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
+import org.apache.commons.lang3.tuple.Pair;
 import org.mockserver.configuration.Configuration;
 import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
+import org.mockserver.scheduler.Scheduler;
 import org.slf4j.event.Level;
 
 import javax.net.ssl.SSLException;
@@ -17,11 +19,12 @@ import java.security.NoSuchAlgorithmException;
 import java.security.PrivateKey;
 import java.security.cert.X509Certificate;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.*;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.UnaryOperator;
 
+import static org.apache.commons.lang3.StringUtils.isBlank;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 import static org.mockserver.configuration.Configuration.configuration;
 import static org.mockserver.socket.tls.KeyAndCertificateFactoryFactory.createKeyAndCertificateFactory;
@@ -51,6 +54,10 @@ public class NettySslContextFactory {
     private final KeyAndCertificateFactory keyAndCertificateFactory;
     private final Map<String, SslContext> clientSslContexts = new ConcurrentHashMap<>();
     private volatile SslContext serverSslContext;
+    private final Map<String, CompletableFuture<SslContext>> hostnameSslContexts;
+    private final int hostnameCertificateCacheSize;
+    private volatile boolean hostnameCertificatesSupported = true;
+    private volatile ExecutorService hostnameCertificateExecutor;
     private final Object sslContextLock = new Object();
     private Function<SslContextBuilder, SslContext> instanceClientSslContextBuilderFunction = clientSslContextBuilderFunction;
     private final boolean forServer;
@@ -64,6 +71,8 @@ public class NettySslContextFactory {
         this.mockServerLogger = mockServerLogger;
         this.forServer = true;
         keyAndCertificateFactory = createKeyAndCertificateFactory(configuration, mockServerLogger);
+        this.hostnameCertificateCacheSize = configuration.hostnameCertificateCacheSize();
+        this.hostnameSslContexts = hostnameSslContextCache(hostnameCertificateCacheSize);
         System.setProperty("https.protocols", configuration.tlsProtocols());
         nettySslContextFactoryCustomizer.accept(this);
         if (configuration.proactivelyInitialiseTLS()) {
@@ -76,6 +85,8 @@ public class NettySslContextFactory {
         this.mockServerLogger = mockServerLogger;
         this.forServer = forServer;
         keyAndCertificateFactory = createKeyAndCertificateFactory(configuration, mockServerLogger, forServer);
+        this.hostnameCertificateCacheSize = configuration.hostnameCertificateCacheSize();
+        this.hostnameSslContexts = hostnameSslContextCache(hostnameCertificateCacheSize);
         System.setProperty("https.protocols", configuration.tlsProtocols());
         nettySslContextFactoryCustomizer.accept(this);
         if (configuration.proactivelyInitialiseTLS()) {
@@ -83,6 +94,15 @@ public class NettySslContextFactory {
         }
     }
 
+    private static Map<String, CompletableFuture<SslContext>> hostnameSslContextCache(int maxSize) {
+        return new LinkedHashMap<String, CompletableFuture<SslContext>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompletableFuture<SslContext>> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
     public NettySslContextFactory withClientSslContextBuilderFunction(Function<SslContextBuilder, SslContext> clientSslContextBuilderFunction) {
         this.instanceClientSslContextBuilderFunction = clientSslContextBuilderFunction;
         return this;
@@ -198,25 +218,18 @@ public class NettySslContextFactory {
             }
             try {
                 new CertificateConfigurationValidator(configuration, mockServerLogger).validate();
+                boolean rebuild = serverSslContext != null;
                 keyAndCertificateFactory.buildAndSavePrivateKeyAndX509Certificate();
                 logUsedCertificateData();
-                final SslContextBuilder sslContextBuilder = SslContextBuilder
-                    .forServer(
-                        keyAndCertificateFactory.privateKey(),
-                        keyAndCertificateFactory.certificateChain()
-                    )
-                    .protocols(configuration.tlsProtocols().split(","))
-                    .clientAuth(configuration.tlsMutualAuthenticationRequired() ? ClientAuth.REQUIRE : ClientAuth.OPTIONAL);
-                configureALPN(sslContextBuilder);
-                if (isNotBlank(configuration.tlsMutualAuthenticationCertificateChain()) || configuration.tlsMutualAuthenticationRequired()) {
-                    sslContextBuilder.trustManager(trustCertificateChain());
-                } else {
-                    sslContextBuilder.trustManager(InsecureTrustManagerFactory.INSTANCE);
-                }
-                serverSslContext = sslServerContextBuilderCustomizer
-                    .apply(sslContextBuilder)
-                    .build();
+                serverSslContext = buildServerSslContext(
+                    keyAndCertificateFactory.privateKey(),
+                    keyAndCertificateFactory.certificateChain()
+                );
                 configuration.rebuildServerTLSContext(false);
+                if (rebuild) {
+                    // hostname certificates may be signed by a certificate authority that has just been replaced
+                    clearHostnameSslContexts();
+                }
             } catch (Error error) {
                 throw error;
             } catch (Exception exception) {
@@ -233,6 +246,113 @@ public class NettySslContextFactory {
         return serverSslContext;
     }
 
+    /**
+     * Returns the server SslContext for an SNI hostname.  When per-hostname certificates are enabled each hostname gets its
+     * own leaf certificate, signed by the certificate authority, which is generated asynchronously and cached in a bounded
+     * least recently used cache that is cleared whenever the shared server SslContext is rebuilt, otherwise the hostname is
+     * added as a Subject Alternative Name to the shared server certificate.
+     *
+     * @param hostname the SNI hostname sent by the client or null if none was sent
+     */
+    public CompletableFuture<SslContext> createServerSslContext(String hostname) {
+        if (isBlank(hostname) || !hostnameCertificatesEnabled()) {
+            if (isNotBlank(hostname)) {
+                configuration.addSubjectAlternativeName(hostname);
+            }
+            return CompletableFuture.completedFuture(createServerSslContext());
+        }
+        String key = hostname.toLowerCase();
+        synchronized (hostnameSslContexts) {
+            CompletableFuture<SslContext> hostnameSslContext = hostnameSslContexts.get(key);
+            if (hostnameSslContext == null || hostnameSslContext.isCompletedExceptionally()) {
+                hostnameSslContext = CompletableFuture.supplyAsync(() -> createHostnameSslContext(key), hostnameCertificateExecutor());
+                hostnameSslContexts.put(key, hostnameSslContext);
+            }
+            return hostnameSslContext;
+        }
+    }
+
+    private void clearHostnameSslContexts() {
+        synchronized (hostnameSslContexts) {
+            hostnameSslContexts.clear();
+        }
+    }
+
+    private boolean hostnameCertificatesEnabled() {
+        return hostnameCertificateCacheSize > 0
+            && hostnameCertificatesSupported
+            && !configuration.preventCertificateDynamicUpdate();
+    }
+
+    private ExecutorService hostnameCertificateExecutor() {
+        if (hostnameCertificateExecutor == null) {
+            synchronized (hostnameSslContexts) {
+                if (hostnameCertificateExecutor == null) {
+                    int threads = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+                    ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                        threads,
+                        threads,
+                        60,
+                        TimeUnit.SECONDS,
+                        new LinkedBlockingQueue<>(),
+                        new Scheduler.SchedulerThreadFactory("HostnameCertificate")
+                    );
+                    // idle threads exit so no shutdown is required
+                    executor.allowCoreThreadTimeOut(true);
+                    hostnameCertificateExecutor = executor;
+                }
+            }
+        }
+        return hostnameCertificateExecutor;
+    }
+
+    private SslContext createHostnameSslContext(String hostname) {
+        // ensures the certificate authority has been loaded or created before it is used concurrently
+        if (serverSslContext == null || keyAndCertificateFactory.certificateNotYetCreated()) {
+            createServerSslContext();
+        }
+        try {
+            Pair<PrivateKey, List<X509Certificate>> privateKeyAndCertificateChain = keyAndCertificateFactory.buildPrivateKeyAndX509CertificateForHostname(hostname);
+            if (privateKeyAndCertificateChain != null) {
+                return buildServerSslContext(privateKeyAndCertificateChain.getLeft(), privateKeyAndCertificateChain.getRight());
+            }
+            hostnameCertificatesSupported = false;
+        } catch (Throwable throwable) {
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setLogLevel(Level.WARN)
+                    .setMessageFormat("exception creating SSL context for hostname{}using shared server SSL context instead")
+                    .setArguments(hostname)
+                    .setThrowable(throwable)
+            );
+        }
+        // not cached so the shared server SSL context is rebuilt as subject alternative names are added
+        synchronized (hostnameSslContexts) {
+            hostnameSslContexts.remove(hostname);
+        }
+        configuration.addSubjectAlternativeName(hostname);
+        return createServerSslContext();
+    }
+
+    private SslContext buildServerSslContext(PrivateKey privateKey, List<X509Certificate> certificateChain) throws SSLException {
+        final SslContextBuilder sslContextBuilder = SslContextBuilder
+            .forServer(
+                privateKey,
+                certificateChain
+            )
+            .protocols(configuration.tlsProtocols().split(","))
+            .clientAuth(configuration.tlsMutualAuthenticationRequired() ? ClientAuth.REQUIRE : ClientAuth.OPTIONAL);
+        configureALPN(sslContextBuilder);
+        if (isNotBlank(configuration.tlsMutualAuthenticationCertificateChain()) || configuration.tlsMutualAuthenticationRequired()) {
+            sslContextBuilder.trustManager(trustCertificateChain());
+        } else {
+            sslContextBuilder.trustManager(InsecureTrustManagerFactory.INSTANCE);
+        }
+        return sslServerContextBuilderCustomizer
+            .apply(sslContextBuilder)
+            .build();
+    }
+
     private void logUsedCertificateData() {
         final X509Certificate caCertificate = keyAndCertificateFactory.certificateAuthorityX509Certificate();
         final X509Certificate eeCertificate = keyAndCertificateFactory.x509Certificate();
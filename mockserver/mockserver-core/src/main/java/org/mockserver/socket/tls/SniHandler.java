@@ -9,6 +9,7 @@ import io.netty.handler.ssl.SslHandler;
 import io.netty.util.AttributeKey;
 import io.netty.util.ReferenceCountUtil;
 import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.Promise;
 import io.netty.util.internal.PlatformDependent;
 import org.mockserver.configuration.Configuration;
 import org.mockserver.log.model.LogEntry;
@@ -20,6 +21,8 @@ import javax.net.ssl.SSLEngine;
 import javax.net.ssl.SSLPeerUnverifiedException;
 import javax.net.ssl.SSLSession;
 import java.security.cert.Certificate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 import static org.slf4j.event.Level.TRACE;
@@ -45,10 +48,20 @@ public class SniHandler extends AbstractSniHandler<SslContext> {
 
     @Override
     protected Future<SslContext> lookup(ChannelHandlerContext ctx, String hostname) {
-        if (isNotBlank(hostname)) {
-            configuration.addSubjectAlternativeName(hostname);
+        CompletableFuture<SslContext> sslContext = nettySslContextFactory.createServerSslContext(hostname);
+        if (sslContext.isDone() && !sslContext.isCompletedExceptionally()) {
+            return ctx.executor().newSucceededFuture(sslContext.getNow(null));
         }
-        return ctx.executor().newSucceededFuture(nettySslContextFactory.createServerSslContext());
+        // certificates are generated off the event loop, reads are suspended until the promise completes
+        Promise<SslContext> promise = ctx.executor().newPromise();
+        sslContext.whenComplete((context, throwable) -> {
+            if (throwable != null) {
+                promise.tryFailure(throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable);
+            } else {
+                promise.trySuccess(context);
+            }
+        });
+        return promise;
     }
 
     @Override
@@ -1,5 +1,7 @@
 package org.mockserver.socket.tls.bouncycastle;
 
+import com.google.common.net.InetAddresses;
+import org.apache.commons.lang3.tuple.Pair;
 import org.bouncycastle.asn1.*;
 import org.bouncycastle.asn1.x500.X500Name;
 import org.bouncycastle.asn1.x509.*;
@@ -252,6 +254,60 @@ public class BCKeyAndCertificateFactory implements KeyAndCertificateFactory {
         }
     }
 
+    /**
+     * build or generate & save private key and certificate for a single hostname
+     */
+    @Override
+    public Pair<PrivateKey, List<X509Certificate>> buildPrivateKeyAndX509CertificateForHostname(String hostname) {
+        if (!shouldGenerateCertificates()) {
+            return null;
+        }
+        try {
+            File hostnameDirectory = new File(new File(new File(configuration.directoryToSaveDynamicSSLCertificate()), "hostnames"), hostname.toLowerCase().replaceAll("[^a-z0-9.\\-]", "_").replace("..", "_"));
+            String privateKeyPath = new File(hostnameDirectory, "PKCS8PrivateKey.pem").getAbsolutePath();
+            String x509CertificatePath = new File(hostnameDirectory, "Certificate.pem").getAbsolutePath();
+            if (configuration.persistHostnameCertificates() && validX509PEMFileExists(x509CertificatePath) && new File(privateKeyPath).exists()) {
+                X509Certificate savedX509Certificate = x509FromPEMFile(x509CertificatePath);
+                try {
+                    // only reuse certificates that are still valid and signed by the current certificate authority
+                    savedX509Certificate.checkValidity(new Date());
+                    savedX509Certificate.verify(certificateAuthorityX509Certificate().getPublicKey());
+                    return Pair.of(privateKeyFromPEMFile(privateKeyPath), Arrays.asList(savedX509Certificate, certificateAuthorityX509Certificate()));
+                } catch (GeneralSecurityException ignore) {
+                    // regenerate below
+                }
+            }
+            AsymmetricKeyPairAlgorithm keyGenerationAndSigningAlgorithm = KeyAndCertificateFactory.DEFAULT_KEY_GENERATION_AND_SIGNING_ALGORITHM;
+            KeyPair keyPair = AsymmetricKeyGenerator.createKeyPair(keyGenerationAndSigningAlgorithm);
+            boolean ipAddress = InetAddresses.isInetAddress(hostname);
+            X509Certificate hostnameX509Certificate = generateLeafCert(
+                keyGenerationAndSigningAlgorithm,
+                keyPair.getPublic(),
+                certificateAuthorityX509Certificate(),
+                certificateAuthorityPrivateKey(),
+                certificateAuthorityX509Certificate().getPublicKey(),
+                hostname,
+                ipAddress ? null : Collections.emptySet(),
+                ipAddress ? Collections.singleton(hostname) : null
+            );
+            if (mockServerLogger != null && mockServerLogger.isEnabledForInstance(TRACE)) {
+                mockServerLogger.logEvent(
+                    new LogEntry()
+                        .setLogLevel(TRACE)
+                        .setMessageFormat("created new X509{}for hostname{}")
+                        .setArguments(hostnameX509Certificate, hostname)
+                );
+            }
+            if (configuration.persistHostnameCertificates()) {
+                saveAsPEMFile(hostnameX509Certificate, x509CertificatePath, "X509 Certificate PEM");
+                saveAsPEMFile(keyPair.getPrivate(), privateKeyPath, "Private Key PEM");
+            }
+            return Pair.of(keyPair.getPrivate(), Arrays.asList(hostnameX509Certificate, certificateAuthorityX509Certificate()));
+        } catch (Exception e) {
+            throw new RuntimeException("Exception while generating private key and X509 certificate for hostname " + hostname, e);
+        }
+    }
+
     /**
      * leaf private key path
      */
@@ -6,6 +6,8 @@ import com.google.common.base.Splitter;
 import org.mockserver.configuration.Configuration;
 import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
+import org.mockserver.matchers.ParsedBodyCache;
+import org.mockserver.metrics.Metrics;
 import org.mockserver.model.HttpRequest;
 import org.mockserver.model.HttpResponse;
 import org.mockserver.serialization.ObjectMapperFactory;
@@ -19,6 +21,12 @@ import org.mockserver.templates.engine.serializer.HttpTemplateOutputDeserializer
 import org.slf4j.event.Level;
 
 import javax.script.*;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.StreamSupport;
 
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
@@ -27,8 +35,13 @@ import static org.mockserver.formatting.StringFormatter.formatLogMessage;
 import static org.mockserver.formatting.StringFormatter.indentAndToString;
 import static org.mockserver.log.model.LogEntry.LogMessageType.TEMPLATE_GENERATED;
 import static org.mockserver.log.model.LogEntryMessages.TEMPLATE_GENERATED_MESSAGE_FORMAT;
+import static org.mockserver.metrics.Metrics.Name.JAVASCRIPT_TEMPLATE_COMPILE_TIME_MICROSECONDS;
+import static org.mockserver.metrics.Metrics.Name.JAVASCRIPT_TEMPLATE_EXECUTION_TIME_MICROSECONDS;
 
 /**
+ * Executes JavaScript templates using a pool of script engines, so templates execute in parallel, each engine is only
+ * used by one thread at a time and caches the scripts it has compiled, so each template is only compiled once per engine.
+ *
  * @author jamesdbloom
  */
 @SuppressWarnings({"RedundantSuppression", "deprecation", "removal", "FieldMayBeFinal"})
@@ -36,19 +49,34 @@ public class JavaScriptTemplateEngine implements TemplateEngine {
 
     private static final String ENGINE_NASHORN = "nashorn";
     private static final String ENGINE_GRAALJS = "graal.js";
+    private static final int MAX_COMPILED_SCRIPTS_PER_ENGINE = 250;
+    private static final String SERIALISE_FUNCTION = " function serialise(request) { return JSON.stringify(handle(JSON.parse(request)), null, 2); }";
+    private static final String SERIALISE_FUNCTION_WITH_RESPONSE = " function serialise(request, response) { return JSON.stringify(handle(JSON.parse(request), JSON.parse(response)), null, 2); }";
 
-    private ScriptEngine engine;
+    private final BlockingQueue<PooledEngine> idleEngines = new LinkedBlockingQueue<>();
+    private final AtomicInteger engineCount = new AtomicInteger();
+    private final int maxEngines;
+    private final boolean engineAvailable;
     private ObjectMapper objectMapper;
     private final MockServerLogger mockServerLogger;
     private HttpTemplateOutputDeserializer httpTemplateOutputDeserializer;
     private final Configuration configuration;
+    private final Metrics metrics;
 
     public JavaScriptTemplateEngine(MockServerLogger mockServerLogger, Configuration configuration) {
         this.configuration = (configuration == null) ? configuration() : configuration;
-        this.engine = createEngine(this.configuration);
         this.mockServerLogger = mockServerLogger;
         this.httpTemplateOutputDeserializer = new HttpTemplateOutputDeserializer(mockServerLogger);
         this.objectMapper = ObjectMapperFactory.createObjectMapper();
+        this.metrics = new Metrics(this.configuration);
+        // templates are executed by action handler threads so there is no benefit in more engines than threads
+        this.maxEngines = Math.max(1, this.configuration.actionHandlerThreadCount());
+        ScriptEngine engine = createEngine(this.configuration);
+        this.engineAvailable = engine != null;
+        if (engineAvailable) {
+            engineCount.incrementAndGet();
+            idleEngines.add(new PooledEngine(engine));
+        }
     }
 
     @SuppressWarnings("unchecked")
@@ -99,64 +127,79 @@ public class JavaScriptTemplateEngine implements TemplateEngine {
     }
 
     @Override
-    public synchronized <T> T executeTemplate(String template, HttpRequest request, Class<? extends DTO<T>> dtoClass) {
+    public <T> T executeTemplate(String template, HttpRequest request, Class<? extends DTO<T>> dtoClass) {
         return executeTemplateInternal(template, request, null, dtoClass, false);
     }
 
     @Override
-    public synchronized <T> T executeTemplate(String template, HttpRequest request, HttpResponse response, Class<? extends DTO<T>> dtoClass) {
+    public <T> T executeTemplate(String template, HttpRequest request, HttpResponse response, Class<? extends DTO<T>> dtoClass) {
         return executeTemplateInternal(template, request, response, dtoClass, true);
     }
 
-    private synchronized <T> T executeTemplateInternal(String template, HttpRequest request, HttpResponse response, Class<? extends DTO<T>> dtoClass, boolean includeResponse) {
+    private PooledEngine borrowEngine() throws InterruptedException {
+        PooledEngine pooledEngine = idleEngines.poll();
+        if (pooledEngine == null) {
+            if (engineCount.incrementAndGet() <= maxEngines) {
+                ScriptEngine engine = createEngine(configuration);
+                if (engine != null) {
+                    return new PooledEngine(engine);
+                }
+            }
+            engineCount.decrementAndGet();
+            long timeoutInMillis = configuration.maxSocketTimeoutInMillis();
+            pooledEngine = idleEngines.poll(timeoutInMillis, TimeUnit.MILLISECONDS);
+            if (pooledEngine == null) {
+                throw new IllegalStateException("timed out after " + timeoutInMillis + "ms waiting for one of " + maxEngines + " JavaScript engines to be returned to the pool");
+            }
+        }
+        return pooledEngine;
+    }
+
+    private <T> T executeTemplateInternal(String template, HttpRequest request, HttpResponse response, Class<? extends DTO<T>> dtoClass, boolean includeResponse) {
         T result = null;
         String script = includeResponse ? wrapTemplateWithResponse(template) : wrapTemplate(template);
         try {
             validateTemplate(template);
-            if (engine != null) {
-                Compilable compilable = (Compilable) engine;
-                String serialiseFunction = includeResponse
-                    ? " function serialise(request, response) { return JSON.stringify(handle(JSON.parse(request), JSON.parse(response)), null, 2); }"
-                    : " function serialise(request) { return JSON.stringify(handle(JSON.parse(request)), null, 2); }";
-                CompiledScript compiledScript = compilable.compile(script + serialiseFunction);
-
-                engine.setBindings(new ScriptBindings(TemplateFunctions.BUILT_IN_FUNCTIONS), ScriptContext.ENGINE_SCOPE);
-                TemplateFunctions.BUILT_IN_HELPERS.forEach((key, value) -> engine.getBindings(ScriptContext.ENGINE_SCOPE).put(key, value));
-                compiledScript.eval();
-
-                Invocable invocable = (Invocable) engine;
+            if (engineAvailable) {
                 Object stringifiedResponse;
-                if (includeResponse) {
-                    stringifiedResponse = invocable.invokeFunction("serialise", new HttpRequestTemplateObject(request), new HttpResponseTemplateObject(response));
-                } else {
-                    stringifiedResponse = invocable.invokeFunction("serialise", new HttpRequestTemplateObject(request));
+                PooledEngine pooledEngine = borrowEngine();
+                try {
+                    stringifiedResponse = pooledEngine.execute(script + (includeResponse ? SERIALISE_FUNCTION_WITH_RESPONSE : SERIALISE_FUNCTION), request, response, includeResponse);
+                } finally {
+                    idleEngines.add(pooledEngine);
                 }
 
-                JsonNode generatedObject = null;
+                // the generated json is parsed once and shared with the output validation
+                ParsedBodyCache.open();
                 try {
-                    generatedObject = objectMapper.readTree(String.valueOf(stringifiedResponse));
-                } catch (Throwable throwable) {
+                    JsonNode generatedObject = null;
+                    try {
+                        generatedObject = ParsedBodyCache.jsonNode(String.valueOf(stringifiedResponse));
+                    } catch (Throwable throwable) {
+                        if (mockServerLogger.isEnabledForInstance(Level.INFO)) {
+                            mockServerLogger.logEvent(
+                                new LogEntry()
+                                    .setLogLevel(Level.INFO)
+                                    .setHttpRequest(request)
+                                    .setMessageFormat("exception deserialising generated content:{}into json node for request:{}")
+                                    .setArguments(stringifiedResponse, request)
+                            );
+                        }
+                    }
                     if (mockServerLogger.isEnabledForInstance(Level.INFO)) {
                         mockServerLogger.logEvent(
                             new LogEntry()
+                                .setType(TEMPLATE_GENERATED)
                                 .setLogLevel(Level.INFO)
                                 .setHttpRequest(request)
-                                .setMessageFormat("exception deserialising generated content:{}into json node for request:{}")
-                                .setArguments(stringifiedResponse, request)
+                                .setMessageFormat(TEMPLATE_GENERATED_MESSAGE_FORMAT)
+                                .setArguments(generatedObject != null ? generatedObject : stringifiedResponse, script, request)
                         );
                     }
+                    result = httpTemplateOutputDeserializer.deserializer(request, (String) stringifiedResponse, dtoClass);
+                } finally {
+                    ParsedBodyCache.close();
                 }
-                if (mockServerLogger.isEnabledForInstance(Level.INFO)) {
-                    mockServerLogger.logEvent(
-                        new LogEntry()
-                            .setType(TEMPLATE_GENERATED)
-                            .setLogLevel(Level.INFO)
-                            .setHttpRequest(request)
-                            .setMessageFormat(TEMPLATE_GENERATED_MESSAGE_FORMAT)
-                            .setArguments(generatedObject != null ? generatedObject : stringifiedResponse, script, request)
-                    );
-                }
-                result = httpTemplateOutputDeserializer.deserializer(request, (String) stringifiedResponse, dtoClass);
             } else {
                 mockServerLogger.logEvent(
                     new LogEntry()
@@ -194,4 +237,50 @@ public class JavaScriptTemplateEngine implements TemplateEngine {
         }
     }
 
+    private class PooledEngine {
+
+        private final ScriptEngine engine;
+        // only accessed by the thread that has borrowed the engine
+        private final Map<String, CompiledScript> compiledScripts = new LinkedHashMap<String, CompiledScript>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompiledScript> eldest) {
+                return size() > MAX_COMPILED_SCRIPTS_PER_ENGINE;
+            }
+        };
+
+        private PooledEngine(ScriptEngine engine) {
+            this.engine = engine;
+        }
+
+        private Object execute(String script, HttpRequest request, HttpResponse response, boolean includeResponse) throws ScriptException, NoSuchMethodException {
+            CompiledScript compiledScript = compiledScripts.get(script);
+            if (compiledScript == null) {
+                long compileStartNanos = System.nanoTime();
+                compiledScript = ((Compilable) engine).compile(script);
+                metrics.set(JAVASCRIPT_TEMPLATE_COMPILE_TIME_MICROSECONDS, elapsedMicros(compileStartNanos));
+                compiledScripts.put(script, compiledScript);
+            }
+
+            long executeStartNanos = System.nanoTime();
+            // fresh bindings for each execution so no state is shared between templates or requests
+            engine.setBindings(new ScriptBindings(TemplateFunctions.BUILT_IN_FUNCTIONS), ScriptContext.ENGINE_SCOPE);
+            TemplateFunctions.BUILT_IN_HELPERS.forEach((key, value) -> engine.getBindings(ScriptContext.ENGINE_SCOPE).put(key, value));
+            compiledScript.eval();
+
+            Invocable invocable = (Invocable) engine;
+            Object stringifiedResponse;
+            if (includeResponse) {
+                stringifiedResponse = invocable.invokeFunction("serialise", new HttpRequestTemplateObject(request), new HttpResponseTemplateObject(response));
+            } else {
+                stringifiedResponse = invocable.invokeFunction("serialise", new HttpRequestTemplateObject(request));
+            }
+            metrics.set(JAVASCRIPT_TEMPLATE_EXECUTION_TIME_MICROSECONDS, elapsedMicros(executeStartNanos));
+            return stringifiedResponse;
+        }
+
+        private int elapsedMicros(long startNanos) {
+            return (int) Math.min(Integer.MAX_VALUE, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos));
+        }
+    }
+
 }
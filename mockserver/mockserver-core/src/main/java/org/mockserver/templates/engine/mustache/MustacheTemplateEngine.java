@@ -6,6 +6,7 @@ import com.google.common.base.Splitter;
 import com.jayway.jsonpath.JsonPath;
 import com.samskivert.mustache.Mustache;
 import com.samskivert.mustache.Template;
+import org.mockserver.cache.LRUCache;
 import org.mockserver.configuration.Configuration;
 import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
@@ -27,6 +28,7 @@ import java.io.Writer;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+import static java.util.concurrent.TimeUnit.HOURS;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 import static org.mockserver.formatting.StringFormatter.formatLogMessage;
 import static org.mockserver.log.model.LogEntry.LogMessageType.TEMPLATE_GENERATED;
@@ -34,6 +36,8 @@ import static org.mockserver.log.model.LogEntryMessages.TEMPLATE_GENERATED_MESSA
 
 /**
  * See: https://github.com/samskivert/jmustache or http://mustache.github.io/mustache.5.html for syntax
+ * <p>
+ * Compiled templates are thread safe so they are cached by their content and only compiled once.
  *
  * @author jamesdbloom
  */
@@ -44,6 +48,7 @@ public class MustacheTemplateEngine implements TemplateEngine {
     private final MockServerLogger mockServerLogger;
     private final Configuration configuration;
     private final Mustache.Compiler compiler;
+    private final LRUCache<String, Template> compiledTemplates;
     private HttpTemplateOutputDeserializer httpTemplateOutputDeserializer;
 
     public MustacheTemplateEngine(MockServerLogger mockServerLogger, Configuration configuration) {
@@ -60,6 +65,7 @@ public class MustacheTemplateEngine implements TemplateEngine {
             .strictSections(false)
             .defaultValue("")
             .withCollector(new ExtendedCollector());
+        compiledTemplates = new LRUCache<>(configuration, mockServerLogger, "mustache_template", 500, HOURS.toMillis(1));
     }
 
     @Override
@@ -77,7 +83,7 @@ public class MustacheTemplateEngine implements TemplateEngine {
         try {
             validateTemplate(template);
             Writer writer = new StringWriter();
-            Template compiledTemplate = compiler.compile(template);
+            Template compiledTemplate = compiledTemplate(template);
             Map<String, Object> data = new ConcurrentHashMap<>();
             data.put("request", new HttpRequestTemplateObject(request));
             if (response != null) {
@@ -119,6 +125,15 @@ public class MustacheTemplateEngine implements TemplateEngine {
         return result;
     }
 
+    private Template compiledTemplate(String template) {
+        Template compiledTemplate = compiledTemplates.get(template);
+        if (compiledTemplate == null) {
+            compiledTemplate = compiler.compile(template);
+            compiledTemplates.put(template, compiledTemplate);
+        }
+        return compiledTemplate;
+    }
+
     private void validateTemplate(String template) {
         if (isNotBlank(template) && isNotBlank(configuration.mustacheDisallowedText())) {
             Iterable<String> deniedStrings = Splitter.on(",").trimResults().split(configuration.mustacheDisallowedText());
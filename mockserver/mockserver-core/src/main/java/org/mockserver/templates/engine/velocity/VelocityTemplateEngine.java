@@ -3,14 +3,19 @@ package org.mockserver.templates.engine.velocity;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.base.Splitter;
+import org.apache.velocity.Template;
 import org.apache.velocity.VelocityContext;
 import org.apache.velocity.app.VelocityEngine;
+import org.apache.velocity.exception.ParseErrorException;
 import org.apache.velocity.runtime.RuntimeConstants;
+import org.apache.velocity.runtime.RuntimeInstance;
+import org.apache.velocity.runtime.parser.ParseException;
 import org.apache.velocity.tools.ToolManager;
 import org.apache.velocity.tools.config.ToolConfiguration;
 import org.apache.velocity.tools.config.ToolboxConfiguration;
 import org.apache.velocity.tools.config.XmlFactoryConfiguration;
 import org.apache.velocity.util.introspection.SecureUberspector;
+import org.mockserver.cache.LRUCache;
 import org.mockserver.configuration.Configuration;
 import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
@@ -26,27 +31,34 @@ import org.mockserver.templates.engine.serializer.HttpTemplateOutputDeserializer
 import org.mockserver.templates.engine.velocity.directives.Ifnull;
 import org.slf4j.event.Level;
 
+import java.io.StringReader;
 import java.io.StringWriter;
 import java.io.Writer;
 import java.util.Properties;
 
+import static java.util.concurrent.TimeUnit.HOURS;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 import static org.mockserver.formatting.StringFormatter.formatLogMessage;
 import static org.mockserver.log.model.LogEntry.LogMessageType.TEMPLATE_GENERATED;
 import static org.mockserver.log.model.LogEntryMessages.TEMPLATE_GENERATED_MESSAGE_FORMAT;
 
 /**
+ * Templates are parsed once and the parsed templates are cached by their content, so repeated requests for the same
+ * template only render the already parsed template.
+ *
  * @author jamesdbloom
  */
 @SuppressWarnings("FieldMayBeFinal")
 public class VelocityTemplateEngine implements TemplateEngine {
 
+    private static final String TEMPLATE_NAME = "VelocityResponseTemplate";
     private static ObjectMapper objectMapper;
     private final MockServerLogger mockServerLogger;
     private final Configuration configuration;
     private HttpTemplateOutputDeserializer httpTemplateOutputDeserializer;
-    private final VelocityEngine velocityEngine;
+    private final RuntimeInstance velocityRuntime;
     private final ToolManager toolManager;
+    private final LRUCache<String, Template> parsedTemplates;
 
     public VelocityTemplateEngine(MockServerLogger mockServerLogger, Configuration configuration) {
         this.mockServerLogger = mockServerLogger;
@@ -55,13 +67,13 @@ public class VelocityTemplateEngine implements TemplateEngine {
         if (objectMapper == null) {
             objectMapper = ObjectMapperFactory.createObjectMapper();
         }
-        velocityEngine = buildVelocityEngine(configuration);
-        toolManager = buildToolManager(velocityEngine);
+        Properties velocityProperties = buildVelocityProperties(configuration);
+        velocityRuntime = buildVelocityRuntime(velocityProperties);
+        toolManager = buildToolManager(buildVelocityEngine(velocityProperties));
+        parsedTemplates = new LRUCache<>(configuration, mockServerLogger, "velocity_template", 500, HOURS.toMillis(1));
     }
 
-    private VelocityEngine buildVelocityEngine(Configuration configuration) {
-        VelocityEngine velocityEngine;
-
+    private Properties buildVelocityProperties(Configuration configuration) {
         // See: https://velocity.apache.org/engine/2.0/configuration.html
         Properties velocityProperties = new Properties();
         velocityProperties.put(RuntimeConstants.RUNTIME_LOG_REFERENCE_LOG_INVALID, "true");
@@ -89,7 +101,20 @@ public class VelocityTemplateEngine implements TemplateEngine {
         if (configuration.velocityDisallowClassLoading()) {
             velocityProperties.put(RuntimeConstants.UBERSPECT_CLASSNAME, SecureUberspector.class.getName());
         }
-        velocityEngine = new VelocityEngine();
+        return velocityProperties;
+    }
+
+    // the runtime is used directly, instead of through a VelocityEngine, so templates can be parsed once and merged many times
+    private RuntimeInstance buildVelocityRuntime(Properties velocityProperties) {
+        RuntimeInstance velocityRuntime = new RuntimeInstance();
+        velocityRuntime.init(velocityProperties);
+
+        return velocityRuntime;
+    }
+
+    // a VelocityEngine doesn't expose its runtime, so the tools are given their own engine with the same properties
+    private VelocityEngine buildVelocityEngine(Properties velocityProperties) {
+        VelocityEngine velocityEngine = new VelocityEngine();
         velocityEngine.init(velocityProperties);
 
         return velocityEngine;
@@ -163,7 +188,7 @@ public class VelocityTemplateEngine implements TemplateEngine {
             }
             TemplateFunctions.BUILT_IN_FUNCTIONS.forEach(context::put);
             TemplateFunctions.BUILT_IN_HELPERS.forEach(context::put);
-            velocityEngine.evaluate(context, writer, "VelocityResponseTemplate", template);
+            parsedTemplate(template).merge(context, writer);
             JsonNode generatedObject = null;
             try {
                 generatedObject = objectMapper.readTree(writer.toString());
@@ -195,6 +220,23 @@ public class VelocityTemplateEngine implements TemplateEngine {
         return result;
     }
 
+    private Template parsedTemplate(String template) {
+        Template parsedTemplate = parsedTemplates.get(template);
+        if (parsedTemplate == null) {
+            parsedTemplate = new Template();
+            parsedTemplate.setName(TEMPLATE_NAME);
+            parsedTemplate.setRuntimeServices(velocityRuntime);
+            try {
+                parsedTemplate.setData(velocityRuntime.parse(new StringReader(template), parsedTemplate));
+            } catch (ParseException pex) {
+                throw new ParseErrorException(pex, null);
+            }
+            parsedTemplate.initDocument();
+            parsedTemplates.put(template, parsedTemplate);
+        }
+        return parsedTemplate;
+    }
+
     private void validateTemplate(String template) {
         if (isNotBlank(template) && isNotBlank(configuration.velocityDisallowedText())) {
             Iterable<String> deniedStrings = Splitter.on(",").trimResults().split(configuration.velocityDisallowedText());
@@ -0,0 +1,65 @@
+package org.mockserver.validator.jsonschema;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.cfg.JsonNodeFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.google.common.hash.Hashing;
+import com.networknt.schema.JsonSchema;
+import com.networknt.schema.JsonSchemaFactory;
+import com.networknt.schema.SpecVersion;
+import org.mockserver.cache.LRUCache;
+import org.mockserver.logging.MockServerLogger;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.HOURS;
+import static org.mockserver.configuration.Configuration.configuration;
+
+/**
+ * A process wide cache of compiled json schemas so identical schemas, i.e. the many "type: string" or
+ * "type: integer" parameter schemas created when expanding open api specs, share one compiled {@link JsonSchema}
+ * across expectations and specs.
+ * <p>
+ * Schemas are keyed by spec version and a digest of the schema with its properties sorted, so property order and
+ * whitespace don't prevent sharing, and the least recently used schemas are evicted once the cache is full.  The size
+ * of the cache is reported, when metrics are collected, by the {@link org.mockserver.cache.LRUCacheCollector}.
+ *
+ * @author jamesdbloom
+ */
+public class CompiledJsonSchemaCache {
+
+    private static final LRUCache<String, JsonSchema> COMPILED_JSON_SCHEMA_CACHE = new LRUCache<>(configuration(), new MockServerLogger(CompiledJsonSchemaCache.class), "compiled_json_schema", 5000, HOURS.toMillis(1));
+    private static final ObjectMapper CANONICAL_OBJECT_MAPPER = JsonMapper.builder().enable(JsonNodeFeature.WRITE_PROPERTIES_SORTED).build();
+
+    private CompiledJsonSchemaCache() {
+
+    }
+
+    public static JsonSchema getSchema(SpecVersion.VersionFlag specVersion, JsonNode schemaJsonNode) {
+        String key = cacheKey(specVersion, schemaJsonNode);
+        JsonSchema jsonSchema = key != null ? COMPILED_JSON_SCHEMA_CACHE.get(key) : null;
+        if (jsonSchema == null) {
+            jsonSchema = JsonSchemaFactory.getInstance(specVersion).getSchema(schemaJsonNode);
+            if (key != null) {
+                COMPILED_JSON_SCHEMA_CACHE.put(key, jsonSchema);
+            }
+        }
+        return jsonSchema;
+    }
+
+    static String cacheKey(SpecVersion.VersionFlag specVersion, JsonNode schemaJsonNode) {
+        if (schemaJsonNode == null) {
+            return null;
+        }
+        try {
+            return specVersion.name() + ":" + Hashing.sha256().hashString(CANONICAL_OBJECT_MAPPER.writeValueAsString(schemaJsonNode), UTF_8);
+        } catch (Throwable throwable) {
+            // schema can't be canonicalised so is compiled without being shared
+            return null;
+        }
+    }
+
+    public static int size() {
+        return COMPILED_JSON_SCHEMA_CACHE.size();
+    }
+}
@@ -5,13 +5,13 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.base.Joiner;
 import com.networknt.schema.JsonSchema;
-import com.networknt.schema.JsonSchemaFactory;
 import com.networknt.schema.SpecVersion;
 import com.networknt.schema.ValidationMessage;
 import org.apache.commons.lang3.StringUtils;
 import org.mockserver.file.FileReader;
 import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
+import org.mockserver.matchers.ParsedBodyCache;
 import org.mockserver.model.ObjectWithReflectiveEqualsHashCodeToString;
 import org.mockserver.model.RequestDefinition;
 import org.mockserver.serialization.ObjectMapperFactory;
@@ -54,7 +54,7 @@ public class JsonSchemaValidator extends ObjectWithReflectiveEqualsHashCodeToStr
             throw new IllegalArgumentException("Schema must either be a path reference to a *.json file or a json string");
         }
         this.schemaJsonNode = getSchemaJsonNode();
-        this.validator = getJsonSchemaFactory(this.schemaJsonNode).getSchema(this.schemaJsonNode);
+        this.validator = CompiledJsonSchemaCache.getSchema(getSpecVersion(this.schemaJsonNode), this.schemaJsonNode);
     }
 
     public JsonSchemaValidator(MockServerLogger mockServerLogger, String schema, JsonNode schemaJsonNode) {
@@ -62,7 +62,7 @@ public class JsonSchemaValidator extends ObjectWithReflectiveEqualsHashCodeToStr
         this.type = null;
         this.schema = schema;
         this.schemaJsonNode = schemaJsonNode;
-        this.validator = getJsonSchemaFactory(this.schemaJsonNode).getSchema(this.schemaJsonNode);
+        this.validator = CompiledJsonSchemaCache.getSchema(getSpecVersion(this.schemaJsonNode), this.schemaJsonNode);
     }
 
     public JsonSchemaValidator(MockServerLogger mockServerLogger, Class<?> type, String routePath, String mainSchemeFile, String... referenceFiles) {
@@ -73,33 +73,33 @@ public class JsonSchemaValidator extends ObjectWithReflectiveEqualsHashCodeToStr
         }
         this.schema = schemaCache.get(mainSchemeFile);
         this.schemaJsonNode = getSchemaJsonNode();
-        this.validator = getJsonSchemaFactory(this.schemaJsonNode).getSchema(this.schemaJsonNode);
+        this.validator = CompiledJsonSchemaCache.getSchema(getSpecVersion(this.schemaJsonNode), this.schemaJsonNode);
     }
 
-    private JsonSchemaFactory getJsonSchemaFactory(JsonNode schema) {
+    private SpecVersion.VersionFlag getSpecVersion(JsonNode schema) {
         if (schema != null) {
             JsonNode metaSchema = schema.get("$schema");
             if (metaSchema != null) {
                 String metaSchemaValue = metaSchema.textValue();
                 if (isNotBlank(metaSchemaValue)) {
-                    return getJsonSchemaFactory(metaSchemaValue);
+                    return getSpecVersion(metaSchemaValue);
                 }
             }
         }
-        return JsonSchemaFactory.getInstance(DEFAULT_JSON_SCHEMA_VERSION);
+        return DEFAULT_JSON_SCHEMA_VERSION;
     }
 
-    private JsonSchemaFactory getJsonSchemaFactory(String metaSchemaValue) {
+    private SpecVersion.VersionFlag getSpecVersion(String metaSchemaValue) {
         if (metaSchemaValue.contains("draft-03") || metaSchemaValue.contains("draft-04")) {
-            return JsonSchemaFactory.getInstance(SpecVersion.VersionFlag.V4);
+            return SpecVersion.VersionFlag.V4;
         } else if (metaSchemaValue.contains("draft-05") || metaSchemaValue.contains("draft-06")) {
-            return JsonSchemaFactory.getInstance(SpecVersion.VersionFlag.V6);
+            return SpecVersion.VersionFlag.V6;
         } else if (metaSchemaValue.contains("draft-07")) {
-            return JsonSchemaFactory.getInstance(SpecVersion.VersionFlag.V7);
+            return SpecVersion.VersionFlag.V7;
         } else if (metaSchemaValue.contains("draft/2019-09")) {
-            return JsonSchemaFactory.getInstance(SpecVersion.VersionFlag.V201909);
+            return SpecVersion.VersionFlag.V201909;
         }
-        return JsonSchemaFactory.getInstance(DEFAULT_JSON_SCHEMA_VERSION);
+        return DEFAULT_JSON_SCHEMA_VERSION;
     }
 
     private JsonNode getSchemaJsonNode() {
@@ -162,10 +162,10 @@ public class JsonSchemaValidator extends ObjectWithReflectiveEqualsHashCodeToStr
         String validationResult = "";
         if (isNotBlank(json)) {
             try {
-                validationResult = formatProcessingReport(validator.validate(OBJECT_MAPPER.readTree(json)), addOpenAPISpecificationMessage);
+                validationResult = formatProcessingReport(validator.validate(ParsedBodyCache.jsonNode(json)), addOpenAPISpecificationMessage);
             } catch (Throwable throwable) {
                 if (isNotBlank(throwable.getMessage()) && throwable.getMessage().contains("Unknown MetaSchema")) {
-                    validator = getJsonSchemaFactory(throwable.getMessage()).getSchema(this.schemaJsonNode);
+                    validator = CompiledJsonSchemaCache.getSchema(getSpecVersion(throwable.getMessage()), this.schemaJsonNode);
                     return isValid(json, addOpenAPISpecificationMessage);
                 }
                 mockServerLogger.logEvent(
@@ -1,6 +1,7 @@
 package org.mockserver.xml;
 
 import org.mockserver.model.ObjectWithReflectiveEqualsHashCodeToString;
+import org.w3c.dom.Document;
 
 import javax.xml.XMLConstants;
 import javax.xml.namespace.NamespaceContext;
@@ -56,4 +57,16 @@ public class XPathEvaluator extends ObjectWithReflectiveEqualsHashCodeToString {
         }
     }
 
+    public Object evaluateXPathExpression(Document document, QName returnType) {
+        try {
+            return xPathExpression.evaluate(document, returnType);
+        } catch (Throwable throwable) {
+            throw new RuntimeException(throwable.getMessage(), throwable);
+        }
+    }
+
+    public boolean isNamespaceAware() {
+        return namespaceAware;
+    }
+
 }
@@ -0,0 +1,59 @@
+package org.mockserver.cache;
+
+import io.prometheus.metrics.model.snapshots.DataPointSnapshot;
+import io.prometheus.metrics.model.snapshots.GaugeSnapshot;
+import io.prometheus.metrics.model.snapshots.MetricSnapshot;
+import io.prometheus.metrics.model.snapshots.MetricSnapshots;
+import org.junit.Test;
+import org.mockserver.logging.MockServerLogger;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockserver.configuration.Configuration.configuration;
+
+/**
+ * @author jamesdbloom
+ */
+public class LRUCacheCollectorTest {
+
+    private final MockServerLogger mockServerLogger = new MockServerLogger(LRUCacheCollectorTest.class);
+
+    @Test
+    public void shouldExposeCountsLabelledAndSummedByCacheName() {
+        // given
+        LRUCache<String, Object> firstCache = new LRUCache<>(configuration().metricsEnabled(true), mockServerLogger, "collector_test_one", 5, MINUTES.toMillis(10));
+        LRUCache<String, Object> secondCache = new LRUCache<>(configuration().metricsEnabled(true), mockServerLogger, "collector_test_one", 5, MINUTES.toMillis(10));
+        LRUCache<String, Object> thirdCache = new LRUCache<>(configuration().metricsEnabled(true), mockServerLogger, "collector_test_two", 5, MINUTES.toMillis(10));
+        firstCache.put("one", "a");
+        firstCache.get("one");
+        secondCache.get("one");
+        thirdCache.get("one");
+        thirdCache.get("two");
+
+        // when
+        MetricSnapshots metricSnapshots = new LRUCacheCollector().collect();
+
+        // then
+        assertThat(value(metricSnapshots, "lru_cache_size", "collector_test_one"), is(1.0));
+        assertThat(value(metricSnapshots, "lru_cache_size", "collector_test_two"), is(0.0));
+        assertThat(value(metricSnapshots, "lru_cache_hits_count", "collector_test_one"), is(1.0));
+        assertThat(value(metricSnapshots, "lru_cache_misses_count", "collector_test_one"), is(1.0));
+        assertThat(value(metricSnapshots, "lru_cache_hits_count", "collector_test_two"), is(0.0));
+        assertThat(value(metricSnapshots, "lru_cache_misses_count", "collector_test_two"), is(2.0));
+        assertThat(value(metricSnapshots, "lru_cache_evictions_count", "collector_test_two"), is(0.0));
+    }
+
+    private static Double value(MetricSnapshots metricSnapshots, String metricName, String cacheName) {
+        for (MetricSnapshot metricSnapshot : metricSnapshots) {
+            if (metricSnapshot.getMetadata().getName().equals(metricName)) {
+                for (DataPointSnapshot dataPoint : metricSnapshot.getDataPoints()) {
+                    if (cacheName.equals(dataPoint.getLabels().get("cache"))) {
+                        return ((GaugeSnapshot.GaugeDataPointSnapshot) dataPoint).getValue();
+                    }
+                }
+            }
+        }
+        return null;
+    }
+}
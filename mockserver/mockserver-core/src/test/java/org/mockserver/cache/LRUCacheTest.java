@@ -8,6 +8,7 @@ import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockserver.configuration.Configuration.configuration;
 
 public class LRUCacheTest {
 
@@ -136,6 +137,44 @@ public class LRUCacheTest {
         assertThat(lruCache.get("one"), is(nullValue()));
     }
 
+    @Test
+    public void shouldEvictLeastRecentlyUsed() {
+        // given
+        LRUCache<String, Object> lruCache = new LRUCache<>(mockServerLogger, 3, MINUTES.toMillis(10));
+        lruCache.put("one", "a");
+        lruCache.put("two", "b");
+        lruCache.put("three", "c");
+
+        // when
+        lruCache.get("one");
+        lruCache.put("four", "d");
+
+        // then
+        assertThat(lruCache.get("one"), is("a"));
+        assertThat(lruCache.get("two"), is(nullValue()));
+        assertThat(lruCache.get("three"), is("c"));
+        assertThat(lruCache.get("four"), is("d"));
+    }
+
+    @Test
+    public void shouldDeleteItems() {
+        // given
+        LRUCache<String, Object> lruCache = new LRUCache<>(mockServerLogger, 3, MINUTES.toMillis(10));
+        lruCache.put("one", "a");
+        lruCache.put("two", "b");
+
+        // when
+        lruCache.delete("one");
+        lruCache.put("three", "c");
+        lruCache.put("four", "d");
+
+        // then
+        assertThat(lruCache.get("one"), is(nullValue()));
+        assertThat(lruCache.get("two"), is("b"));
+        assertThat(lruCache.get("three"), is("c"));
+        assertThat(lruCache.get("four"), is("d"));
+    }
+
     @Test
     public void shouldClearGlobally() {
         // given
@@ -160,4 +199,54 @@ public class LRUCacheTest {
         assertThat(lruCacheThree.get("one"), is(nullValue()));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void shouldReturnCachedObjectsFromDefaultCache() {
+        // given
+        LRUCache<String, Object> lruCache = new LRUCache<>(mockServerLogger, 5, MINUTES.toMillis(10));
+
+        // when
+        lruCache.put("one", "a");
+
+        // then
+        assertThat(lruCache.getName(), is("default"));
+        assertThat(lruCache.get("one"), is("a"));
+    }
+
+    @Test
+    public void shouldCountHitsMissesAndEvictionsWhenMetricsEnabled() {
+        // given
+        LRUCache<String, Object> lruCache = new LRUCache<>(configuration().metricsEnabled(true), mockServerLogger, "test", 2, MINUTES.toMillis(10));
+
+        // when
+        lruCache.put("one", "a");
+        lruCache.put("two", "b");
+        lruCache.put("three", "c");
+        lruCache.get("one");
+        lruCache.get("two");
+        lruCache.get("three");
+
+        // then
+        assertThat(lruCache.getName(), is("test"));
+        assertThat(lruCache.hits(), is(2L));
+        assertThat(lruCache.misses(), is(1L));
+        assertThat(lruCache.evictions(), is(1L));
+    }
+
+    @Test
+    public void shouldNotCountWhenMetricsDisabled() {
+        // given
+        LRUCache<String, Object> lruCache = new LRUCache<>(configuration().metricsEnabled(false), mockServerLogger, "test", 1, MINUTES.toMillis(10));
+
+        // when
+        lruCache.put("one", "a");
+        lruCache.put("two", "b");
+        lruCache.get("one");
+        lruCache.get("two");
+
+        // then
+        assertThat(lruCache.hits(), is(0L));
+        assertThat(lruCache.misses(), is(0L));
+        assertThat(lruCache.evictions(), is(0L));
+    }
+
+}
@@ -0,0 +1,52 @@
+package org.mockserver.collections;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures appending to a full {@link CircularConcurrentLinkedDeque} (i.e. the event log write path where every append
+ * evicts the oldest entry) which should be independent of the maximum size
+ * <p>
+ * run with: mvn test-compile exec:java -Dexec.mainClass=org.mockserver.collections.CircularConcurrentLinkedDequeBenchmark -Dexec.classpathScope=test
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CircularConcurrentLinkedDequeBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    public int size;
+
+    private CircularConcurrentLinkedDeque<Integer> deque;
+    private int counter;
+
+    @Setup
+    public void setup() {
+        deque = new CircularConcurrentLinkedDeque<>(size, evicted -> {
+        });
+        for (int i = 0; i < size; i++) {
+            deque.add(i);
+        }
+    }
+
+    @Benchmark
+    public boolean appendAndEvict() {
+        return deque.add(counter++);
+    }
+
+    @Benchmark
+    public int size() {
+        return deque.size();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CircularConcurrentLinkedDequeBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -2,9 +2,13 @@ package org.mockserver.collections;
 
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
 
 import static junit.framework.TestCase.assertEquals;
+import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
@@ -45,4 +49,137 @@ public class CircularConcurrentLinkedDequeTest {
         assertThat(concurrentLinkedQueue, contains("2", "3", "4"));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void shouldEvictOldestEntriesWithCallback() {
+        // given
+        List<String> evicted = new ArrayList<>();
+        CircularConcurrentLinkedDeque<String> concurrentLinkedQueue = new CircularConcurrentLinkedDeque<>(3, evicted::add);
+
+        // when
+        concurrentLinkedQueue.addAll(Arrays.asList("1", "2", "3", "4", "5"));
+
+        // then
+        assertEquals(3, concurrentLinkedQueue.size());
+        assertThat(concurrentLinkedQueue, contains("3", "4", "5"));
+        assertThat(evicted, contains("1", "2"));
+
+        // when
+        concurrentLinkedQueue.clear();
+
+        // then
+        assertEquals(0, concurrentLinkedQueue.size());
+        assertThat(evicted, contains("1", "2", "3", "4", "5"));
+    }
+
+    @Test
+    public void shouldEvictOldestEntriesWhenMaximumWeightExceeded() {
+        // given
+        List<String> evicted = new ArrayList<>();
+        CircularConcurrentLinkedDeque<String> concurrentLinkedQueue = new CircularConcurrentLinkedDeque<>(10, 10, String::length, evicted::add);
+
+        // when
+        concurrentLinkedQueue.addAll(Arrays.asList("aaa", "bbbb", "ccc"));
+
+        // then
+        assertEquals(10, concurrentLinkedQueue.weight());
+        assertThat(concurrentLinkedQueue, contains("aaa", "bbbb", "ccc"));
+
+        // when
+        concurrentLinkedQueue.add("dddddd");
+
+        // then
+        assertEquals(9, concurrentLinkedQueue.weight());
+        assertThat(concurrentLinkedQueue, contains("ccc", "dddddd"));
+        assertThat(evicted, contains("aaa", "bbbb"));
+
+        // when
+        concurrentLinkedQueue.add("eeeeeeeeeeee");
+
+        // then - last element added is kept
+        assertEquals(12, concurrentLinkedQueue.weight());
+        assertThat(concurrentLinkedQueue, contains("eeeeeeeeeeee"));
+
+        // when
+        concurrentLinkedQueue.removeItem("eeeeeeeeeeee");
+
+        // then
+        assertEquals(0, concurrentLinkedQueue.weight());
+        assertEquals(0, concurrentLinkedQueue.size());
+    }
+
+    @Test
+    public void shouldTrackSizeAcrossRemovals() {
+        // given
+        CircularConcurrentLinkedDeque<String> concurrentLinkedQueue = new CircularConcurrentLinkedDeque<>(10, null);
+        concurrentLinkedQueue.addAll(Arrays.asList("1", "2", "3", "4", "5", "6", "7", "8"));
+
+        // when
+        concurrentLinkedQueue.poll();
+        concurrentLinkedQueue.pollLast();
+        concurrentLinkedQueue.removeItem("4");
+        concurrentLinkedQueue.removeItem("does not exist");
+        concurrentLinkedQueue.removeIf("5"::equals);
+        Iterator<String> descendingIterator = concurrentLinkedQueue.descendingIterator();
+        descendingIterator.next();
+        descendingIterator.remove();
+
+        // then
+        assertEquals(3, concurrentLinkedQueue.size());
+        assertThat(concurrentLinkedQueue, contains("2", "3", "6"));
+        assertThat(new ArrayList<>(concurrentLinkedQueue).size(), is(concurrentLinkedQueue.size()));
+    }
+
+    @Test
+    public void shouldIterateInBothDirections() {
+        // given
+        CircularConcurrentLinkedDeque<String> concurrentLinkedQueue = new CircularConcurrentLinkedDeque<>(3, null);
+        concurrentLinkedQueue.addAll(Arrays.asList("1", "2", "3", "4"));
+
+        // when
+        List<String> descending = new ArrayList<>();
+        concurrentLinkedQueue.descendingIterator().forEachRemaining(descending::add);
+
+        // then
+        assertThat(descending, contains("4", "3", "2"));
+    }
+
+    @Test
+    public void shouldNotAddWhenMaximumSizeIsZero() {
+        // given
+        CircularConcurrentLinkedDeque<String> concurrentLinkedQueue = new CircularConcurrentLinkedDeque<>(0, null);
+
+        // when
+        boolean added = concurrentLinkedQueue.add("1");
+
+        // then
+        assertThat(added, is(false));
+        assertEquals(0, concurrentLinkedQueue.size());
+    }
+
+    @Test
+    public void shouldStayBoundedWithConcurrentWriters() throws InterruptedException {
+        // given
+        CircularConcurrentLinkedDeque<Integer> concurrentLinkedQueue = new CircularConcurrentLinkedDeque<>(100, null);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    concurrentLinkedQueue.add(i);
+                }
+            });
+        }
+
+        // when
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // then
+        assertThat(new ArrayList<>(concurrentLinkedQueue).size(), is(concurrentLinkedQueue.size()));
+        assertThat(concurrentLinkedQueue.size() <= 100 + threads.length, is(true));
+    }
+
+}
@@ -0,0 +1,72 @@
+package org.mockserver.collections;
+
+import org.mockserver.mock.SortableExpectationId;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockserver.mock.SortableExpectationId.EXPECTATION_SORTABLE_PRIORITY_COMPARATOR;
+
+/**
+ * Measures iterating a {@link CircularPriorityQueue} in priority order (i.e. the request matching read path)
+ * and updating an entry's priority (i.e. the expectation update write path)
+ * <p>
+ * run with: mvn test-compile exec:java -Dexec.mainClass=org.mockserver.collections.CircularPriorityQueueBenchmark -Dexec.classpathScope=test
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CircularPriorityQueueBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    public int size;
+
+    private CircularPriorityQueue<String, SortableExpectationId, SortableExpectationId> queue;
+    private SortableExpectationId updated;
+
+    @Setup
+    public void setup() {
+        queue = new CircularPriorityQueue<>(
+            size,
+            EXPECTATION_SORTABLE_PRIORITY_COMPARATOR,
+            sortableExpectationId -> sortableExpectationId,
+            sortableExpectationId -> sortableExpectationId.id
+        );
+        for (int i = 0; i < size; i++) {
+            queue.add(new SortableExpectationId(String.valueOf(i), i % 10, i));
+        }
+        updated = queue.toSortedList().get(size / 2);
+    }
+
+    @Benchmark
+    public void iterateSortedList(Blackhole blackhole) {
+        for (SortableExpectationId sortableExpectationId : queue.toSortedList()) {
+            blackhole.consume(sortableExpectationId);
+        }
+    }
+
+    @Benchmark
+    public void iterateStream(Blackhole blackhole) {
+        queue.stream().forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void updatePriorityThenIterate(Blackhole blackhole) {
+        queue.removePriorityKey(updated);
+        queue.addPriorityKey(updated);
+        for (SortableExpectationId sortableExpectationId : queue.toSortedList()) {
+            blackhole.consume(sortableExpectationId);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CircularPriorityQueueBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -4,6 +4,8 @@ import org.junit.Test;
 import org.mockserver.mock.Expectation;
 import org.mockserver.mock.SortableExpectationId;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -597,4 +599,140 @@ public class CircularPriorityQueueTest {
         assertThat(concurrentLinkedQueue.toSortedList(), contains(five, one, two));
     }
 
-}
\ No newline at end of file
+
+    @Test
+    public void shouldReturnOnlyIndexedElementsInPriorityOrder() {
+        // given
+        CircularPriorityQueue<String, SortableExpectationId, SortableExpectationId> concurrentLinkedQueue = new CircularPriorityQueue<>(
+            5,
+            EXPECTATION_SORTABLE_PRIORITY_COMPARATOR,
+            sortableExpectationId -> sortableExpectationId,
+            sortableExpectationId -> sortableExpectationId.id,
+            sortableExpectationId -> Integer.parseInt(sortableExpectationId.id) % 2 == 0 ? Arrays.asList("even", "all") : Arrays.asList("odd", "all")
+        );
+
+        // when
+        concurrentLinkedQueue.add(new SortableExpectationId("4", 0, 0));
+        concurrentLinkedQueue.add(new SortableExpectationId("1", 0, 0));
+        concurrentLinkedQueue.add(new SortableExpectationId("3", 0, 0));
+        concurrentLinkedQueue.add(new SortableExpectationId("2", 10, 0));
+
+        // then
+        assertThat(concurrentLinkedQueue.toSortedList(Collections.singletonList("even")), contains(
+            new SortableExpectationId("2", 10, 0),
+            new SortableExpectationId("4", 0, 0)
+        ));
+        assertThat(concurrentLinkedQueue.toSortedList(Collections.singletonList("odd")), contains(
+            new SortableExpectationId("1", 0, 0),
+            new SortableExpectationId("3", 0, 0)
+        ));
+        assertThat(concurrentLinkedQueue.toSortedList(Arrays.asList("odd", "all")), contains(
+            new SortableExpectationId("2", 10, 0),
+            new SortableExpectationId("1", 0, 0),
+            new SortableExpectationId("3", 0, 0),
+            new SortableExpectationId("4", 0, 0)
+        ));
+        assertThat(concurrentLinkedQueue.toSortedList(Collections.singletonList("none")), empty());
+    }
+
+    @Test
+    public void shouldUpdateIndexWhenElementsRemovedEvictedOrReprioritised() {
+        // given
+        CircularPriorityQueue<String, SortableExpectationId, SortableExpectationId> concurrentLinkedQueue = new CircularPriorityQueue<>(
+            3,
+            EXPECTATION_SORTABLE_PRIORITY_COMPARATOR,
+            sortableExpectationId -> sortableExpectationId,
+            sortableExpectationId -> sortableExpectationId.id,
+            sortableExpectationId -> Collections.singletonList("all")
+        );
+        concurrentLinkedQueue.add(new SortableExpectationId("1", 0, 0));
+        concurrentLinkedQueue.add(new SortableExpectationId("2", 0, 0));
+        concurrentLinkedQueue.add(new SortableExpectationId("3", 0, 0));
+
+        // when - evicted
+        concurrentLinkedQueue.add(new SortableExpectationId("4", 0, 0));
+
+        // then
+        assertThat(concurrentLinkedQueue.toSortedList(Collections.singletonList("all")), contains(
+            new SortableExpectationId("2", 0, 0),
+            new SortableExpectationId("3", 0, 0),
+            new SortableExpectationId("4", 0, 0)
+        ));
+
+        // when - removed
+        concurrentLinkedQueue.remove(new SortableExpectationId("3", 0, 0));
+
+        // then
+        assertThat(concurrentLinkedQueue.toSortedList(Collections.singletonList("all")), contains(
+            new SortableExpectationId("2", 0, 0),
+            new SortableExpectationId("4", 0, 0)
+        ));
+
+        // when - priority key removed
+        concurrentLinkedQueue.removePriorityKey(new SortableExpectationId("2", 0, 0));
+
+        // then
+        assertThat(concurrentLinkedQueue.toSortedList(Collections.singletonList("all")), contains(
+            new SortableExpectationId("4", 0, 0)
+        ));
+
+        // when - priority key added
+        concurrentLinkedQueue.addPriorityKey(new SortableExpectationId("2", 0, 0));
+
+        // then
+        assertThat(concurrentLinkedQueue.toSortedList(Collections.singletonList("all")), contains(
+            new SortableExpectationId("2", 0, 0),
+            new SortableExpectationId("4", 0, 0)
+        ));
+    }
+
+    @Test
+    public void shouldShareSortedSnapshotUntilModified() {
+        // given
+        CircularPriorityQueue<String, SortableExpectationId, SortableExpectationId> concurrentLinkedQueue = new CircularPriorityQueue<>(
+            5,
+            EXPECTATION_SORTABLE_PRIORITY_COMPARATOR,
+            sortableExpectationId -> sortableExpectationId,
+            sortableExpectationId -> sortableExpectationId.id
+        );
+        concurrentLinkedQueue.add(new SortableExpectationId("1", 0, 0));
+        concurrentLinkedQueue.add(new SortableExpectationId("2", 0, 0));
+
+        // when
+        List<SortableExpectationId> sortedList = concurrentLinkedQueue.toSortedList();
+
+        // then
+        assertThat(concurrentLinkedQueue.toSortedList(), sameInstance(sortedList));
+        assertThat(concurrentLinkedQueue.keyMap(), sameInstance(concurrentLinkedQueue.keyMap()));
+
+        // when
+        concurrentLinkedQueue.add(new SortableExpectationId("3", 0, 0));
+
+        // then
+        assertThat(sortedList, contains(
+            new SortableExpectationId("1", 0, 0),
+            new SortableExpectationId("2", 0, 0)
+        ));
+        assertThat(concurrentLinkedQueue.toSortedList(), not(sameInstance(sortedList)));
+        assertThat(concurrentLinkedQueue.toSortedList(), contains(
+            new SortableExpectationId("1", 0, 0),
+            new SortableExpectationId("2", 0, 0),
+            new SortableExpectationId("3", 0, 0)
+        ));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void shouldNotAllowSortedSnapshotToBeModified() {
+        // given
+        CircularPriorityQueue<String, SortableExpectationId, SortableExpectationId> concurrentLinkedQueue = new CircularPriorityQueue<>(
+            5,
+            EXPECTATION_SORTABLE_PRIORITY_COMPARATOR,
+            sortableExpectationId -> sortableExpectationId,
+            sortableExpectationId -> sortableExpectationId.id
+        );
+        concurrentLinkedQueue.add(new SortableExpectationId("1", 0, 0));
+
+        // when
+        concurrentLinkedQueue.toSortedList().add(new SortableExpectationId("2", 0, 0));
+    }
+}
@@ -0,0 +1,100 @@
+package org.mockserver.collections;
+
+import org.junit.Test;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.matchers.RegexStringMatcher;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertTrue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockserver.collections.SubSetMatcher.containsSubset;
+import static org.mockserver.model.NottableSchemaString.schemaString;
+import static org.mockserver.model.NottableString.not;
+import static org.mockserver.model.NottableString.string;
+
+/**
+ * @author jamesdbloom
+ */
+public class CompiledSubSetMatcherTest {
+
+    private static final RegexStringMatcher regexStringMatcher = new RegexStringMatcher(new MockServerLogger(), false);
+
+    private static ImmutableEntry entry(String key, String value) {
+        return new ImmutableEntry(regexStringMatcher, key, value);
+    }
+
+    private static boolean compiledContainsSubset(List<ImmutableEntry> subset, List<ImmutableEntry> superset) {
+        return new CompiledSubSetMatcher(regexStringMatcher, subset).containsSubset(new IndexedEntries(superset));
+    }
+
+    private static void assertSameAsSubSetMatcher(List<ImmutableEntry> subset, List<ImmutableEntry> superset) {
+        assertThat(subset + " subset of " + superset, compiledContainsSubset(subset, superset), is(containsSubset(null, null, regexStringMatcher, subset, superset)));
+    }
+
+    @Test
+    public void shouldMatchLiteralKeysIgnoringCase() {
+        assertTrue(compiledContainsSubset(
+            Arrays.asList(entry("Content-Type", "application/json"), entry("x_request_id", "[0-9]+")),
+            Arrays.asList(entry("accept", "*/*"), entry("X_REQUEST_ID", "123"), entry("content-type", "application/json"))
+        ));
+        assertFalse(compiledContainsSubset(
+            Arrays.asList(entry("Content-Type", "application/json"), entry("x_request_id", "[0-9]+")),
+            Arrays.asList(entry("accept", "*/*"), entry("X_REQUEST_ID", "abc"), entry("content-type", "application/json"))
+        ));
+    }
+
+    @Test
+    public void shouldMatchLiteralKeyAgainstNonAsciiKey() {
+        // the kelvin sign matches k as a case insensitive regex
+        assertSameAsSubSetMatcher(
+            Collections.singletonList(entry("kelvin", "value")),
+            Collections.singletonList(entry("Kelvin", "value"))
+        );
+    }
+
+    @Test
+    public void shouldNotMatchSingleSupersetEntryForMultipleSubsetEntries() {
+        assertFalse(compiledContainsSubset(
+            Arrays.asList(entry("one", "one_.*"), entry("one", "one_one")),
+            Collections.singletonList(entry("one", "one_one"))
+        ));
+    }
+
+    @Test
+    public void shouldGiveSameResultAsSubSetMatcher() {
+        List<List<ImmutableEntry>> subsets = Arrays.asList(
+            Collections.emptyList(),
+            Collections.singletonList(entry("one", "one")),
+            Arrays.asList(entry("one", "one"), entry("two", "two")),
+            Arrays.asList(entry("one", "one_one"), entry("one", "one_two")),
+            Arrays.asList(entry("?four", "four"), entry("two", "two")),
+            Collections.singletonList(entry("?one", "one_two")),
+            Collections.singletonList(entry("o.*", "one.*")),
+            Collections.singletonList(entry("[a-z]{3}", "t.*")),
+            Collections.singletonList(entry("!one", "one")),
+            Collections.singletonList(entry("!four", "four")),
+            Collections.singletonList(entry("one", "!one")),
+            Collections.singletonList(entry("", "one")),
+            Collections.singletonList(new ImmutableEntry(regexStringMatcher, not("two"), not("two"))),
+            Collections.singletonList(new ImmutableEntry(regexStringMatcher, string("one"), schemaString("{ \"type\": \"string\", \"pattern\": \"^one.*$\" }"))),
+            Collections.singletonList(new ImmutableEntry(regexStringMatcher, schemaString("{ \"type\": \"string\", \"pattern\": \"^t.*$\" }"), string("two")))
+        );
+        List<List<ImmutableEntry>> supersets = Arrays.asList(
+            Collections.emptyList(),
+            Arrays.asList(entry("one", "one"), entry("two", "two"), entry("three", "three")),
+            Arrays.asList(entry("ONE", "one_one"), entry("one", "one_two"), entry("Two", "two")),
+            Arrays.asList(entry("one", "one_one"), entry("four", "four")),
+            Arrays.asList(entry("o.*", "one"), entry("two", "!two"))
+        );
+        for (List<ImmutableEntry> subset : subsets) {
+            for (List<ImmutableEntry> superset : supersets) {
+                assertSameAsSubSetMatcher(subset, superset);
+            }
+        }
+    }
+}
@@ -5,6 +5,8 @@ import com.google.common.collect.ImmutableSet;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockserver.server.initialize.ExpectationInitializerExample;
+import org.mockserver.scheduler.MatchingExecutorType;
+import org.mockserver.socket.NettyTransport;
 import org.mockserver.socket.tls.ForwardProxyTLSX509CertificatesTrustManager;
 import org.mockserver.socket.tls.KeyAndCertificateFactory;
 
@@ -176,6 +178,58 @@ public class ConfigurationTest {
         }
     }
 
+    @Test
+    public void shouldSetAndGetJsonLogFormat() {
+        boolean original = ConfigurationProperties.jsonLogFormat();
+        try {
+            // then - default value
+            assertThat(configuration.jsonLogFormat(), equalTo(false));
+
+            // when - system property setter
+            ConfigurationProperties.jsonLogFormat(true);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.jsonLogFormat(), equalTo(true));
+            assertThat(System.getProperty("mockserver.jsonLogFormat"), equalTo("true"));
+            assertThat(configuration.jsonLogFormat(), equalTo(true));
+            ConfigurationProperties.jsonLogFormat(original);
+
+            // when - setter
+            configuration.jsonLogFormat(true);
+
+            // then - getter
+            assertThat(configuration.jsonLogFormat(), equalTo(true));
+        } finally {
+            ConfigurationProperties.jsonLogFormat(original);
+        }
+    }
+
+    @Test
+    public void shouldSetAndGetAsyncLogQueueSize() {
+        int original = ConfigurationProperties.asyncLogQueueSize();
+        try {
+            // then - default value
+            assertThat(configuration.asyncLogQueueSize(), equalTo(0));
+
+            // when - system property setter
+            ConfigurationProperties.asyncLogQueueSize(4096);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.asyncLogQueueSize(), equalTo(4096));
+            assertThat(System.getProperty("mockserver.asyncLogQueueSize"), equalTo("4096"));
+            assertThat(configuration.asyncLogQueueSize(), equalTo(4096));
+            ConfigurationProperties.asyncLogQueueSize(original);
+
+            // when - setter
+            configuration.asyncLogQueueSize(1024);
+
+            // then - getter
+            assertThat(configuration.asyncLogQueueSize(), equalTo(1024));
+        } finally {
+            ConfigurationProperties.asyncLogQueueSize(original);
+        }
+    }
+
     @Test
     public void shouldSetAndGetLaunchUIForLogLevelDebug() {
         boolean original = ConfigurationProperties.launchUIForLogLevelDebug();
@@ -285,6 +339,58 @@ public class ConfigurationTest {
         }
     }
 
+    @Test
+    public void shouldSetAndGetMaxLogEntriesBytes() {
+        long original = ConfigurationProperties.maxLogEntriesBytes();
+        try {
+            // then - default value
+            assertThat(configuration.maxLogEntriesBytes(), equalTo(0L));
+
+            // when - system property setter
+            ConfigurationProperties.maxLogEntriesBytes(1048576L);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.maxLogEntriesBytes(), equalTo(1048576L));
+            assertThat(System.getProperty("mockserver.maxLogEntriesBytes"), equalTo("1048576"));
+            assertThat(configuration.maxLogEntriesBytes(), equalTo(1048576L));
+            ConfigurationProperties.maxLogEntriesBytes(original);
+
+            // when - setter
+            configuration.maxLogEntriesBytes(2048L);
+
+            // then - getter
+            assertThat(configuration.maxLogEntriesBytes(), equalTo(2048L));
+        } finally {
+            ConfigurationProperties.maxLogEntriesBytes(original);
+        }
+    }
+
+    @Test
+    public void shouldSetAndGetLogBodyCompressionThreshold() {
+        int original = ConfigurationProperties.logBodyCompressionThreshold();
+        try {
+            // then - default value
+            assertThat(configuration.logBodyCompressionThreshold(), equalTo(0));
+
+            // when - system property setter
+            ConfigurationProperties.logBodyCompressionThreshold(4096);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.logBodyCompressionThreshold(), equalTo(4096));
+            assertThat(System.getProperty("mockserver.logBodyCompressionThreshold"), equalTo("4096"));
+            assertThat(configuration.logBodyCompressionThreshold(), equalTo(4096));
+            ConfigurationProperties.logBodyCompressionThreshold(original);
+
+            // when - setter
+            configuration.logBodyCompressionThreshold(1024);
+
+            // then - getter
+            assertThat(configuration.logBodyCompressionThreshold(), equalTo(1024));
+        } finally {
+            ConfigurationProperties.logBodyCompressionThreshold(original);
+        }
+    }
+
     @Test
     public void shouldSetAndGetMaxWebSocketExpectations() {
         int original = ConfigurationProperties.maxWebSocketExpectations();
@@ -388,6 +494,59 @@ public class ConfigurationTest {
         }
     }
 
+
+    @Test
+    public void shouldSetAndGetNettyTransport() {
+        NettyTransport original = ConfigurationProperties.nettyTransport();
+        try {
+            // then - default value
+            assertThat(configuration.nettyTransport(), equalTo(NettyTransport.AUTO));
+
+            // when - system property setter
+            ConfigurationProperties.nettyTransport(NettyTransport.NIO);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.nettyTransport(), equalTo(NettyTransport.NIO));
+            assertThat(System.getProperty("mockserver.nettyTransport"), equalTo("NIO"));
+            assertThat(configuration.nettyTransport(), equalTo(NettyTransport.NIO));
+            ConfigurationProperties.nettyTransport(original);
+
+            // when - setter
+            configuration.nettyTransport(NettyTransport.EPOLL);
+
+            // then - getter
+            assertThat(configuration.nettyTransport(), equalTo(NettyTransport.EPOLL));
+        } finally {
+            ConfigurationProperties.nettyTransport(original);
+        }
+    }
+
+    @Test
+    public void shouldSetAndGetAcceptThreadCount() {
+        int original = ConfigurationProperties.acceptThreadCount();
+        try {
+            // then - default value
+            assertThat(configuration.acceptThreadCount(), equalTo(1));
+
+            // when - system property setter
+            ConfigurationProperties.acceptThreadCount(4);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.acceptThreadCount(), equalTo(4));
+            assertThat(System.getProperty("mockserver.acceptThreadCount"), equalTo("4"));
+            assertThat(configuration.acceptThreadCount(), equalTo(4));
+            ConfigurationProperties.acceptThreadCount(original);
+
+            // when - setter
+            configuration.acceptThreadCount(8);
+
+            // then - getter
+            assertThat(configuration.acceptThreadCount(), equalTo(8));
+        } finally {
+            ConfigurationProperties.acceptThreadCount(original);
+        }
+    }
+
     @Test
     public void shouldSetAndGetActionHandlerThreadCount() {
         int original = ConfigurationProperties.actionHandlerThreadCount();
@@ -413,6 +572,82 @@ public class ConfigurationTest {
         }
     }
 
+    @Test
+    public void shouldSetAndGetMatchingExecutor() {
+        MatchingExecutorType original = ConfigurationProperties.matchingExecutor();
+        try {
+            // then - default value
+            assertThat(configuration.matchingExecutor(), equalTo(MatchingExecutorType.PLATFORM_THREADS));
+
+            // when - system property setter
+            ConfigurationProperties.matchingExecutor(MatchingExecutorType.EVENT_LOOP);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.matchingExecutor(), equalTo(MatchingExecutorType.EVENT_LOOP));
+            assertThat(System.getProperty("mockserver.matchingExecutor"), equalTo("EVENT_LOOP"));
+            assertThat(configuration.matchingExecutor(), equalTo(MatchingExecutorType.EVENT_LOOP));
+            ConfigurationProperties.matchingExecutor(original);
+
+            // when - setter
+            configuration.matchingExecutor(MatchingExecutorType.VIRTUAL_THREADS);
+
+            // then - getter
+            assertThat(configuration.matchingExecutor(), equalTo(MatchingExecutorType.VIRTUAL_THREADS));
+        } finally {
+            ConfigurationProperties.matchingExecutor(original);
+        }
+    }
+
+    @Test
+    public void shouldSetAndGetMatchingThreadCount() {
+        int original = ConfigurationProperties.matchingThreadCount();
+        try {
+            // then - default value
+            assertThat(configuration.matchingThreadCount(), equalTo(Math.max(5, Runtime.getRuntime().availableProcessors())));
+
+            // when - system property setter
+            ConfigurationProperties.matchingThreadCount(10);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.matchingThreadCount(), equalTo(10));
+            assertThat(System.getProperty("mockserver.matchingThreadCount"), equalTo("10"));
+            assertThat(configuration.matchingThreadCount(), equalTo(10));
+
+            // when - setter
+            configuration.matchingThreadCount(20);
+
+            // then - getter
+            assertThat(configuration.matchingThreadCount(), equalTo(20));
+        } finally {
+            ConfigurationProperties.matchingThreadCount(original);
+        }
+    }
+
+    @Test
+    public void shouldSetAndGetMatchingQueueSize() {
+        int original = ConfigurationProperties.matchingQueueSize();
+        try {
+            // then - default value
+            assertThat(configuration.matchingQueueSize(), equalTo(10000));
+
+            // when - system property setter
+            ConfigurationProperties.matchingQueueSize(500);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.matchingQueueSize(), equalTo(500));
+            assertThat(System.getProperty("mockserver.matchingQueueSize"), equalTo("500"));
+            assertThat(configuration.matchingQueueSize(), equalTo(500));
+
+            // when - setter
+            configuration.matchingQueueSize(1000);
+
+            // then - getter
+            assertThat(configuration.matchingQueueSize(), equalTo(1000));
+        } finally {
+            ConfigurationProperties.matchingQueueSize(original);
+        }
+    }
+
     @Test
     public void shouldSetAndGetWebSocketClientEventLoopThreadCount() {
         int original = ConfigurationProperties.webSocketClientEventLoopThreadCount();
@@ -616,6 +851,136 @@ public class ConfigurationTest {
         }
     }
 
+    @Test
+    public void shouldSetAndGetForwardConnectionPoolEnabled() {
+        boolean original = ConfigurationProperties.forwardConnectionPoolEnabled();
+        try {
+            // then - default value
+            assertThat(configuration.forwardConnectionPoolEnabled(), equalTo(false));
+
+            // when - system property setter
+            ConfigurationProperties.forwardConnectionPoolEnabled(true);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.forwardConnectionPoolEnabled(), equalTo(true));
+            assertThat(System.getProperty("mockserver.forwardConnectionPoolEnabled"), equalTo("true"));
+            assertThat(configuration.forwardConnectionPoolEnabled(), equalTo(true));
+            ConfigurationProperties.forwardConnectionPoolEnabled(original);
+
+            // when - setter
+            configuration.forwardConnectionPoolEnabled(true);
+
+            // then - getter
+            assertThat(configuration.forwardConnectionPoolEnabled(), equalTo(true));
+        } finally {
+            ConfigurationProperties.forwardConnectionPoolEnabled(original);
+        }
+    }
+
+    @Test
+    public void shouldSetAndGetForwardConnectionPoolMaxConnectionsPerHost() {
+        int original = ConfigurationProperties.forwardConnectionPoolMaxConnectionsPerHost();
+        try {
+            // then - default value
+            assertThat(configuration.forwardConnectionPoolMaxConnectionsPerHost(), equalTo(20));
+
+            // when - system property setter
+            ConfigurationProperties.forwardConnectionPoolMaxConnectionsPerHost(10);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.forwardConnectionPoolMaxConnectionsPerHost(), equalTo(10));
+            assertThat(System.getProperty("mockserver.forwardConnectionPoolMaxConnectionsPerHost"), equalTo("10"));
+            assertThat(configuration.forwardConnectionPoolMaxConnectionsPerHost(), equalTo(10));
+            ConfigurationProperties.forwardConnectionPoolMaxConnectionsPerHost(original);
+
+            // when - setter
+            configuration.forwardConnectionPoolMaxConnectionsPerHost(5);
+
+            // then - getter
+            assertThat(configuration.forwardConnectionPoolMaxConnectionsPerHost(), equalTo(5));
+        } finally {
+            ConfigurationProperties.forwardConnectionPoolMaxConnectionsPerHost(original);
+        }
+    }
+
+    @Test
+    public void shouldSetAndGetForwardConnectionPoolIdleTimeoutInMillis() {
+        long original = ConfigurationProperties.forwardConnectionPoolIdleTimeout();
+        try {
+            // then - default value
+            assertThat(configuration.forwardConnectionPoolIdleTimeoutInMillis(), equalTo(30000L));
+
+            // when - system property setter
+            ConfigurationProperties.forwardConnectionPoolIdleTimeout(10L);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.forwardConnectionPoolIdleTimeout(), equalTo(10L));
+            assertThat(System.getProperty("mockserver.forwardConnectionPoolIdleTimeout"), equalTo("10"));
+            assertThat(configuration.forwardConnectionPoolIdleTimeoutInMillis(), equalTo(10L));
+            ConfigurationProperties.forwardConnectionPoolIdleTimeout(original);
+
+            // when - setter
+            configuration.forwardConnectionPoolIdleTimeoutInMillis(20L);
+
+            // then - getter
+            assertThat(configuration.forwardConnectionPoolIdleTimeoutInMillis(), equalTo(20L));
+        } finally {
+            ConfigurationProperties.forwardConnectionPoolIdleTimeout(original);
+        }
+    }
+
+    @Test
+    public void shouldSetAndGetForwardStreamingEnabled() {
+        boolean original = ConfigurationProperties.forwardStreamingEnabled();
+        try {
+            // then - default value
+            assertThat(configuration.forwardStreamingEnabled(), equalTo(false));
+
+            // when - system property setter
+            ConfigurationProperties.forwardStreamingEnabled(true);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.forwardStreamingEnabled(), equalTo(true));
+            assertThat(System.getProperty("mockserver.forwardStreamingEnabled"), equalTo("true"));
+            assertThat(configuration.forwardStreamingEnabled(), equalTo(true));
+            ConfigurationProperties.forwardStreamingEnabled(original);
+
+            // when - setter
+            configuration.forwardStreamingEnabled(true);
+
+            // then - getter
+            assertThat(configuration.forwardStreamingEnabled(), equalTo(true));
+        } finally {
+            ConfigurationProperties.forwardStreamingEnabled(original);
+        }
+    }
+
+    @Test
+    public void shouldSetAndGetForwardStreamingMaxBufferedBodySize() {
+        int original = ConfigurationProperties.forwardStreamingMaxBufferedBodySize();
+        try {
+            // then - default value
+            assertThat(configuration.forwardStreamingMaxBufferedBodySize(), equalTo(1048576));
+
+            // when - system property setter
+            ConfigurationProperties.forwardStreamingMaxBufferedBodySize(10);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.forwardStreamingMaxBufferedBodySize(), equalTo(10));
+            assertThat(System.getProperty("mockserver.forwardStreamingMaxBufferedBodySize"), equalTo("10"));
+            assertThat(configuration.forwardStreamingMaxBufferedBodySize(), equalTo(10));
+            ConfigurationProperties.forwardStreamingMaxBufferedBodySize(original);
+
+            // when - setter
+            configuration.forwardStreamingMaxBufferedBodySize(20);
+
+            // then - getter
+            assertThat(configuration.forwardStreamingMaxBufferedBodySize(), equalTo(20));
+        } finally {
+            ConfigurationProperties.forwardStreamingMaxBufferedBodySize(original);
+        }
+    }
+
     @Test
     public void shouldSetAndGetMaxInitialLineLength() {
         int original = ConfigurationProperties.maxInitialLineLength();
@@ -1204,6 +1569,110 @@ public class ConfigurationTest {
         }
     }
 
+    @Test
+    public void shouldSetAndGetPersistExpectationsJournal() {
+        boolean original = ConfigurationProperties.persistExpectationsJournal();
+        try {
+            // then - default value
+            assertThat(configuration.persistExpectationsJournal(), equalTo(false));
+
+            // when - system property setter
+            ConfigurationProperties.persistExpectationsJournal(true);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.persistExpectationsJournal(), equalTo(true));
+            assertThat(System.getProperty("mockserver.persistExpectationsJournal"), equalTo("true"));
+            assertThat(configuration.persistExpectationsJournal(), equalTo(true));
+            ConfigurationProperties.persistExpectationsJournal(original);
+
+            // when - setter
+            configuration.persistExpectationsJournal(false);
+
+            // then - getter
+            assertThat(configuration.persistExpectationsJournal(), equalTo(false));
+        } finally {
+            ConfigurationProperties.persistExpectationsJournal(original);
+        }
+    }
+
+    @Test
+    public void shouldSetAndGetPersistedExpectationsJournalCompactionThreshold() {
+        int original = ConfigurationProperties.persistedExpectationsJournalCompactionThreshold();
+        try {
+            // then - default value
+            assertThat(configuration.persistedExpectationsJournalCompactionThreshold(), equalTo(1000));
+
+            // when - system property setter
+            ConfigurationProperties.persistedExpectationsJournalCompactionThreshold(50);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.persistedExpectationsJournalCompactionThreshold(), equalTo(50));
+            assertThat(System.getProperty("mockserver.persistedExpectationsJournalCompactionThreshold"), equalTo("50"));
+            assertThat(configuration.persistedExpectationsJournalCompactionThreshold(), equalTo(50));
+            ConfigurationProperties.persistedExpectationsJournalCompactionThreshold(original);
+
+            // when - setter
+            configuration.persistedExpectationsJournalCompactionThreshold(100);
+
+            // then - getter
+            assertThat(configuration.persistedExpectationsJournalCompactionThreshold(), equalTo(100));
+        } finally {
+            ConfigurationProperties.persistedExpectationsJournalCompactionThreshold(original);
+        }
+    }
+
+    @Test
+    public void shouldSetAndGetPersistedRecordedExpectationsFlushInterval() {
+        long original = ConfigurationProperties.persistedRecordedExpectationsFlushInterval();
+        try {
+            // then - default value
+            assertThat(configuration.persistedRecordedExpectationsFlushInterval(), equalTo(500L));
+
+            // when - system property setter
+            ConfigurationProperties.persistedRecordedExpectationsFlushInterval(250L);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.persistedRecordedExpectationsFlushInterval(), equalTo(250L));
+            assertThat(System.getProperty("mockserver.persistedRecordedExpectationsFlushInterval"), equalTo("250"));
+            assertThat(configuration.persistedRecordedExpectationsFlushInterval(), equalTo(250L));
+            ConfigurationProperties.persistedRecordedExpectationsFlushInterval(original);
+
+            // when - setter
+            configuration.persistedRecordedExpectationsFlushInterval(1000L);
+
+            // then - getter
+            assertThat(configuration.persistedRecordedExpectationsFlushInterval(), equalTo(1000L));
+        } finally {
+            ConfigurationProperties.persistedRecordedExpectationsFlushInterval(original);
+        }
+    }
+
+    @Test
+    public void shouldSetAndGetPersistedRecordedExpectationsFlushBatchSize() {
+        int original = ConfigurationProperties.persistedRecordedExpectationsFlushBatchSize();
+        try {
+            // then - default value
+            assertThat(configuration.persistedRecordedExpectationsFlushBatchSize(), equalTo(100));
+
+            // when - system property setter
+            ConfigurationProperties.persistedRecordedExpectationsFlushBatchSize(50);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.persistedRecordedExpectationsFlushBatchSize(), equalTo(50));
+            assertThat(System.getProperty("mockserver.persistedRecordedExpectationsFlushBatchSize"), equalTo("50"));
+            assertThat(configuration.persistedRecordedExpectationsFlushBatchSize(), equalTo(50));
+            ConfigurationProperties.persistedRecordedExpectationsFlushBatchSize(original);
+
+            // when - setter
+            configuration.persistedRecordedExpectationsFlushBatchSize(200);
+
+            // then - getter
+            assertThat(configuration.persistedRecordedExpectationsFlushBatchSize(), equalTo(200));
+        } finally {
+            ConfigurationProperties.persistedRecordedExpectationsFlushBatchSize(original);
+        }
+    }
+
     @Test
     public void shouldSetAndGetMaximumNumberOfRequestToReturnInVerificationFailure() {
         int original = ConfigurationProperties.maximumNumberOfRequestToReturnInVerificationFailure();
@@ -1871,6 +2340,58 @@ public class ConfigurationTest {
         }
     }
 
+    @Test
+    public void shouldSetAndGetHostnameCertificateCacheSize() {
+        int original = ConfigurationProperties.hostnameCertificateCacheSize();
+        try {
+            // then - default value
+            assertThat(configuration.hostnameCertificateCacheSize(), equalTo(250));
+
+            // when - system property setter
+            ConfigurationProperties.hostnameCertificateCacheSize(10);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.hostnameCertificateCacheSize(), equalTo(10));
+            assertThat(System.getProperty("mockserver.hostnameCertificateCacheSize"), equalTo("10"));
+            assertThat(configuration.hostnameCertificateCacheSize(), equalTo(10));
+            ConfigurationProperties.hostnameCertificateCacheSize(original);
+
+            // when - setter
+            configuration.hostnameCertificateCacheSize(20);
+
+            // then - getter
+            assertThat(configuration.hostnameCertificateCacheSize(), equalTo(20));
+        } finally {
+            ConfigurationProperties.hostnameCertificateCacheSize(original);
+        }
+    }
+
+    @Test
+    public void shouldSetAndGetPersistHostnameCertificates() {
+        boolean original = ConfigurationProperties.persistHostnameCertificates();
+        try {
+            // then - default value
+            assertThat(configuration.persistHostnameCertificates(), equalTo(false));
+
+            // when - system property setter
+            ConfigurationProperties.persistHostnameCertificates(true);
+
+            // then - system property getter
+            assertThat(ConfigurationProperties.persistHostnameCertificates(), equalTo(true));
+            assertThat(System.getProperty("mockserver.persistHostnameCertificates"), equalTo("true"));
+            assertThat(configuration.persistHostnameCertificates(), equalTo(true));
+            ConfigurationProperties.persistHostnameCertificates(original);
+
+            // when - setter
+            configuration.persistHostnameCertificates(true);
+
+            // then - getter
+            assertThat(configuration.persistHostnameCertificates(), equalTo(true));
+        } finally {
+            ConfigurationProperties.persistHostnameCertificates(original);
+        }
+    }
+
     @Test
     public void shouldSetAndGetSslCertificateDomainName() {
         String original = ConfigurationProperties.sslCertificateDomainName();
@@ -0,0 +1,109 @@
+package org.mockserver.httpclient;
+
+import com.google.common.collect.ImmutableMap;
+import io.netty.channel.Channel;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockserver.echo.http.EchoServer;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.model.Protocol;
+import org.mockserver.scheduler.Scheduler;
+import org.mockserver.socket.tls.NettySslContextFactory;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.mockserver.configuration.Configuration.configuration;
+import static org.mockserver.stop.Stop.stopQuietly;
+
+public class HttpClientConnectionPoolTest {
+
+    private static EchoServer echoServer;
+    private static EventLoopGroup clientEventLoopGroup;
+    private final MockServerLogger mockServerLogger = new MockServerLogger();
+
+    @BeforeClass
+    public static void startEventLoopGroupAndEchoServer() {
+        clientEventLoopGroup = new NioEventLoopGroup(3, new Scheduler.SchedulerThreadFactory(HttpClientConnectionPoolTest.class.getSimpleName() + "-eventLoop"));
+        echoServer = new EchoServer(false);
+    }
+
+    @AfterClass
+    public static void stopEventLoopGroupAndEchoServer() {
+        stopQuietly(echoServer);
+        clientEventLoopGroup.shutdownGracefully(0, 0, MILLISECONDS).syncUninterruptibly();
+    }
+
+    private HttpClientConnectionPool connectionPool(long idleTimeoutInMillis) {
+        return new HttpClientConnectionPool(
+            configuration().forwardConnectionPoolEnabled(true).forwardConnectionPoolIdleTimeoutInMillis(idleTimeoutInMillis),
+            mockServerLogger,
+            clientEventLoopGroup,
+            ImmutableMap.of(),
+            true,
+            new NettySslContextFactory(configuration(), mockServerLogger, false)
+        );
+    }
+
+    @Test
+    public void shouldRemovePoolOnceIdleConnectionsAreClosed() throws Exception {
+        // given
+        HttpClientConnectionPool connectionPool = connectionPool(100L);
+        Channel channel = connectionPool.acquire(new InetSocketAddress("localhost", echoServer.getPort()), false, Protocol.HTTP_1_1, 5000L).get(10, TimeUnit.SECONDS);
+        assertThat(connectionPool.poolCount(), is(1));
+
+        // when
+        connectionPool.release(channel, true);
+        long timeout = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+        while (connectionPool.poolCount() > 0 && System.currentTimeMillis() < timeout) {
+            MILLISECONDS.sleep(50);
+        }
+
+        // then
+        assertThat(channel.isActive(), is(false));
+        assertThat(connectionPool.poolCount(), is(0));
+        Channel newChannel = connectionPool.acquire(new InetSocketAddress("localhost", echoServer.getPort()), false, Protocol.HTTP_1_1, 5000L).get(10, TimeUnit.SECONDS);
+        assertThat(newChannel.isActive(), is(true));
+        assertThat(connectionPool.poolCount(), is(1));
+        connectionPool.close();
+    }
+
+    @Test
+    public void shouldKeepPoolWhileConnectionsAreOpen() throws Exception {
+        // given
+        HttpClientConnectionPool connectionPool = connectionPool(60000L);
+        Channel channel = connectionPool.acquire(new InetSocketAddress("localhost", echoServer.getPort()), false, Protocol.HTTP_1_1, 5000L).get(10, TimeUnit.SECONDS);
+
+        // when
+        connectionPool.release(channel, true);
+        MILLISECONDS.sleep(200);
+
+        // then
+        assertThat(channel.isActive(), is(true));
+        assertThat(connectionPool.poolCount(), is(1));
+        assertThat(connectionPool.acquire(new InetSocketAddress("localhost", echoServer.getPort()), false, Protocol.HTTP_1_1, 1000L).get(10, TimeUnit.SECONDS), is(channel));
+        connectionPool.close();
+    }
+
+    @Test
+    public void shouldCloseAllPoolsWhenClosed() throws Exception {
+        // given
+        HttpClientConnectionPool connectionPool = connectionPool(60000L);
+        Channel channel = connectionPool.acquire(new InetSocketAddress("localhost", echoServer.getPort()), false, Protocol.HTTP_1_1, 5000L).get(10, TimeUnit.SECONDS);
+        connectionPool.release(channel, true);
+
+        // when
+        connectionPool.close();
+
+        // then
+        channel.closeFuture().await(5, TimeUnit.SECONDS);
+        assertThat(channel.isActive(), is(false));
+        assertThat(connectionPool.poolCount(), is(0));
+    }
+}
@@ -0,0 +1,227 @@
+package org.mockserver.httpclient.netty;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockserver.configuration.Configuration;
+import org.mockserver.echo.http.EchoServer;
+import org.mockserver.httpclient.NettyHttpClient;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.metrics.Metrics;
+import org.mockserver.model.HttpResponse;
+import org.mockserver.model.Protocol;
+import org.mockserver.scheduler.Scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.core.Is.is;
+import static org.mockserver.configuration.Configuration.configuration;
+import static org.mockserver.metrics.Metrics.Name.*;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.stop.Stop.stopQuietly;
+
+public class NettyHttpClientConnectionPoolTest {
+
+    private static EchoServer echoServer;
+    private static EchoServer secureEchoServer;
+    private static EventLoopGroup clientEventLoopGroup;
+    private final MockServerLogger mockServerLogger = new MockServerLogger();
+
+    @BeforeClass
+    public static void startEventLoopGroup() {
+        clientEventLoopGroup = new NioEventLoopGroup(3, new Scheduler.SchedulerThreadFactory(NettyHttpClientConnectionPoolTest.class.getSimpleName() + "-eventLoop"));
+    }
+
+    @BeforeClass
+    public static void startEchoServer() {
+        echoServer = new EchoServer(false);
+        secureEchoServer = new EchoServer(true);
+    }
+
+    @AfterClass
+    public static void stopEventLoopGroup() {
+        clientEventLoopGroup.shutdownGracefully(0, 0, MILLISECONDS).syncUninterruptibly();
+    }
+
+    @AfterClass
+    public static void stopEchoServer() {
+        stopQuietly(echoServer);
+        stopQuietly(secureEchoServer);
+    }
+
+    private Configuration pooledConfiguration() {
+        return configuration()
+            .metricsEnabled(true)
+            .forwardConnectionPoolEnabled(true);
+    }
+
+    @Test
+    public void shouldReuseConnectionForSequentialRequests() throws Exception {
+        // given
+        NettyHttpClient nettyHttpClient = new NettyHttpClient(pooledConfiguration(), mockServerLogger, clientEventLoopGroup, null, true);
+        int hits = Metrics.get(FORWARD_CONNECTION_POOL_HITS_COUNT);
+        int misses = Metrics.get(FORWARD_CONNECTION_POOL_MISSES_COUNT);
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            HttpResponse httpResponse = nettyHttpClient.sendRequest(request().withPath("/path_" + i).withHeader("Host", "localhost:" + echoServer.getPort()))
+                .get(10, TimeUnit.SECONDS);
+            assertThat(httpResponse.getStatusCode(), is(200));
+        }
+
+        // then
+        assertThat(Metrics.get(FORWARD_CONNECTION_POOL_MISSES_COUNT) - misses, is(1));
+        assertThat(Metrics.get(FORWARD_CONNECTION_POOL_HITS_COUNT) - hits, is(2));
+    }
+
+    @Test
+    public void shouldNotReuseConnectionWhenConnectionCloseRequested() throws Exception {
+        // given
+        NettyHttpClient nettyHttpClient = new NettyHttpClient(pooledConfiguration(), mockServerLogger, clientEventLoopGroup, null, true);
+        int hits = Metrics.get(FORWARD_CONNECTION_POOL_HITS_COUNT);
+        int misses = Metrics.get(FORWARD_CONNECTION_POOL_MISSES_COUNT);
+
+        // when
+        for (int i = 0; i < 2; i++) {
+            HttpResponse httpResponse = nettyHttpClient.sendRequest(request().withHeader("Host", "localhost:" + echoServer.getPort()).withHeader("Connection", "close"))
+                .get(10, TimeUnit.SECONDS);
+            assertThat(httpResponse.getStatusCode(), is(200));
+        }
+
+        // then
+        assertThat(Metrics.get(FORWARD_CONNECTION_POOL_MISSES_COUNT) - misses, is(2));
+        assertThat(Metrics.get(FORWARD_CONNECTION_POOL_HITS_COUNT) - hits, is(0));
+    }
+
+    @Test
+    public void shouldNotReuseConnectionForDifferentHostNameWithSameAddress() throws Exception {
+        // given
+        NettyHttpClient nettyHttpClient = new NettyHttpClient(pooledConfiguration(), mockServerLogger, clientEventLoopGroup, null, true);
+        int hits = Metrics.get(FORWARD_CONNECTION_POOL_HITS_COUNT);
+        int misses = Metrics.get(FORWARD_CONNECTION_POOL_MISSES_COUNT);
+
+        // when
+        assertThat(nettyHttpClient.sendRequest(request().withSecure(true).withHeader("Host", "localhost:" + secureEchoServer.getPort()))
+            .get(10, TimeUnit.SECONDS).getStatusCode(), is(200));
+        assertThat(nettyHttpClient.sendRequest(request().withSecure(true).withHeader("Host", "127.0.0.1:" + secureEchoServer.getPort()))
+            .get(10, TimeUnit.SECONDS).getStatusCode(), is(200));
+
+        // then
+        assertThat(Metrics.get(FORWARD_CONNECTION_POOL_MISSES_COUNT) - misses, is(2));
+        assertThat(Metrics.get(FORWARD_CONNECTION_POOL_HITS_COUNT) - hits, is(0));
+    }
+
+    @Test
+    public void shouldLimitConnectionsPerHost() throws Exception {
+        // given
+        NettyHttpClient nettyHttpClient = new NettyHttpClient(pooledConfiguration().forwardConnectionPoolMaxConnectionsPerHost(1), mockServerLogger, clientEventLoopGroup, null, true);
+        int misses = Metrics.get(FORWARD_CONNECTION_POOL_MISSES_COUNT);
+
+        // when
+        List<CompletableFuture<HttpResponse>> responseFutures = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            responseFutures.add(nettyHttpClient.sendRequest(request().withPath("/path_" + i).withHeader("Host", "localhost:" + echoServer.getPort())));
+        }
+
+        // then
+        for (int i = 0; i < 5; i++) {
+            HttpResponse httpResponse = responseFutures.get(i).get(10, TimeUnit.SECONDS);
+            assertThat(httpResponse.getStatusCode(), is(200));
+        }
+        assertThat(Metrics.get(FORWARD_CONNECTION_POOL_MISSES_COUNT) - misses, is(1));
+    }
+
+    @Test
+    public void shouldMultiplexHttp2RequestsOnSingleConnection() throws Exception {
+        // given
+        NettyHttpClient nettyHttpClient = new NettyHttpClient(pooledConfiguration(), mockServerLogger, clientEventLoopGroup, null, true);
+        int hits = Metrics.get(FORWARD_CONNECTION_POOL_HITS_COUNT);
+        int misses = Metrics.get(FORWARD_CONNECTION_POOL_MISSES_COUNT);
+        assertThat(nettyHttpClient.sendRequest(request().withSecure(true).withProtocol(Protocol.HTTP_2).withHeader("Host", "localhost:" + secureEchoServer.getPort()))
+            .get(10, TimeUnit.SECONDS).getStatusCode(), is(200));
+
+        // when
+        List<CompletableFuture<HttpResponse>> responseFutures = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            responseFutures.add(nettyHttpClient.sendRequest(request().withSecure(true).withProtocol(Protocol.HTTP_2).withPath("/path_" + i).withBody("body_" + i).withHeader("Host", "localhost:" + secureEchoServer.getPort())));
+        }
+
+        // then
+        for (int i = 0; i < 5; i++) {
+            HttpResponse httpResponse = responseFutures.get(i).get(10, TimeUnit.SECONDS);
+            assertThat(httpResponse.getStatusCode(), is(200));
+            assertThat(httpResponse.getBodyAsString(), is("body_" + i));
+        }
+        assertThat(Metrics.get(FORWARD_CONNECTION_POOL_MISSES_COUNT) - misses, is(1));
+        assertThat(Metrics.get(FORWARD_CONNECTION_POOL_HITS_COUNT) - hits, is(5));
+    }
+
+    @Test
+    public void shouldCloseIdleConnections() throws Exception {
+        // given
+        NettyHttpClient nettyHttpClient = new NettyHttpClient(pooledConfiguration().forwardConnectionPoolIdleTimeoutInMillis(100L), mockServerLogger, clientEventLoopGroup, null, true);
+        int connections = Metrics.get(FORWARD_CONNECTION_POOL_CONNECTIONS_COUNT);
+        int misses = Metrics.get(FORWARD_CONNECTION_POOL_MISSES_COUNT);
+
+        // when
+        assertThat(nettyHttpClient.sendRequest(request().withHeader("Host", "localhost:" + echoServer.getPort()))
+            .get(10, TimeUnit.SECONDS).getStatusCode(), is(200));
+        long timeout = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+        while (Metrics.get(FORWARD_CONNECTION_POOL_CONNECTIONS_COUNT) > connections && System.currentTimeMillis() < timeout) {
+            MILLISECONDS.sleep(50);
+        }
+
+        // then
+        assertThat(Metrics.get(FORWARD_CONNECTION_POOL_CONNECTIONS_COUNT), lessThanOrEqualTo(connections));
+        assertThat(nettyHttpClient.sendRequest(request().withHeader("Host", "localhost:" + echoServer.getPort()))
+            .get(10, TimeUnit.SECONDS).getStatusCode(), is(200));
+        assertThat(Metrics.get(FORWARD_CONNECTION_POOL_MISSES_COUNT) - misses, is(2));
+    }
+
+    @Test
+    public void shouldReuseConnectionForRequestsWithDifferentConnectionTimeouts() throws Exception {
+        // given
+        NettyHttpClient nettyHttpClient = new NettyHttpClient(pooledConfiguration(), mockServerLogger, clientEventLoopGroup, null, true);
+        int hits = Metrics.get(FORWARD_CONNECTION_POOL_HITS_COUNT);
+        int misses = Metrics.get(FORWARD_CONNECTION_POOL_MISSES_COUNT);
+
+        // when
+        assertThat(nettyHttpClient.sendRequest(request().withHeader("Host", "localhost:" + echoServer.getPort()), null, 1000L)
+            .get(10, TimeUnit.SECONDS).getStatusCode(), is(200));
+        assertThat(nettyHttpClient.sendRequest(request().withHeader("Host", "localhost:" + echoServer.getPort()), null, 5000L)
+            .get(10, TimeUnit.SECONDS).getStatusCode(), is(200));
+
+        // then
+        assertThat(Metrics.get(FORWARD_CONNECTION_POOL_MISSES_COUNT) - misses, is(1));
+        assertThat(Metrics.get(FORWARD_CONNECTION_POOL_HITS_COUNT) - hits, is(1));
+    }
+
+    @Test
+    public void shouldCloseConnectionsWhenClosed() throws Exception {
+        // given
+        NettyHttpClient nettyHttpClient = new NettyHttpClient(pooledConfiguration(), mockServerLogger, clientEventLoopGroup, null, true);
+        int connections = Metrics.get(FORWARD_CONNECTION_POOL_CONNECTIONS_COUNT);
+        assertThat(nettyHttpClient.sendRequest(request().withHeader("Host", "localhost:" + echoServer.getPort()))
+            .get(10, TimeUnit.SECONDS).getStatusCode(), is(200));
+        assertThat(nettyHttpClient.sendRequest(request().withSecure(true).withProtocol(Protocol.HTTP_2).withHeader("Host", "localhost:" + secureEchoServer.getPort()))
+            .get(10, TimeUnit.SECONDS).getStatusCode(), is(200));
+
+        // when
+        nettyHttpClient.close();
+        long timeout = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+        while (Metrics.get(FORWARD_CONNECTION_POOL_CONNECTIONS_COUNT) > connections && System.currentTimeMillis() < timeout) {
+            MILLISECONDS.sleep(50);
+        }
+
+        // then
+        assertThat(Metrics.get(FORWARD_CONNECTION_POOL_CONNECTIONS_COUNT), lessThanOrEqualTo(connections));
+    }
+}
@@ -0,0 +1,110 @@
+package org.mockserver.log;
+
+import org.mockserver.configuration.Configuration;
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.matchers.HttpRequestMatcher;
+import org.mockserver.matchers.MatcherBuilder;
+import org.mockserver.model.RequestDefinition;
+import org.mockserver.scheduler.Scheduler;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.mockserver.configuration.Configuration.configuration;
+import static org.mockserver.log.model.LogEntry.LogMessageType.RECEIVED_REQUEST;
+import static org.mockserver.model.HttpRequest.request;
+
+/**
+ * Measures retrieving requests by method and path and log entries by correlation id from a {@link MockServerEventLog}
+ * using its indexes, compared to evaluating every entry in the log (i.e. the behaviour before the log was indexed)
+ * <p>
+ * run with: mvn test-compile exec:java -Dexec.mainClass=org.mockserver.log.MockServerEventLogBenchmark -Dexec.classpathScope=test
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MockServerEventLogBenchmark {
+
+    @Param({"10000", "100000"})
+    public int size;
+
+    private MockServerEventLog mockServerEventLog;
+    private RequestDefinition requestDefinition;
+    private HttpRequestMatcher requestMatcher;
+    private String correlationId;
+
+    @Setup
+    public void setup() {
+        Configuration configuration = configuration()
+            .maxLogEntries(size)
+            .logLevel("WARN")
+            .disableSystemOut(true);
+        MockServerLogger mockServerLogger = new MockServerLogger(configuration, MockServerEventLogBenchmark.class);
+        mockServerEventLog = new MockServerEventLog(configuration, mockServerLogger, new Scheduler(configuration, mockServerLogger, true), false);
+        for (int i = 0; i < size; i++) {
+            mockServerEventLog.add(
+                new LogEntry()
+                    .setType(RECEIVED_REQUEST)
+                    .setCorrelationId("correlation_" + i)
+                    .setHttpRequest(request().withMethod(i % 2 == 0 ? "GET" : "POST").withPath("/path_" + (i % 1000) + "/resource_" + i))
+            );
+        }
+        requestDefinition = request().withMethod("GET").withPath("/path_500/resource_.*");
+        requestMatcher = new MatcherBuilder(configuration, mockServerLogger).transformsToMatcher(requestDefinition);
+        correlationId = "correlation_" + (size / 2);
+    }
+
+    @TearDown
+    public void tearDown() {
+        mockServerEventLog.stop();
+    }
+
+    @Benchmark
+    public List<RequestDefinition> retrieveRequestsIndexed() throws Exception {
+        CompletableFuture<List<RequestDefinition>> result = new CompletableFuture<>();
+        mockServerEventLog.retrieveRequests(requestDefinition, result::complete);
+        return result.get(10, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public List<LogEntry> retrieveRequestsFullScan() throws Exception {
+        CompletableFuture<List<LogEntry>> result = new CompletableFuture<>();
+        mockServerEventLog.retrieveMessageLogEntriesIncludingDeleted(null, result::complete);
+        return result.get(10, TimeUnit.SECONDS)
+            .stream()
+            .filter(logEntry -> !logEntry.isDeleted() && logEntry.getType() == RECEIVED_REQUEST)
+            .filter(logEntry -> logEntry.matches(requestMatcher))
+            .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<LogEntry> retrieveByCorrelationIdIndexed() throws Exception {
+        CompletableFuture<List<LogEntry>> result = new CompletableFuture<>();
+        mockServerEventLog.retrieveLogEntriesByCorrelationId(correlationId, result::complete);
+        return result.get(10, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public List<LogEntry> retrieveByCorrelationIdFullScan() throws Exception {
+        CompletableFuture<List<LogEntry>> result = new CompletableFuture<>();
+        mockServerEventLog.retrieveMessageLogEntriesIncludingDeleted(null, result::complete);
+        return result.get(10, TimeUnit.SECONDS)
+            .stream()
+            .filter(logEntry -> !logEntry.isDeleted() && correlationId.equals(logEntry.getCorrelationId()))
+            .collect(Collectors.toList());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MockServerEventLogBenchmark.class.getSimpleName()).build()).run();
+    }
+}
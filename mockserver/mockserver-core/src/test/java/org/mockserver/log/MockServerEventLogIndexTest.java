@@ -0,0 +1,130 @@
+package org.mockserver.log;
+
+import org.junit.Test;
+import org.mockserver.configuration.Configuration;
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.matchers.HttpRequestMatcher;
+import org.mockserver.matchers.MatcherBuilder;
+import org.mockserver.model.HttpRequest;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockserver.log.model.LogEntry.LogMessageType.*;
+import static org.mockserver.model.HttpRequest.request;
+
+public class MockServerEventLogIndexTest {
+
+    private final MatcherBuilder matcherBuilder = new MatcherBuilder(Configuration.configuration(), new MockServerLogger());
+
+    private HttpRequestMatcher matcher(HttpRequest httpRequest) {
+        return matcherBuilder.transformsToMatcher(httpRequest);
+    }
+
+    private LogEntry logEntry(LogEntry.LogMessageType type, HttpRequest httpRequest) {
+        return new LogEntry()
+            .setType(type)
+            .setHttpRequest(httpRequest);
+    }
+
+    @Test
+    public void shouldReturnCandidatesByType() {
+        // given
+        MockServerEventLogIndex index = new MockServerEventLogIndex();
+        LogEntry receivedOne = logEntry(RECEIVED_REQUEST, request().withMethod("GET").withPath("/one"));
+        LogEntry forwarded = logEntry(FORWARDED_REQUEST, request().withMethod("GET").withPath("/one"));
+        LogEntry receivedTwo = logEntry(RECEIVED_REQUEST, request().withMethod("GET").withPath("/two"));
+        index.add(receivedOne);
+        index.add(forwarded);
+        index.add(receivedTwo);
+
+        // then
+        assertThat(index.candidates(EnumSet.of(RECEIVED_REQUEST), null), contains(receivedOne, receivedTwo));
+        assertThat(index.candidates(EnumSet.of(RECEIVED_REQUEST, FORWARDED_REQUEST), null), contains(receivedOne, forwarded, receivedTwo));
+        assertThat(index.candidates(EnumSet.of(EXPECTATION_RESPONSE), null), empty());
+        assertThat(index.candidates(null, null), nullValue());
+    }
+
+    @Test
+    public void shouldReturnCandidatesByMethodAndPath() {
+        // given
+        MockServerEventLogIndex index = new MockServerEventLogIndex();
+        LogEntry getOne = logEntry(RECEIVED_REQUEST, request().withMethod("GET").withPath("/one/a"));
+        LogEntry postOne = logEntry(RECEIVED_REQUEST, request().withMethod("POST").withPath("/one/b"));
+        LogEntry getTwo = logEntry(RECEIVED_REQUEST, request().withMethod("GET").withPath("/two"));
+        LogEntry withoutRequest = new LogEntry().setType(RECEIVED_REQUEST);
+        index.add(getOne);
+        index.add(postOne);
+        index.add(getTwo);
+        index.add(withoutRequest);
+
+        // then
+        assertThat(index.candidates(null, matcher(request().withMethod("GET").withPath("/one/a"))), contains(getOne, withoutRequest));
+        assertThat(index.candidates(null, matcher(request().withPath("/one/.*"))), contains(getOne, postOne, withoutRequest));
+        assertThat(index.candidates(null, matcher(request().withMethod("GET"))), contains(getOne, getTwo, withoutRequest));
+        assertThat(index.candidates(null, matcher(request().withPath("/.*"))), nullValue());
+        assertThat(index.candidates(null, matcher(request())), nullValue());
+    }
+
+    @Test
+    public void shouldReturnSmallestCandidates() {
+        // given
+        MockServerEventLogIndex index = new MockServerEventLogIndex();
+        LogEntry getOne = logEntry(RECEIVED_REQUEST, request().withMethod("GET").withPath("/one"));
+        LogEntry getTwo = logEntry(RECEIVED_REQUEST, request().withMethod("GET").withPath("/two"));
+        LogEntry getThree = logEntry(RECEIVED_REQUEST, request().withMethod("GET").withPath("/three"));
+        LogEntry forwardedOne = logEntry(FORWARDED_REQUEST, request().withMethod("GET").withPath("/one"));
+        index.add(getOne);
+        index.add(getTwo);
+        index.add(getThree);
+        index.add(forwardedOne);
+
+        // then
+        assertThat(index.candidates(EnumSet.of(RECEIVED_REQUEST), matcher(request().withPath("/one"))), contains(getOne, forwardedOne));
+        assertThat(index.candidates(EnumSet.of(FORWARDED_REQUEST), matcher(request().withPath("/t.*"))), contains(forwardedOne));
+    }
+
+    @Test
+    public void shouldReturnCandidatesByCorrelationIdAndExpectationId() {
+        // given
+        MockServerEventLogIndex index = new MockServerEventLogIndex();
+        LogEntry one = logEntry(EXPECTATION_RESPONSE, request().withMethod("GET").withPath("/one")).setCorrelationId("correlationOne").setExpectationId("expectationOne");
+        LogEntry two = logEntry(EXPECTATION_RESPONSE, request().withMethod("GET").withPath("/two")).setCorrelationId("correlationTwo").setExpectationId("expectationTwo");
+        LogEntry three = logEntry(INFO, request().withMethod("GET").withPath("/one")).setCorrelationId("correlationOne");
+        index.add(one);
+        index.add(two);
+        index.add(three);
+
+        // then
+        assertThat(index.candidatesByCorrelationId("correlationOne"), contains(one, three));
+        assertThat(index.candidatesByCorrelationId("unknown"), empty());
+        assertThat(index.candidatesByExpectationIds(Arrays.asList("expectationTwo", "expectationOne", "expectationOne")), contains(one, two));
+    }
+
+    @Test
+    public void shouldRemoveEntriesEvenAfterEntryCleared() {
+        // given
+        MockServerEventLogIndex index = new MockServerEventLogIndex();
+        LogEntry one = logEntry(RECEIVED_REQUEST, request().withMethod("GET").withPath("/one")).setCorrelationId("correlationOne");
+        LogEntry two = logEntry(RECEIVED_REQUEST, request().withMethod("GET").withPath("/one")).setCorrelationId("correlationTwo");
+        LogEntry three = logEntry(RECEIVED_REQUEST, request().withMethod("GET").withPath("/one")).setCorrelationId("correlationThree");
+        index.add(one);
+        index.add(two);
+        index.add(three);
+
+        // when
+        index.remove(one);
+        two.clear();
+        index.remove(two);
+
+        // then
+        assertThat(index.size(), is(1));
+        assertThat(index.candidates(EnumSet.of(RECEIVED_REQUEST), null), contains(three));
+        assertThat(index.candidates(null, matcher(request().withPath("/one"))), contains(three));
+        assertThat(index.candidatesByCorrelationId("correlationOne"), empty());
+        assertThat(index.candidatesByCorrelationId("correlationTwo"), empty());
+    }
+}
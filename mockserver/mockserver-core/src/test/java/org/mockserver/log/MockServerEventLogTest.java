@@ -10,11 +10,14 @@ import org.mockserver.matchers.TimeToLive;
 import org.mockserver.matchers.Times;
 import org.mockserver.mock.Expectation;
 import org.mockserver.mock.HttpState;
+import org.mockserver.mock.listeners.MockServerLogListener;
 import org.mockserver.model.RequestDefinition;
 import org.mockserver.scheduler.Scheduler;
 import org.mockserver.time.EpochService;
+import org.mockito.ArgumentCaptor;
 import org.slf4j.event.Level;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
@@ -25,7 +28,10 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.collection.IsEmptyCollection.empty;
 import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
 import static org.hamcrest.core.Is.is;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockserver.configuration.Configuration.configuration;
 import static org.mockserver.log.model.LogEntry.LogMessageType.*;
 import static org.mockserver.log.model.LogEntryMessages.RECEIVED_REQUEST_MESSAGE_FORMAT;
@@ -918,4 +924,51 @@ public class MockServerEventLogTest {
             assertThat(retrieveRequestLogEntries(), empty());
             assertThat(retrieveRequestResponseMessageLogEntries(null), empty());
     }
+
+    @Test
+    public void shouldNotifyListenersOncePerBatchWithAddedAndEvictedCounts() {
+        // given
+        Scheduler scheduler = mock(Scheduler.class);
+        // the ring buffer is sized to hold maxLogEntries so all four entries are published without blocking
+        MockServerEventLog eventLog = new MockServerEventLog(configuration().maxLogEntries(3), mockServerLogger, scheduler, true);
+        List<int[]> notifications = new ArrayList<>();
+        eventLog.registerListener(new MockServerLogListener() {
+            @Override
+            public void updated(MockServerEventLog mockServerLog) {
+                fail("should be notified with added and evicted counts");
+            }
+
+            @Override
+            public void updated(MockServerEventLog mockServerLog, int addedCount, int evictedCount) {
+                notifications.add(new int[]{addedCount, evictedCount});
+            }
+        });
+
+        try {
+            // when
+            for (int i = 0; i < 4; i++) {
+                eventLog.add(
+                    new LogEntry()
+                        .setType(RECEIVED_REQUEST)
+                        .setLogLevel(INFO)
+                        .setHttpRequest(request("/path_" + i))
+                );
+            }
+            CompletableFuture<List<LogEntry>> future = new CompletableFuture<>();
+            eventLog.retrieveRequestLogEntries(null, future::complete);
+            future.get(60, SECONDS);
+
+            // then - only one notification is queued until it has run
+            ArgumentCaptor<Runnable> notification = ArgumentCaptor.forClass(Runnable.class);
+            verify(scheduler, times(1)).submit(notification.capture(), eq(false));
+            notification.getValue().run();
+            assertThat(notifications.size(), is(1));
+            assertThat(notifications.get(0)[0], is(4));
+            assertThat(notifications.get(0)[1], is(1));
+        } catch (Exception e) {
+            fail(e.getMessage());
+        } finally {
+            eventLog.stop();
+        }
+    }
 }
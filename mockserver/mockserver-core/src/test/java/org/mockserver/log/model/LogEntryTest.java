@@ -0,0 +1,124 @@
+package org.mockserver.log.model;
+
+import org.junit.Test;
+import org.mockserver.codec.BodyDecoderEncoder;
+import org.mockserver.model.HttpRequest;
+import org.mockserver.model.HttpResponse;
+import org.mockserver.model.RequestDefinition;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockserver.log.model.LogEntry.LogMessageType.EXPECTATION_RESPONSE;
+import static org.mockserver.log.model.LogEntry.LogMessageType.FORWARDED_REQUEST;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+/**
+ * @author jamesdbloom
+ */
+public class LogEntryTest {
+
+    private static final BodyDecoderEncoder BODY_DECODER_ENCODER = new BodyDecoderEncoder();
+
+    private static String largeJson() {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 500; i++) {
+            json.append(i > 0 ? "," : "").append("{\"id\":").append(i).append(",\"name\":\"item_").append(i).append("\"}");
+        }
+        return json.append("]").toString();
+    }
+
+    private static LogEntry logEntry(HttpRequest httpRequest, HttpResponse httpResponse) {
+        return new LogEntry()
+            .setType(EXPECTATION_RESPONSE)
+            .setHttpRequest(httpRequest)
+            .setHttpResponse(httpResponse)
+            .setMessageFormat("returning response:{}for request:{}")
+            .setArguments(httpResponse, httpRequest);
+    }
+
+    @Test
+    public void shouldCompressLargeBodies() {
+        // given
+        String json = largeJson();
+        HttpRequest httpRequest = request()
+            .withMethod("POST")
+            .withPath("/items")
+            .withHeader("content-type", "application/json")
+            .withBody(BODY_DECODER_ENCODER.bytesToBody(json.getBytes(StandardCharsets.UTF_8), "application/json"));
+        httpRequest.withLogCorrelationId("some_correlation_id");
+        HttpResponse httpResponse = response()
+            .withHeader("content-type", "text/plain")
+            .withBody(BODY_DECODER_ENCODER.bytesToBody(json.getBytes(StandardCharsets.UTF_8), "text/plain"));
+        LogEntry uncompressed = logEntry(httpRequest, httpResponse);
+
+        // when
+        LogEntry compressed = logEntry(httpRequest, httpResponse).setEpochTime(uncompressed.getEpochTime()).compressBodies(1024);
+
+        // then
+        assertThat(compressed.getHttpRequests(), is(new RequestDefinition[]{httpRequest}));
+        assertThat(compressed.getHttpRequest(), is(httpRequest));
+        assertThat(compressed.getHttpRequest().getLogCorrelationId(), is("some_correlation_id"));
+        assertThat(compressed.getHttpResponse(), is(httpResponse));
+        assertThat(compressed.getHttpUpdatedRequests(), is(uncompressed.getHttpUpdatedRequests()));
+        assertThat(compressed.getHttpUpdatedResponse(), is(uncompressed.getHttpUpdatedResponse()));
+        assertThat(Arrays.asList(compressed.getArguments()), is(Arrays.asList(uncompressed.getArguments())));
+        assertThat(compressed.getMessage(), is(uncompressed.getMessage()));
+        assertThat(compressed, is(uncompressed));
+        assertThat(compressed.hashCode(), is(uncompressed.hashCode()));
+        assertThat(compressed.estimatedSizeInBytes(), lessThan(uncompressed.estimatedSizeInBytes() / 4));
+    }
+
+    @Test
+    public void shouldCompressExpectationBodies() {
+        // given
+        String json = largeJson();
+        HttpRequest httpRequest = request()
+            .withMethod("POST")
+            .withPath("/items")
+            .withHeader("content-type", "application/json")
+            .withBody(BODY_DECODER_ENCODER.bytesToBody(json.getBytes(StandardCharsets.UTF_8), "application/json"));
+        HttpResponse httpResponse = response()
+            .withHeader("content-type", "text/plain")
+            .withBody(BODY_DECODER_ENCODER.bytesToBody(json.getBytes(StandardCharsets.UTF_8), "text/plain"));
+        HttpRequest otherHttpRequest = httpRequest.clone().withPath("/other_items");
+        LogEntry uncompressed = logEntry(httpRequest, httpResponse).setType(FORWARDED_REQUEST).setExpectation(otherHttpRequest, httpResponse);
+
+        // when
+        LogEntry compressed = logEntry(httpRequest, httpResponse).setType(FORWARDED_REQUEST).setExpectation(otherHttpRequest, httpResponse).setEpochTime(uncompressed.getEpochTime()).compressBodies(1024);
+
+        // then
+        assertThat(compressed.getExpectation().getHttpRequest(), is(otherHttpRequest));
+        assertThat(compressed.getExpectation().getHttpResponse(), is(httpResponse));
+        assertThat(compressed.getExpectation(), is(uncompressed.getExpectation()));
+        assertThat(compressed, is(uncompressed));
+        assertThat(compressed.getExpectation().getId(), is(compressed.getExpectation().getId()));
+        assertThat(compressed.getExpectation().getCreated(), is(compressed.getExpectation().getCreated()));
+        assertThat(uncompressed.getExpectation(), sameInstance(uncompressed.getExpectation()));
+        assertThat(compressed.estimatedSizeInBytes(), lessThan(uncompressed.estimatedSizeInBytes() / 4));
+        assertThat(uncompressed.estimatedSizeInBytes(), greaterThan(logEntry(httpRequest, httpResponse).estimatedSizeInBytes() + json.length()));
+    }
+
+    @Test
+    public void shouldNotCompressBodiesUnderThreshold() {
+        // given
+        HttpRequest httpRequest = request()
+            .withPath("/items")
+            .withBody("some_body");
+        HttpResponse httpResponse = response()
+            .withBody("some_response_body");
+        LogEntry logEntry = logEntry(httpRequest, httpResponse);
+        long estimatedSizeInBytes = logEntry.estimatedSizeInBytes();
+
+        // when
+        logEntry.compressBodies(1024);
+
+        // then
+        assertThat(logEntry.getHttpRequest(), sameInstance(httpRequest));
+        assertThat(logEntry.getHttpResponse(), sameInstance(httpResponse));
+        assertThat(logEntry.estimatedSizeInBytes(), is(estimatedSizeInBytes));
+    }
+}
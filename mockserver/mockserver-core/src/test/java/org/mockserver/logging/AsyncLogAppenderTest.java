@@ -0,0 +1,105 @@
+package org.mockserver.logging;
+
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.metrics.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.event.Level;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.*;
+import static org.mockserver.configuration.Configuration.configuration;
+
+/**
+ * @author jamesdbloom
+ */
+public class AsyncLogAppenderTest {
+
+    @Test
+    public void shouldWriteQueuedMessagesInOrder() {
+        // given
+        Logger mockLogger = mock(Logger.class);
+        AsyncLogAppender asyncLogAppender = new AsyncLogAppender(10, new Metrics(configuration()));
+        RuntimeException exception = new RuntimeException("some exception");
+
+        // when
+        asyncLogAppender.append(mockLogger, logEntry(Level.INFO, "first message"), false, false);
+        asyncLogAppender.append(mockLogger, logEntry(Level.ERROR, "second message").setThrowable(exception), false, false);
+
+        // then
+        verifyNoInteractions(mockLogger);
+        assertThat(asyncLogAppender.queueSize(), is(2));
+
+        // when
+        asyncLogAppender.drain();
+
+        // then
+        InOrder inOrder = inOrder(mockLogger);
+        inOrder.verify(mockLogger).info("first message", (Throwable) null);
+        inOrder.verify(mockLogger).error("second message", exception);
+        assertThat(asyncLogAppender.queueSize(), is(0));
+        assertThat(asyncLogAppender.droppedCount(), is(0L));
+    }
+
+    @Test
+    public void shouldDropAndCountMessagesWhenQueueIsFull() {
+        // given
+        Logger mockLogger = mock(Logger.class);
+        AsyncLogAppender asyncLogAppender = new AsyncLogAppender(2, new Metrics(configuration()));
+
+        // when
+        asyncLogAppender.append(mockLogger, logEntry(Level.INFO, "first message"), false, false);
+        asyncLogAppender.append(mockLogger, logEntry(Level.INFO, "second message"), false, false);
+        asyncLogAppender.append(mockLogger, logEntry(Level.INFO, "third message"), false, false);
+        asyncLogAppender.append(mockLogger, logEntry(Level.INFO, "fourth message"), false, false);
+        asyncLogAppender.drain();
+
+        // then
+        assertThat(asyncLogAppender.droppedCount(), is(2L));
+        InOrder inOrder = inOrder(mockLogger);
+        inOrder.verify(mockLogger).warn("dropped 2 log messages because the asynchronous log queue was full");
+        inOrder.verify(mockLogger).info("first message", (Throwable) null);
+        inOrder.verify(mockLogger).info("second message", (Throwable) null);
+        verifyNoMoreInteractions(mockLogger);
+    }
+
+    @Test
+    public void shouldFormatMessagesWhenTheyAreWritten() {
+        // given
+        Logger mockLogger = mock(Logger.class);
+        AsyncLogAppender asyncLogAppender = new AsyncLogAppender(10, new Metrics(configuration()));
+        AtomicInteger formatted = new AtomicInteger();
+        Object argument = new Object() {
+            @Override
+            public String toString() {
+                formatted.incrementAndGet();
+                return "some_argument";
+            }
+        };
+        LogEntry logEntry = logEntry(Level.INFO, "some message with{}").setArguments(argument);
+
+        // when
+        asyncLogAppender.append(mockLogger, logEntry.messageCopy(), false, false);
+        logEntry.clear();
+
+        // then
+        assertThat(formatted.get(), is(0));
+
+        // when
+        asyncLogAppender.drain();
+
+        // then
+        assertThat(formatted.get(), is(1));
+        verify(mockLogger).info(argThat((String message) -> message.contains("some message with") && message.contains("some_argument")), (Throwable) eq(null));
+    }
+
+    private static LogEntry logEntry(Level level, String message) {
+        return new LogEntry()
+            .setLogLevel(level)
+            .setMessageFormat(message);
+    }
+}
@@ -16,6 +16,7 @@ import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.collection.ArrayMatching.arrayContaining;
 import static org.hamcrest.core.StringContains.containsString;
@@ -234,6 +235,76 @@ public class MockServerLoggerTest {
         verify(mockLogger).info(expectedMessage, (Throwable) null);
     }
 
+    @Test
+    public void shouldFormatJsonLogMessages() {
+        // given
+        Configuration jsonConfig = configuration().logLevel(Level.INFO).disableSystemOut(false).jsonLogFormat(true);
+        Logger mockLogger = mock(Logger.class);
+        MockServerLogger logFormatter = new MockServerLogger(jsonConfig, mockLogger);
+
+        // when
+        logFormatter.logEvent(
+            new LogEntry()
+                .setLogLevel(Level.INFO)
+                .setType(LogEntry.LogMessageType.EXPECTATION_RESPONSE)
+                .setEpochTime(0)
+                .setPort(1080)
+                .setMessageFormat("returning response:{}for request:{}from expectation:{}")
+                .setArguments(
+                    response().withStatusCode(200),
+                    request("/test").withMethod("GET"),
+                    "test-expectation-id"
+                )
+        );
+
+        // then
+        ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+        verify(mockLogger).info(captor.capture(), (Throwable) isNull());
+        String message = captor.getValue();
+        assertThat(message, not(containsString(NEW_LINE)));
+        assertThat(message, containsString("\"logLevel\":\"INFO\",\"type\":\"EXPECTATION_RESPONSE\",\"port\":1080"));
+        assertThat(message, containsString("\"message\":\"returning response: 200 for request: GET /test from expectation: test-expectation-id\""));
+        assertThat(message, containsString("\"arguments\":[{\"statusCode\":200},{\"method\":\"GET\",\"path\":\"/test\"},\"test-expectation-id\"]"));
+    }
+
+    @Test
+    public void shouldIncludeThrowableInJsonLogMessages() {
+        // given
+        Configuration jsonConfig = configuration().logLevel(Level.INFO).disableSystemOut(false).jsonLogFormat(true);
+        Logger mockLogger = mock(Logger.class);
+        MockServerLogger logFormatter = new MockServerLogger(jsonConfig, mockLogger);
+
+        // when
+        logFormatter.logEvent(
+            new LogEntry()
+                .setLogLevel(Level.ERROR)
+                .setMessageFormat("some error")
+                .setThrowable(new RuntimeException("some exception"))
+        );
+
+        // then
+        ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+        verify(mockLogger).error(captor.capture(), (Throwable) isNull());
+        assertThat(captor.getValue(), containsString("\"message\":\"some error\",\"throwable\":\"java.lang.RuntimeException: some exception"));
+    }
+
+    @Test
+    public void shouldNotWriteEntryWithoutMessage() {
+        // given
+        Logger mockLogger = mock(Logger.class);
+        MockServerLogger logFormatter = new MockServerLogger(configuration, mockLogger);
+
+        // when
+        logFormatter.logEvent(
+            new LogEntry()
+                .setLogLevel(Level.INFO)
+                .setMessageFormat("")
+        );
+
+        // then
+        verifyNoInteractions(mockLogger);
+    }
+
     @Test
     public void shouldCallGlobalLogEventListener() {
         // given
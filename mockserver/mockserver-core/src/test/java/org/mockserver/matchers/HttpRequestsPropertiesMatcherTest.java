@@ -2,6 +2,7 @@ package org.mockserver.matchers;
 
 import com.google.common.collect.ImmutableMap;
 import org.junit.Test;
+import org.mockito.Mockito;
 import org.mockserver.configuration.Configuration;
 import org.mockserver.file.FileReader;
 import org.mockserver.log.model.LogEntry;
@@ -9,18 +10,24 @@ import org.mockserver.logging.MockServerLogger;
 import org.mockserver.mock.Expectation;
 import org.mockserver.model.HttpRequest;
 import org.mockserver.model.OpenAPIDefinition;
+import org.mockserver.model.RequestDefinition;
 import org.mockserver.uuid.UUIDService;
 
 import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 import static junit.framework.TestCase.*;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsNull.nullValue;
 import static org.hamcrest.core.StringContains.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockserver.character.Character.NEW_LINE;
 import static org.mockserver.configuration.Configuration.configuration;
 import static org.mockserver.matchers.MatchDifference.Field.*;
@@ -38,6 +45,8 @@ public class HttpRequestsPropertiesMatcherTest {
 
     private final Configuration configuration = configuration();
     private final MockServerLogger mockServerLogger = new MockServerLogger(HttpRequestsPropertiesMatcherTest.class);
+    // operations skipped by routing are only evaluated, to record why they didn't match, when debugging
+    private final MockServerLogger debugMockServerLogger = new MockServerLogger(configuration().logLevel("DEBUG"), HttpRequestsPropertiesMatcherTest.class);
 
     /**
      * Test Pattern For Non Body Fields:
@@ -6440,7 +6449,7 @@ public class HttpRequestsPropertiesMatcherTest {
     @Test
     public void shouldNotMatchRequestWithWrongOperationIdInOpenAPI() {
         // given
-        HttpRequestsPropertiesMatcher httpRequestsPropertiesMatcher = new HttpRequestsPropertiesMatcher(configuration, mockServerLogger);
+        HttpRequestsPropertiesMatcher httpRequestsPropertiesMatcher = new HttpRequestsPropertiesMatcher(configuration, debugMockServerLogger);
         httpRequestsPropertiesMatcher.update(new Expectation(
             new OpenAPIDefinition()
                 .withSpecUrlOrPayload("org/mockserver/openapi/openapi_petstore_example.json")
@@ -6503,7 +6512,7 @@ public class HttpRequestsPropertiesMatcherTest {
     @Test
     public void shouldNotMatchRequestWithMethodMismatchInOpenAPI() {
         // given
-        HttpRequestsPropertiesMatcher httpRequestsPropertiesMatcher = new HttpRequestsPropertiesMatcher(configuration, mockServerLogger);
+        HttpRequestsPropertiesMatcher httpRequestsPropertiesMatcher = new HttpRequestsPropertiesMatcher(configuration, debugMockServerLogger);
         httpRequestsPropertiesMatcher.update(new Expectation(
             new OpenAPIDefinition()
                 .withSpecUrlOrPayload("org/mockserver/openapi/openapi_petstore_example.json")
@@ -6541,7 +6550,7 @@ public class HttpRequestsPropertiesMatcherTest {
     @Test
     public void shouldNotMatchRequestWithPathMismatchInOpenAPI() {
         // given
-        HttpRequestsPropertiesMatcher httpRequestsPropertiesMatcher = new HttpRequestsPropertiesMatcher(configuration, mockServerLogger);
+        HttpRequestsPropertiesMatcher httpRequestsPropertiesMatcher = new HttpRequestsPropertiesMatcher(configuration, debugMockServerLogger);
         httpRequestsPropertiesMatcher.update(new Expectation(
             new OpenAPIDefinition()
                 .withSpecUrlOrPayload("org/mockserver/openapi/openapi_petstore_example.json")
@@ -6688,7 +6697,7 @@ public class HttpRequestsPropertiesMatcherTest {
     @Test
     public void shouldNotMatchRequestWithHeaderAndQueryParameterMismatchInOpenAPIWithoutOperationId() {
         // given
-        HttpRequestsPropertiesMatcher httpRequestsPropertiesMatcher = new HttpRequestsPropertiesMatcher(configuration, mockServerLogger);
+        HttpRequestsPropertiesMatcher httpRequestsPropertiesMatcher = new HttpRequestsPropertiesMatcher(configuration, debugMockServerLogger);
         httpRequestsPropertiesMatcher.update(new Expectation(
             new OpenAPIDefinition()
                 .withSpecUrlOrPayload("org/mockserver/openapi/openapi_petstore_example.json")
@@ -6835,7 +6844,7 @@ public class HttpRequestsPropertiesMatcherTest {
     @Test
     public void shouldNotMatchRequestWithBodyMismatchWithContentTypeInOpenAPIWithoutOperationID() {
         // given
-        HttpRequestsPropertiesMatcher httpRequestsPropertiesMatcher = new HttpRequestsPropertiesMatcher(configuration, mockServerLogger);
+        HttpRequestsPropertiesMatcher httpRequestsPropertiesMatcher = new HttpRequestsPropertiesMatcher(configuration, debugMockServerLogger);
         httpRequestsPropertiesMatcher.update(new Expectation(
             new OpenAPIDefinition()
                 .withSpecUrlOrPayload("org/mockserver/openapi/openapi_petstore_example.json")
@@ -7074,4 +7083,36 @@ public class HttpRequestsPropertiesMatcherTest {
         assertThat(context.getDifferences(OPENAPI), nullValue());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void shouldNotEvaluateOperationsSkippedByRoutingWhenNotDebugging() {
+        // given
+        HttpRequestsPropertiesMatcher httpRequestsPropertiesMatcher = new HttpRequestsPropertiesMatcher(configuration, mockServerLogger);
+        httpRequestsPropertiesMatcher.update(new Expectation(
+            new OpenAPIDefinition()
+                .withSpecUrlOrPayload("org/mockserver/openapi/openapi_petstore_example.json")
+        ));
+        List<HttpRequestPropertiesMatcher> operationMatchers = httpRequestsPropertiesMatcher.getHttpRequestPropertiesMatchers();
+        operationMatchers.replaceAll(Mockito::spy);
+        HttpRequest httpRequest = request()
+            .withMethod("GET")
+            .withPath("/v1/unknown");
+        MatchDifference context = new MatchDifference(configuration.detailedMatchFailures(), httpRequest);
+
+        // when
+        boolean matches = httpRequestsPropertiesMatcher.matches(context, httpRequest);
+
+        // then
+        assertThat(matches, is(false));
+        for (HttpRequestPropertiesMatcher operationMatcher : operationMatchers) {
+            verify(operationMatcher, never()).matches(any(MatchDifference.class), any(RequestDefinition.class));
+        }
+        assertThat(context.getDifferences(OPERATION), contains("  no operation matched method:" + NEW_LINE +
+            NEW_LINE +
+            "    GET" + NEW_LINE +
+            NEW_LINE +
+            "   and path:" + NEW_LINE +
+            NEW_LINE +
+            "    /v1/unknown" + NEW_LINE));
+    }
+}
+
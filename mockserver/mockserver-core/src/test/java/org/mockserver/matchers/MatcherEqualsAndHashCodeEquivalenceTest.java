@@ -0,0 +1,222 @@
+package org.mockserver.matchers;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.junit.Test;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.model.*;
+
+import static java.util.Collections.singletonMap;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
+import static org.mockserver.configuration.Configuration.configuration;
+import static org.mockserver.matchers.JsonSchemaMatcherTest.JSON_SCHEMA;
+import static org.mockserver.matchers.NotMatcher.notMatcher;
+import static org.mockserver.model.Cookie.cookie;
+import static org.mockserver.model.EqualsAndHashCodeEquivalenceTest.assertEquivalentToReflectiveEquals;
+import static org.mockserver.model.Header.header;
+import static org.mockserver.model.NottableString.string;
+import static org.mockserver.model.Parameter.param;
+
+/**
+ * Checks the explicit equals and hashCode implementations of the field matchers give the same result as the
+ * reflective implementations they replaced.
+ * <p>
+ * The logger and any state derived from the matcher's definition (i.e. compiled maps, parsed json and lazily
+ * calculated flags) are not compared, the reflective implementations compared some of these by identity or only
+ * once they had been lazily populated, so they are excluded from the reflective comparison.
+ *
+ * @author jamesdbloom
+ */
+public class MatcherEqualsAndHashCodeEquivalenceTest {
+
+    private static final String XML_SCHEMA = "<xs:schema xmlns:xs=\"http://www.w3.org/2001/XMLSchema\"><xs:element name=\"note\" type=\"xs:string\"/></xs:schema>";
+
+    private final MockServerLogger mockServerLogger = new MockServerLogger();
+    private final MockServerLogger otherMockServerLogger = new MockServerLogger();
+
+    @Test
+    public void shouldMatchReflectiveEqualsForExactStringMatcher() {
+        assertEquivalent(new ExactStringMatcher(mockServerLogger, string("a")), new ExactStringMatcher(otherMockServerLogger, string("a")));
+        assertEquivalent(new ExactStringMatcher(mockServerLogger, string("a")), new ExactStringMatcher(mockServerLogger, string("b")));
+        assertEquivalent(new ExactStringMatcher(mockServerLogger, string("a")), new ExactStringMatcher(mockServerLogger, NottableString.not("a")));
+        assertEquivalent(new ExactStringMatcher(mockServerLogger, string("a")), notMatcher(new ExactStringMatcher(mockServerLogger, string("a"))));
+        assertEquivalent(new ExactStringMatcher(mockServerLogger, null), new ExactStringMatcher(mockServerLogger, null));
+    }
+
+    @Test
+    public void shouldMatchReflectiveEqualsForSubStringMatcher() {
+        assertEquivalent(new SubStringMatcher(mockServerLogger, string("a")), new SubStringMatcher(otherMockServerLogger, string("a")));
+        assertEquivalent(new SubStringMatcher(mockServerLogger, string("a")), new SubStringMatcher(mockServerLogger, string("b")));
+        assertEquivalent(new SubStringMatcher(mockServerLogger, string("a")), notMatcher(new SubStringMatcher(mockServerLogger, string("a"))));
+    }
+
+    @Test
+    public void shouldMatchReflectiveEqualsForRegexStringMatcher() {
+        assertEquivalent(new RegexStringMatcher(mockServerLogger, string("a.*"), false), new RegexStringMatcher(otherMockServerLogger, string("a.*"), false));
+        assertEquivalent(new RegexStringMatcher(mockServerLogger, string("a.*"), false), new RegexStringMatcher(mockServerLogger, string("b.*"), false));
+        assertEquivalent(new RegexStringMatcher(mockServerLogger, string("a.*"), false), new RegexStringMatcher(mockServerLogger, string("a.*"), true));
+        assertEquivalent(new RegexStringMatcher(mockServerLogger, false), new RegexStringMatcher(mockServerLogger, false));
+        assertEquivalent(new RegexStringMatcher(mockServerLogger, string("a.*"), false), notMatcher(new RegexStringMatcher(mockServerLogger, string("a.*"), false)));
+    }
+
+    @Test
+    public void shouldMatchReflectiveEqualsForBinaryMatcher() {
+        assertEquivalent(new BinaryMatcher(mockServerLogger, new byte[]{1, 2}), new BinaryMatcher(otherMockServerLogger, new byte[]{1, 2}));
+        assertEquivalent(new BinaryMatcher(mockServerLogger, new byte[]{1, 2}), new BinaryMatcher(mockServerLogger, new byte[]{1, 3}));
+        assertEquivalent(new BinaryMatcher(mockServerLogger, new byte[]{1, 2}), new BinaryMatcher(mockServerLogger, null));
+        assertEquivalent(new BinaryMatcher(mockServerLogger, new byte[]{1, 2}), notMatcher(new BinaryMatcher(mockServerLogger, new byte[]{1, 2})));
+    }
+
+    @Test
+    public void shouldMatchReflectiveEqualsForBooleanMatcher() {
+        assertEquivalent(new BooleanMatcher(mockServerLogger, true), new BooleanMatcher(otherMockServerLogger, true));
+        assertEquivalent(new BooleanMatcher(mockServerLogger, true), new BooleanMatcher(mockServerLogger, false));
+        assertEquivalent(new BooleanMatcher(mockServerLogger, true), new BooleanMatcher(mockServerLogger, null));
+    }
+
+    @Test
+    public void shouldMatchReflectiveEqualsForJsonStringMatcher() {
+        // given
+        JsonStringMatcher parsed = new JsonStringMatcher(mockServerLogger, "{\"a\":1}", MatchType.STRICT);
+        parsed.matches(null, "{\"a\":1}");
+
+        // then
+        assertEquivalent(parsed, new JsonStringMatcher(otherMockServerLogger, "{\"a\":1}", MatchType.STRICT), "matcherJsonNode");
+        assertEquivalent(parsed, new JsonStringMatcher(mockServerLogger, "{\"a\":2}", MatchType.STRICT), "matcherJsonNode");
+        assertEquivalent(parsed, new JsonStringMatcher(mockServerLogger, "{\"a\":1}", MatchType.ONLY_MATCHING_FIELDS), "matcherJsonNode");
+        assertEquivalent(parsed, new JsonStringMatcher(mockServerLogger, "{\"a\":1}", MatchType.STRICT, true), "matcherJsonNode");
+        assertEquivalent(parsed, notMatcher(new JsonStringMatcher(mockServerLogger, "{\"a\":1}", MatchType.STRICT)), "matcherJsonNode");
+    }
+
+    @Test
+    public void shouldMatchReflectiveEqualsForJsonPathMatcher() {
+        assertEquivalent(new JsonPathMatcher(mockServerLogger, "$.a"), new JsonPathMatcher(otherMockServerLogger, "$.a"), "jsonPath");
+        assertEquivalent(new JsonPathMatcher(mockServerLogger, "$.a"), new JsonPathMatcher(mockServerLogger, "$.b"), "jsonPath");
+        assertEquivalent(new JsonPathMatcher(mockServerLogger, "$.a"), notMatcher(new JsonPathMatcher(mockServerLogger, "$.a")), "jsonPath");
+    }
+
+    @Test
+    public void shouldMatchReflectiveEqualsForJsonSchemaMatcher() {
+        assertEquivalent(new JsonSchemaMatcher(mockServerLogger, JSON_SCHEMA), new JsonSchemaMatcher(otherMockServerLogger, JSON_SCHEMA), "jsonSchemaValidator");
+        assertEquivalent(new JsonSchemaMatcher(mockServerLogger, JSON_SCHEMA), new JsonSchemaMatcher(mockServerLogger, "{\"type\":\"object\"}"), "jsonSchemaValidator");
+        assertEquivalent(new JsonSchemaMatcher(mockServerLogger, JSON_SCHEMA), new JsonSchemaMatcher(mockServerLogger, JSON_SCHEMA).withParameterStyle(singletonMap("a", ParameterStyle.FORM)), "jsonSchemaValidator");
+        assertEquivalent(new JsonSchemaMatcher(mockServerLogger, JSON_SCHEMA), notMatcher(new JsonSchemaMatcher(mockServerLogger, JSON_SCHEMA)), "jsonSchemaValidator");
+    }
+
+    @Test
+    public void shouldResetCachedHashCodeWhenJsonSchemaMatcherParameterStyleChanged() {
+        // given
+        JsonSchemaMatcher jsonSchemaMatcher = new JsonSchemaMatcher(mockServerLogger, JSON_SCHEMA);
+        JsonSchemaMatcher other = new JsonSchemaMatcher(mockServerLogger, JSON_SCHEMA).withParameterStyle(singletonMap("a", ParameterStyle.FORM));
+        assertThat(jsonSchemaMatcher, not(other));
+
+        // when
+        jsonSchemaMatcher.withParameterStyle(singletonMap("a", ParameterStyle.FORM));
+
+        // then
+        assertThat(jsonSchemaMatcher, is(other));
+        assertThat(jsonSchemaMatcher.hashCode(), is(other.hashCode()));
+    }
+
+    @Test
+    public void shouldMatchReflectiveEqualsForXPathMatcher() {
+        assertEquivalent(new XPathMatcher(mockServerLogger, "/a"), new XPathMatcher(otherMockServerLogger, "/a"), "xPathEvaluator");
+        assertEquivalent(new XPathMatcher(mockServerLogger, "/a"), new XPathMatcher(mockServerLogger, "/b"), "xPathEvaluator");
+        assertEquivalent(new XPathMatcher(mockServerLogger, "/a"), notMatcher(new XPathMatcher(mockServerLogger, "/a")), "xPathEvaluator");
+    }
+
+    @Test
+    public void shouldMatchReflectiveEqualsForXmlSchemaMatcher() {
+        assertEquivalent(new XmlSchemaMatcher(mockServerLogger, XML_SCHEMA), new XmlSchemaMatcher(otherMockServerLogger, XML_SCHEMA), "xmlSchemaValidator");
+        assertEquivalent(new XmlSchemaMatcher(mockServerLogger, XML_SCHEMA), new XmlSchemaMatcher(mockServerLogger, XML_SCHEMA.replace("note", "other")), "xmlSchemaValidator");
+        assertEquivalent(new XmlSchemaMatcher(mockServerLogger, XML_SCHEMA), notMatcher(new XmlSchemaMatcher(mockServerLogger, XML_SCHEMA)), "xmlSchemaValidator");
+    }
+
+    @Test
+    public void shouldMatchReflectiveEqualsForXmlStringMatcher() {
+        assertEquivalent(new XmlStringMatcher(mockServerLogger, "<a>1</a>"), new XmlStringMatcher(otherMockServerLogger, "<a>1</a>"));
+        assertEquivalent(new XmlStringMatcher(mockServerLogger, "<a>1</a>"), new XmlStringMatcher(mockServerLogger, "<a>2</a>"));
+        assertEquivalent(new XmlStringMatcher(mockServerLogger, "<a>1</a>"), notMatcher(new XmlStringMatcher(mockServerLogger, "<a>1</a>")));
+    }
+
+    @Test
+    public void shouldMatchReflectiveEqualsForGraphQLMatcher() {
+        assertEquivalent(new GraphQLMatcher(mockServerLogger, "{ a }", "A", null), new GraphQLMatcher(otherMockServerLogger, "{ a }", "A", null), "paramsValidator", "compiledOperationNamePattern");
+        assertEquivalent(new GraphQLMatcher(mockServerLogger, "{ a }", "A", null), new GraphQLMatcher(mockServerLogger, "{ b }", "A", null), "paramsValidator", "compiledOperationNamePattern");
+        assertEquivalent(new GraphQLMatcher(mockServerLogger, "{ a }", "A", null), new GraphQLMatcher(mockServerLogger, "{ a }", "B.*", null), "paramsValidator", "compiledOperationNamePattern");
+        assertEquivalent(new GraphQLMatcher(mockServerLogger, "{ a }", "A", null), new GraphQLMatcher(mockServerLogger, "{ a }", "A", "{\"type\":\"object\"}"), "paramsValidator", "compiledOperationNamePattern");
+        assertEquivalent(new GraphQLMatcher(mockServerLogger, "{ a }", "A", null), notMatcher(new GraphQLMatcher(mockServerLogger, "{ a }", "A", null)), "paramsValidator", "compiledOperationNamePattern");
+    }
+
+    @Test
+    public void shouldMatchReflectiveEqualsForJsonRpcMatcher() {
+        assertEquivalent(new JsonRpcMatcher(mockServerLogger, "a", null), new JsonRpcMatcher(otherMockServerLogger, "a", null), "paramsValidator", "compiledMethodPattern");
+        assertEquivalent(new JsonRpcMatcher(mockServerLogger, "a", null), new JsonRpcMatcher(mockServerLogger, "b.*", null), "paramsValidator", "compiledMethodPattern");
+        assertEquivalent(new JsonRpcMatcher(mockServerLogger, "a", null), new JsonRpcMatcher(mockServerLogger, "a", "{\"type\":\"object\"}"), "paramsValidator", "compiledMethodPattern");
+        assertEquivalent(new JsonRpcMatcher(mockServerLogger, "a", null), notMatcher(new JsonRpcMatcher(mockServerLogger, "a", null)), "paramsValidator", "compiledMethodPattern");
+    }
+
+    @Test
+    public void shouldMatchReflectiveEqualsForHashMapMatcher() {
+        // given
+        HashMapMatcher matched = new HashMapMatcher(mockServerLogger, new Cookies(cookie("a", "1")), false);
+        matched.matches(null, new Cookies(cookie("a", "1")));
+
+        // then
+        assertEquivalent(matched, new HashMapMatcher(otherMockServerLogger, new Cookies(cookie("a", "1")), false), "matcher", "compiledSubSetMatcher", "allKeysNotted", "allKeysOptional");
+        assertEquivalent(matched, new HashMapMatcher(mockServerLogger, new Cookies(cookie("a", "2")), false), "matcher", "compiledSubSetMatcher", "allKeysNotted", "allKeysOptional");
+        assertEquivalent(matched, new HashMapMatcher(mockServerLogger, new Cookies(cookie("a", "1")), true), "matcher", "compiledSubSetMatcher", "allKeysNotted", "allKeysOptional");
+        assertEquivalent(matched, new HashMapMatcher(mockServerLogger, null, false), "matcher", "compiledSubSetMatcher", "allKeysNotted", "allKeysOptional");
+        assertEquivalent(matched, notMatcher(new HashMapMatcher(mockServerLogger, new Cookies(cookie("a", "1")), false)), "matcher", "compiledSubSetMatcher", "allKeysNotted", "allKeysOptional");
+    }
+
+    @Test
+    public void shouldMatchReflectiveEqualsForMultiValueMapMatcher() {
+        // given
+        MultiValueMapMatcher matched = new MultiValueMapMatcher(mockServerLogger, new Headers(header("a", "1")), false);
+        matched.matches(null, new Headers(header("a", "1")));
+
+        // then
+        assertEquivalent(matched, new MultiValueMapMatcher(otherMockServerLogger, new Headers(header("a", "1")), false), "matcher", "compiledSubSetMatcher", "allKeysNotted", "allKeysOptional");
+        assertEquivalent(matched, new MultiValueMapMatcher(mockServerLogger, new Headers(header("a", "2")), false), "matcher", "compiledSubSetMatcher", "allKeysNotted", "allKeysOptional");
+        assertEquivalent(matched, new MultiValueMapMatcher(mockServerLogger, new Headers(header("a", "1")), true), "matcher", "compiledSubSetMatcher", "allKeysNotted", "allKeysOptional");
+        assertEquivalent(matched, new MultiValueMapMatcher(mockServerLogger, null, false), "matcher", "compiledSubSetMatcher", "allKeysNotted", "allKeysOptional");
+        assertEquivalent(matched, notMatcher(new MultiValueMapMatcher(mockServerLogger, new Headers(header("a", "1")), false)), "matcher", "compiledSubSetMatcher", "allKeysNotted", "allKeysOptional");
+    }
+
+    @Test
+    public void shouldNotBeEqualForDifferentKeyMatchStyle() {
+        // the key match style was only compared by the (identity compared) compiled matcher
+        assertThat(
+            new MultiValueMapMatcher(mockServerLogger, new Headers(header("a", "1")).withKeyMatchStyle(KeyMatchStyle.SUB_SET), false),
+            not(new MultiValueMapMatcher(mockServerLogger, new Headers(header("a", "1")).withKeyMatchStyle(KeyMatchStyle.MATCHING_KEY), false))
+        );
+    }
+
+    @Test
+    public void shouldMatchReflectiveEqualsForParameterStringMatcher() {
+        assertEquivalent(new ParameterStringMatcher(configuration(), mockServerLogger, new Parameters(param("a", "1")), false), new ParameterStringMatcher(configuration(), otherMockServerLogger, new Parameters(param("a", "1")), false), "matcher", "formParameterParser", "expandedParameterDecoder");
+        assertEquivalent(new ParameterStringMatcher(configuration(), mockServerLogger, new Parameters(param("a", "1")), false), new ParameterStringMatcher(configuration(), mockServerLogger, new Parameters(param("a", "2")), false), "matcher", "formParameterParser", "expandedParameterDecoder");
+        assertEquivalent(new ParameterStringMatcher(configuration(), mockServerLogger, new Parameters(param("a", "1")), false), notMatcher(new ParameterStringMatcher(configuration(), mockServerLogger, new Parameters(param("a", "1")), false)), "matcher", "formParameterParser", "expandedParameterDecoder");
+    }
+
+    @Test
+    public void shouldIncludeNotInHashCodeWhenSetAfterHashCodeCalculated() {
+        // given
+        ExactStringMatcher exactStringMatcher = new ExactStringMatcher(mockServerLogger, string("a"));
+        int hashCode = exactStringMatcher.hashCode();
+
+        // when
+        notMatcher(exactStringMatcher);
+
+        // then
+        assertThat(exactStringMatcher.hashCode(), not(hashCode));
+        assertThat(exactStringMatcher, is(notMatcher(new ExactStringMatcher(mockServerLogger, string("a")))));
+        assertThat(exactStringMatcher, not(new ExactStringMatcher(mockServerLogger, string("a"))));
+    }
+
+    private static void assertEquivalent(Object one, Object other, String... excludedFields) {
+        assertEquivalentToReflectiveEquals(one, other, ArrayUtils.add(excludedFields, "mockServerLogger"));
+    }
+}
@@ -0,0 +1,79 @@
+package org.mockserver.matchers;
+
+import org.junit.Test;
+import org.mockserver.model.HttpRequest;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.NottableString.not;
+
+/**
+ * @author jamesdbloom
+ */
+public class OpenAPIRoutingTrieTest {
+
+    private final OpenAPIRoutingTrie routingTrie = new OpenAPIRoutingTrie(Arrays.asList(
+        request().withMethod("GET").withPath("/pets"),
+        request().withMethod("POST").withPath("/pets"),
+        request().withMethod("GET").withPath("/pets/{petId}"),
+        request().withMethod("DELETE").withPath("/pets/{petId}"),
+        request().withMethod("GET").withPath("/pets/{petId}/owner"),
+        request().withMethod("GET").withPath("/stores/{storeId}/pets/{petId}"),
+        request().withMethod("GET").withPath("/v1.0/status"),
+        request().withMethod("GET").withPath(not("/pets")),
+        request().withPath("/stores")
+    ));
+
+    private static BitSet bits(int... indexes) {
+        BitSet bitSet = new BitSet();
+        for (int index : indexes) {
+            bitSet.set(index);
+        }
+        return bitSet;
+    }
+
+    private BitSet candidates(HttpRequest request) {
+        return routingTrie.candidates(request);
+    }
+
+    @Test
+    public void shouldRouteLiteralPath() {
+        assertThat(candidates(request().withMethod("GET").withPath("/pets")), equalTo(bits(0, 6, 7)));
+        assertThat(candidates(request().withMethod("post").withPath("/PETS")), equalTo(bits(1)));
+        assertThat(candidates(request().withMethod("GET").withPath("/stores")), equalTo(bits(6, 7, 8)));
+    }
+
+    @Test
+    public void shouldRoutePathWithParameters() {
+        assertThat(candidates(request().withMethod("GET").withPath("/pets/1")), equalTo(bits(2, 4, 6, 7)));
+        assertThat(candidates(request().withMethod("DELETE").withPath("/pets/1")), equalTo(bits(3)));
+        assertThat(candidates(request().withMethod("GET").withPath("/pets/1/owner")), equalTo(bits(2, 4, 6, 7)));
+        assertThat(candidates(request().withMethod("GET").withPath("/stores/1/pets/2")), equalTo(bits(5, 6, 7)));
+    }
+
+    @Test
+    public void shouldRoutePathWithRegexCharactersByLiteralPrefix() {
+        assertThat(candidates(request().withMethod("GET").withPath("/v1x0/status")), equalTo(bits(6, 7)));
+        assertThat(candidates(request().withMethod("GET").withPath("/other")), equalTo(bits(6, 7)));
+    }
+
+    @Test
+    public void shouldReturnAllCandidatesForBlankOrNonAsciiPath() {
+        assertThat(candidates(request().withMethod("GET")), equalTo(bits(0, 2, 4, 5, 6, 7, 8)));
+        assertThat(candidates(request().withPath("/pets/ſ")), equalTo(bits(0, 1, 2, 3, 4, 5, 6, 7, 8)));
+    }
+
+    @Test
+    public void shouldNotRouteNottedRequest() {
+        // given
+        HttpRequest request = request().withMethod("GET").withPath("/other");
+        request.setNot(true);
+
+        // then
+        assertThat(candidates(request), equalTo(bits(0, 2, 4, 5, 6, 7, 8)));
+    }
+}
@@ -0,0 +1,127 @@
+package org.mockserver.matchers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.Test;
+import org.w3c.dom.Document;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.fail;
+
+/**
+ * @author jamesdbloom
+ */
+public class ParsedBodyCacheTest {
+
+    @Test
+    public void shouldParseJsonEachTimeOutsideOfScope() throws Exception {
+        // when
+        JsonNode first = ParsedBodyCache.jsonNode("{ \"key\": \"value\" }");
+        JsonNode second = ParsedBodyCache.jsonNode("{ \"key\": \"value\" }");
+
+        // then
+        assertThat(first, equalTo(second));
+        assertThat(first, not(sameInstance(second)));
+    }
+
+    @Test
+    public void shouldParseJsonOnceInsideOfScope() throws Exception {
+        ParsedBodyCache.open();
+        try {
+            // when
+            JsonNode first = ParsedBodyCache.jsonNode("{ \"key\": \"value\" }");
+            JsonNode second = ParsedBodyCache.jsonNode(new String("{ \"key\": \"value\" }"));
+            Object firstJsonPathDocument = ParsedBodyCache.jsonPathDocument("{ \"key\": \"value\" }");
+            Object secondJsonPathDocument = ParsedBodyCache.jsonPathDocument("{ \"key\": \"value\" }");
+
+            // then
+            assertThat(first.get("key").asText(), equalTo("value"));
+            assertThat(first, sameInstance(second));
+            assertThat(firstJsonPathDocument, sameInstance(secondJsonPathDocument));
+        } finally {
+            ParsedBodyCache.close();
+        }
+
+        // then - scope closed
+        assertThat(ParsedBodyCache.jsonNode("{ \"key\": \"value\" }"), not(sameInstance(ParsedBodyCache.jsonNode("{ \"key\": \"value\" }"))));
+    }
+
+    @Test
+    public void shouldKeepScopeOpenUntilOutermostClose() throws Exception {
+        ParsedBodyCache.open();
+        try {
+            JsonNode first = ParsedBodyCache.jsonNode("[1, 2, 3]");
+            ParsedBodyCache.open();
+            ParsedBodyCache.close();
+
+            // then
+            assertThat(ParsedBodyCache.jsonNode("[1, 2, 3]"), sameInstance(first));
+        } finally {
+            ParsedBodyCache.close();
+        }
+    }
+
+    @Test
+    public void shouldCacheJsonParseFailure() {
+        ParsedBodyCache.open();
+        try {
+            // when
+            Exception first = null;
+            try {
+                ParsedBodyCache.jsonNode("{ \"key\": ");
+                fail("expected exception");
+            } catch (Exception exception) {
+                first = exception;
+            }
+            try {
+                ParsedBodyCache.jsonNode("{ \"key\": ");
+                fail("expected exception");
+            } catch (Exception exception) {
+                // then
+                assertThat(exception, sameInstance(first));
+            }
+        } finally {
+            ParsedBodyCache.close();
+        }
+    }
+
+    @Test
+    public void shouldParseXmlOnceAndReplayErrors() throws Exception {
+        ParsedBodyCache.open();
+        try {
+            // when
+            Document first = ParsedBodyCache.xmlDocument("<element><key>value</key></element>", (xml, exception, level) -> fail("unexpected error"), false);
+            Document second = ParsedBodyCache.xmlDocument("<element><key>value</key></element>", (xml, exception, level) -> fail("unexpected error"), false);
+            Document namespaceAware = ParsedBodyCache.xmlDocument("<element><key>value</key></element>", (xml, exception, level) -> fail("unexpected error"), true);
+
+            // then
+            assertThat(first, sameInstance(second));
+            assertThat(namespaceAware, not(sameInstance(first)));
+
+            // when - invalid xml
+            List<String> firstErrors = new ArrayList<>();
+            List<String> secondErrors = new ArrayList<>();
+            try {
+                ParsedBodyCache.xmlDocument("<element>", (xml, exception, level) -> firstErrors.add(level.name()), false);
+                fail("expected exception");
+            } catch (Exception ignore) {
+                // expected
+            }
+            try {
+                ParsedBodyCache.xmlDocument("<element>", (xml, exception, level) -> secondErrors.add(level.name()), false);
+                fail("expected exception");
+            } catch (Exception ignore) {
+                // expected
+            }
+
+            // then
+            assertThat(firstErrors, not(empty()));
+            assertThat(secondErrors, equalTo(firstErrors));
+        } finally {
+            ParsedBodyCache.close();
+        }
+    }
+}
@@ -13,11 +13,14 @@ import org.mockserver.configuration.Configuration;
 import org.mockserver.file.FilePath;
 import org.mockserver.file.FileReader;
 import org.mockserver.log.MockServerEventLog;
+import org.mockserver.mock.crud.CrudActionHandler;
+import org.mockserver.mock.crud.CrudDataStore;
 import org.mockserver.time.EpochService;
 import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.matchers.TimeToLive;
 import org.mockserver.matchers.Times;
+import org.mockserver.model.CrudExpectationsDefinition;
 import org.mockserver.model.HttpRequest;
 import org.mockserver.model.HttpResponse;
 import org.mockserver.model.MediaType;
@@ -2684,4 +2687,38 @@ public class HttpStateTest {
         assertThat(httpState.getFileStore().size(), is(0));
     }
 
+    @Test
+    public void shouldIdentifyControlPlaneRequests() {
+        assertThat(HttpState.isControlPlaneRequest(request().withMethod("PUT").withPath("/mockserver/expectation")), is(true));
+        assertThat(HttpState.isControlPlaneRequest(request().withMethod("PUT").withPath("/reset")), is(true));
+        assertThat(HttpState.isControlPlaneRequest(request().withMethod("PUT").withPath("/mockserver/files/store")), is(true));
+        assertThat(HttpState.isControlPlaneRequest(request().withMethod("POST").withPath("/mockserver/expectation")), is(false));
+        assertThat(HttpState.isControlPlaneRequest(request().withMethod("PUT").withPath("/some_path")), is(false));
+        assertThat(HttpState.isControlPlaneRequest(request().withMethod("PUT").withPath("/mockserver/some_path")), is(false));
+    }
+
+    @Test
+    public void shouldRequireCompleteBodyOnlyWhenExpectationMayMatch() {
+        // given
+        httpState.add(new Expectation(request().withMethod("POST").withPath("/some_path").withBody("some_body")).thenRespond(response().withBody("some_response")));
+
+        // then
+        assertThat(httpState.requiresCompleteBody(request().withMethod("POST").withPath("/some_path")), is(true));
+        assertThat(httpState.requiresCompleteBody(request().withMethod("POST").withPath("/some_path/child")), is(true));
+        assertThat(httpState.requiresCompleteBody(request().withMethod("GET").withPath("/some_path")), is(false));
+        assertThat(httpState.requiresCompleteBody(request().withMethod("POST").withPath("/some_other_path")), is(false));
+    }
+
+    @Test
+    public void shouldRequireCompleteBodyWhenCrudHandlerRegistered() {
+        // given
+        assertThat(httpState.requiresCompleteBody(request().withMethod("POST").withPath("/some_path")), is(false));
+
+        // when
+        httpState.getCrudDispatcher().register("/users", new CrudActionHandler(new CrudDataStore("id", CrudExpectationsDefinition.IdStrategy.AUTO_INCREMENT), "/users"));
+
+        // then
+        assertThat(httpState.requiresCompleteBody(request().withMethod("POST").withPath("/some_path")), is(true));
+    }
+
 }
@@ -13,9 +13,14 @@ import org.mockserver.model.HttpResponse;
 import org.mockserver.scheduler.Scheduler;
 
 import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertNull;
 import static org.mockito.Mockito.mock;
 import static org.mockserver.configuration.Configuration.configuration;
 import static org.mockserver.mock.listeners.MockServerMatcherNotifier.Cause.API;
+import static org.mockserver.model.BinaryRequestDefinition.binaryRequest;
+import static org.mockserver.model.BinaryResponse.binaryResponse;
+import static org.mockserver.model.DnsRequestDefinition.dnsRequest;
+import static org.mockserver.model.DnsResponse.dnsResponse;
 
 /**
  * @author jamesdbloom
@@ -71,4 +76,45 @@ public class MockServerMatcherOverlappingRequestsTest {
         assertEquals(expectationOne, requestMatchers.firstMatchingExpectation(new HttpRequest().withPath("somepath").withCookies(new Cookie("name", "value"))));
     }
 
+    @Test
+    public void respondWithHighestPriorityMatchingForEachRequestDefinitionType() {
+        // when
+        Expectation anyHttpRequest = new Expectation(new HttpRequest(), Times.unlimited(), TimeToLive.unlimited(), 0).thenRespond(httpResponse[0].withBody("somebody1"));
+        requestMatchers.add(anyHttpRequest, API);
+        Expectation binary = new Expectation(binaryRequest(new byte[]{1, 2}), Times.unlimited(), TimeToLive.unlimited(), 5).thenRespondWithBinary(binaryResponse(new byte[]{3}));
+        requestMatchers.add(binary, API);
+        Expectation dns = new Expectation(dnsRequest("example.com"), Times.unlimited(), TimeToLive.unlimited(), 10).thenRespondWithDns(dnsResponse());
+        requestMatchers.add(dns, API);
+        Expectation specificHttpRequest = new Expectation(new HttpRequest().withMethod("GET").withPath("/some/path"), Times.unlimited(), TimeToLive.unlimited(), 20).thenRespond(httpResponse[1].withBody("somebody2"));
+        requestMatchers.add(specificHttpRequest, API);
+
+        // then
+        assertEquals(specificHttpRequest, requestMatchers.firstMatchingExpectation(new HttpRequest().withMethod("GET").withPath("/some/path")));
+        assertEquals(anyHttpRequest, requestMatchers.firstMatchingExpectation(new HttpRequest().withMethod("GET").withPath("/file.json")));
+        assertEquals(binary, requestMatchers.firstMatchingExpectation(binaryRequest(new byte[]{1, 2})));
+        assertNull(requestMatchers.firstMatchingExpectation(binaryRequest(new byte[]{4})));
+        assertEquals(dns, requestMatchers.firstMatchingExpectation(dnsRequest("example.com")));
+        assertNull(requestMatchers.firstMatchingExpectation(dnsRequest("other.com")));
+    }
+
+    @Test
+    public void respondWithHighestPriorityMatchingAcrossMethodsAndPaths() {
+        // when
+        Expectation specificPath = new Expectation(new HttpRequest().withMethod("GET").withPath("/some/path"), Times.unlimited(), TimeToLive.unlimited(), 0).thenRespond(httpResponse[0].withBody("somebody1"));
+        requestMatchers.add(specificPath, API);
+        Expectation regexPath = new Expectation(new HttpRequest().withPath("/some/.*"), Times.unlimited(), TimeToLive.unlimited(), 5).thenRespond(httpResponse[1].withBody("somebody2"));
+        requestMatchers.add(regexPath, API);
+        Expectation anyRequest = new Expectation(new HttpRequest(), Times.once(), TimeToLive.unlimited(), 10).thenRespond(new HttpResponse().withBody("somebody3"));
+        requestMatchers.add(anyRequest, API);
+        Expectation otherPath = new Expectation(new HttpRequest().withMethod("GET").withPath("/other/path"), Times.unlimited(), TimeToLive.unlimited(), 20).thenRespond(new HttpResponse().withBody("somebody4"));
+        requestMatchers.add(otherPath, API);
+
+        // then
+        assertEquals(anyRequest, requestMatchers.firstMatchingExpectation(new HttpRequest().withMethod("GET").withPath("/some/path")));
+        assertEquals(regexPath, requestMatchers.firstMatchingExpectation(new HttpRequest().withMethod("GET").withPath("/some/path")));
+        assertEquals(regexPath, requestMatchers.firstMatchingExpectation(new HttpRequest().withMethod("get").withPath("/some/other")));
+        assertEquals(otherPath, requestMatchers.firstMatchingExpectation(new HttpRequest().withMethod("get").withPath("/OTHER/path")));
+        assertEquals(null, requestMatchers.firstMatchingExpectation(new HttpRequest().withMethod("POST").withPath("/other/path")));
+    }
+
 }
@@ -0,0 +1,103 @@
+package org.mockserver.mock;
+
+import org.mockserver.closurecallback.websocketregistry.WebSocketClientRegistry;
+import org.mockserver.configuration.Configuration;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.model.HttpRequest;
+import org.mockserver.scheduler.Scheduler;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockserver.configuration.Configuration.configuration;
+import static org.mockserver.mock.listeners.MockServerMatcherNotifier.Cause.API;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+import static org.mockserver.model.JsonBody.json;
+
+/**
+ * Measures upserting expectations (which compares the new expectation to the existing one using equals) and
+ * matching requests against {@link RequestMatchers}, compare results before and after a change to the model or
+ * matcher equals and hashCode implementations
+ * <p>
+ * run with: mvn test-compile exec:java -Dexec.mainClass=org.mockserver.mock.RequestMatchersBenchmark -Dexec.classpathScope=test
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestMatchersBenchmark {
+
+    @Param({"100", "1000"})
+    public int size;
+
+    private RequestMatchers requestMatchers;
+    private Expectation unchangedExpectation;
+    private Expectation[] changedExpectations;
+    private int changedIndex;
+    private HttpRequest matchingRequest;
+
+    @Setup
+    public void setup() {
+        Configuration configuration = configuration()
+            .maxExpectations(size * 2)
+            .logLevel("WARN")
+            .disableSystemOut(true);
+        MockServerLogger mockServerLogger = new MockServerLogger(configuration, RequestMatchersBenchmark.class);
+        requestMatchers = new RequestMatchers(configuration, mockServerLogger, new Scheduler(configuration, mockServerLogger, true), new WebSocketClientRegistry(configuration, mockServerLogger));
+        for (int i = 0; i < size; i++) {
+            requestMatchers.add(expectation(i, "body_" + i), API);
+        }
+        // separate instances so equals compares every field rather than returning on identity
+        unchangedExpectation = expectation(size / 2, "body_" + (size / 2));
+        changedExpectations = new Expectation[]{
+            expectation(size / 2, "changed_body_one"),
+            expectation(size / 2, "changed_body_two")
+        };
+        matchingRequest = request()
+            .withMethod("POST")
+            .withPath("/path_" + (size - 1))
+            .withQueryStringParameter("queryName", "queryValue_" + (size - 1))
+            .withHeader("headerName", "headerValue")
+            .withCookie("cookieName", "cookieValue")
+            .withBody(json("{\"id\": " + (size - 1) + ", \"name\": \"name_" + (size - 1) + "\"}"));
+    }
+
+    private static Expectation expectation(int index, String responseBody) {
+        return new Expectation(
+            request()
+                .withMethod("POST")
+                .withPath("/path_" + index)
+                .withQueryStringParameter("queryName", "queryValue_" + index)
+                .withHeader("headerName", "headerValue")
+                .withCookie("cookieName", "cookieValue")
+                .withBody(json("{\"id\": " + index + "}"))
+        )
+            .withId("expectation_" + index)
+            .thenRespond(response().withBody(responseBody));
+    }
+
+    @Benchmark
+    public Expectation upsertUnchangedExpectation() {
+        return requestMatchers.add(unchangedExpectation, API);
+    }
+
+    @Benchmark
+    public Expectation upsertChangedExpectation() {
+        return requestMatchers.add(changedExpectations[changedIndex++ & 1], API);
+    }
+
+    @Benchmark
+    public Expectation firstMatchingExpectation() {
+        return requestMatchers.firstMatchingExpectation(matchingRequest);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RequestMatchersBenchmark.class.getSimpleName()).build()).run();
+    }
+}
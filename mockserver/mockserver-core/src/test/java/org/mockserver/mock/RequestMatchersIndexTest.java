@@ -0,0 +1,102 @@
+package org.mockserver.mock;
+
+import org.junit.Test;
+import org.mockserver.closurecallback.websocketregistry.WebSocketClientRegistry;
+import org.mockserver.configuration.Configuration;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.matchers.HttpRequestMatcher;
+import org.mockserver.matchers.MatcherBuilder;
+import org.mockserver.model.HttpRequest;
+import org.mockserver.model.Not;
+import org.mockserver.scheduler.Scheduler;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.mock;
+import static org.mockserver.mock.listeners.MockServerMatcherNotifier.Cause.API;
+import static org.mockserver.model.BinaryRequestDefinition.binaryRequest;
+import static org.mockserver.model.DnsRequestDefinition.dnsRequest;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+import static org.mockserver.model.JsonBody.json;
+import static org.mockserver.model.JsonSchemaBody.jsonSchema;
+import static org.mockserver.model.NottableString.not;
+
+public class RequestMatchersIndexTest {
+
+    private final MatcherBuilder matcherBuilder = new MatcherBuilder(Configuration.configuration(), new MockServerLogger());
+
+    private HttpRequestMatcher matcher(HttpRequest httpRequest) {
+        return matcherBuilder.transformsToMatcher(new Expectation(httpRequest));
+    }
+
+    @Test
+    public void shouldIndexLiteralMethodAndPath() {
+        assertThat(RequestMatchersIndex.matcherKeys(matcher(request().withMethod("GET").withPath("/some/path"))), containsInAnyOrder("get some", "http"));
+        assertThat(RequestMatchersIndex.matcherKeys(matcher(request().withMethod("get").withPath("/Some"))), containsInAnyOrder("get some", "http"));
+        assertThat(RequestMatchersIndex.matcherKeys(matcher(request().withMethod("GET").withPath("/"))), containsInAnyOrder("get ", "http"));
+    }
+
+    @Test
+    public void shouldIndexPathPrefix() {
+        assertThat(RequestMatchersIndex.matcherKeys(matcher(request().withMethod("GET").withPath("/some/.*"))), containsInAnyOrder("get some", "http"));
+        assertThat(RequestMatchersIndex.matcherKeys(matcher(request().withPath("/some/{id}").withPathParameter("id", "[0-9]+"))), containsInAnyOrder("* some", "http"));
+    }
+
+    @Test
+    public void shouldIndexUnderWildcardWhenNotLiteral() {
+        assertThat(RequestMatchersIndex.matcherKeys(matcher(request())), containsInAnyOrder("* *", "http"));
+        assertThat(RequestMatchersIndex.matcherKeys(matcher(request().withMethod("P.*").withPath("some_path"))), containsInAnyOrder("* *", "http"));
+        assertThat(RequestMatchersIndex.matcherKeys(matcher(request().withMethod(not("GET")).withPath(not("/some")))), containsInAnyOrder("* *", "http"));
+        assertThat(RequestMatchersIndex.matcherKeys(matcher(request().withMethod("GET").withPath("/some.*"))), containsInAnyOrder("get *", "http"));
+        assertThat(RequestMatchersIndex.matcherKeys(matcher(request().withMethod("GET").withPath("/some/?"))), containsInAnyOrder("get *", "http"));
+        assertThat(RequestMatchersIndex.matcherKeys(matcher(request().withMethod("GET").withPath("/some/path|/other"))), containsInAnyOrder("get *", "http"));
+        assertThat(RequestMatchersIndex.matcherKeys(matcher(Not.not(request().withMethod("GET").withPath("/some/path")))), containsInAnyOrder("* *", "http"));
+    }
+
+    @Test
+    public void shouldCalculateRequestKeys() {
+        assertThat(RequestMatchersIndex.requestKeys(request().withMethod("GET").withPath("/some/path")), containsInAnyOrder("* *", "get *", "* some", "get some"));
+        assertThat(RequestMatchersIndex.requestKeys(request().withMethod("GET").withPath("/some/file.json")), containsInAnyOrder("* *", "get *", "* some", "get some"));
+        assertThat(RequestMatchersIndex.requestKeys(request().withMethod("GET").withPath("some_path")), containsInAnyOrder("* *", "get *"));
+    }
+
+    @Test
+    public void shouldNotCalculateRequestKeysWhenAllExpectationsMayMatch() {
+        assertThat(RequestMatchersIndex.requestKeys(Not.not(request().withMethod("GET").withPath("/some/path"))), nullValue());
+    }
+
+    @Test
+    public void shouldCalculateHttpPartitionRequestKeysWhenAllHttpExpectationsMayMatch() {
+        assertThat(RequestMatchersIndex.requestKeys(request().withPath("/some/path")), contains("http"));
+        assertThat(RequestMatchersIndex.requestKeys(request().withMethod("GET")), contains("http"));
+        assertThat(RequestMatchersIndex.requestKeys(request().withMethod("GET").withPath("/file.json")), contains("http"));
+    }
+
+    @Test
+    public void shouldPartitionByRequestDefinitionType() {
+        // expectations
+        assertThat(RequestMatchersIndex.matcherKeys(matcherBuilder.transformsToMatcher(new Expectation(binaryRequest(new byte[]{1})))), contains("binary"));
+        assertThat(RequestMatchersIndex.matcherKeys(matcherBuilder.transformsToMatcher(new Expectation(dnsRequest("example.com")))), contains("dns"));
+
+        // requests
+        assertThat(RequestMatchersIndex.requestKeys(binaryRequest(new byte[]{1})), contains("binary"));
+        assertThat(RequestMatchersIndex.requestKeys(dnsRequest("example.com")), contains("dns"));
+        assertThat(RequestMatchersIndex.partitionKeys(request().withMethod("GET").withPath("/some/path")), contains("http"));
+        assertThat(RequestMatchersIndex.partitionKeys(binaryRequest(new byte[]{1})), contains("binary"));
+        assertThat(RequestMatchersIndex.partitionKeys(dnsRequest("example.com")), contains("dns"));
+    }
+
+    @Test
+    public void shouldOnlyRequireExpensiveMatchingForRequestsThatCouldMatchExpensiveExpectation() {
+        // given
+        RequestMatchers requestMatchers = new RequestMatchers(Configuration.configuration(), new MockServerLogger(), mock(Scheduler.class), mock(WebSocketClientRegistry.class));
+        requestMatchers.add(new Expectation(request().withMethod("POST").withPath("/schema").withBody(jsonSchema("{\"type\": \"object\"}"))).thenRespond(response()), API);
+        requestMatchers.add(new Expectation(request().withMethod("POST").withPath("/json").withBody(json("{\"id\": 1}"))).thenRespond(response()), API);
+
+        // then
+        assertThat(requestMatchers.requiresExpensiveMatching(request().withMethod("POST").withPath("/schema")), is(true));
+        assertThat(requestMatchers.requiresExpensiveMatching(request().withMethod("POST").withPath("/json")), is(false));
+        assertThat(requestMatchers.requiresExpensiveMatching(request().withMethod("GET").withPath("/schema")), is(false));
+    }
+}
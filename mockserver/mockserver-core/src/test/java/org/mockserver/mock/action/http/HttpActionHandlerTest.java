@@ -165,6 +165,33 @@ public class HttpActionHandlerTest {
         verify(scheduler).schedule(any(Runnable.class), eq(true), eq(milliseconds(0)));
     }
 
+    @Test
+    public void shouldWritePreEncodedResponseAction() {
+        // given
+        HttpResponse response = response("some_body");
+        expectation = new Expectation(request).thenRespond(response);
+        PreEncodedHttpResponse preEncodedHttpResponse = PreEncodedHttpResponse.preEncode(expectation, mockServerLogger);
+        expectation.withPreEncodedHttpResponse(preEncodedHttpResponse);
+        when(mockHttpStateHandler.firstMatchingExpectation(request)).thenReturn(expectation);
+
+        // when
+        actionHandler.processAction(request, mockResponseWriter, null, new HashSet<>(), false, true);
+
+        // then
+        verify(mockHttpResponseActionHandler, never()).handle(any(HttpResponse.class));
+        verify(mockResponseWriter).writeResponse(request, preEncodedHttpResponse);
+        verify(mockServerLogger).logEvent(
+            new LogEntry()
+                .setLogLevel(INFO)
+                .setType(EXPECTATION_RESPONSE)
+                .setHttpRequest(request)
+                .setHttpResponse(response)
+                .setExpectationId(expectation.getAction().getExpectationId())
+                .setMessageFormat("returning response:{}for request:{}for action:{}from expectation:{}")
+                .setArguments(response, request, response, expectation.getId())
+        );
+    }
+
     @Test
     public void shouldProcessResponseTemplateAction() {
         // given
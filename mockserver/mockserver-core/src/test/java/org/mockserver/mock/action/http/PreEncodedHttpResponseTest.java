@@ -0,0 +1,102 @@
+package org.mockserver.mock.action.http;
+
+import io.netty.handler.codec.http.FullHttpResponse;
+import org.junit.Test;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.mock.Expectation;
+import org.mockserver.model.HttpResponse;
+import org.mockserver.model.HttpTemplate;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockserver.model.ConnectionOptions.connectionOptions;
+import static org.mockserver.model.Delay.milliseconds;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+import static org.mockserver.model.HttpTemplate.template;
+
+/**
+ * @author jamesdbloom
+ */
+public class PreEncodedHttpResponseTest {
+
+    private final MockServerLogger mockServerLogger = new MockServerLogger(PreEncodedHttpResponseTest.class);
+
+    @Test
+    public void shouldEncodeStaticResponse() {
+        // given
+        HttpResponse httpResponse = response("some_body")
+            .withStatusCode(201)
+            .withHeader("some_header", "some_value")
+            .withCookie("some_cookie", "some_cookie_value");
+
+        // when
+        PreEncodedHttpResponse preEncodedHttpResponse = PreEncodedHttpResponse.preEncode(new Expectation(request()).thenRespond(httpResponse), mockServerLogger);
+
+        // then
+        assertThat(preEncodedHttpResponse, notNullValue());
+        assertThat(preEncodedHttpResponse.getHttpResponse(), sameInstance(httpResponse));
+        FullHttpResponse keepAliveResponse = preEncodedHttpResponse.retainedDuplicate(true);
+        FullHttpResponse closeResponse = preEncodedHttpResponse.retainedDuplicate(false);
+        try {
+            assertThat(keepAliveResponse.status().code(), equalTo(201));
+            assertThat(keepAliveResponse.headers().get("some_header"), equalTo("some_value"));
+            assertThat(keepAliveResponse.headers().get("set-cookie"), equalTo("some_cookie=some_cookie_value"));
+            assertThat(keepAliveResponse.headers().get("content-length"), equalTo("9"));
+            assertThat(keepAliveResponse.headers().get("connection"), equalTo("keep-alive"));
+            assertThat(keepAliveResponse.content().toString(StandardCharsets.UTF_8), equalTo("some_body"));
+            assertThat(closeResponse.headers().get("connection"), equalTo("close"));
+            assertThat(closeResponse.content().toString(StandardCharsets.UTF_8), equalTo("some_body"));
+        } finally {
+            keepAliveResponse.release();
+            closeResponse.release();
+        }
+    }
+
+    @Test
+    public void shouldReturnIndependentDuplicates() {
+        // given
+        PreEncodedHttpResponse preEncodedHttpResponse = PreEncodedHttpResponse.preEncode(new Expectation(request()).thenRespond(response("some_body")), mockServerLogger);
+
+        // when
+        FullHttpResponse first = preEncodedHttpResponse.retainedDuplicate(true);
+        first.headers().remove("content-length");
+        first.content().readBytes(first.content().readableBytes());
+        first.release();
+        FullHttpResponse second = preEncodedHttpResponse.retainedDuplicate(true);
+
+        // then
+        try {
+            assertThat(second.headers().get("content-length"), equalTo("9"));
+            assertThat(second.content().toString(StandardCharsets.UTF_8), equalTo("some_body"));
+        } finally {
+            second.release();
+        }
+    }
+
+    @Test
+    public void shouldLogCopyOfResponse() {
+        // given
+        HttpResponse httpResponse = response("some_body").withHeader("some_header", "some_value");
+        PreEncodedHttpResponse preEncodedHttpResponse = PreEncodedHttpResponse.preEncode(new Expectation(request()).thenRespond(httpResponse), mockServerLogger);
+
+        // when
+        HttpResponse loggedHttpResponse = preEncodedHttpResponse.getLoggedHttpResponse();
+        loggedHttpResponse.withHeader("another_header", "another_value");
+
+        // then
+        assertThat(loggedHttpResponse, not(sameInstance(httpResponse)));
+        assertThat(preEncodedHttpResponse.getLoggedHttpResponse(), sameInstance(loggedHttpResponse));
+        assertThat(httpResponse.containsHeader("another_header"), is(false));
+    }
+
+    @Test
+    public void shouldNotEncodeResponseThatIsNotStatic() {
+        assertThat(PreEncodedHttpResponse.preEncode(new Expectation(request()).thenRespond(response("some_body").withDelay(milliseconds(10))), mockServerLogger), nullValue());
+        assertThat(PreEncodedHttpResponse.preEncode(new Expectation(request()).thenRespond(response("some_body").withConnectionOptions(connectionOptions().withCloseSocket(true))), mockServerLogger), nullValue());
+        assertThat(PreEncodedHttpResponse.preEncode(new Expectation(request()).thenRespond(response("some_body").withHeader("content-length", "2")), mockServerLogger), nullValue());
+        assertThat(PreEncodedHttpResponse.preEncode(new Expectation(request()).thenRespond(template(HttpTemplate.TemplateType.VELOCITY, "some_template")), mockServerLogger), nullValue());
+    }
+}
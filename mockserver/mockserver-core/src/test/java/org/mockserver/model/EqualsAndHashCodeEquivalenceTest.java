@@ -0,0 +1,188 @@
+package org.mockserver.model;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
+import static org.mockserver.model.ConnectionOptions.connectionOptions;
+import static org.mockserver.model.Cookie.cookie;
+import static org.mockserver.model.Header.header;
+import static org.mockserver.model.NottableString.string;
+import static org.mockserver.model.SocketAddress.socketAddress;
+
+/**
+ * Checks the explicit equals and hashCode implementations give the same result as the reflective
+ * {@link ObjectWithReflectiveEqualsHashCodeToString} implementations they replaced, and that cached hash codes
+ * are reset when an object is modified
+ *
+ * @author jamesdbloom
+ */
+public class EqualsAndHashCodeEquivalenceTest {
+
+    /**
+     * Asserts equals (in both directions) matches the reflective equals, ignoring the cached hash code and any
+     * excluded fields, and that equal objects have the same hash code
+     */
+    public static void assertEquivalentToReflectiveEquals(Object one, Object other, String... excludedFields) {
+        boolean reflectiveEquals = new EqualsBuilder()
+            .setExcludeFields(ArrayUtils.add(excludedFields, "hashCode"))
+            .setReflectUpToClass(ObjectWithReflectiveEqualsHashCodeToString.class)
+            .setTestTransients(false)
+            .setTestRecursive(false)
+            .reflectionAppend(one, other)
+            .isEquals();
+        assertThat(one.equals(other), is(reflectiveEquals));
+        assertThat(other.equals(one), is(reflectiveEquals));
+        if (reflectiveEquals) {
+            assertThat(one.hashCode(), is(other.hashCode()));
+        }
+    }
+
+    @Test
+    public void shouldMatchReflectiveEqualsForCookies() {
+        assertEquivalentToReflectiveEquals(new Cookies(), new Cookies());
+        assertEquivalentToReflectiveEquals(new Cookies(cookie("a", "1"), cookie("b", "2")), new Cookies(cookie("a", "1"), cookie("b", "2")));
+        assertEquivalentToReflectiveEquals(new Cookies(cookie("a", "1"), cookie("b", "2")), new Cookies(cookie("b", "2"), cookie("a", "1")));
+        assertEquivalentToReflectiveEquals(new Cookies(cookie("a", "1")), new Cookies(cookie("a", "2")));
+        assertEquivalentToReflectiveEquals(new Cookies(cookie("a", "1")), new Cookies(cookie("b", "1")));
+        assertEquivalentToReflectiveEquals(new Cookies(cookie("a", "1")), new Cookies(cookie(NottableString.not("a"), string("1"))));
+        assertEquivalentToReflectiveEquals(new Cookies(cookie("a", "1")), new Cookies());
+    }
+
+    @Test
+    public void shouldResetCachedHashCodeWhenCookiesModified() {
+        // given
+        Cookies cookies = new Cookies(cookie("a", "1"));
+        Cookies other = new Cookies(cookie("a", "1"));
+        assertThat(cookies, is(other));
+
+        // when
+        cookies.withEntry("b", "2");
+
+        // then
+        assertThat(cookies, not(other));
+        assertThat(cookies.hashCode(), is(new Cookies(cookie("a", "1"), cookie("b", "2")).hashCode()));
+
+        // when
+        cookies.remove("b");
+
+        // then
+        assertThat(cookies, is(other));
+        assertThat(cookies.hashCode(), is(other.hashCode()));
+    }
+
+    @Test
+    public void shouldResetCachedHashCodeWhenHeadersModified() {
+        // given
+        Headers headers = new Headers(header("a", "1"));
+        Headers other = new Headers(header("a", "1"));
+        assertThat(headers, is(other));
+
+        // when
+        headers.withEntry("b", "2");
+
+        // then
+        assertThat(headers, not(other));
+        assertThat(headers.hashCode(), is(new Headers(header("a", "1"), header("b", "2")).hashCode()));
+
+        // when
+        headers.remove("b");
+
+        // then
+        assertThat(headers, is(other));
+        assertThat(headers.hashCode(), is(other.hashCode()));
+    }
+
+    @Test
+    public void shouldResetCachedHashCodeWhenHeaderValuesAdded() {
+        // given
+        Header header = header("a", "1", "2");
+        int hashCode = header.hashCode();
+
+        // when
+        header.addValue("3");
+
+        // then
+        assertThat(header.hashCode(), not(hashCode));
+        assertThat(header, is(header("a", "1", "2", "3")));
+        assertThat(header.hashCode(), is(header("a", "1", "2", "3").hashCode()));
+    }
+
+    @Test
+    public void shouldMatchReflectiveEqualsForSocketAddress() {
+        assertEquivalentToReflectiveEquals(socketAddress(), socketAddress());
+        assertEquivalentToReflectiveEquals(socketAddress().withHost("a").withPort(1).withScheme(SocketAddress.Scheme.HTTPS), socketAddress().withHost("a").withPort(1).withScheme(SocketAddress.Scheme.HTTPS));
+        assertEquivalentToReflectiveEquals(socketAddress().withHost("a"), socketAddress().withHost("b"));
+        assertEquivalentToReflectiveEquals(socketAddress().withPort(1), socketAddress().withPort(2));
+        assertEquivalentToReflectiveEquals(socketAddress().withPort(null), socketAddress());
+        assertEquivalentToReflectiveEquals(socketAddress().withScheme(SocketAddress.Scheme.HTTP), socketAddress().withScheme(SocketAddress.Scheme.HTTPS));
+    }
+
+    @Test
+    public void shouldResetCachedHashCodeWhenSocketAddressModified() {
+        // given
+        SocketAddress socketAddress = socketAddress().withHost("a");
+        SocketAddress other = socketAddress().withHost("b");
+        assertThat(socketAddress, not(other));
+
+        // when
+        socketAddress.withHost("b");
+
+        // then
+        assertThat(socketAddress, is(other));
+        assertThat(socketAddress.hashCode(), is(other.hashCode()));
+    }
+
+    @Test
+    public void shouldMatchReflectiveEqualsForConnectionOptions() {
+        assertEquivalentToReflectiveEquals(connectionOptions(), connectionOptions());
+        assertEquivalentToReflectiveEquals(allConnectionOptions(), allConnectionOptions());
+        assertEquivalentToReflectiveEquals(allConnectionOptions(), allConnectionOptions().withSuppressContentLengthHeader(false));
+        assertEquivalentToReflectiveEquals(allConnectionOptions(), allConnectionOptions().withContentLengthHeaderOverride(20));
+        assertEquivalentToReflectiveEquals(allConnectionOptions(), allConnectionOptions().withSuppressConnectionHeader(false));
+        assertEquivalentToReflectiveEquals(allConnectionOptions(), allConnectionOptions().withChunkSize(20));
+        assertEquivalentToReflectiveEquals(allConnectionOptions(), allConnectionOptions().withChunkDelay(Delay.seconds(2)));
+        assertEquivalentToReflectiveEquals(allConnectionOptions(), allConnectionOptions().withKeepAliveOverride(false));
+        assertEquivalentToReflectiveEquals(allConnectionOptions(), allConnectionOptions().withCloseSocket(false));
+        assertEquivalentToReflectiveEquals(allConnectionOptions(), allConnectionOptions().withCloseSocketDelay(null));
+    }
+
+    private ConnectionOptions allConnectionOptions() {
+        return connectionOptions()
+            .withSuppressContentLengthHeader(true)
+            .withContentLengthHeaderOverride(10)
+            .withSuppressConnectionHeader(true)
+            .withChunkSize(10)
+            .withChunkDelay(Delay.seconds(1))
+            .withKeepAliveOverride(true)
+            .withCloseSocket(true)
+            .withCloseSocketDelay(Delay.milliseconds(1));
+    }
+
+    @Test
+    public void shouldMatchReflectiveEqualsForDelay() {
+        assertEquivalentToReflectiveEquals(Delay.seconds(1), Delay.seconds(1));
+        assertEquivalentToReflectiveEquals(Delay.seconds(1), Delay.seconds(2));
+        assertEquivalentToReflectiveEquals(Delay.seconds(1), Delay.milliseconds(1));
+        assertEquivalentToReflectiveEquals(new Delay(null, 0), new Delay(null, 0));
+        assertEquivalentToReflectiveEquals(Delay.uniform(TimeUnit.SECONDS, 1, 2), Delay.uniform(TimeUnit.SECONDS, 1, 2));
+        assertEquivalentToReflectiveEquals(Delay.uniform(TimeUnit.SECONDS, 1, 2), Delay.uniform(TimeUnit.SECONDS, 1, 3));
+        assertEquivalentToReflectiveEquals(Delay.uniform(TimeUnit.SECONDS, 1, 2), Delay.gaussian(TimeUnit.SECONDS, 1, 2));
+        assertEquivalentToReflectiveEquals(Delay.logNormal(TimeUnit.SECONDS, 1, 2), Delay.seconds(0));
+    }
+
+    @Test
+    public void shouldMatchReflectiveEqualsForDelayDistribution() {
+        assertEquivalentToReflectiveEquals(new DelayDistribution(), new DelayDistribution());
+        assertEquivalentToReflectiveEquals(DelayDistribution.uniform(1, 2), DelayDistribution.uniform(1, 2));
+        assertEquivalentToReflectiveEquals(DelayDistribution.uniform(1, 2), DelayDistribution.uniform(2, 2));
+        assertEquivalentToReflectiveEquals(DelayDistribution.logNormal(1, 2), DelayDistribution.logNormal(1, 3));
+        assertEquivalentToReflectiveEquals(DelayDistribution.gaussian(1, 2), DelayDistribution.gaussian(1, 2).setStdDev(3L));
+        assertEquivalentToReflectiveEquals(DelayDistribution.gaussian(1, 2), new DelayDistribution().setMean(1L).setStdDev(2L));
+    }
+}
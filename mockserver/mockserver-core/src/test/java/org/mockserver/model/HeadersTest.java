@@ -9,6 +9,7 @@ import java.util.Map;
 
 import static junit.framework.TestCase.assertFalse;
 import static junit.framework.TestCase.assertTrue;
+import static junit.framework.TestCase.fail;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsIterableContaining.hasItems;
@@ -340,4 +341,46 @@ public class HeadersTest {
         )));
     }
 
+    @Test
+    public void shouldNotAllowModificationOfReturnedViews() {
+        // given
+        Headers headers = new Headers().withEntry(header("name", "value"));
+        int hashCode = headers.hashCode();
+
+        // when
+        try {
+            headers.getMultimap().put(string("other"), string("value"));
+            fail("expected exception to be thrown");
+        } catch (UnsupportedOperationException ignore) {
+        }
+        try {
+            headers.getValues(string("name")).add(string("other"));
+            fail("expected exception to be thrown");
+        } catch (UnsupportedOperationException ignore) {
+        }
+        try {
+            headers.keySet().clear();
+            fail("expected exception to be thrown");
+        } catch (UnsupportedOperationException ignore) {
+        }
+
+        // then
+        assertThat(headers.hashCode(), is(hashCode));
+        assertThat(headers, is(new Headers().withEntry(header("name", "value"))));
+    }
+
+    @Test
+    public void shouldUpdateHashCodeWhenModified() {
+        // given
+        Headers headers = new Headers().withEntry(header("name", "value"));
+        int hashCode = headers.hashCode();
+
+        // when
+        headers.withEntry(header("other", "value"));
+
+        // then
+        assertThat(headers.hashCode() == hashCode, is(false));
+        assertThat(headers, is(new Headers().withEntries(header("name", "value"), header("other", "value"))));
+    }
+
 }
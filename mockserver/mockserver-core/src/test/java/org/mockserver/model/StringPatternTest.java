@@ -0,0 +1,96 @@
+package org.mockserver.model;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * @author jamesdbloom
+ */
+public class StringPatternTest {
+
+    @Test
+    public void shouldClassifyPatterns() {
+        assertThat(StringPattern.compile("/12/34").getType(), is(StringPattern.Type.LITERAL));
+        assertThat(StringPattern.compile("").getType(), is(StringPattern.Type.LITERAL));
+        assertThat(StringPattern.compile("application/json").getType(), is(StringPattern.Type.CASE_INSENSITIVE_LITERAL));
+        assertThat(StringPattern.compile("Bearer some-token").getType(), is(StringPattern.Type.CASE_INSENSITIVE_LITERAL));
+        assertThat(StringPattern.compile("/some/path.*").getType(), is(StringPattern.Type.PREFIX));
+        assertThat(StringPattern.compile(".*").getType(), is(StringPattern.Type.PREFIX));
+        assertThat(StringPattern.compile("/some/path/[0-9]+").getType(), is(StringPattern.Type.REGEX));
+        assertThat(StringPattern.compile("some.value").getType(), is(StringPattern.Type.REGEX));
+        assertThat(StringPattern.compile("café").getType(), is(StringPattern.Type.REGEX));
+        assertThat(StringPattern.compile("[a-z").getType(), is(StringPattern.Type.INVALID));
+    }
+
+    @Test
+    public void shouldNotMatchRegexThatIsTooLong() {
+        char[] chars = new char[10000];
+        Arrays.fill(chars, 'a');
+        String value = new String(chars);
+
+        assertThat(StringPattern.compile(value).getType(), is(StringPattern.Type.INVALID));
+        assertThat(StringPattern.compile(value).matches(value), is(false));
+    }
+
+    @Test
+    public void shouldMatchSameAsRegex() {
+        List<String> regexes = Arrays.asList(
+            "",
+            "/12/34",
+            "application/json",
+            "kelvin",
+            "STRASSE",
+            "Bearer some-token",
+            "/some/path.*",
+            "kel.*",
+            ".*",
+            "/some/path/[0-9]+",
+            "some.value",
+            "café",
+            "[a-z"
+        );
+        List<String> inputs = Arrays.asList(
+            "",
+            "/12/34",
+            "/12/345",
+            "application/json",
+            "APPLICATION/JSON",
+            "application/jsonx",
+            "Kelvin",
+            "kelvin",
+            "KELVIN",
+            "straſſe",
+            "bearer SOME-TOKEN",
+            "/some/path",
+            "/SOME/PATH/more",
+            "/some/other",
+            "/some/path/123",
+            "some_value",
+            "some\nvalue",
+            "CAFÉ",
+            "café",
+            "😀"
+        );
+        for (String regex : regexes) {
+            StringPattern stringPattern = StringPattern.compile(regex);
+            for (String input : inputs) {
+                assertThat(stringPattern + " matching " + input, stringPattern.matches(input), is(regexMatches(regex, input)));
+            }
+        }
+    }
+
+    private static boolean regexMatches(String regex, String input) {
+        try {
+            return Pattern.compile(regex, Pattern.DOTALL | Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE).matcher(input).matches();
+        } catch (PatternSyntaxException pse) {
+            return false;
+        }
+    }
+}
@@ -16,11 +16,13 @@ import org.mockserver.matchers.Times;
 import java.io.File;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.util.List;
 
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockserver.character.Character.NEW_LINE;
 import static org.mockserver.configuration.Configuration.configuration;
@@ -614,4 +616,255 @@ public class ExpectationFileSystemPersistenceTest {
         }
     }
 
+    @Test
+    public void shouldAppendExpectationChangesToJournal() throws Exception {
+        // given
+        File persistedExpectations = File.createTempFile("persistedExpectations", ".json");
+        File journal = new File(persistedExpectations.getAbsolutePath() + ".journal");
+        Configuration configuration = configuration()
+            .persistExpectations(true)
+            .persistExpectationsJournal(true)
+            .persistedExpectationsJournalCompactionThreshold(100)
+            .persistedExpectationsPath(persistedExpectations.getAbsolutePath());
+        MockServerLogger logger = new MockServerLogger(configuration, ExpectationFileSystemPersistenceTest.class);
+        ExpectationFileSystemPersistence expectationFileSystemPersistence = null;
+        try {
+            // when
+            expectationFileSystemPersistence = new ExpectationFileSystemPersistence(configuration, logger, requestMatchers);
+            requestMatchers.add(new Expectation(
+                request()
+                    .withPath("/simpleFirst")
+            )
+                .withId("one")
+                .thenRespond(
+                    response()
+                        .withBody("some first response")
+                ), API);
+            requestMatchers.add(new Expectation(
+                request()
+                    .withPath("/simpleSecond")
+            )
+                .withId("two")
+                .thenRespond(
+                    response()
+                        .withBody("some second response")
+                ), API);
+            MILLISECONDS.sleep(500);
+            requestMatchers.clear(
+                request()
+                    .withPath("/simpleFirst")
+            );
+            MILLISECONDS.sleep(500);
+
+            // then
+            List<String> records = Files.readAllLines(journal.toPath(), StandardCharsets.UTF_8);
+            assertThat(records.size(), is(3));
+            assertThat(records.get(0), containsString("{\"type\":\"ADD\",\"id\":\"one\",\"expectation\":{"));
+            assertThat(records.get(1), containsString("{\"type\":\"ADD\",\"id\":\"two\",\"expectation\":{"));
+            assertThat(records.get(2), is("{\"type\":\"REMOVE\",\"id\":\"one\"}"));
+            assertThat(new String(Files.readAllBytes(persistedExpectations.toPath()), StandardCharsets.UTF_8), is(""));
+
+            // when
+            expectationFileSystemPersistence.stop();
+            expectationFileSystemPersistence = null;
+
+            // then
+            String fileContents = new String(Files.readAllBytes(persistedExpectations.toPath()), StandardCharsets.UTF_8);
+            assertThat(fileContents, containsString("\"id\" : \"two\""));
+            assertThat(fileContents, not(containsString("\"id\" : \"one\"")));
+            assertThat(journal.length(), is(0L));
+        } finally {
+            if (expectationFileSystemPersistence != null) {
+                expectationFileSystemPersistence.stop();
+            }
+        }
+    }
+
+    @Test
+    public void shouldAppendRemainingTimesChangesToJournal() throws Exception {
+        // given
+        File persistedExpectations = File.createTempFile("persistedExpectations", ".json");
+        File journal = new File(persistedExpectations.getAbsolutePath() + ".journal");
+        Configuration configuration = configuration()
+            .persistExpectations(true)
+            .persistExpectationsJournal(true)
+            .persistedExpectationsJournalCompactionThreshold(100)
+            .persistedExpectationsPath(persistedExpectations.getAbsolutePath());
+        MockServerLogger logger = new MockServerLogger(configuration, ExpectationFileSystemPersistenceTest.class);
+        ExpectationFileSystemPersistence expectationFileSystemPersistence = null;
+        try {
+            // when
+            expectationFileSystemPersistence = new ExpectationFileSystemPersistence(configuration, logger, requestMatchers);
+            requestMatchers.add(new Expectation(
+                request()
+                    .withPath("/simpleFirst"),
+                Times.exactly(3),
+                TimeToLive.unlimited(),
+                0
+            )
+                .withId("one")
+                .thenRespond(
+                    response()
+                        .withBody("some first response")
+                ), API);
+            MILLISECONDS.sleep(500);
+            requestMatchers.firstMatchingExpectation(request().withPath("/simpleFirst"));
+            MILLISECONDS.sleep(500);
+
+            // then
+            List<String> records = Files.readAllLines(journal.toPath(), StandardCharsets.UTF_8);
+            assertThat(records.size(), is(2));
+            assertThat(records.get(0), containsString("\"remainingTimes\":3"));
+            assertThat(records.get(1), containsString("\"remainingTimes\":2"));
+        } finally {
+            if (expectationFileSystemPersistence != null) {
+                expectationFileSystemPersistence.stop();
+            }
+        }
+    }
+
+    @Test
+    public void shouldOnlyAppendChangedExpectationsToJournal() throws Exception {
+        // given
+        File persistedExpectations = File.createTempFile("persistedExpectations", ".json");
+        File journal = new File(persistedExpectations.getAbsolutePath() + ".journal");
+        Configuration configuration = configuration()
+            .persistExpectations(true)
+            .persistExpectationsJournal(true)
+            .persistedExpectationsJournalCompactionThreshold(100)
+            .persistedExpectationsPath(persistedExpectations.getAbsolutePath());
+        MockServerLogger logger = new MockServerLogger(configuration, ExpectationFileSystemPersistenceTest.class);
+        ExpectationFileSystemPersistence expectationFileSystemPersistence = null;
+        try {
+            // when
+            expectationFileSystemPersistence = new ExpectationFileSystemPersistence(configuration, logger, requestMatchers);
+            for (String id : new String[]{"one", "two", "three"}) {
+                requestMatchers.add(new Expectation(
+                    request()
+                        .withPath("/" + id)
+                )
+                    .withId(id)
+                    .thenRespond(
+                        response()
+                            .withBody("some " + id + " response")
+                    ), API);
+            }
+            MILLISECONDS.sleep(500);
+            requestMatchers.add(new Expectation(
+                request()
+                    .withPath("/two")
+            )
+                .withId("two")
+                .thenRespond(
+                    response()
+                        .withBody("some updated response")
+                ), API);
+            requestMatchers.firstMatchingExpectation(request().withPath("/three"));
+            MILLISECONDS.sleep(500);
+
+            // then
+            List<String> records = Files.readAllLines(journal.toPath(), StandardCharsets.UTF_8);
+            assertThat(records.size(), is(4));
+            assertThat(records.get(3), containsString("{\"type\":\"ADD\",\"id\":\"two\",\"expectation\":{"));
+            assertThat(records.get(3), containsString("some updated response"));
+        } finally {
+            if (expectationFileSystemPersistence != null) {
+                expectationFileSystemPersistence.stop();
+            }
+        }
+    }
+
+    @Test
+    public void shouldCompactJournalWhenThresholdReached() throws Exception {
+        // given
+        File persistedExpectations = File.createTempFile("persistedExpectations", ".json");
+        File journal = new File(persistedExpectations.getAbsolutePath() + ".journal");
+        Configuration configuration = configuration()
+            .persistExpectations(true)
+            .persistExpectationsJournal(true)
+            .persistedExpectationsJournalCompactionThreshold(2)
+            .persistedExpectationsPath(persistedExpectations.getAbsolutePath());
+        MockServerLogger logger = new MockServerLogger(configuration, ExpectationFileSystemPersistenceTest.class);
+        ExpectationFileSystemPersistence expectationFileSystemPersistence = null;
+        try {
+            // when
+            expectationFileSystemPersistence = new ExpectationFileSystemPersistence(configuration, logger, requestMatchers);
+            requestMatchers.add(new Expectation(
+                request()
+                    .withPath("/simpleFirst")
+            )
+                .withId("one")
+                .thenRespond(
+                    response()
+                        .withBody("some first response")
+                ), API);
+            requestMatchers.add(new Expectation(
+                request()
+                    .withPath("/simpleSecond")
+            )
+                .withId("two")
+                .thenRespond(
+                    response()
+                        .withBody("some second response")
+                ), API);
+            MILLISECONDS.sleep(500);
+
+            // then
+            String fileContents = new String(Files.readAllBytes(persistedExpectations.toPath()), StandardCharsets.UTF_8);
+            assertThat(fileContents, containsString("\"id\" : \"one\""));
+            assertThat(fileContents, containsString("\"id\" : \"two\""));
+            assertThat(journal.length(), is(0L));
+        } finally {
+            if (expectationFileSystemPersistence != null) {
+                expectationFileSystemPersistence.stop();
+            }
+        }
+    }
+
+    @Test
+    public void shouldReplayJournalOnStartup() throws Exception {
+        // given
+        File persistedExpectations = File.createTempFile("persistedExpectations", ".json");
+        File journal = new File(persistedExpectations.getAbsolutePath() + ".journal");
+        Files.write(persistedExpectations.toPath(), ("[ {" + NEW_LINE +
+            "  \"httpRequest\" : {" + NEW_LINE +
+            "    \"path\" : \"/simpleFirst\"" + NEW_LINE +
+            "  }," + NEW_LINE +
+            "  \"httpResponse\" : {" + NEW_LINE +
+            "    \"body\" : \"some first response\"" + NEW_LINE +
+            "  }," + NEW_LINE +
+            "  \"id\" : \"one\"" + NEW_LINE +
+            "} ]").getBytes(StandardCharsets.UTF_8));
+        Files.write(journal.toPath(), ("{\"type\":\"ADD\",\"id\":\"two\",\"expectation\":{\"httpRequest\":{\"path\":\"/simpleSecond\"},\"httpResponse\":{\"body\":\"some second response\"},\"id\":\"two\"}}\n" +
+            "{\"type\":\"REMOVE\",\"id\":\"one\"}\n" +
+            "{\"type\":\"ADD\",\"id\":\"thr").getBytes(StandardCharsets.UTF_8));
+        Configuration configuration = configuration()
+            .persistExpectations(true)
+            .persistExpectationsJournal(true)
+            .persistedExpectationsPath(persistedExpectations.getAbsolutePath());
+        MockServerLogger logger = new MockServerLogger(configuration, ExpectationFileSystemPersistenceTest.class);
+        ExpectationFileSystemPersistence expectationFileSystemPersistence = null;
+        try {
+            // when
+            expectationFileSystemPersistence = new ExpectationFileSystemPersistence(configuration, logger, requestMatchers);
+
+            // then
+            String expectedFileContents = "[ {" + NEW_LINE +
+                "  \"httpRequest\" : {" + NEW_LINE +
+                "    \"path\" : \"/simpleSecond\"" + NEW_LINE +
+                "  }," + NEW_LINE +
+                "  \"httpResponse\" : {" + NEW_LINE +
+                "    \"body\" : \"some second response\"" + NEW_LINE +
+                "  }," + NEW_LINE +
+                "  \"id\" : \"two\"" + NEW_LINE +
+                "} ]";
+            assertThat(persistedExpectations.getAbsolutePath() + " does not match expected content", new String(Files.readAllBytes(persistedExpectations.toPath()), StandardCharsets.UTF_8), is(expectedFileContents));
+            assertThat(journal.length(), is(0L));
+        } finally {
+            if (expectationFileSystemPersistence != null) {
+                expectationFileSystemPersistence.stop();
+            }
+        }
+    }
+
 }
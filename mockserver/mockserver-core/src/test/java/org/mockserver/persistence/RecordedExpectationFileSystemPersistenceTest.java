@@ -110,4 +110,189 @@ public class RecordedExpectationFileSystemPersistenceTest {
             }
         }
     }
+
+    @Test
+    public void shouldAppendRecordedExpectationsIncrementally() throws Exception {
+        // given
+        File persistedFile = File.createTempFile("persistedRecordedExpectations", ".json");
+        Configuration configuration = configuration()
+            .persistRecordedExpectations(true)
+            .persistedRecordedExpectationsFlushInterval(100L)
+            .persistedRecordedExpectationsPath(persistedFile.getAbsolutePath());
+        MockServerLogger logger = new MockServerLogger(configuration, RecordedExpectationFileSystemPersistenceTest.class);
+        Scheduler scheduler = new Scheduler(configuration, logger);
+        MockServerEventLog mockServerEventLog = new MockServerEventLog(configuration, logger, scheduler, true);
+        Expectation firstExpectation = new Expectation(request("/api/first"), Times.once(), TimeToLive.unlimited(), 0).thenRespond(response().withStatusCode(200).withReasonPhrase("OK").withBody("first response"));
+        Expectation secondExpectation = new Expectation(request("/api/second"), Times.once(), TimeToLive.unlimited(), 0).thenRespond(response().withStatusCode(201).withReasonPhrase("Created").withBody("second response"));
+        RecordedExpectationFileSystemPersistence persistence = null;
+        try {
+            // when
+            persistence = new RecordedExpectationFileSystemPersistence(configuration, logger, mockServerEventLog);
+            mockServerEventLog.add(
+                new LogEntry()
+                    .setType(FORWARDED_REQUEST)
+                    .setHttpRequest(request("/api/first").withMethod("GET"))
+                    .setHttpResponse(response().withStatusCode(200).withReasonPhrase("OK").withBody("first response"))
+                    .setExpectation(firstExpectation)
+            );
+            MILLISECONDS.sleep(1000);
+
+            // then
+            assertThat(new String(Files.readAllBytes(persistedFile.toPath()), StandardCharsets.UTF_8), is(persistence.serialize(firstExpectation)));
+
+            // when
+            mockServerEventLog.add(
+                new LogEntry()
+                    .setType(FORWARDED_REQUEST)
+                    .setHttpRequest(request("/api/second").withMethod("POST"))
+                    .setHttpResponse(response().withStatusCode(201).withReasonPhrase("Created").withBody("second response"))
+                    .setExpectation(secondExpectation)
+            );
+            MILLISECONDS.sleep(1000);
+
+            // then
+            assertThat(new String(Files.readAllBytes(persistedFile.toPath()), StandardCharsets.UTF_8), is(persistence.serialize(firstExpectation, secondExpectation)));
+        } finally {
+            if (persistence != null) {
+                persistence.stop();
+            }
+        }
+    }
+
+    @Test
+    public void shouldRewriteFileIfDeletedOrTruncatedSinceLastWrite() throws Exception {
+        // given
+        File persistedFile = File.createTempFile("persistedRecordedExpectations", ".json");
+        Configuration configuration = configuration()
+            .persistRecordedExpectations(true)
+            .persistedRecordedExpectationsFlushInterval(100L)
+            .persistedRecordedExpectationsPath(persistedFile.getAbsolutePath());
+        MockServerLogger logger = new MockServerLogger(configuration, RecordedExpectationFileSystemPersistenceTest.class);
+        Scheduler scheduler = new Scheduler(configuration, logger);
+        MockServerEventLog mockServerEventLog = new MockServerEventLog(configuration, logger, scheduler, true);
+        Expectation firstExpectation = new Expectation(request("/api/first"), Times.once(), TimeToLive.unlimited(), 0).thenRespond(response().withStatusCode(200).withReasonPhrase("OK").withBody("first response"));
+        Expectation secondExpectation = new Expectation(request("/api/second"), Times.once(), TimeToLive.unlimited(), 0).thenRespond(response().withStatusCode(201).withReasonPhrase("Created").withBody("second response"));
+        Expectation thirdExpectation = new Expectation(request("/api/third"), Times.once(), TimeToLive.unlimited(), 0).thenRespond(response().withStatusCode(202).withReasonPhrase("Accepted").withBody("third response"));
+        RecordedExpectationFileSystemPersistence persistence = null;
+        try {
+            persistence = new RecordedExpectationFileSystemPersistence(configuration, logger, mockServerEventLog);
+            mockServerEventLog.add(
+                new LogEntry()
+                    .setType(FORWARDED_REQUEST)
+                    .setHttpRequest(request("/api/first").withMethod("GET"))
+                    .setExpectation(firstExpectation)
+            );
+            MILLISECONDS.sleep(1000);
+            assertThat(new String(Files.readAllBytes(persistedFile.toPath()), StandardCharsets.UTF_8), is(persistence.serialize(firstExpectation)));
+
+            // when
+            Files.delete(persistedFile.toPath());
+            mockServerEventLog.add(
+                new LogEntry()
+                    .setType(FORWARDED_REQUEST)
+                    .setHttpRequest(request("/api/second").withMethod("POST"))
+                    .setExpectation(secondExpectation)
+            );
+            MILLISECONDS.sleep(1000);
+
+            // then
+            assertThat(new String(Files.readAllBytes(persistedFile.toPath()), StandardCharsets.UTF_8), is(persistence.serialize(secondExpectation)));
+
+            // when
+            Files.write(persistedFile.toPath(), "[ {".getBytes(StandardCharsets.UTF_8));
+            mockServerEventLog.add(
+                new LogEntry()
+                    .setType(FORWARDED_REQUEST)
+                    .setHttpRequest(request("/api/third").withMethod("PUT"))
+                    .setExpectation(thirdExpectation)
+            );
+            MILLISECONDS.sleep(1000);
+
+            // then
+            assertThat(new String(Files.readAllBytes(persistedFile.toPath()), StandardCharsets.UTF_8), is(persistence.serialize(thirdExpectation)));
+        } finally {
+            if (persistence != null) {
+                persistence.stop();
+            }
+        }
+    }
+
+    @Test
+    public void shouldPersistRecordedExpectationsWhenBatchSizeReached() throws Exception {
+        // given
+        File persistedFile = File.createTempFile("persistedRecordedExpectations", ".json");
+        Configuration configuration = configuration()
+            .persistRecordedExpectations(true)
+            .persistedRecordedExpectationsFlushInterval(60000L)
+            .persistedRecordedExpectationsFlushBatchSize(2)
+            .persistedRecordedExpectationsPath(persistedFile.getAbsolutePath());
+        MockServerLogger logger = new MockServerLogger(configuration, RecordedExpectationFileSystemPersistenceTest.class);
+        Scheduler scheduler = new Scheduler(configuration, logger);
+        MockServerEventLog mockServerEventLog = new MockServerEventLog(configuration, logger, scheduler, true);
+        RecordedExpectationFileSystemPersistence persistence = null;
+        try {
+            // when
+            persistence = new RecordedExpectationFileSystemPersistence(configuration, logger, mockServerEventLog);
+            mockServerEventLog.add(
+                new LogEntry()
+                    .setType(FORWARDED_REQUEST)
+                    .setHttpRequest(request("/api/first").withMethod("GET"))
+                    .setHttpResponse(response().withStatusCode(200).withReasonPhrase("OK").withBody("first response"))
+                    .setExpectation(new Expectation(request("/api/first"), Times.once(), TimeToLive.unlimited(), 0).thenRespond(response().withStatusCode(200).withReasonPhrase("OK").withBody("first response")))
+            );
+            MILLISECONDS.sleep(500);
+
+            // then
+            assertThat(new String(Files.readAllBytes(persistedFile.toPath()), StandardCharsets.UTF_8).trim().isEmpty(), is(true));
+
+            // when
+            mockServerEventLog.add(
+                new LogEntry()
+                    .setType(FORWARDED_REQUEST)
+                    .setHttpRequest(request("/api/second").withMethod("POST"))
+                    .setHttpResponse(response().withStatusCode(201).withReasonPhrase("Created").withBody("second response"))
+                    .setExpectation(new Expectation(request("/api/second"), Times.once(), TimeToLive.unlimited(), 0).thenRespond(response().withStatusCode(201).withReasonPhrase("Created").withBody("second response")))
+            );
+            MILLISECONDS.sleep(1000);
+
+            // then
+            String fileContents = new String(Files.readAllBytes(persistedFile.toPath()), StandardCharsets.UTF_8);
+            assertThat(fileContents, containsString("/api/first"));
+            assertThat(fileContents, containsString("/api/second"));
+        } finally {
+            if (persistence != null) {
+                persistence.stop();
+            }
+        }
+    }
+
+    @Test
+    public void shouldPersistPendingRecordedExpectationsOnStop() throws Exception {
+        // given
+        File persistedFile = File.createTempFile("persistedRecordedExpectations", ".json");
+        Configuration configuration = configuration()
+            .persistRecordedExpectations(true)
+            .persistedRecordedExpectationsFlushInterval(60000L)
+            .persistedRecordedExpectationsPath(persistedFile.getAbsolutePath());
+        MockServerLogger logger = new MockServerLogger(configuration, RecordedExpectationFileSystemPersistenceTest.class);
+        Scheduler scheduler = new Scheduler(configuration, logger);
+        MockServerEventLog mockServerEventLog = new MockServerEventLog(configuration, logger, scheduler, true);
+        RecordedExpectationFileSystemPersistence persistence = new RecordedExpectationFileSystemPersistence(configuration, logger, mockServerEventLog);
+        mockServerEventLog.add(
+            new LogEntry()
+                .setType(FORWARDED_REQUEST)
+                .setHttpRequest(request("/api/first").withMethod("GET"))
+                .setHttpResponse(response().withStatusCode(200).withReasonPhrase("OK").withBody("first response"))
+                .setExpectation(new Expectation(request("/api/first"), Times.once(), TimeToLive.unlimited(), 0).thenRespond(response().withStatusCode(200).withReasonPhrase("OK").withBody("first response")))
+        );
+        MILLISECONDS.sleep(500);
+
+        // when
+        persistence.stop();
+
+        // then
+        String fileContents = new String(Files.readAllBytes(persistedFile.toPath()), StandardCharsets.UTF_8);
+        assertThat(fileContents, containsString("/api/first"));
+        assertThat(fileContents, containsString("first response"));
+    }
 }
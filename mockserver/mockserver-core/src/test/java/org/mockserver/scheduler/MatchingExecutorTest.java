@@ -0,0 +1,306 @@
+package org.mockserver.scheduler;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Test;
+import org.mockserver.java.JDKVersion;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.mock.HttpState;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeThat;
+import static org.mockserver.configuration.Configuration.configuration;
+
+/**
+ * @author jamesdbloom
+ */
+public class MatchingExecutorTest {
+
+    private final MockServerLogger mockServerLogger = new MockServerLogger(MatchingExecutorTest.class);
+
+    private static ChannelHandlerContext channelHandlerContext() {
+        EmbeddedChannel embeddedChannel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+        return embeddedChannel.pipeline().firstContext();
+    }
+
+    @Test
+    public void shouldBeDisabledForEventLoop() {
+        // when
+        MatchingExecutor matchingExecutor = new MatchingExecutor(configuration().matchingExecutor(MatchingExecutorType.EVENT_LOOP), mockServerLogger);
+
+        // then
+        assertThat(matchingExecutor.isEnabled(), is(false));
+    }
+
+    @Test
+    public void shouldBeDisabledAfterShutdown() {
+        // given
+        MatchingExecutor matchingExecutor = new MatchingExecutor(configuration().matchingExecutor(MatchingExecutorType.PLATFORM_THREADS), mockServerLogger);
+        assertThat(matchingExecutor.isEnabled(), is(true));
+
+        // when
+        matchingExecutor.shutdown();
+
+        // then
+        assertThat(matchingExecutor.isEnabled(), is(false));
+    }
+
+    @Test
+    public void shouldRunTasksOffCallingThreadAndPropagatePort() throws InterruptedException {
+        // given
+        MatchingExecutor matchingExecutor = new MatchingExecutor(configuration().matchingExecutor(MatchingExecutorType.PLATFORM_THREADS), mockServerLogger);
+        AtomicReference<String> threadName = new AtomicReference<>();
+        AtomicReference<Integer> port = new AtomicReference<>();
+        CountDownLatch completed = new CountDownLatch(1);
+        try {
+            HttpState.setPort(1234);
+
+            // when
+            matchingExecutor.execute(channelHandlerContext(), () -> {
+                threadName.set(Thread.currentThread().getName());
+                port.set(HttpState.getPort());
+                completed.countDown();
+            }, () -> {
+            });
+
+            // then
+            assertThat(completed.await(10, SECONDS), is(true));
+            assertThat(threadName.get(), startsWith("MockServer-Matching"));
+            assertThat(port.get(), equalTo(1234));
+        } finally {
+            HttpState.setPort((Integer) null);
+            matchingExecutor.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldRunTasksForSameChannelInSubmittedOrder() throws InterruptedException {
+        // given
+        MatchingExecutor matchingExecutor = new MatchingExecutor(configuration().matchingExecutor(MatchingExecutorType.PLATFORM_THREADS).matchingThreadCount(4), mockServerLogger);
+        ChannelHandlerContext firstChannel = channelHandlerContext();
+        ChannelHandlerContext secondChannel = channelHandlerContext();
+        List<Integer> firstChannelOrder = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> secondChannelOrder = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger concurrentForFirstChannel = new AtomicInteger();
+        AtomicInteger maxConcurrentForFirstChannel = new AtomicInteger();
+        CountDownLatch completed = new CountDownLatch(100);
+        try {
+            // when
+            for (int i = 0; i < 50; i++) {
+                int index = i;
+                matchingExecutor.execute(firstChannel, () -> {
+                    maxConcurrentForFirstChannel.accumulateAndGet(concurrentForFirstChannel.incrementAndGet(), Math::max);
+                    sleepRandomly();
+                    firstChannelOrder.add(index);
+                    concurrentForFirstChannel.decrementAndGet();
+                    completed.countDown();
+                }, completed::countDown);
+                matchingExecutor.execute(secondChannel, () -> {
+                    sleepRandomly();
+                    secondChannelOrder.add(index);
+                    completed.countDown();
+                }, completed::countDown);
+            }
+
+            // then
+            assertThat(completed.await(30, SECONDS), is(true));
+            List<Integer> expectedOrder = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                expectedOrder.add(i);
+            }
+            assertThat(firstChannelOrder, equalTo(expectedOrder));
+            assertThat(secondChannelOrder, equalTo(expectedOrder));
+            assertThat(maxConcurrentForFirstChannel.get(), equalTo(1));
+        } finally {
+            matchingExecutor.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldHavePendingTasksUntilActionHasRunOnEventLoop() throws InterruptedException {
+        // given
+        MatchingExecutor matchingExecutor = new MatchingExecutor(configuration().matchingExecutor(MatchingExecutorType.PLATFORM_THREADS), mockServerLogger);
+        EmbeddedChannel embeddedChannel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+        ChannelHandlerContext ctx = embeddedChannel.pipeline().firstContext();
+        AtomicReference<String> actionThreadName = new AtomicReference<>();
+        CountDownLatch matched = new CountDownLatch(1);
+        try {
+            assertThat(matchingExecutor.hasPendingTasks(ctx), is(false));
+
+            // when
+            matchingExecutor.submit(ctx, () -> {
+                matched.countDown();
+                return () -> actionThreadName.set(Thread.currentThread().getName());
+            }, () -> {
+            });
+
+            // then
+            assertThat(matched.await(10, SECONDS), is(true));
+            assertThat(matchingExecutor.hasPendingTasks(ctx), is(true));
+
+            // when
+            long timeout = System.currentTimeMillis() + SECONDS.toMillis(10);
+            while (actionThreadName.get() == null && System.currentTimeMillis() < timeout) {
+                embeddedChannel.runPendingTasks();
+            }
+
+            // then
+            assertThat(actionThreadName.get(), equalTo(Thread.currentThread().getName()));
+            assertThat(matchingExecutor.hasPendingTasks(ctx), is(false));
+        } finally {
+            matchingExecutor.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldRunRejectedTaskOnEventLoopWhenQueueIsFull() throws InterruptedException {
+        // given - one matching thread which is busy and a queue that is full
+        MatchingExecutor matchingExecutor = new MatchingExecutor(configuration().matchingExecutor(MatchingExecutorType.PLATFORM_THREADS).matchingThreadCount(1).matchingQueueSize(1), mockServerLogger);
+        CountDownLatch busy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        EmbeddedChannel embeddedChannel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+        ChannelHandlerContext ctx = embeddedChannel.pipeline().firstContext();
+        AtomicReference<String> rejectedThreadName = new AtomicReference<>();
+        AtomicInteger matched = new AtomicInteger();
+        try {
+            matchingExecutor.execute(channelHandlerContext(), () -> {
+                busy.countDown();
+                awaitQuietly(release);
+            }, () -> {
+            });
+            assertThat(busy.await(10, SECONDS), is(true));
+            matchingExecutor.execute(channelHandlerContext(), matched::incrementAndGet, () -> {
+            });
+
+            // when
+            matchingExecutor.submit(ctx, () -> {
+                matched.incrementAndGet();
+                return () -> {
+                };
+            }, () -> rejectedThreadName.set(Thread.currentThread().getName()));
+            embeddedChannel.runPendingTasks();
+
+            // then
+            assertThat(rejectedThreadName.get(), equalTo(Thread.currentThread().getName()));
+            assertThat(matchingExecutor.hasPendingTasks(ctx), is(false));
+            assertThat(matched.get(), equalTo(0));
+        } finally {
+            release.countDown();
+            matchingExecutor.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldRunRejectedTaskWhenVirtualThreadLimitIsReached() throws InterruptedException {
+        assumeThat("virtual threads available", JDKVersion.getVersion(), greaterThanOrEqualTo(21));
+
+        // given - one virtual thread task allowed which is busy
+        MatchingExecutor matchingExecutor = new MatchingExecutor(configuration().matchingExecutor(MatchingExecutorType.VIRTUAL_THREADS).matchingQueueSize(1), mockServerLogger);
+        CountDownLatch busy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        EmbeddedChannel embeddedChannel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+        ChannelHandlerContext ctx = embeddedChannel.pipeline().firstContext();
+        AtomicReference<String> rejectedThreadName = new AtomicReference<>();
+        AtomicInteger matched = new AtomicInteger();
+        try {
+            matchingExecutor.execute(channelHandlerContext(), () -> {
+                busy.countDown();
+                awaitQuietly(release);
+            }, () -> {
+            });
+            assertThat(busy.await(10, SECONDS), is(true));
+
+            // when
+            matchingExecutor.submit(ctx, () -> {
+                matched.incrementAndGet();
+                return () -> {
+                };
+            }, () -> rejectedThreadName.set(Thread.currentThread().getName()));
+            embeddedChannel.runPendingTasks();
+
+            // then
+            assertThat(rejectedThreadName.get(), equalTo(Thread.currentThread().getName()));
+            assertThat(matchingExecutor.hasPendingTasks(ctx), is(false));
+            assertThat(matched.get(), equalTo(0));
+        } finally {
+            release.countDown();
+            matchingExecutor.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldRejectTasksOverLimitAndAcceptTasksOnceRunningTasksComplete() throws InterruptedException {
+        // given
+        ExecutorService executorService = Executors.newCachedThreadPool();
+        MatchingExecutor.BoundedExecutor boundedExecutor = new MatchingExecutor.BoundedExecutor(executorService, 2);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch completed = new CountDownLatch(2);
+        try {
+            boundedExecutor.execute(() -> {
+                awaitQuietly(release);
+                completed.countDown();
+            });
+            boundedExecutor.execute(() -> {
+                awaitQuietly(release);
+                completed.countDown();
+            });
+
+            // when
+            try {
+                boundedExecutor.execute(() -> {
+                });
+                fail("expected exception to be thrown");
+            } catch (RejectedExecutionException ignore) {
+                // expected
+            }
+            release.countDown();
+            assertThat(completed.await(10, SECONDS), is(true));
+
+            // then
+            CountDownLatch ran = new CountDownLatch(1);
+            long timeout = System.currentTimeMillis() + SECONDS.toMillis(10);
+            while (ran.getCount() > 0 && System.currentTimeMillis() < timeout) {
+                try {
+                    boundedExecutor.execute(ran::countDown);
+                } catch (RejectedExecutionException ree) {
+                    // permits are released just after the running tasks count down
+                    Thread.sleep(10);
+                }
+            }
+            assertThat(ran.await(10, SECONDS), is(true));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, SECONDS);
+        } catch (InterruptedException ignore) {
+            // ignore interrupted exception
+        }
+    }
+
+    private static void sleepRandomly() {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextInt(3));
+        } catch (InterruptedException ignore) {
+            // ignore interrupted exception
+        }
+    }
+}
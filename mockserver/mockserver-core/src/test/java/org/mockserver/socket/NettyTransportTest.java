@@ -0,0 +1,67 @@
+package org.mockserver.socket;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import org.junit.Test;
+import org.mockserver.scheduler.Scheduler;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockserver.configuration.Configuration.configuration;
+
+/**
+ * @author jamesdbloom
+ */
+public class NettyTransportTest {
+
+    @Test
+    public void shouldResolveNioWhenConfigured() {
+        // when
+        NettyTransport nettyTransport = NettyTransport.resolve(configuration().nettyTransport(NettyTransport.NIO));
+
+        // then
+        assertThat(nettyTransport, equalTo(NettyTransport.NIO));
+        assertThat(nettyTransport.serverSocketChannelClass(), equalTo(NioServerSocketChannel.class));
+        assertThat(nettyTransport.socketChannelClass(), equalTo(NioSocketChannel.class));
+        assertThat(nettyTransport.supportsReusePort(), equalTo(false));
+    }
+
+    @Test
+    public void shouldResolveAutoToEpollWhenAvailable() {
+        // when
+        NettyTransport nettyTransport = NettyTransport.resolve(configuration().nettyTransport(NettyTransport.AUTO));
+
+        // then
+        assertThat(nettyTransport, equalTo(NettyTransport.epollAvailable() ? NettyTransport.EPOLL : NettyTransport.NIO));
+    }
+
+    @Test
+    public void shouldResolveEpollToNioWhenNotAvailable() {
+        // when
+        NettyTransport nettyTransport = NettyTransport.resolve(configuration().nettyTransport(NettyTransport.EPOLL));
+
+        // then
+        assertThat(nettyTransport, equalTo(NettyTransport.epollAvailable() ? NettyTransport.EPOLL : NettyTransport.NIO));
+    }
+
+    @Test
+    public void shouldMatchTransportOfEventLoopGroup() {
+        for (NettyTransport transport : new NettyTransport[]{NettyTransport.NIO, NettyTransport.resolve(NettyTransport.AUTO)}) {
+            // given
+            EventLoopGroup eventLoopGroup = transport.eventLoopGroup(1, new Scheduler.SchedulerThreadFactory("NettyTransportTest"));
+            try {
+                // when
+                NettyTransport forEventLoopGroup = NettyTransport.forEventLoopGroup(eventLoopGroup);
+
+                // then
+                assertThat(forEventLoopGroup, equalTo(transport));
+                assertThat(NettyTransport.forEventLoopGroup(eventLoopGroup.next()), equalTo(transport));
+                assertThat(forEventLoopGroup.socketChannelClass(), equalTo(transport == NettyTransport.EPOLL ? EpollSocketChannel.class : NioSocketChannel.class));
+            } finally {
+                eventLoopGroup.shutdownGracefully();
+            }
+        }
+    }
+}
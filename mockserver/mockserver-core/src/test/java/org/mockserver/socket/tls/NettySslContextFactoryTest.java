@@ -0,0 +1,76 @@
+package org.mockserver.socket.tls;
+
+import io.netty.handler.ssl.SslContext;
+import org.junit.Test;
+import org.mockserver.configuration.Configuration;
+import org.mockserver.logging.MockServerLogger;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockserver.configuration.Configuration.configuration;
+
+public class NettySslContextFactoryTest {
+
+    @Test
+    public void shouldCacheSslContextPerHostname() throws Exception {
+        // given
+        Configuration configuration = configuration().hostnameCertificateCacheSize(10);
+        NettySslContextFactory nettySslContextFactory = new NettySslContextFactory(configuration, new MockServerLogger(), true);
+
+        // when
+        SslContext one = nettySslContextFactory.createServerSslContext("one.example.com").get(30, TimeUnit.SECONDS);
+        SslContext two = nettySslContextFactory.createServerSslContext("two.example.com").get(30, TimeUnit.SECONDS);
+
+        // then
+        assertThat(one, not(sameInstance(two)));
+        assertThat(nettySslContextFactory.createServerSslContext("ONE.example.com").get(30, TimeUnit.SECONDS), sameInstance(one));
+        assertThat(configuration.sslSubjectAlternativeNameDomains(), not(hasItem("one.example.com")));
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedHostname() throws Exception {
+        // given
+        NettySslContextFactory nettySslContextFactory = new NettySslContextFactory(configuration().hostnameCertificateCacheSize(2), new MockServerLogger(), true);
+        SslContext one = nettySslContextFactory.createServerSslContext("one.example.com").get(30, TimeUnit.SECONDS);
+        SslContext two = nettySslContextFactory.createServerSslContext("two.example.com").get(30, TimeUnit.SECONDS);
+
+        // when
+        nettySslContextFactory.createServerSslContext("one.example.com").get(30, TimeUnit.SECONDS);
+        nettySslContextFactory.createServerSslContext("three.example.com").get(30, TimeUnit.SECONDS);
+
+        // then
+        assertThat(nettySslContextFactory.createServerSslContext("one.example.com").get(30, TimeUnit.SECONDS), sameInstance(one));
+        assertThat(nettySslContextFactory.createServerSslContext("two.example.com").get(30, TimeUnit.SECONDS), not(sameInstance(two)));
+    }
+
+    @Test
+    public void shouldRecreateHostnameSslContextsWhenServerSslContextIsRebuilt() throws Exception {
+        // given
+        Configuration configuration = configuration().hostnameCertificateCacheSize(10);
+        NettySslContextFactory nettySslContextFactory = new NettySslContextFactory(configuration, new MockServerLogger(), true);
+        SslContext one = nettySslContextFactory.createServerSslContext("one.example.com").get(30, TimeUnit.SECONDS);
+
+        // when
+        configuration.rebuildServerTLSContext(true);
+        nettySslContextFactory.createServerSslContext();
+
+        // then
+        assertThat(nettySslContextFactory.createServerSslContext("one.example.com").get(30, TimeUnit.SECONDS), not(sameInstance(one)));
+    }
+
+    @Test
+    public void shouldAddSubjectAlternativeNameWhenHostnameCertificatesDisabled() throws Exception {
+        // given
+        Configuration configuration = configuration().hostnameCertificateCacheSize(0);
+        NettySslContextFactory nettySslContextFactory = new NettySslContextFactory(configuration, new MockServerLogger(), true);
+
+        // when
+        SslContext sslContext = nettySslContextFactory.createServerSslContext("one.example.com").get(30, TimeUnit.SECONDS);
+
+        // then
+        assertThat(configuration.sslSubjectAlternativeNameDomains(), hasItem("one.example.com"));
+        assertThat(sslContext, sameInstance(nettySslContextFactory.createServerSslContext()));
+    }
+}
@@ -1,13 +1,21 @@
 package org.mockserver.socket.tls.bouncycastle;
 
+import org.apache.commons.lang3.tuple.Pair;
 import org.junit.Test;
 import org.mockserver.configuration.Configuration;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.socket.tls.KeyAndCertificateFactory;
 
+import java.io.File;
 import java.math.BigInteger;
+import java.nio.file.Files;
+import java.security.PrivateKey;
+import java.security.cert.X509Certificate;
+import java.util.List;
 
 import static junit.framework.TestCase.assertTrue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
 import static org.mockserver.configuration.Configuration.configuration;
 
 /**
@@ -31,4 +39,46 @@ public class BCKeyAndCertificateFactoryTest {
         assertTrue("The client cert serial number is non-negative", keyAndCertificateFactory.x509Certificate().getSerialNumber().compareTo(BigInteger.ZERO) > 0);
     }
 
+    @Test
+    public void shouldCreateHostnameCertSignedByCA() throws Exception {
+        // when
+        Pair<PrivateKey, List<X509Certificate>> privateKeyAndCertificateChain = keyAndCertificateFactory.buildPrivateKeyAndX509CertificateForHostname("www.example.com");
+
+        // then
+        X509Certificate x509Certificate = privateKeyAndCertificateChain.getRight().get(0);
+        assertThat(x509Certificate.getSubjectX500Principal().getName(), endsWith("CN=www.example.com"));
+        assertThat(x509Certificate.getSubjectAlternativeNames().iterator().next().get(1), is("www.example.com"));
+        assertThat(privateKeyAndCertificateChain.getRight().get(1), is(keyAndCertificateFactory.certificateAuthorityX509Certificate()));
+        x509Certificate.verify(keyAndCertificateFactory.certificateAuthorityX509Certificate().getPublicKey());
+    }
+
+    @Test
+    public void shouldReusePersistedHostnameCert() throws Exception {
+        // given
+        File directory = Files.createTempDirectory("hostnameCertificates").toFile();
+        Configuration configuration = configuration()
+            .directoryToSaveDynamicSSLCertificate(directory.getAbsolutePath())
+            .persistHostnameCertificates(true);
+        Pair<PrivateKey, List<X509Certificate>> persisted = new BCKeyAndCertificateFactory(configuration, new MockServerLogger()).buildPrivateKeyAndX509CertificateForHostname("www.example.com");
+
+        // when
+        Pair<PrivateKey, List<X509Certificate>> reused = new BCKeyAndCertificateFactory(configuration, new MockServerLogger()).buildPrivateKeyAndX509CertificateForHostname("www.example.com");
+
+        // then
+        assertThat(new File(directory, "hostnames/www.example.com/Certificate.pem").exists(), is(true));
+        assertThat(reused.getRight().get(0), is(persisted.getRight().get(0)));
+        assertThat(reused.getLeft(), is(persisted.getLeft()));
+    }
+
+    @Test
+    public void shouldNotCreateHostnameCertWhenLeafCertConfigured() {
+        // given
+        Configuration configuration = configuration()
+            .privateKeyPath("org/mockserver/socket/PKCS8CertificateAuthorityPrivateKey.pem")
+            .x509CertificatePath("org/mockserver/socket/CertificateAuthorityCertificate.pem");
+
+        // then
+        assertThat(new BCKeyAndCertificateFactory(configuration, new MockServerLogger()).buildPrivateKeyAndX509CertificateForHostname("www.example.com"), nullValue());
+    }
+
 }
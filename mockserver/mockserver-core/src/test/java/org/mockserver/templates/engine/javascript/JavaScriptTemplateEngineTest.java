@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.hamcrest.Matcher;
 import org.junit.*;
 import org.junit.rules.ExpectedException;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockserver.configuration.Configuration;
 import org.mockserver.java.JDKVersion;
@@ -44,6 +45,7 @@ import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assume.assumeThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.openMocks;
@@ -1238,4 +1240,109 @@ public class JavaScriptTemplateEngineTest {
         }
     }
 
+    @Test
+    public void shouldExecuteDifferentTemplatesInParallel() throws InterruptedException, ExecutionException {
+        // given
+        nashornAvailable();
+        final String templateOne = ""
+            + "return { " + NEW_LINE
+            + "    'statusCode': 200, "
+            + "    'body': 'one ' + request.path" + NEW_LINE
+            + "};";
+        final String templateTwo = ""
+            + "return { " + NEW_LINE
+            + "    'statusCode': 201, "
+            + "    'body': 'two ' + request.method" + NEW_LINE
+            + "};";
+
+        // when
+        final JavaScriptTemplateEngine javascriptTemplateEngine = new JavaScriptTemplateEngine(mockServerLogger, configuration);
+
+        // then
+        if (new ScriptEngineManager().getEngineByName("nashorn") != null) {
+            ExecutorService newFixedThreadPool = Executors.newFixedThreadPool(10);
+
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                final HttpRequest request = request()
+                    .withPath("/somePath/" + i)
+                    .withMethod(i % 2 == 0 ? "GET" : "POST");
+                futures.add(newFixedThreadPool.submit(() -> {
+                    assertThat(javascriptTemplateEngine.executeTemplate(templateOne, request,
+                                                                        HttpResponseDTO.class
+                    ), is(
+                        response()
+                            .withStatusCode(200)
+                            .withBody("one " + request.getPath().getValue())
+                    ));
+                    return true;
+                }));
+
+                futures.add(newFixedThreadPool.submit(() -> {
+                    assertThat(javascriptTemplateEngine.executeTemplate(templateTwo, request,
+                                                                        HttpResponseDTO.class
+                    ), is(
+                        response()
+                            .withStatusCode(201)
+                            .withBody("two " + request.getMethod().getValue())
+                    ));
+                    return true;
+                }));
+            }
+
+            for (Future<Boolean> future : futures) {
+                future.get();
+            }
+            newFixedThreadPool.shutdown();
+
+        } else {
+            assertThat(javascriptTemplateEngine.executeTemplate(templateOne, request(),
+                                                                HttpResponseDTO.class
+            ), nullValue());
+        }
+    }
+
+    @Test
+    public void shouldSerialiseGeneratedOutputWithIndentation() {
+        // given
+        nashornAvailable();
+        String template = "return { 'statusCode': 'not_a_number' };";
+        ArgumentCaptor<LogEntry> logEntryCaptor = ArgumentCaptor.forClass(LogEntry.class);
+
+        // when
+        HttpResponse actualHttpResponse = new JavaScriptTemplateEngine(mockServerLogger, configuration).executeTemplate(template, request(), HttpResponseDTO.class);
+
+        // then
+        assertThat(actualHttpResponse, nullValue());
+        verify(mockServerLogger, atLeastOnce()).logEvent(logEntryCaptor.capture());
+        List<Object> arguments = new ArrayList<>();
+        for (LogEntry logEntry : logEntryCaptor.getAllValues()) {
+            if (logEntry.getArguments() != null) {
+                arguments.addAll(java.util.Arrays.asList(logEntry.getArguments()));
+            }
+        }
+        assertThat(arguments, hasItem("{\n  \"statusCode\": \"not_a_number\"\n}"));
+    }
+
+    @Test
+    public void shouldFailTemplateWhenNoEngineIsReturnedBeforeTimeout() throws Exception {
+        // given
+        nashornAvailable();
+        JavaScriptTemplateEngine javaScriptTemplateEngine = new JavaScriptTemplateEngine(mockServerLogger, configuration().actionHandlerThreadCount(1).maxSocketTimeoutInMillis(100L));
+        String slowTemplate = "var end = Date.now() + 2000; while (Date.now() < end) { } return { 'statusCode': 200 };";
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            Future<HttpResponse> slowResponse = executorService.submit(() -> javaScriptTemplateEngine.executeTemplate(slowTemplate, request(), HttpResponseDTO.class));
+            Thread.sleep(500);
+
+            // when
+            RuntimeException runtimeException = assertThrows(RuntimeException.class, () -> javaScriptTemplateEngine.executeTemplate("return { 'statusCode': 200 };", request(), HttpResponseDTO.class));
+
+            // then
+            assertThat(runtimeException.getCause().getMessage(), is("timed out after 100ms waiting for one of 1 JavaScript engines to be returned to the pool"));
+            assertThat(slowResponse.get(), is(response().withStatusCode(200)));
+        } finally {
+            executorService.shutdown();
+        }
+    }
 }
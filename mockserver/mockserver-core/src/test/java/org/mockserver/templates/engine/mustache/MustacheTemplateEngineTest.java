@@ -1047,4 +1047,29 @@ public class MustacheTemplateEngineTest {
         newFixedThreadPool.shutdown();
     }
 
+    @Test
+    public void shouldExecuteCompiledTemplateForEachRequest() {
+        // given
+        String template = "{" + NEW_LINE +
+            "    'statusCode': 200," + NEW_LINE +
+            "    'body': \"hello {{ request.path }}\"" + NEW_LINE +
+            "}";
+        MustacheTemplateEngine mustacheTemplateEngine = new MustacheTemplateEngine(mockServerLogger, configuration);
+
+        // when
+        HttpResponse firstHttpResponse = mustacheTemplateEngine.executeTemplate(template, request().withPath("/first"), HttpResponseDTO.class);
+        HttpResponse secondHttpResponse = mustacheTemplateEngine.executeTemplate(template, request().withPath("/second"), HttpResponseDTO.class);
+
+        // then
+        assertThat(firstHttpResponse, is(
+            response()
+                .withStatusCode(200)
+                .withBody("hello /first")
+        ));
+        assertThat(secondHttpResponse, is(
+            response()
+                .withStatusCode(200)
+                .withBody("hello /second")
+        ));
+    }
 }
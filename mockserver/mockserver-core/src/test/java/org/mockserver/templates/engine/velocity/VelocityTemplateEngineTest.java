@@ -878,4 +878,30 @@ public class VelocityTemplateEngineTest {
 
     }
 
+    @Test
+    public void shouldRenderParsedTemplateForEachRequest() {
+        // given
+        String template = "#set($greeting = \"hello \" + $request.path)" + NEW_LINE +
+            "{" + NEW_LINE +
+            "    'statusCode': 200," + NEW_LINE +
+            "    'body': \"$greeting\"" + NEW_LINE +
+            "}";
+        VelocityTemplateEngine velocityTemplateEngine = new VelocityTemplateEngine(mockServerLogger, configuration);
+
+        // when
+        HttpResponse firstHttpResponse = velocityTemplateEngine.executeTemplate(template, request().withPath("/first"), HttpResponseDTO.class);
+        HttpResponse secondHttpResponse = velocityTemplateEngine.executeTemplate(template, request().withPath("/second"), HttpResponseDTO.class);
+
+        // then
+        assertThat(firstHttpResponse, is(
+            response()
+                .withStatusCode(200)
+                .withBody("hello /first")
+        ));
+        assertThat(secondHttpResponse, is(
+            response()
+                .withStatusCode(200)
+                .withBody("hello /second")
+        ));
+    }
 }
@@ -0,0 +1,56 @@
+package org.mockserver.validator.jsonschema;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.networknt.schema.SpecVersion;
+import org.junit.Test;
+import org.mockserver.serialization.ObjectMapperFactory;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * @author jamesdbloom
+ */
+public class CompiledJsonSchemaCacheTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = ObjectMapperFactory.createObjectMapper();
+
+    private static JsonNode json(String json) throws Exception {
+        return OBJECT_MAPPER.readTree(json);
+    }
+
+    @Test
+    public void shouldUseSameKeyForSchemasThatOnlyDifferByPropertyOrderAndWhitespace() throws Exception {
+        // given
+        JsonNode schema = json("{ \"type\": \"object\", \"properties\": { \"id\": { \"type\": \"integer\", \"minimum\": 1 } }, \"required\": [ \"id\" ] }");
+        JsonNode reorderedSchema = json("{\"required\":[\"id\"],\"properties\":{\"id\":{\"minimum\":1,\"type\":\"integer\"}},\"type\":\"object\"}");
+
+        // then
+        assertThat(CompiledJsonSchemaCache.cacheKey(SpecVersion.VersionFlag.V7, schema), equalTo(CompiledJsonSchemaCache.cacheKey(SpecVersion.VersionFlag.V7, reorderedSchema)));
+    }
+
+    @Test
+    public void shouldUseDifferentKeyForDifferentSchemaOrSpecVersion() throws Exception {
+        // given
+        JsonNode schema = json("{ \"type\": \"string\" }");
+
+        // then
+        assertThat(CompiledJsonSchemaCache.cacheKey(SpecVersion.VersionFlag.V7, schema), not(equalTo(CompiledJsonSchemaCache.cacheKey(SpecVersion.VersionFlag.V7, json("{ \"type\": \"integer\" }")))));
+        assertThat(CompiledJsonSchemaCache.cacheKey(SpecVersion.VersionFlag.V7, schema), not(equalTo(CompiledJsonSchemaCache.cacheKey(SpecVersion.VersionFlag.V4, schema))));
+        assertThat(CompiledJsonSchemaCache.cacheKey(SpecVersion.VersionFlag.V7, json("{ \"enum\": [ \"a\", \"b\" ] }")), not(equalTo(CompiledJsonSchemaCache.cacheKey(SpecVersion.VersionFlag.V7, json("{ \"enum\": [ \"b\", \"a\" ] }")))));
+        assertThat(CompiledJsonSchemaCache.cacheKey(SpecVersion.VersionFlag.V7, null), nullValue());
+    }
+
+    @Test
+    public void shouldValidateWithSharedSchema() {
+        // given
+        JsonSchemaValidator first = new JsonSchemaValidator(null, "{ \"type\": \"object\", \"properties\": { \"id\": { \"type\": \"integer\" } } }");
+        JsonSchemaValidator second = new JsonSchemaValidator(null, "{\"properties\":{\"id\":{\"type\":\"integer\"}},\"type\":\"object\"}");
+
+        // then
+        assertThat(first.isValid("{ \"id\": 1 }"), is(""));
+        assertThat(second.isValid("{ \"id\": 1 }"), is(""));
+        assertThat(second.isValid("{ \"id\": \"one\" }", false), containsString("string found, integer expected"));
+    }
+}
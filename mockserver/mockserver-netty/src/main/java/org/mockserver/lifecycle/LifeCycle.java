@@ -2,14 +2,15 @@ package org.mockserver.lifecycle;
 
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.*;
-import io.netty.channel.nio.NioEventLoopGroup;
 import org.mockserver.configuration.Configuration;
 import org.mockserver.log.MockServerEventLog;
 import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
+import org.mockserver.metrics.Metrics;
 import org.mockserver.mock.HttpState;
 import org.mockserver.mock.listeners.MockServerMatcherNotifier;
 import org.mockserver.scheduler.Scheduler;
+import org.mockserver.socket.NettyTransport;
 import org.mockserver.stop.Stoppable;
 
 import java.net.InetSocketAddress;
@@ -27,6 +28,7 @@ import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.apache.commons.lang3.StringUtils.isBlank;
 import static org.mockserver.configuration.Configuration.configuration;
 import static org.mockserver.log.model.LogEntry.LogMessageType.SERVER_CONFIGURATION;
+import static org.mockserver.metrics.Metrics.Name.EPOLL_TRANSPORT_ENABLED;
 import static org.mockserver.mock.HttpState.setPort;
 import static org.slf4j.event.Level.*;
 
@@ -38,10 +40,12 @@ public abstract class LifeCycle implements Stoppable {
     protected final MockServerLogger mockServerLogger;
     protected final EventLoopGroup bossGroup;
     protected final EventLoopGroup workerGroup;
+    protected final NettyTransport nettyTransport;
     protected final HttpState httpState;
     private final Configuration configuration;
     protected ServerBootstrap serverServerBootstrap;
     private final List<Future<Channel>> serverChannelFutures = new ArrayList<>();
+    private final List<Channel> reusePortChannels = new ArrayList<>();
     private final CompletableFuture<String> stopFuture = new CompletableFuture<>();
     private final AtomicBoolean stopping = new AtomicBoolean(false);
     private final Scheduler scheduler;
@@ -52,12 +56,59 @@ public abstract class LifeCycle implements Stoppable {
         if (this.configuration.logEventListener() != null) {
             MockServerLogger.setGlobalLogEventListener(this.configuration.logEventListener());
         }
-        this.bossGroup = new NioEventLoopGroup(5, new Scheduler.SchedulerThreadFactory(this.getClass().getSimpleName() + "-bossEventLoop"));
-        this.workerGroup = new NioEventLoopGroup(this.configuration.nioEventLoopThreadCount(), new Scheduler.SchedulerThreadFactory(this.getClass().getSimpleName() + "-workerEventLoop"));
+        this.nettyTransport = NettyTransport.resolve(this.configuration);
+        this.bossGroup = nettyTransport.eventLoopGroup(Math.max(5, this.configuration.acceptThreadCount()), new Scheduler.SchedulerThreadFactory(this.getClass().getSimpleName() + "-bossEventLoop"));
+        this.workerGroup = nettyTransport.eventLoopGroup(this.configuration.nioEventLoopThreadCount(), new Scheduler.SchedulerThreadFactory(this.getClass().getSimpleName() + "-workerEventLoop"));
+        logTransport();
+        new Metrics(this.configuration).set(EPOLL_TRANSPORT_ENABLED, nettyTransport == NettyTransport.EPOLL ? 1 : 0);
         this.scheduler = new Scheduler(this.configuration, this.mockServerLogger);
         this.httpState = new HttpState(this.configuration, this.mockServerLogger, this.scheduler);
     }
 
+    private void logTransport() {
+        if (this.configuration.nettyTransport() == NettyTransport.EPOLL && nettyTransport != NettyTransport.EPOLL) {
+            if (mockServerLogger.isEnabledForInstance(WARN)) {
+                mockServerLogger.logEvent(
+                    new LogEntry()
+                        .setType(SERVER_CONFIGURATION)
+                        .setLogLevel(WARN)
+                        .setMessageFormat("epoll transport is not available, using NIO transport instead")
+                        .setThrowable(NettyTransport.epollUnavailabilityCause())
+                );
+            }
+        }
+        if (mockServerLogger.isEnabledForInstance(INFO)) {
+            if (reusePortAcceptors()) {
+                mockServerLogger.logEvent(
+                    new LogEntry()
+                        .setType(SERVER_CONFIGURATION)
+                        .setLogLevel(INFO)
+                        .setMessageFormat("using{}transport with{}accept threads per port")
+                        .setArguments(nettyTransport.name().toLowerCase(), this.configuration.acceptThreadCount())
+                );
+            } else {
+                mockServerLogger.logEvent(
+                    new LogEntry()
+                        .setType(SERVER_CONFIGURATION)
+                        .setLogLevel(INFO)
+                        .setMessageFormat("using{}transport")
+                        .setArguments(nettyTransport.name().toLowerCase())
+                );
+            }
+        }
+    }
+
+    /**
+     * when true each port is bound acceptThreadCount times using SO_REUSEPORT
+     */
+    protected boolean reusePortAcceptors() {
+        return nettyTransport.supportsReusePort() && configuration.acceptThreadCount() > 1;
+    }
+
+    public NettyTransport getNettyTransport() {
+        return nettyTransport;
+    }
+
     public CompletableFuture<String> stopAsync() {
         if (!stopFuture.isDone() && stopping.compareAndSet(false, true)) {
             final String message = "stopped for port" + (getLocalPorts().size() == 1 ? ": " + getLocalPorts().get(0) : "s: " + getLocalPorts());
@@ -82,7 +133,10 @@ public abstract class LifeCycle implements Stoppable {
                         }
                     })
                     .map(ChannelOutboundInvoker::disconnect)
-                    .collect(Collectors.toList());
+                    .collect(Collectors.toCollection(ArrayList::new));
+                synchronized (reusePortChannels) {
+                    reusePortChannels.forEach(channel -> collect.add(channel.close()));
+                }
                 try {
                     for (ChannelFuture channelFuture : collect) {
                         channelFuture.get();
@@ -229,7 +283,20 @@ public abstract class LifeCycle implements Stoppable {
                     }
                 }).start();
 
-                actualPortBindings.add(((InetSocketAddress) channelOpened.get(configuration.maxFutureTimeoutInMillis(), MILLISECONDS).localAddress()).getPort());
+                int actualPort = ((InetSocketAddress) channelOpened.get(configuration.maxFutureTimeoutInMillis(), MILLISECONDS).localAddress()).getPort();
+                if (reusePortAcceptors()) {
+                    // additional server channels on the same port, each is served by a different boss event loop thread
+                    for (int i = 1; i < configuration.acceptThreadCount(); i++) {
+                        Channel channel = serverBootstrap
+                            .bind(isBlank(localBoundIP) ? new InetSocketAddress(actualPort) : new InetSocketAddress(localBoundIP, actualPort))
+                            .syncUninterruptibly()
+                            .channel();
+                        synchronized (reusePortChannels) {
+                            reusePortChannels.add(channel);
+                        }
+                    }
+                }
+                actualPortBindings.add(actualPort);
             } catch (Exception e) {
                 throw new RuntimeException("Exception while binding MockServer to port " + portToBind, e instanceof ExecutionException ? e.getCause() : e);
             }
@@ -8,8 +8,6 @@ import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.WriteBufferWaterMark;
 import io.netty.channel.socket.DatagramChannel;
-import io.netty.channel.socket.nio.NioDatagramChannel;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.handler.codec.dns.DatagramDnsQueryDecoder;
 import io.netty.handler.codec.dns.DatagramDnsResponseEncoder;
 import org.mockserver.authentication.ChainedAuthenticationHandler;
@@ -47,6 +45,7 @@ public class MockServer extends LifeCycle {
 
     private InetSocketAddress remoteSocket;
     private volatile org.mockserver.netty.mcp.McpSessionManager mcpSessionManager;
+    private volatile HttpActionHandler httpActionHandler;
     private volatile io.netty.channel.Channel dnsChannel;
 
     /**
@@ -190,18 +189,22 @@ public class MockServer extends LifeCycle {
                     .withRequiredClaims(configuration.controlPlaneJWTAuthenticationRequiredClaims())
             );
         }
-        MockServerUnificationInitializer initializer = new MockServerUnificationInitializer(configuration, MockServer.this, httpState, new HttpActionHandler(configuration, getEventLoopGroup(), httpState, proxyConfigurations, nettyClientSslContextFactory), nettyServerSslContextFactory);
+        this.httpActionHandler = new HttpActionHandler(configuration, getEventLoopGroup(), httpState, proxyConfigurations, nettyClientSslContextFactory);
+        MockServerUnificationInitializer initializer = new MockServerUnificationInitializer(configuration, MockServer.this, httpState, httpActionHandler, nettyServerSslContextFactory);
         this.mcpSessionManager = initializer.getMcpSessionManager();
         serverServerBootstrap = new ServerBootstrap()
             .group(bossGroup, workerGroup)
             .option(ChannelOption.SO_BACKLOG, 1024)
-            .channel(NioServerSocketChannel.class)
+            .channel(nettyTransport.serverSocketChannelClass())
             .childOption(ChannelOption.AUTO_READ, true)
             .childOption(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
             .option(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(8 * 1024, 32 * 1024))
             .childHandler(initializer)
             .childAttr(REMOTE_SOCKET, remoteSocket)
             .childAttr(PROXYING, remoteSocket != null);
+        if (reusePortAcceptors()) {
+            nettyTransport.reusePort(serverServerBootstrap);
+        }
 
         try {
             bindServerPorts(portBindings);
@@ -248,7 +251,7 @@ public class MockServer extends LifeCycle {
         DnsRequestHandler dnsHandler = new DnsRequestHandler(mockServerLogger, httpState);
         Bootstrap dnsBootstrap = new Bootstrap()
             .group(workerGroup)
-            .channel(NioDatagramChannel.class)
+            .channel(nettyTransport.datagramChannelClass())
             .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
             .handler(new ChannelInitializer<DatagramChannel>() {
                 @Override
@@ -287,6 +290,9 @@ public class MockServer extends LifeCycle {
         if (mcpSessionManager != null) {
             mcpSessionManager.shutdown();
         }
+        if (httpActionHandler != null) {
+            httpActionHandler.getHttpClient().close();
+        }
         return super.stopAsync();
     }
 
@@ -21,6 +21,7 @@ import org.mockserver.uuid.UUIDService;
 import org.slf4j.event.Level;
 
 import java.net.InetSocketAddress;
+import java.net.SocketAddress;
 import java.nio.charset.StandardCharsets;
 import java.util.concurrent.CompletableFuture;
 
@@ -142,7 +143,9 @@ public class BinaryRequestProxyingHandler extends SimpleChannelInboundHandler<By
 
     private void processNotWaitingForResponse(ChannelHandlerContext ctx, BinaryMessage binaryRequest, String logCorrelationId, InetSocketAddress remoteAddress, CompletableFuture<BinaryMessage> binaryResponseFuture) {
         if (binaryExchangeCallback != null) {
-            binaryExchangeCallback.onProxy(binaryRequest, binaryResponseFuture, remoteAddress, ctx.channel().remoteAddress());
+            // the listener may block on the response future so must not be called on the event loop
+            SocketAddress clientAddress = ctx.channel().remoteAddress();
+            scheduler.submit(() -> binaryExchangeCallback.onProxy(binaryRequest, binaryResponseFuture, remoteAddress, clientAddress));
         }
         scheduler.submit(binaryResponseFuture, () -> {
             try {
@@ -0,0 +1,549 @@
+package org.mockserver.netty.proxy;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.*;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.handler.codec.http.*;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import io.netty.util.ReferenceCountUtil;
+import org.mockserver.configuration.Configuration;
+import org.mockserver.httpclient.SocketConnectionException;
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.mappers.FullHttpResponseToMockServerHttpResponse;
+import org.mockserver.mappers.MockServerHttpRequestToFullHttpRequest;
+import org.mockserver.mock.HttpState;
+import org.mockserver.mock.action.http.HttpStreamingForwarder;
+import org.mockserver.model.Body;
+import org.mockserver.proxyconfiguration.NoProxyHostsUtils;
+import org.mockserver.socket.NettyTransport;
+import org.slf4j.event.Level;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static io.netty.handler.codec.http.HttpHeaderNames.*;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
+import static org.mockserver.exception.ExceptionHandling.connectionClosedException;
+import static org.mockserver.netty.HttpRequestHandler.LOCAL_HOST_HEADERS;
+import static org.mockserver.netty.HttpRequestHandler.PROXYING;
+import static org.mockserver.netty.unification.PortUnificationHandler.nettySslContextFactory;
+
+/**
+ * Streams the body of proxied HTTP/1.1 requests, and of their responses, instead of aggregating each body in memory
+ * <p>
+ * Must be added before the HttpObjectAggregator, only proxied requests (i.e. received via CONNECT or a proxied socket or with
+ * a Host header that isn't for MockServer) that, based on their method and path, can't be handled by an expectation, a CRUD
+ * handler or a proxy pass mapping are streamed, all other requests are aggregated as normal so are never matched or acted on
+ * with a truncated body. For streamed requests only the first forwardStreamingMaxBufferedBodySize bytes of the body are
+ * buffered and used to create the request that is logged, the body is streamed to the remote server as it is received and
+ * the response is streamed back, with backpressure in both directions
+ *
+ * @author jamesdbloom
+ */
+public class StreamingProxyHandler extends ChannelDuplexHandler implements HttpStreamingForwarder {
+
+    private enum State {
+        IDLE,
+        BUFFERING,
+        MATCHING,
+        FORWARDING,
+        DISCARDING
+    }
+
+    private final Configuration configuration;
+    private final MockServerLogger mockServerLogger;
+    private final HttpState httpState;
+    private final int maxBufferedBodySize;
+    private final MockServerHttpRequestToFullHttpRequest mockServerHttpRequestToFullHttpRequest;
+    private final FullHttpResponseToMockServerHttpResponse fullHttpResponseToMockServerHttpResponse;
+    private final List<HttpContent> receivedContent = new ArrayList<>();
+    private final List<Object> pendingMessages = new ArrayList<>();
+    private ChannelHandlerContext ctx;
+    private State state = State.IDLE;
+    private HttpRequest requestHead;
+    private boolean keepAlive;
+    private int bufferedBytes;
+    private boolean bodyTruncated;
+    private boolean requestComplete;
+    private boolean awaitingResponse;
+    private Channel upstream;
+    private HttpResponse responseHead;
+    private ByteBuf responseBody;
+    private CompletableFuture<org.mockserver.model.HttpResponse> responseFuture;
+
+    public StreamingProxyHandler(Configuration configuration, HttpState httpState) {
+        this.configuration = configuration;
+        this.mockServerLogger = httpState.getMockServerLogger();
+        this.httpState = httpState;
+        this.maxBufferedBodySize = Math.max(configuration.forwardStreamingMaxBufferedBodySize(), 0);
+        this.mockServerHttpRequestToFullHttpRequest = new MockServerHttpRequestToFullHttpRequest(mockServerLogger, null);
+        this.fullHttpResponseToMockServerHttpResponse = new FullHttpResponseToMockServerHttpResponse(mockServerLogger);
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) {
+        this.ctx = ctx;
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        if (state == State.IDLE) {
+            if (msg instanceof HttpRequest && !(msg instanceof FullHttpRequest) && isProxiedRequest(ctx, (HttpRequest) msg)) {
+                startBuffering(ctx, (HttpRequest) msg);
+            } else {
+                ctx.fireChannelRead(msg);
+            }
+        } else if (requestComplete || !(msg instanceof HttpContent)) {
+            // i.e. pipelined request, handled once the current request has completed
+            pendingMessages.add(msg);
+        } else {
+            HttpContent content = (HttpContent) msg;
+            requestComplete = content instanceof LastHttpContent;
+            switch (state) {
+                case BUFFERING:
+                    receivedContent.add(content);
+                    bufferedBytes += content.content().readableBytes();
+                    if (requestComplete || bufferedBytes > maxBufferedBodySize) {
+                        startMatching(ctx);
+                    }
+                    break;
+                case MATCHING:
+                    receivedContent.add(content);
+                    break;
+                case FORWARDING:
+                    if (upstream != null) {
+                        writeUpstream(ctx, content);
+                    } else {
+                        receivedContent.add(content);
+                    }
+                    break;
+                case DISCARDING:
+                    content.release();
+                    if (requestComplete) {
+                        completeExchange(ctx);
+                    }
+                    break;
+                default:
+                    ctx.fireChannelRead(content);
+            }
+        }
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+        if (state == State.MATCHING && msg instanceof HttpResponse) {
+            // request was handled without being forwarded (i.e. a not found or error response) so any remaining body isn't required
+            ctx.channel().attr(STREAMING_FORWARDER).set(null);
+            state = State.DISCARDING;
+            releaseReceivedContent();
+            ctx.write(msg, promise);
+            if (requestComplete) {
+                completeExchange(ctx);
+            } else {
+                ctx.channel().config().setAutoRead(true);
+            }
+        } else {
+            ctx.write(msg, promise);
+        }
+    }
+
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) {
+        if (upstream != null && ctx.channel().isWritable()) {
+            upstream.config().setAutoRead(true);
+            resumeResponseTimeout();
+        }
+        ctx.fireChannelWritabilityChanged();
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) {
+        state = State.IDLE;
+        if (upstream != null) {
+            upstream.close();
+        }
+        if (responseFuture != null && !responseFuture.isDone()) {
+            responseFuture.completeExceptionally(new SocketConnectionException("Channel closed before response has been sent"));
+        }
+        releaseReceivedContent();
+        releaseResponseBody();
+        for (Object pendingMessage : pendingMessages) {
+            ReferenceCountUtil.release(pendingMessage);
+        }
+        pendingMessages.clear();
+        ctx.fireChannelInactive();
+    }
+
+    @Override
+    public CompletableFuture<org.mockserver.model.HttpResponse> forward(org.mockserver.model.HttpRequest request, InetSocketAddress remoteAddress, long connectionTimeoutMillis) {
+        CompletableFuture<org.mockserver.model.HttpResponse> future = new CompletableFuture<>();
+        ctx.executor().execute(() -> {
+            if (state != State.MATCHING) {
+                future.completeExceptionally(new IllegalStateException("request is no longer available to stream"));
+            } else {
+                state = State.FORWARDING;
+                responseFuture = future;
+                connectUpstream(ctx, request, remoteAddress, connectionTimeoutMillis);
+            }
+        });
+        return future;
+    }
+
+    @Override
+    public boolean isRequestBodyTruncated() {
+        return bodyTruncated;
+    }
+
+    private boolean isProxiedRequest(ChannelHandlerContext ctx, HttpRequest request) {
+        if (request.decoderResult().isFailure() || request.method().equals(HttpMethod.CONNECT)) {
+            return false;
+        }
+        org.mockserver.model.HttpRequest requestHead = requestHead(request);
+        if (HttpState.isControlPlaneRequest(requestHead) || httpState.requiresCompleteBody(requestHead)) {
+            return false;
+        } else if (Boolean.TRUE.equals(ctx.channel().attr(PROXYING).get()) || isNotBlank(configuration.proxyRemoteHost())) {
+            return true;
+        } else {
+            String host = request.headers().get(HOST);
+            Set<String> localAddresses = ctx.channel().attr(LOCAL_HOST_HEADERS).get();
+            return configuration.attemptToProxyIfNoMatchingExpectation()
+                && isNotBlank(host)
+                && localAddresses != null
+                && !localAddresses.contains(host)
+                && !NoProxyHostsUtils.isHostOnNoProxyList(host, configuration.noProxyHosts());
+        }
+    }
+
+    /**
+     * The method and path of the request, i.e. the fields that decide how it is handled before its body is received
+     */
+    private org.mockserver.model.HttpRequest requestHead(HttpRequest request) {
+        String path = new QueryStringDecoder(request.uri()).path();
+        int schemeIndex = path.indexOf("://");
+        if (schemeIndex >= 0) {
+            int pathIndex = path.indexOf('/', schemeIndex + 3);
+            path = pathIndex >= 0 ? path.substring(pathIndex) : "/";
+        }
+        return org.mockserver.model.HttpRequest.request().withMethod(request.method().name()).withPath(path);
+    }
+
+    private void startBuffering(ChannelHandlerContext ctx, HttpRequest request) {
+        state = State.BUFFERING;
+        requestHead = request;
+        keepAlive = HttpUtil.isKeepAlive(request);
+        bufferedBytes = 0;
+        requestComplete = false;
+        if (HttpUtil.is100ContinueExpected(request)) {
+            // the body is requested immediately as it is streamed whatever its size
+            request.headers().remove(EXPECT);
+            ctx.writeAndFlush(new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.CONTINUE, Unpooled.EMPTY_BUFFER));
+        }
+    }
+
+    private void startMatching(ChannelHandlerContext ctx) {
+        state = State.MATCHING;
+        if (!requestComplete) {
+            ctx.channel().config().setAutoRead(false);
+        }
+        bodyTruncated = bufferedBytes > maxBufferedBodySize;
+        ByteBuf bufferedBody = ctx.alloc().buffer(Math.min(bufferedBytes, maxBufferedBodySize));
+        for (HttpContent content : receivedContent) {
+            int remaining = maxBufferedBodySize - bufferedBody.readableBytes();
+            if (remaining <= 0) {
+                break;
+            }
+            ByteBuf byteBuf = content.content();
+            bufferedBody.writeBytes(byteBuf, byteBuf.readerIndex(), Math.min(byteBuf.readableBytes(), remaining));
+        }
+        if (bodyTruncated && mockServerLogger.isEnabledForInstance(Level.DEBUG)) {
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setLogLevel(Level.DEBUG)
+                    .setMessageFormat("body of streamed request:{}truncated to:{}bytes for logging")
+                    .setArguments(requestHead.method() + " " + requestHead.uri(), maxBufferedBodySize)
+            );
+        }
+        ctx.channel().attr(STREAMING_FORWARDER).set(this);
+        ctx.fireChannelRead(new DefaultFullHttpRequest(requestHead.protocolVersion(), requestHead.method(), requestHead.uri(), bufferedBody, requestHead.headers().copy(), EmptyHttpHeaders.INSTANCE));
+    }
+
+    private void connectUpstream(ChannelHandlerContext ctx, org.mockserver.model.HttpRequest request, InetSocketAddress remoteAddress, long connectionTimeoutMillis) {
+        final HttpRequest upstreamHead = upstreamHead(request);
+        final boolean secure = Boolean.TRUE.equals(request.isSecure());
+        new Bootstrap()
+            .group(ctx.channel().eventLoop())
+            .channel(NettyTransport.forEventLoopGroup(ctx.channel().eventLoop()).socketChannelClass())
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) Math.min(connectionTimeoutMillis, Integer.MAX_VALUE))
+            .handler(new ChannelInitializer<SocketChannel>() {
+                @Override
+                protected void initChannel(SocketChannel channel) {
+                    ChannelPipeline pipeline = channel.pipeline();
+                    if (secure) {
+                        pipeline.addLast(nettySslContextFactory(ctx.channel()).createClientSslContext(true, false).newHandler(channel.alloc(), remoteAddress.getHostString(), remoteAddress.getPort()));
+                    }
+                    pipeline.addLast(new HttpClientCodec(configuration.maxInitialLineLength(), configuration.maxHeaderSize(), configuration.maxChunkSize()));
+                    pipeline.addLast(new UpstreamHandler());
+                }
+            })
+            .connect(remoteAddress)
+            .addListener((ChannelFutureListener) future -> {
+                if (future.isSuccess()) {
+                    upstream = future.channel();
+                    ChannelFuture lastWrite = upstream.write(upstreamHead);
+                    for (HttpContent content : receivedContent) {
+                        lastWrite = upstream.write(content);
+                    }
+                    receivedContent.clear();
+                    upstream.flush();
+                    if (requestComplete) {
+                        lastWrite.addListener(written -> startResponseTimeout());
+                    } else {
+                        ctx.channel().config().setAutoRead(upstream.isWritable());
+                    }
+                } else {
+                    failForward(new SocketConnectionException("Unable to connect to socket " + remoteAddress, future.cause()));
+                }
+            });
+    }
+
+    private HttpRequest upstreamHead(org.mockserver.model.HttpRequest request) {
+        FullHttpRequest mappedRequest = mockServerHttpRequestToFullHttpRequest.mapMockServerRequestToNettyRequest(request.shallowClone().withBody((Body) null));
+        HttpRequest upstreamHead = new DefaultHttpRequest(HttpVersion.HTTP_1_1, mappedRequest.method(), mappedRequest.uri(), mappedRequest.headers());
+        mappedRequest.release();
+        // the body is forwarded as received (after any decompression) and the response returned as received
+        upstreamHead.headers().remove(CONTENT_ENCODING);
+        upstreamHead.headers().remove(ACCEPT_ENCODING);
+        if (requestHead.headers().contains(CONTENT_ENCODING)) {
+            upstreamHead.headers().set(CONTENT_ENCODING, requestHead.headers().getAll(CONTENT_ENCODING));
+        }
+        if (requestHead.headers().contains(ACCEPT_ENCODING)) {
+            upstreamHead.headers().set(ACCEPT_ENCODING, requestHead.headers().getAll(ACCEPT_ENCODING));
+        }
+        if (HttpUtil.isTransferEncodingChunked(requestHead)) {
+            HttpUtil.setTransferEncodingChunked(upstreamHead, true);
+        } else if (HttpUtil.isContentLengthSet(requestHead)) {
+            HttpUtil.setContentLength(upstreamHead, HttpUtil.getContentLength(requestHead));
+        }
+        HttpUtil.setKeepAlive(upstreamHead, false);
+        return upstreamHead;
+    }
+
+    private void writeUpstream(ChannelHandlerContext ctx, HttpContent content) {
+        final boolean lastContent = content instanceof LastHttpContent;
+        upstream.writeAndFlush(content).addListener((ChannelFutureListener) future -> {
+            if (!future.isSuccess()) {
+                failForward(future.cause());
+            } else if (lastContent) {
+                startResponseTimeout();
+            }
+        });
+        if (!upstream.isWritable()) {
+            ctx.channel().config().setAutoRead(false);
+        }
+    }
+
+    /**
+     * The remote server isn't expected to send anything until it has received the whole request, which for a streamed body
+     * can take much longer than maxSocketTimeoutInMillis, so the read timeout only starts once the request has been written
+     */
+    private void startResponseTimeout() {
+        if (state == State.FORWARDING && upstream != null) {
+            awaitingResponse = true;
+            resumeResponseTimeout();
+        }
+    }
+
+    private void resumeResponseTimeout() {
+        if (awaitingResponse && upstream.pipeline().get(ReadTimeoutHandler.class) == null) {
+            upstream.pipeline().addFirst(new ReadTimeoutHandler(configuration.maxSocketTimeoutInMillis(), MILLISECONDS));
+        }
+    }
+
+    /**
+     * While the response is paused by backpressure from the client nothing is read from the remote server, so the read
+     * timeout is removed and a new timeout started when reading resumes
+     */
+    private void pauseResponseTimeout() {
+        if (upstream.pipeline().get(ReadTimeoutHandler.class) != null) {
+            upstream.pipeline().remove(ReadTimeoutHandler.class);
+        }
+    }
+
+    private void writeResponseHead(HttpResponse response) {
+        responseHead = new DefaultHttpResponse(response.protocolVersion(), response.status(), response.headers().copy());
+        responseBody = ctx.alloc().buffer(0, maxBufferedBodySize);
+        response.headers().remove(CONNECTION);
+        response.headers().remove("Keep-Alive");
+        if (!HttpUtil.isContentLengthSet(response) && !HttpUtil.isTransferEncodingChunked(response) && hasBody(response)) {
+            // response delimited by the remote server closing the connection, which isn't possible for a kept alive connection
+            HttpUtil.setTransferEncodingChunked(response, true);
+        }
+        HttpUtil.setKeepAlive(response, keepAlive);
+        ctx.write(response);
+    }
+
+    private boolean hasBody(HttpResponse response) {
+        int code = response.status().code();
+        return !requestHead.method().equals(HttpMethod.HEAD) && code >= 200 && code != 204 && code != 304;
+    }
+
+    private void writeResponseContent(HttpContent content) {
+        ByteBuf byteBuf = content.content();
+        int remaining = responseBody.maxCapacity() - responseBody.readableBytes();
+        if (remaining > 0) {
+            responseBody.writeBytes(byteBuf, byteBuf.readerIndex(), Math.min(byteBuf.readableBytes(), remaining));
+        }
+        ctx.write(content);
+        if (content instanceof LastHttpContent) {
+            ctx.flush();
+            upstream.close();
+            org.mockserver.model.HttpResponse response = fullHttpResponseToMockServerHttpResponse.mapFullHttpResponseToMockServerResponse(
+                new DefaultFullHttpResponse(responseHead.protocolVersion(), responseHead.status(), responseBody.retainedDuplicate(), responseHead.headers(), EmptyHttpHeaders.INSTANCE)
+            );
+            releaseResponseBody();
+            responseFuture.complete(response);
+            if (requestComplete) {
+                completeExchange(ctx);
+            } else if (keepAlive) {
+                discardRemainingRequestBody(ctx);
+            } else {
+                // the response said the connection is closed so the rest of the request body isn't read
+                ctx.channel().config().setAutoRead(false);
+                completeExchange(ctx);
+            }
+        }
+    }
+
+    /**
+     * The remote server responded (i.e. with a 401, 413 or an early 200) before the whole request body was received, the rest
+     * of the body is read and released so the next request on the kept alive connection starts with its request head
+     */
+    private void discardRemainingRequestBody(ChannelHandlerContext ctx) {
+        state = State.DISCARDING;
+        awaitingResponse = false;
+        upstream = null;
+        responseHead = null;
+        responseFuture = null;
+        ctx.channel().config().setAutoRead(true);
+    }
+
+    private void failForward(Throwable cause) {
+        if (state != State.FORWARDING) {
+            return;
+        }
+        if (mockServerLogger.isEnabledForInstance(Level.DEBUG) && !connectionClosedException(cause)) {
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setLogLevel(Level.DEBUG)
+                    .setMessageFormat("exception streaming request:{}")
+                    .setArguments(requestHead.method() + " " + requestHead.uri())
+                    .setThrowable(cause)
+            );
+        }
+        state = State.IDLE;
+        if (upstream != null) {
+            upstream.close();
+        }
+        releaseReceivedContent();
+        if (responseHead == null) {
+            FullHttpResponse badGateway = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.BAD_GATEWAY, Unpooled.EMPTY_BUFFER);
+            HttpUtil.setContentLength(badGateway, 0);
+            HttpUtil.setKeepAlive(badGateway, false);
+            ctx.writeAndFlush(badGateway).addListener(ChannelFutureListener.CLOSE);
+        } else {
+            releaseResponseBody();
+            ctx.close();
+        }
+        responseFuture.completeExceptionally(cause);
+    }
+
+    private void completeExchange(ChannelHandlerContext ctx) {
+        boolean closeConnection = state == State.FORWARDING && !keepAlive;
+        state = State.IDLE;
+        requestHead = null;
+        requestComplete = false;
+        awaitingResponse = false;
+        bufferedBytes = 0;
+        bodyTruncated = false;
+        upstream = null;
+        responseHead = null;
+        responseFuture = null;
+        if (closeConnection) {
+            ctx.writeAndFlush(Unpooled.EMPTY_BUFFER).addListener(ChannelFutureListener.CLOSE);
+        } else {
+            ctx.channel().config().setAutoRead(true);
+            List<Object> messages = new ArrayList<>(pendingMessages);
+            pendingMessages.clear();
+            for (Object message : messages) {
+                channelRead(ctx, message);
+            }
+        }
+    }
+
+    private void releaseReceivedContent() {
+        for (HttpContent content : receivedContent) {
+            ReferenceCountUtil.release(content);
+        }
+        receivedContent.clear();
+    }
+
+    private void releaseResponseBody() {
+        if (responseBody != null) {
+            responseBody.release();
+            responseBody = null;
+        }
+    }
+
+    private class UpstreamHandler extends ChannelInboundHandlerAdapter {
+
+        @Override
+        public void channelRead(ChannelHandlerContext upstreamCtx, Object msg) {
+            if (state != State.FORWARDING) {
+                ReferenceCountUtil.release(msg);
+                return;
+            }
+            if (msg instanceof HttpResponse) {
+                writeResponseHead((HttpResponse) msg);
+            }
+            if (msg instanceof HttpContent) {
+                writeResponseContent((HttpContent) msg);
+            }
+            if (state == State.FORWARDING && !ctx.channel().isWritable()) {
+                upstreamCtx.channel().config().setAutoRead(false);
+                pauseResponseTimeout();
+            }
+        }
+
+        @Override
+        public void channelReadComplete(ChannelHandlerContext upstreamCtx) {
+            ctx.flush();
+        }
+
+        @Override
+        public void channelWritabilityChanged(ChannelHandlerContext upstreamCtx) {
+            if (state == State.FORWARDING && !requestComplete && upstreamCtx.channel().isWritable()) {
+                ctx.channel().config().setAutoRead(true);
+            }
+        }
+
+        @Override
+        public void channelInactive(ChannelHandlerContext upstreamCtx) {
+            if (upstreamCtx.channel() == upstream) {
+                failForward(new SocketConnectionException("Channel closed before valid response has been received"));
+            }
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext upstreamCtx, Throwable cause) {
+            failForward(cause);
+            upstreamCtx.close();
+        }
+    }
+}
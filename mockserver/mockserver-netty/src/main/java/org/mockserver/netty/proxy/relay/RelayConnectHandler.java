@@ -5,7 +5,6 @@ import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.*;
-import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.codec.http.HttpClientCodec;
 import io.netty.handler.codec.http.HttpContentDecompressor;
 import io.netty.handler.codec.http.HttpObjectAggregator;
@@ -21,6 +20,7 @@ import org.mockserver.logging.LoggingHandler;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.model.Protocol;
 import org.mockserver.netty.unification.PortUnificationHandler;
+import org.mockserver.socket.NettyTransport;
 import org.slf4j.event.Level;
 
 import java.net.InetSocketAddress;
@@ -57,7 +57,7 @@ public abstract class RelayConnectHandler<T> extends SimpleChannelInboundHandler
     public void channelRead0(final ChannelHandlerContext proxyClientCtx, final T request) {
         Bootstrap bootstrap = new Bootstrap()
             .group(proxyClientCtx.channel().eventLoop())
-            .channel(NioSocketChannel.class)
+            .channel(NettyTransport.forEventLoopGroup(proxyClientCtx.channel().eventLoop()).socketChannelClass())
             .handler(new ChannelInboundHandlerAdapter() {
                 @Override
                 public void channelActive(final ChannelHandlerContext mockServerCtx) {
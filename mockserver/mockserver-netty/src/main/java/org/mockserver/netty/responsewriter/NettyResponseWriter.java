@@ -9,6 +9,7 @@ import org.mockserver.configuration.Configuration;
 import org.mockserver.configuration.ConfigurationProperties;
 import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
+import org.mockserver.mock.action.http.PreEncodedHttpResponse;
 import org.mockserver.model.ConnectionOptions;
 import org.mockserver.model.Delay;
 import org.mockserver.model.HttpRequest;
@@ -41,6 +42,18 @@ public class NettyResponseWriter extends ResponseWriter {
         writeAndCloseSocket(ctx, request, response);
     }
 
+    @Override
+    public void writeResponse(final HttpRequest request, final PreEncodedHttpResponse response) {
+        if (request.getStreamId() != null || configuration.enableCORSForAllResponses()) {
+            // http2 streams and cors headers need the response to be encoded per request
+            super.writeResponse(request, response);
+        } else {
+            boolean keepAlive = request.isKeepAlive() != null && request.isKeepAlive();
+            ChannelFuture channelFuture = ctx.writeAndFlush(response.retainedDuplicate(keepAlive));
+            addCloseSocketListener(channelFuture, null, !keepAlive);
+        }
+    }
+
     private void writeAndCloseSocket(final ChannelHandlerContext ctx, final HttpRequest request, HttpResponse response) {
         boolean closeChannel;
 
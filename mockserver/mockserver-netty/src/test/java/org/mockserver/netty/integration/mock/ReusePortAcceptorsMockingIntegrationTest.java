@@ -0,0 +1,109 @@
+package org.mockserver.netty.integration.mock;
+
+import io.netty.channel.EventLoopGroup;
+import org.junit.*;
+import org.mockserver.client.MockServerClient;
+import org.mockserver.httpclient.NettyHttpClient;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.model.HttpResponse;
+import org.mockserver.netty.MockServer;
+import org.mockserver.scheduler.Scheduler;
+import org.mockserver.socket.NettyTransport;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockserver.configuration.Configuration.configuration;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+import static org.mockserver.stop.Stop.stopQuietly;
+
+/**
+ * @author jamesdbloom
+ */
+public class ReusePortAcceptorsMockingIntegrationTest {
+
+    private static EventLoopGroup clientEventLoopGroup;
+    private MockServer mockServer;
+
+    @BeforeClass
+    public static void startEventLoopGroup() {
+        clientEventLoopGroup = NettyTransport.resolve(NettyTransport.AUTO).eventLoopGroup(3, new Scheduler.SchedulerThreadFactory(ReusePortAcceptorsMockingIntegrationTest.class.getSimpleName() + "-eventLoop"));
+    }
+
+    @AfterClass
+    public static void stopEventLoopGroup() {
+        clientEventLoopGroup.shutdownGracefully(0, 0, MILLISECONDS).syncUninterruptibly();
+    }
+
+    @After
+    public void tearDown() {
+        stopQuietly(mockServer);
+    }
+
+    @Test
+    public void shouldServeRequestsWithMultipleAcceptThreads() throws Exception {
+        // given
+        mockServer = new MockServer(configuration().acceptThreadCount(4));
+        new MockServerClient("localhost", mockServer.getLocalPort())
+            .when(
+                request()
+                    .withPath("/reusePort")
+            )
+            .respond(
+                response()
+                    .withBody("some_body")
+            );
+        NettyHttpClient httpClient = new NettyHttpClient(configuration(), new MockServerLogger(), clientEventLoopGroup, null, false);
+
+        // when
+        List<CompletableFuture<HttpResponse>> responses = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            responses.add(httpClient.sendRequest(
+                request()
+                    .withPath("/reusePort")
+                    .withKeepAlive(false),
+                new InetSocketAddress("localhost", mockServer.getLocalPort())
+            ));
+        }
+
+        // then
+        for (CompletableFuture<HttpResponse> response : responses) {
+            assertThat(response.get(10, TimeUnit.SECONDS).getBodyAsString(), equalTo("some_body"));
+        }
+        assertThat(mockServer.getNettyTransport(), equalTo(NettyTransport.resolve(NettyTransport.AUTO)));
+    }
+
+    @Test
+    public void shouldServeRequestsWithNioTransport() throws Exception {
+        // given
+        mockServer = new MockServer(configuration().nettyTransport(NettyTransport.NIO).acceptThreadCount(4));
+        new MockServerClient("localhost", mockServer.getLocalPort())
+            .when(
+                request()
+                    .withPath("/nio")
+            )
+            .respond(
+                response()
+                    .withBody("some_body")
+            );
+        NettyHttpClient httpClient = new NettyHttpClient(configuration(), new MockServerLogger(), clientEventLoopGroup, null, false);
+
+        // when
+        HttpResponse httpResponse = httpClient.sendRequest(
+            request()
+                .withPath("/nio"),
+            new InetSocketAddress("localhost", mockServer.getLocalPort())
+        ).get(10, TimeUnit.SECONDS);
+
+        // then
+        assertThat(httpResponse.getBodyAsString(), equalTo("some_body"));
+        assertThat(mockServer.getNettyTransport(), equalTo(NettyTransport.NIO));
+    }
+}
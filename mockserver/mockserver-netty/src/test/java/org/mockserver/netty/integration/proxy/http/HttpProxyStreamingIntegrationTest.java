@@ -0,0 +1,372 @@
+package org.mockserver.netty.integration.proxy.http;
+
+import com.google.common.collect.ImmutableList;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockserver.echo.http.EchoServer;
+import org.mockserver.httpclient.NettyHttpClient;
+import org.mockserver.integration.ClientAndServer;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.model.HttpResponse;
+import org.mockserver.model.LogEventRequestAndResponse;
+import org.mockserver.proxyconfiguration.ProxyConfiguration;
+import org.mockserver.scheduler.Scheduler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.StringContains.containsString;
+import static org.hamcrest.core.StringStartsWith.startsWith;
+import static org.mockserver.configuration.Configuration.configuration;
+import static org.mockserver.integration.ClientAndServer.startClientAndServer;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+import static org.mockserver.model.JsonBody.json;
+import static org.mockserver.proxyconfiguration.ProxyConfiguration.proxyConfiguration;
+import static org.mockserver.stop.Stop.stopQuietly;
+
+/**
+ * @author jamesdbloom
+ */
+public class HttpProxyStreamingIntegrationTest {
+
+    private static final int MAX_BUFFERED_BODY_SIZE = 1024;
+    private static EchoServer echoServer;
+    private static ClientAndServer proxyClientAndServer;
+    private static EventLoopGroup clientEventLoopGroup;
+
+    @BeforeClass
+    public static void startServer() {
+        echoServer = new EchoServer(false);
+        proxyClientAndServer = startClientAndServer(
+            configuration()
+                .forwardStreamingEnabled(true)
+                .forwardStreamingMaxBufferedBodySize(MAX_BUFFERED_BODY_SIZE)
+        );
+    }
+
+    @BeforeClass
+    public static void startEventLoopGroup() {
+        clientEventLoopGroup = new NioEventLoopGroup(3, new Scheduler.SchedulerThreadFactory(HttpProxyStreamingIntegrationTest.class.getSimpleName() + "-eventLoop"));
+    }
+
+    @AfterClass
+    public static void stopEventLoopGroup() {
+        clientEventLoopGroup.shutdownGracefully(0, 0, MILLISECONDS).syncUninterruptibly();
+    }
+
+    @AfterClass
+    public static void stopServer() {
+        stopQuietly(echoServer);
+        stopQuietly(proxyClientAndServer);
+    }
+
+    @Before
+    public void reset() {
+        proxyClientAndServer.reset();
+    }
+
+    private NettyHttpClient proxiedHttpClient() {
+        return new NettyHttpClient(
+            configuration(),
+            new MockServerLogger(),
+            clientEventLoopGroup,
+            ImmutableList.of(proxyConfiguration(
+                ProxyConfiguration.Type.HTTP,
+                "localhost:" + proxyClientAndServer.getPort()
+            )), false);
+    }
+
+    @Test
+    public void shouldStreamRequestAndResponseBodiesLargerThanBuffer() throws Exception {
+        // given
+        String body = RandomStringUtils.randomAlphanumeric(100 * MAX_BUFFERED_BODY_SIZE);
+
+        // when
+        HttpResponse httpResponse = proxiedHttpClient()
+            .sendRequest(
+                request()
+                    .withMethod("POST")
+                    .withPath("/streamed")
+                    .withHeader("Host", "localhost:" + echoServer.getPort())
+                    .withBody(body)
+            )
+            .get(10, SECONDS);
+
+        // then
+        assertThat(httpResponse.getStatusCode(), is(200));
+        assertThat(httpResponse.getBodyAsString(), is(body));
+        LogEventRequestAndResponse[] requestAndResponses = proxyClientAndServer.retrieveRecordedRequestsAndResponses(request().withPath("/streamed"));
+        assertThat(requestAndResponses.length, is(1));
+        assertThat(requestAndResponses[0].getHttpRequest().getBodyAsString(), is(body.substring(0, MAX_BUFFERED_BODY_SIZE)));
+        assertThat(requestAndResponses[0].getHttpResponse().getBodyAsString(), is(body.substring(0, MAX_BUFFERED_BODY_SIZE)));
+        assertThat(proxyClientAndServer.retrieveRecordedExpectations(request().withPath("/streamed")).length, is(0));
+    }
+
+    @Test
+    public void shouldStreamBodiesSmallerThanBuffer() throws Exception {
+        // when
+        HttpResponse httpResponse = proxiedHttpClient()
+            .sendRequest(
+                request()
+                    .withMethod("POST")
+                    .withPath("/small")
+                    .withHeader("Host", "localhost:" + echoServer.getPort())
+                    .withBody("some_small_body")
+            )
+            .get(10, SECONDS);
+
+        // then
+        assertThat(httpResponse.getStatusCode(), is(200));
+        assertThat(httpResponse.getBodyAsString(), is("some_small_body"));
+        LogEventRequestAndResponse[] requestAndResponses = proxyClientAndServer.retrieveRecordedRequestsAndResponses(request().withPath("/small"));
+        assertThat(requestAndResponses.length, is(1));
+        assertThat(requestAndResponses[0].getHttpResponse().getBodyAsString(), is("some_small_body"));
+    }
+
+    @Test
+    public void shouldMatchExpectationUsingCompleteBody() throws Exception {
+        // given
+        String body = RandomStringUtils.randomAlphanumeric(100 * MAX_BUFFERED_BODY_SIZE);
+        proxyClientAndServer
+            .when(
+                request()
+                    .withPath("/mocked")
+            )
+            .respond(
+                response()
+                    .withBody("mocked_response")
+            );
+        NettyHttpClient httpClient = proxiedHttpClient();
+
+        // when
+        HttpResponse httpResponse = httpClient
+            .sendRequest(
+                request()
+                    .withMethod("POST")
+                    .withPath("/mocked")
+                    .withHeader("Host", "localhost:" + echoServer.getPort())
+                    .withBody(body)
+            )
+            .get(10, SECONDS);
+
+        // then
+        assertThat(httpResponse.getStatusCode(), is(200));
+        assertThat(httpResponse.getBodyAsString(), is("mocked_response"));
+        assertThat(proxyClientAndServer.retrieveRecordedRequests(request().withPath("/mocked"))[0].getBodyAsString(), is(body));
+    }
+
+    @Test
+    public void shouldMatchBodyMatcherAgainstCompleteBodyLargerThanBuffer() throws Exception {
+        // given
+        String body = "{\"id\": \"" + RandomStringUtils.randomAlphanumeric(100 * MAX_BUFFERED_BODY_SIZE) + "\", \"type\": \"large\"}";
+        proxyClientAndServer
+            .when(
+                request()
+                    .withPath("/json")
+                    .withBody(json("{\"type\": \"large\"}"))
+            )
+            .respond(
+                response()
+                    .withBody("mocked_response")
+            );
+
+        // when
+        HttpResponse httpResponse = proxiedHttpClient()
+            .sendRequest(
+                request()
+                    .withMethod("POST")
+                    .withPath("/json")
+                    .withHeader("Host", "localhost:" + echoServer.getPort())
+                    .withBody(body)
+            )
+            .get(10, SECONDS);
+
+        // then
+        assertThat(httpResponse.getStatusCode(), is(200));
+        assertThat(httpResponse.getBodyAsString(), is("mocked_response"));
+    }
+
+    @Test
+    public void shouldForwardCompleteBodyLargerThanBufferWhenExpectationCouldMatchButDoesNot() throws Exception {
+        // given
+        String body = RandomStringUtils.randomAlphanumeric(100 * MAX_BUFFERED_BODY_SIZE);
+        proxyClientAndServer
+            .when(
+                request()
+                    .withPath("/forwarded")
+                    .withBody("some_other_body")
+            )
+            .respond(
+                response()
+                    .withBody("mocked_response")
+            );
+
+        // when
+        HttpResponse httpResponse = proxiedHttpClient()
+            .sendRequest(
+                request()
+                    .withMethod("POST")
+                    .withPath("/forwarded")
+                    .withHeader("Host", "localhost:" + echoServer.getPort())
+                    .withBody(body)
+            )
+            .get(10, SECONDS);
+
+        // then
+        assertThat(httpResponse.getStatusCode(), is(200));
+        assertThat(httpResponse.getBodyAsString(), is(body));
+        assertThat(proxyClientAndServer.retrieveRecordedRequests(request().withPath("/forwarded"))[0].getBodyAsString(), is(body));
+    }
+
+    @Test
+    public void shouldStreamSlowRequestBodyForLongerThanSocketTimeout() throws Exception {
+        // given - a proxy that times out the remote server after 500ms
+        ClientAndServer slowProxy = startClientAndServer(
+            configuration()
+                .forwardStreamingEnabled(true)
+                .forwardStreamingMaxBufferedBodySize(MAX_BUFFERED_BODY_SIZE)
+                .maxSocketTimeoutInMillis(500L)
+        );
+        try (Socket socket = new Socket("localhost", slowProxy.getPort())) {
+            socket.setSoTimeout(10_000);
+            OutputStream outputStream = socket.getOutputStream();
+            String firstChunk = RandomStringUtils.randomAlphanumeric(2 * MAX_BUFFERED_BODY_SIZE);
+            outputStream.write((
+                "POST http://localhost:" + echoServer.getPort() + "/slow HTTP/1.1\r\n" +
+                    "Host: localhost:" + echoServer.getPort() + "\r\n" +
+                    "Transfer-Encoding: chunked\r\n" +
+                    "Connection: close\r\n" +
+                    "\r\n" +
+                    chunk(firstChunk)
+            ).getBytes(UTF_8));
+            outputStream.flush();
+
+            // when - the rest of the body takes 1.5s to upload, i.e. three times the socket timeout
+            for (int i = 0; i < 10; i++) {
+                MILLISECONDS.sleep(150);
+                outputStream.write(chunk("slow_chunk_" + i).getBytes(UTF_8));
+                outputStream.flush();
+            }
+            outputStream.write("0\r\n\r\n".getBytes(UTF_8));
+            outputStream.flush();
+
+            // then
+            String response = readUntilClosed(socket.getInputStream());
+            assertThat(response, startsWith("HTTP/1.1 200 OK"));
+            assertThat(response, containsString(firstChunk));
+            assertThat(response, containsString("slow_chunk_9"));
+        } finally {
+            stopQuietly(slowProxy);
+        }
+    }
+
+    @Test
+    public void shouldDiscardRestOfRequestBodyWhenRemoteServerRespondsBeforeBodyIsComplete() throws Exception {
+        // given - a remote server that rejects the request as soon as it has received the request head
+        try (ServerSocket remoteServer = new ServerSocket(0)) {
+            Thread remoteServerThread = new Thread(() -> {
+                try (Socket remoteSocket = remoteServer.accept()) {
+                    readResponseHead(remoteSocket.getInputStream());
+                    OutputStream remoteOutputStream = remoteSocket.getOutputStream();
+                    remoteOutputStream.write("HTTP/1.1 413 Payload Too Large\r\nContent-Length: 0\r\n\r\n".getBytes(UTF_8));
+                    remoteOutputStream.flush();
+                    readUntilClosed(remoteSocket.getInputStream());
+                } catch (Exception ignore) {
+                    // connection closed by the proxy
+                }
+            });
+            remoteServerThread.setDaemon(true);
+            remoteServerThread.start();
+            try (Socket socket = new Socket("localhost", proxyClientAndServer.getPort())) {
+                socket.setSoTimeout(10_000);
+                OutputStream outputStream = socket.getOutputStream();
+                InputStream inputStream = socket.getInputStream();
+                outputStream.write((
+                    "POST http://localhost:" + remoteServer.getLocalPort() + "/rejected HTTP/1.1\r\n" +
+                        "Host: localhost:" + remoteServer.getLocalPort() + "\r\n" +
+                        "Transfer-Encoding: chunked\r\n" +
+                        "\r\n" +
+                        chunk(RandomStringUtils.randomAlphanumeric(2 * MAX_BUFFERED_BODY_SIZE))
+                ).getBytes(UTF_8));
+                outputStream.flush();
+                assertThat(readResponseHead(inputStream), startsWith("HTTP/1.1 413 Payload Too Large"));
+
+                // when - the rest of the body is sent after the response followed by another request on the same connection
+                outputStream.write((chunk("rest_of_body") + "0\r\n\r\n").getBytes(UTF_8));
+                String nextRequestBody = "next_body_value";
+                outputStream.write((
+                    "POST http://localhost:" + echoServer.getPort() + "/next HTTP/1.1\r\n" +
+                        "Host: localhost:" + echoServer.getPort() + "\r\n" +
+                        "Content-Length: " + nextRequestBody.length() + "\r\n" +
+                        "\r\n" +
+                        nextRequestBody
+                ).getBytes(UTF_8));
+                outputStream.flush();
+
+                // then
+                String nextResponseHead = readResponseHead(inputStream);
+                assertThat(nextResponseHead, startsWith("HTTP/1.1 200 OK"));
+                assertThat(new String(readBytes(inputStream, contentLength(nextResponseHead)), UTF_8), is(nextRequestBody));
+            }
+        }
+    }
+
+    private static String chunk(String data) {
+        return Integer.toHexString(data.length()) + "\r\n" + data + "\r\n";
+    }
+
+    private static String readResponseHead(InputStream inputStream) throws Exception {
+        ByteArrayOutputStream head = new ByteArrayOutputStream();
+        int read;
+        while (!head.toString(UTF_8.name()).endsWith("\r\n\r\n") && (read = inputStream.read()) != -1) {
+            head.write(read);
+        }
+        return head.toString(UTF_8.name());
+    }
+
+    private static int contentLength(String responseHead) {
+        for (String line : responseHead.split("\r\n")) {
+            if (line.toLowerCase().startsWith("content-length:")) {
+                return Integer.parseInt(line.substring("content-length:".length()).trim());
+            }
+        }
+        return 0;
+    }
+
+    private static byte[] readBytes(InputStream inputStream, int length) throws Exception {
+        byte[] bytes = new byte[length];
+        int offset = 0;
+        while (offset < length) {
+            int read = inputStream.read(bytes, offset, length - offset);
+            if (read == -1) {
+                break;
+            }
+            offset += read;
+        }
+        return bytes;
+    }
+
+    private static String readUntilClosed(InputStream inputStream) throws Exception {
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            response.write(buffer, 0, read);
+        }
+        return response.toString(UTF_8.name());
+    }
+}
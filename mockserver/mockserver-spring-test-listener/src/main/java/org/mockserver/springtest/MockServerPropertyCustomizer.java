@@ -246,6 +246,9 @@ public class MockServerPropertyCustomizer implements ContextCustomizer {
             case "compactLogFormat":
                 config.compactLogFormat(parseStrictBoolean(value, key));
                 break;
+            case "jsonLogFormat":
+                config.jsonLogFormat(parseStrictBoolean(value, key));
+                break;
             case "outputMemoryUsageCsv":
                 config.outputMemoryUsageCsv(parseStrictBoolean(value, key));
                 break;
@@ -335,6 +338,9 @@ public class MockServerPropertyCustomizer implements ContextCustomizer {
             case "maxLogEntries":
                 config.maxLogEntries(Integer.parseInt(value));
                 break;
+            case "asyncLogQueueSize":
+                config.asyncLogQueueSize(Integer.parseInt(value));
+                break;
             case "maxWebSocketExpectations":
                 config.maxWebSocketExpectations(Integer.parseInt(value));
                 break;